@@ -0,0 +1,267 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.asyncdispatch;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+import static java.time.Month.MAY;
+import static javax.measure.MetricPrefix.KILO;
+import static tech.units.indriya.unit.Units.METRE;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.member.unit.hours.IWorkingHours;
+import com.dna.jopt.member.unit.hours.IOpeningHours;
+import com.dna.jopt.member.unit.hours.WorkingHours;
+import com.dna.jopt.member.unit.hours.OpeningHours;
+import com.dna.jopt.member.unit.node.geo.TimeWindowGeoNode;
+import com.dna.jopt.member.unit.resource.CapacityResource;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.expert.uncaughtexception.customhandler.MyUncaughtExceptionHandler;
+import com.dna.jopt.touroptimizer.java.examples.util.dispatch.EventDispatcher;
+import com.dna.jopt.touroptimizer.java.examples.util.dispatch.OverflowPolicy;
+
+import io.reactivex.rxjava3.functions.Consumer;
+
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Subscribing slow consumers without slowing down the optimization. A simulated remote log needs
+ * 50 ms per progress event. It is dispatched by an {@link EventDispatcher} on its own thread with a
+ * conflating queue, so it always logs the latest progress and skips the rest. Warnings, status and
+ * errors are dispatched with larger queues. The error consumer of a custom uncaught exception
+ * handler is attached as in {@code UncaughtExceptionHandlingRxJavaWithCustomErrorConsumer}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class AsyncEventDispatchExample extends Optimization {
+
+  public static void main(String[] args)
+      throws InvalidLicenceException, IOException, InterruptedException, ExecutionException {
+    new AsyncEventDispatchExample().example();
+  }
+
+  public String toString() {
+    return "Dispatching slow event consumers on a dedicated thread with bounded queues and"
+        + " overflow policies.";
+  }
+
+  public void example()
+      throws InvalidLicenceException, IOException, InterruptedException, ExecutionException {
+
+    // Set license via helper
+    ExampleLicenseHelper.setLicense(this);
+
+    // Properties!
+    this.setProperties();
+
+    this.addNodes();
+    this.addResources();
+
+    // (1) One dispatch thread for all consumers, closed after the run
+    try (EventDispatcher dispatcher = new EventDispatcher(1)) {
+
+      // (2) The error consumer, as for a synchronous subscription
+      MyUncaughtExceptionHandler myUncaughtExceptionHandler = new MyUncaughtExceptionHandler();
+      myUncaughtExceptionHandler.attachOptimization(this);
+
+      Consumer<? super Throwable> errorConsumer =
+          t -> myUncaughtExceptionHandler.uncaughtException(Thread.currentThread(), t);
+
+      // (3) Subscribe the dispatched consumers instead of the consumers
+      AsyncEventDispatchExample.attachToObservables(this, dispatcher, errorConsumer);
+
+      CompletableFuture<IOptimizationResult> resultFuture = this.startRunAsync();
+
+      // It is important to block the call, otherwise optimization will be terminated
+      IOptimizationResult result = resultFuture.get();
+
+      System.out.println(result);
+
+      // (4) How many events each consumer skipped
+      dispatcher.writeReport(System.out);
+    }
+  }
+
+  /**
+   * Attach dispatched consumers to the events of the optimization instance.
+   *
+   * @param opti the optimization instance
+   * @param dispatcher the dispatcher
+   * @param errorConsumer the error consumer
+   */
+  private static void attachToObservables(
+      IOptimization opti, EventDispatcher dispatcher, Consumer<? super Throwable> errorConsumer) {
+
+    // Only the latest progress matters
+    opti.getOptimizationEvents()
+        .progressSubject()
+        .subscribe(
+            dispatcher.async(
+                "progress",
+                1,
+                OverflowPolicy.CONFLATE_LATEST,
+                AsyncEventDispatchExample::sendToRemoteLog,
+                errorConsumer),
+            errorConsumer);
+
+    // Keep the latest 1024 warnings and status events
+    opti.getOptimizationEvents()
+        .warningSubject()
+        .subscribe(
+            dispatcher.async(
+                "warning",
+                1024,
+                OverflowPolicy.DROP_OLDEST,
+                w -> System.out.println(w.toString()),
+                errorConsumer),
+            errorConsumer);
+
+    opti.getOptimizationEvents()
+        .statusSubject()
+        .subscribe(
+            dispatcher.async(
+                "status",
+                1024,
+                OverflowPolicy.DROP_OLDEST,
+                s -> System.out.println(s.toString()),
+                errorConsumer),
+            errorConsumer);
+
+    // Errors must not be lost, the optimization waits if necessary
+    opti.getOptimizationEvents()
+        .errorSubject()
+        .subscribe(
+            dispatcher.async(
+                "error",
+                64,
+                OverflowPolicy.BLOCK,
+                e -> System.out.println(e.toString()),
+                errorConsumer),
+            errorConsumer);
+  }
+
+  /**
+   * Simulates a slow remote log.
+   *
+   * @param p the progress
+   * @throws InterruptedException the interrupted exception
+   */
+  private static void sendToRemoteLog(IOptimizationProgress p) throws InterruptedException {
+    Thread.sleep(50);
+    System.out.println(p.getProgressString());
+  }
+
+  private void setProperties() {
+
+    Properties props = new Properties();
+
+    props.setProperty("JOptExitCondition.JOptGenerationCount", "20000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "1000000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumRepetions", "1");
+    props.setProperty("JOpt.NumCPUCores", "4");
+
+    this.addElement(props);
+  }
+
+  private void addResources() {
+
+    List<IWorkingHours> workingHours = new ArrayList<>();
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration maxWorkingTime = Duration.ofHours(13);
+    Quantity<Length> maxDistanceKmW = Quantities.getQuantity(1200.0, KILO(METRE));
+
+    CapacityResource rep1 =
+        new CapacityResource(
+            "Jack", 50.775346, 6.083887, maxWorkingTime, maxDistanceKmW, workingHours);
+    rep1.setCost(0, 1, 1);
+    this.addElement(rep1);
+  }
+
+  private void addNodes() {
+
+    List<IOpeningHours> weeklyOpeningHours = new ArrayList<>();
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration visitDuration = Duration.ofMinutes(20);
+
+    // Define some nodes
+    TimeWindowGeoNode koeln =
+        new TimeWindowGeoNode("Koeln", 50.9333, 6.95, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(koeln);
+
+    TimeWindowGeoNode oberhausen =
+        new TimeWindowGeoNode("Oberhausen", 51.4667, 6.85, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(oberhausen);
+
+    TimeWindowGeoNode essen =
+        new TimeWindowGeoNode("Essen", 51.45, 7.01667, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(essen);
+
+    TimeWindowGeoNode dueren =
+        new TimeWindowGeoNode("Dueren", 50.8, 6.48333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(dueren);
+
+    TimeWindowGeoNode nuernberg =
+        new TimeWindowGeoNode("Nuernberg", 49.4478, 11.0683, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(nuernberg);
+
+    TimeWindowGeoNode heilbronn =
+        new TimeWindowGeoNode("Heilbronn", 49.1403, 9.22, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(heilbronn);
+
+    TimeWindowGeoNode stuttgart =
+        new TimeWindowGeoNode("Stuttgart", 48.7667, 9.18333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(stuttgart);
+
+    TimeWindowGeoNode wuppertal =
+        new TimeWindowGeoNode("Wuppertal", 51.2667, 7.18333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(wuppertal);
+
+    TimeWindowGeoNode aachen =
+        new TimeWindowGeoNode("Aachen", 50.775346, 6.083887, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(aachen);
+  }
+}
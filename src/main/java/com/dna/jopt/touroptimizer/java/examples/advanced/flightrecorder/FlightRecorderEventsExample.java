@@ -0,0 +1,164 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.flightrecorder;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.framework.stream.info.autofilter.NodeFilteringEvent;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEventSubscriber;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records an optimization with the JDK Flight Recorder. The run, its stages, progress, status,
+ * warnings, AutoFilter events and export state requests are recorded as JOpt events next to the
+ * CPU, allocation and GC events of the JDK, using the settings file {@code jopt.jfc}.
+ *
+ * <p>The recording is started programmatically here. In production, start the JVM with {@code
+ * -XX:StartFlightRecording=settings=jopt.jfc,filename=jopt.jfr} instead and open the file in JDK
+ * Mission Control.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class FlightRecorderEventsExample extends Optimization {
+
+    /** The subscriber, also receiving the node filtering callbacks. */
+    private JfrEventSubscriber jfr;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws IOException             Signals that an I/O exception has occurred.
+     * @throws InvalidLicenceException the invalid licence exception
+     * @throws InterruptedException    the interrupted exception
+     * @throws ExecutionException      the execution exception
+     * @throws ParseException          the parse exception of the settings file
+     */
+    public static void main(String[] args) throws IOException, InvalidLicenceException, InterruptedException,
+	    ExecutionException, ParseException {
+	new FlightRecorderEventsExample().example();
+    }
+
+    public String toString() {
+	return "Records the stages and events of an optimization with the JDK Flight Recorder.";
+    }
+
+    /**
+     * Example.
+     *
+     * @throws IOException             Signals that an I/O exception has occurred.
+     * @throws InvalidLicenceException the invalid licence exception
+     * @throws InterruptedException    the interrupted exception
+     * @throws ExecutionException      the execution exception
+     * @throws ParseException          the parse exception of the settings file
+     */
+    public void example() throws IOException, InvalidLicenceException, InterruptedException, ExecutionException,
+	    ParseException {
+
+	// Set license via helper
+	ExampleLicenseHelper.setLicense(this);
+
+	this.setProperties();
+
+	Position center = Position.of(50.9333, 6.85);
+
+	PerformanceModeBigOptiExample.getResources(center, 2, 0.01, false).forEach(this::addElement);
+	PerformanceModeBigOptiExample.getNodes(center, Duration.ofMinutes(5), 10, 0.002, false)
+		.forEach(this::addElement);
+
+	Path jfrFile = Files.createTempFile("jopt", ".jfr");
+
+	// (1) The JOpt events and low-overhead profiling, see src/main/resources/jopt.jfc
+	Configuration settings;
+
+	try (Reader reader = new InputStreamReader(
+		FlightRecorderEventsExample.class.getResourceAsStream("/jopt.jfc"), StandardCharsets.UTF_8)) {
+	    settings = Configuration.create(reader);
+	}
+
+	try (Recording recording = new Recording(settings)) {
+
+	    recording.setDestination(jfrFile);
+	    recording.start();
+
+	    // (2) Attach right before starting, the run event starts here
+	    this.jfr = JfrEventSubscriber.attach(this, "flightrecorder-example");
+
+	    // (3) The run event ends with the result
+	    IOptimizationResult result = this.jfr.finishOn(this.startRunAsync()).get();
+
+	    System.out.println(result);
+
+	    recording.stop();
+	}
+
+	// (4) Print the run and stage events, JDK Mission Control shows them on the timeline
+	for (RecordedEvent e : RecordingFile.readAllEvents(jfrFile)) {
+
+	    String name = e.getEventType().getName();
+
+	    if (name.equals("com.dna.jopt.Run") || name.equals("com.dna.jopt.Stage")) {
+		System.out.println(e.getEventType().getLabel() + " " + e.getDuration().toMillis() + " ms"
+			+ (e.hasField("callerId") ? " " + e.getString("callerId") : ""));
+	    }
+	}
+
+	System.out.println("Recording: " + jfrFile);
+    }
+
+    private void setProperties() {
+
+	Properties props = new Properties();
+
+	props.setProperty("JOptExitCondition.JOptGenerationCount", "5000");
+	props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "100000");
+	props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumRepetions", "1");
+	props.setProperty("JOpt.NumCPUCores", "4");
+
+	// AutoFilter events are recorded as well
+	props.setProperty("JOpt.SelectiveAutoFilter", "TRUE");
+	props.setProperty("JOpt.SelectiveAutoFilter.TimeWindow.Late", "TRUE");
+
+	this.addElement(props);
+    }
+
+    @Override
+    public void onNodeFiltering(NodeFilteringEvent nodeFilteringEvent) {
+
+	// Not available as subject, forwarded from the callback
+	if (this.jfr != null) {
+	    this.jfr.onNodeFiltering(nodeFilteringEvent);
+	}
+    }
+}
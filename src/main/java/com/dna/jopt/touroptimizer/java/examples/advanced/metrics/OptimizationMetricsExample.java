@@ -0,0 +1,134 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.metrics;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.metrics.MetricsHttpServer;
+import com.dna.jopt.touroptimizer.java.examples.util.metrics.MetricsRegistry;
+import com.dna.jopt.touroptimizer.java.examples.util.metrics.OptimizationMetrics;
+
+/**
+ * Runs several optimizations concurrently and exposes their progress, cost, stage durations,
+ * warnings and errors on a Prometheus endpoint, instead of printing the event subjects to the
+ * console.
+ *
+ * <p>While the example is running, open {@code http://localhost:9400/metrics}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class OptimizationMetricsExample {
+
+    /** The number of concurrent optimizations. */
+    private static final int NUM_OPTIMIZATIONS = 3;
+
+    /** The port of the metrics endpoint. */
+    private static final int PORT = 9400;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws IOException             Signals that an I/O exception has occurred.
+     * @throws InvalidLicenceException the invalid licence exception
+     * @throws InterruptedException    the interrupted exception
+     * @throws ExecutionException      the execution exception
+     */
+    public static void main(String[] args)
+	    throws IOException, InvalidLicenceException, InterruptedException, ExecutionException {
+	new OptimizationMetricsExample().example();
+    }
+
+    public String toString() {
+	return "Exposes metrics of concurrent optimizations on a Prometheus endpoint.";
+    }
+
+    /**
+     * Example.
+     *
+     * @throws IOException             Signals that an I/O exception has occurred.
+     * @throws InvalidLicenceException the invalid licence exception
+     * @throws InterruptedException    the interrupted exception
+     * @throws ExecutionException      the execution exception
+     */
+    public void example() throws IOException, InvalidLicenceException, InterruptedException, ExecutionException {
+
+	// (1) One registry for all optimizations of this JVM
+	MetricsRegistry registry = new MetricsRegistry();
+
+	try (MetricsHttpServer server = MetricsHttpServer.start(registry, PORT)) {
+
+	    System.out.println("Metrics on http://localhost:" + server.getPort() + MetricsHttpServer.PATH);
+
+	    List<CompletableFuture<IOptimizationResult>> resultFutures = new ArrayList<>();
+
+	    for (int ii = 0; ii < NUM_OPTIMIZATIONS; ii++) {
+
+		IOptimization opti = createOptimization(ii);
+
+		// (2) Register before starting, the id becomes the optimization label
+		OptimizationMetrics metrics = registry.register("opti-" + ii, opti);
+
+		// (3) The final stage ends with the result
+		resultFutures.add(opti.startRunAsync().whenComplete((r, e) -> metrics.markFinished()));
+	    }
+
+	    // It is important to block the call, otherwise the optimizations will be terminated
+	    for (CompletableFuture<IOptimizationResult> resultFuture : resultFutures) {
+		resultFuture.get();
+	    }
+
+	    // (4) The last scrape, as a Prometheus server would receive it
+	    System.out.println(registry.scrape());
+	}
+    }
+
+    private static IOptimization createOptimization(int index) throws IOException {
+
+	IOptimization opti = new Optimization();
+
+	ExampleLicenseHelper.setLicense(opti);
+
+	Properties props = new Properties();
+
+	props.setProperty("JOptExitCondition.JOptGenerationCount", "" + (2000 * (index + 1)));
+	props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "10000");
+	props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumRepetions", "1");
+	props.setProperty("JOpt.NumCPUCores", "2");
+
+	opti.addElement(props);
+
+	Position center = Position.of(50.9333, 6.85);
+
+	PerformanceModeBigOptiExample.getResources(center, 2, 0.01, false).forEach(opti::addElement);
+	PerformanceModeBigOptiExample.getNodes(center, Duration.ofMinutes(5), 10, 0.002, false)
+		.forEach(opti::addElement);
+
+	return opti;
+    }
+}
@@ -0,0 +1,240 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.performancemode;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.GeoDistanceKernel;
+import com.dna.jopt.touroptimizer.java.examples.util.spatial.NeighbourBuffer;
+import com.dna.jopt.touroptimizer.java.examples.util.spatial.SpatialIndex;
+
+/**
+ * Compares nearest-neighbour and radius queries of a {@link SpatialIndex} with a linear haversine
+ * scan, for 1,000, 10,000 and 100,000 positions created like the nodes of
+ * {@link PerformanceModeBigOptiExample}.
+ *
+ * <p>Every variant is warmed up before it is measured. The results of both variants are compared
+ * and must match.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class SpatialIndexBenchmarkExample {
+
+    /** The numbers of positions. */
+    private static final int[] NUM_POSITIONS = { 1000, 10000, 100000 };
+
+    /** The number of queries per round. */
+    private static final int NUM_QUERIES = 500;
+
+    /** The number of measured rounds per variant. */
+    private static final int ROUNDS = 3;
+
+    /** The number of neighbours. */
+    private static final int K = 10;
+
+    /** The radius of the radius queries in meter. */
+    private static final double RADIUS_METER = 1000.0;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+	new SpatialIndexBenchmarkExample().example();
+    }
+
+    public String toString() {
+	return "Compares nearest-neighbour and radius queries of a spatial index with a linear scan.";
+    }
+
+    /**
+     * Example.
+     */
+    public void example() {
+
+	for (int numPositions : NUM_POSITIONS) {
+
+	    List<Position> positions = PerformanceModeBigOptiExample.samplePhyllotaxis(Position.of(50.9333, 6.85),
+		    numPositions, 0.002);
+
+	    double[] lats = positions.stream().mapToDouble(Position::latitude).toArray();
+	    double[] lons = positions.stream().mapToDouble(Position::longitude).toArray();
+
+	    long startNanos = System.nanoTime();
+	    SpatialIndex index = SpatialIndex.ofPositions(positions);
+	    long buildMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+	    GeoDistanceKernel kernel = GeoDistanceKernel.of(lats, lons);
+
+	    int[] queries = new Random(42).ints(NUM_QUERIES, 0, numPositions).toArray();
+
+	    System.out.println("Positions: " + numPositions + ", index built in " + buildMillis + " ms");
+
+	    double linearNearest = measure("  Linear scan, " + K + " nearest", () -> linearNearest(kernel, lats, lons, queries));
+	    double indexNearest = measure("  Index, " + K + " nearest", () -> indexNearest(index, lats, lons, queries));
+	    double linearRadius = measure("  Linear scan, radius", () -> linearRadius(kernel, lats, lons, queries));
+	    double indexRadius = measure("  Index, radius", () -> indexRadius(index, lats, lons, queries));
+
+	    System.out.println(String.format("  Speedup nearest %.1fx, radius %.1fx", linearNearest / indexNearest,
+		    linearRadius / indexRadius));
+
+	    verify(index, kernel, lats, lons, queries);
+	}
+    }
+
+    private static double measure(String name, DoubleSupplier variant) {
+
+	double checksum = 0.0;
+
+	// Warm up
+	for (int round = 0; round < ROUNDS; round++) {
+	    checksum += variant.getAsDouble();
+	}
+
+	long startNanos = System.nanoTime();
+
+	for (int round = 0; round < ROUNDS; round++) {
+	    checksum += variant.getAsDouble();
+	}
+
+	double nanosPerQuery = (double) (System.nanoTime() - startNanos) / ROUNDS / NUM_QUERIES;
+
+	// The checksum keeps the JIT from removing the calculation
+	System.out.println(String.format("%-30s %12.0f ns/query   (checksum %.3e)", name, nanosPerQuery, checksum));
+
+	return nanosPerQuery;
+    }
+
+    private static double linearNearest(GeoDistanceKernel kernel, double[] lats, double[] lons, int[] queries) {
+
+	double sum = 0.0;
+	double[] row = new double[kernel.size()];
+	double[] nearest = new double[K];
+
+	for (int query : queries) {
+	    kernel.haversineOneToMany(lats[query], lons[query], row);
+	    sum += kthSmallest(row, nearest);
+	}
+
+	return sum;
+    }
+
+    private static double indexNearest(SpatialIndex index, double[] lats, double[] lons, int[] queries) {
+
+	double sum = 0.0;
+	NeighbourBuffer result = new NeighbourBuffer(K);
+
+	for (int query : queries) {
+	    int found = index.nearest(lats[query], lons[query], K, result);
+	    sum += result.distanceMeter(found - 1);
+	}
+
+	return sum;
+    }
+
+    private static double linearRadius(GeoDistanceKernel kernel, double[] lats, double[] lons, int[] queries) {
+
+	double sum = 0.0;
+	double[] row = new double[kernel.size()];
+
+	for (int query : queries) {
+	    kernel.haversineOneToMany(lats[query], lons[query], row);
+
+	    for (double distanceMeter : row) {
+		if (distanceMeter <= RADIUS_METER) {
+		    sum++;
+		}
+	    }
+	}
+
+	return sum;
+    }
+
+    private static double indexRadius(SpatialIndex index, double[] lats, double[] lons, int[] queries) {
+
+	double sum = 0.0;
+	NeighbourBuffer result = new NeighbourBuffer();
+
+	for (int query : queries) {
+	    sum += index.withinRadius(lats[query], lons[query], RADIUS_METER, result);
+	}
+
+	return sum;
+    }
+
+    /**
+     * Keeps the K smallest distances of a row in an ascending array and returns the largest of them.
+     */
+    private static double kthSmallest(double[] row, double[] nearest) {
+
+	int size = 0;
+
+	for (double distanceMeter : row) {
+
+	    if (size == K && distanceMeter >= nearest[K - 1]) {
+		continue;
+	    }
+
+	    int position = size < K ? size++ : K - 1;
+
+	    while (position > 0 && nearest[position - 1] > distanceMeter) {
+		nearest[position] = nearest[position - 1];
+		position--;
+	    }
+
+	    nearest[position] = distanceMeter;
+	}
+
+	return nearest[size - 1];
+    }
+
+    private static void verify(SpatialIndex index, GeoDistanceKernel kernel, double[] lats, double[] lons,
+	    int[] queries) {
+
+	double[] row = new double[kernel.size()];
+	double[] nearest = new double[K];
+	NeighbourBuffer result = new NeighbourBuffer(K);
+
+	double maxDeviationMeter = 0.0;
+	int radiusMismatches = 0;
+
+	for (int query : queries) {
+	    kernel.haversineOneToMany(lats[query], lons[query], row);
+
+	    int found = index.nearest(lats[query], lons[query], K, result);
+	    maxDeviationMeter = Math.max(maxDeviationMeter,
+		    Math.abs(kthSmallest(row, nearest) - result.distanceMeter(found - 1)));
+
+	    int linearCount = 0;
+
+	    for (double distanceMeter : row) {
+		if (distanceMeter <= RADIUS_METER) {
+		    linearCount++;
+		}
+	    }
+
+	    if (linearCount != index.withinRadius(lats[query], lons[query], RADIUS_METER, result)) {
+		radiusMismatches++;
+	    }
+	}
+
+	System.out.println(String.format("  Max deviation of the k-th distance %.6f m, radius mismatches %d",
+		maxDeviationMeter, radiusMismatches));
+    }
+}
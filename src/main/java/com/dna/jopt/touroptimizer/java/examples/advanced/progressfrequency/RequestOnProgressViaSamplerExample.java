@@ -0,0 +1,129 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.progressfrequency;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.progressparser.ParsedProgress;
+import com.dna.jopt.touroptimizer.java.examples.util.progressparser.ProgressSampler;
+
+/**
+ * In this example we are requesting progress of several optimizations from one shared scheduler,
+ * instead of one {@code java.util.Timer} per optimization as in {@link
+ * RequestOnProgressViaExternalTimeExample}. Requests back off while the cost does not improve and
+ * stop when an optimization is finished.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class RequestOnProgressViaSamplerExample {
+
+  /** The number of concurrent optimizations. */
+  private static final int NUM_OPTIMIZATIONS = 5;
+
+  public static void main(String[] args)
+      throws InterruptedException, ExecutionException, InvalidLicenceException, IOException {
+    new RequestOnProgressViaSamplerExample().example();
+  }
+
+  public String toString() {
+    return "Request progress of several optimizations via an adaptive sampler.";
+  }
+
+  public void example()
+      throws InterruptedException, ExecutionException, InvalidLicenceException, IOException {
+
+    // (1) One thread for all optimizations
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // (2) Every 500 ms while the cost improves, backing off to 8 s on a plateau
+    ProgressSampler sampler =
+        new ProgressSampler(scheduler, Duration.ofMillis(500), Duration.ofSeconds(8));
+
+    List<CompletableFuture<IOptimizationResult>> resultFutures = new ArrayList<>();
+
+    for (int ii = 0; ii < NUM_OPTIMIZATIONS; ii++) {
+
+      String name = "opti-" + ii;
+      IOptimization opti = createOptimization(ii);
+
+      CompletableFuture<IOptimizationResult> resultFuture = opti.startRunAsync();
+
+      // (3) Only the latest progress of a burst is delivered, sampling stops with the result
+      ProgressSampler.Sampling sampling =
+          sampler.sample(
+              opti,
+              resultFuture,
+              p -> {
+                ParsedProgress pp = new ParsedProgress(p);
+
+                System.out.println(
+                    name + ": PC " + pp.getProgress() + ", AL " + pp.getCallerId() + ", JC "
+                        + pp.getCost());
+              });
+
+      resultFutures.add(
+          resultFuture.whenComplete(
+              (r, e) ->
+                  System.out.println(
+                      name + " finished, last interval " + sampling.getIntervalMillis() + " ms")));
+    }
+
+    // It is important to block the call, otherwise the optimizations will be terminated
+    for (CompletableFuture<IOptimizationResult> resultFuture : resultFutures) {
+      resultFuture.get();
+    }
+
+    scheduler.shutdown();
+  }
+
+  private static IOptimization createOptimization(int index) throws IOException {
+
+    IOptimization opti = new Optimization();
+
+    ExampleLicenseHelper.setLicense(opti);
+
+    Properties props = new Properties();
+
+    props.setProperty("JOptExitCondition.JOptGenerationCount", "" + (5000 * (index + 1)));
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "100000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumRepetions", "1");
+    props.setProperty("JOpt.NumCPUCores", "2");
+
+    opti.addElement(props);
+
+    Position center = Position.of(50.9333, 6.85);
+
+    PerformanceModeBigOptiExample.getResources(center, 2, 0.01, false).forEach(opti::addElement);
+    PerformanceModeBigOptiExample.getNodes(center, Duration.ofMinutes(5), 10, 0.002, false)
+        .forEach(opti::addElement);
+
+    return opti;
+  }
+}
@@ -0,0 +1,256 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.readoutfullprogress;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+import static java.time.Month.MAY;
+import static javax.measure.MetricPrefix.KILO;
+import static tech.units.indriya.unit.Units.METRE;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.member.unit.hours.IWorkingHours;
+import com.dna.jopt.member.unit.hours.IOpeningHours;
+import com.dna.jopt.member.unit.hours.WorkingHours;
+import com.dna.jopt.member.unit.hours.OpeningHours;
+import com.dna.jopt.member.unit.node.geo.TimeWindowGeoNode;
+import com.dna.jopt.member.unit.resource.CapacityResource;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.util.progressparser.ProgressRecord;
+import com.dna.jopt.touroptimizer.java.examples.util.progressparser.ProgressRingBuffer;
+
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Example on how to monitor a high progress frequency without garbage. The progress subscription
+ * writes every event into a {@link ProgressRingBuffer}, a separate reader prints the latest record
+ * twice per second and counts all records it has seen.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class ReadOutProgressRingBufferExample extends Optimization {
+
+  /**
+   * The main method.
+   *
+   * @param args the arguments
+   * @throws IOException Signals that an I/O exception has occurred.
+   * @throws InvalidLicenceException the invalid licence exception
+   * @throws InterruptedException the interrupted exception
+   * @throws ExecutionException the execution exception
+   */
+  public static void main(String[] args)
+      throws IOException, InvalidLicenceException, InterruptedException, ExecutionException {
+    new ReadOutProgressRingBufferExample().example();
+  }
+
+  /**
+   * To string.
+   *
+   * @return the string
+   */
+  public String toString() {
+    return "Example on how to monitor progress via an allocation-free ring buffer.";
+  }
+
+  /**
+   * Example.
+   *
+   * @throws IOException Signals that an I/O exception has occurred.
+   * @throws InvalidLicenceException the invalid licence exception
+   * @throws InterruptedException the interrupted exception
+   * @throws ExecutionException the execution exception
+   */
+  public void example()
+      throws IOException, InvalidLicenceException, InterruptedException, ExecutionException {
+
+    // Set license via helper
+    ExampleLicenseHelper.setLicense(this);
+
+    // Set the Properties
+    this.setProperties();
+
+    this.addNodes();
+    this.addResources();
+
+    // (1) Keep the latest 1024 progress events
+    ProgressRingBuffer ring = new ProgressRingBuffer(1024);
+
+    // (2) The single writer
+    this.getOptimizationEvents().progressSubject().subscribe(ring::write);
+
+    // (3) A reader, e.g. a UI refresh
+    ScheduledExecutorService reader = Executors.newSingleThreadScheduledExecutor();
+    reader.scheduleAtFixedRate(
+        new ProgressPrinter(ring, System.out), 0, 500, TimeUnit.MILLISECONDS);
+
+    CompletableFuture<IOptimizationResult> resultFuture = this.startRunAsync();
+
+    // It is important to block the call, otherwise the optimization will be terminated
+    IOptimizationResult result = resultFuture.get();
+
+    reader.shutdown();
+    reader.awaitTermination(1, TimeUnit.SECONDS);
+
+    System.out.println("Progress events: " + ring.getWriteSequence());
+    System.out.println(result);
+  }
+
+  /** Sets the Properties. */
+  private void setProperties() {
+
+    Properties props = new Properties();
+
+    props.setProperty("JOptExitCondition.JOptGenerationCount", "2000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "10000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumRepetions", "1");
+    props.setProperty("JOpt.NumCPUCores", "4");
+
+    // A progress update every 0.01%, see ChangeOnProgressDefaultFrequencyExample
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.OnProgressOutPercentage", "0.01");
+    props.setProperty("JOpt.Algorithm.GE.OnProgressOutPercentage", "0.01");
+
+    this.addElement(props);
+  }
+
+  /** Adds the Resources. */
+  private void addResources() {
+
+    List<IWorkingHours> workingHours = new ArrayList<>();
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 18, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 18, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration maxWorkingTime = Duration.ofHours(10);
+    Quantity<Length> maxDistanceKmW = Quantities.getQuantity(1200.0, KILO(METRE));
+
+    CapacityResource rep1 =
+        new CapacityResource(
+            "Jack", 50.775346, 6.083887, maxWorkingTime, maxDistanceKmW, workingHours);
+    rep1.setCost(0, 1, 1);
+    this.addElement(rep1);
+  }
+
+  /** Adds the Nodes. */
+  private void addNodes() {
+
+    List<IOpeningHours> weeklyOpeningHours = new ArrayList<>();
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration visitDuration = Duration.ofMinutes(20);
+
+    // Define some Nodes
+    TimeWindowGeoNode koeln =
+        new TimeWindowGeoNode("Koeln", 50.9333, 6.95, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(koeln);
+
+    TimeWindowGeoNode essen =
+        new TimeWindowGeoNode("Essen", 51.45, 7.01667, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(essen);
+
+    TimeWindowGeoNode dueren =
+        new TimeWindowGeoNode("Dueren", 50.8, 6.48333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(dueren);
+
+    TimeWindowGeoNode wuppertal =
+        new TimeWindowGeoNode("Wuppertal", 51.2667, 7.18333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(wuppertal);
+
+    TimeWindowGeoNode aachen =
+        new TimeWindowGeoNode("Aachen", 50.775346, 6.083887, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(aachen);
+  }
+
+  /**
+   * Prints the latest record and counts all records since the last run. The record and the string
+   * builder are reused.
+   */
+  private static final class ProgressPrinter implements Runnable {
+
+    private final ProgressRingBuffer ring;
+    private final PrintStream out;
+
+    private final ProgressRecord rec = new ProgressRecord();
+    private final StringBuilder sb = new StringBuilder(256);
+
+    private long nextSequence;
+
+    private ProgressPrinter(ProgressRingBuffer ring, PrintStream out) {
+      this.ring = ring;
+      this.out = out;
+    }
+
+    @Override
+    public void run() {
+
+      long writeSequence = this.ring.getWriteSequence();
+
+      // Records overwritten before this run are lost, the writer never waits for readers
+      long lost = Math.max(0, this.ring.getOldestSequence() - this.nextSequence);
+      long seen = 0;
+
+      for (long seq = this.nextSequence + lost; seq < writeSequence; seq++) {
+        if (this.ring.read(seq, this.rec)) {
+          seen++;
+        } else {
+          lost++;
+        }
+      }
+
+      this.nextSequence = writeSequence;
+
+      if (!this.ring.readLatest(this.rec)) {
+        return;
+      }
+
+      this.sb.setLength(0);
+      this.sb.append("AL ").append(this.ring.getCallerId(this.rec.getCallerIdIndex())).append(", ");
+      this.rec.appendTo(this.sb);
+      this.sb.append(", SEEN ").append(seen).append(", LOST ").append(lost);
+
+      this.out.println(this.sb);
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.readoutfullprogress;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+import static java.time.Month.MAY;
+import static javax.measure.MetricPrefix.KILO;
+import static tech.units.indriya.unit.Units.METRE;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.member.unit.hours.IWorkingHours;
+import com.dna.jopt.member.unit.hours.IOpeningHours;
+import com.dna.jopt.member.unit.hours.WorkingHours;
+import com.dna.jopt.member.unit.hours.OpeningHours;
+import com.dna.jopt.member.unit.node.geo.TimeWindowGeoNode;
+import com.dna.jopt.member.unit.resource.CapacityResource;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTrace;
+import com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder;
+
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Example on how to record the convergence of optimization runs into trace files with a {@link
+ * ConvergenceTraceRecorder} and how to compare the runs afterwards with {@link ConvergenceTrace}.
+ * The same problem is solved twice, with a different number of CPU cores used by the genetic
+ * algorithm.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class RecordConvergenceTraceExample extends Optimization {
+
+  /** The number of CPU cores of this run. */
+  private final int numCPUCores;
+
+  /** Instantiates a new example run using one CPU core. */
+  public RecordConvergenceTraceExample() {
+    this(1);
+  }
+
+  /**
+   * Instantiates a new example run.
+   *
+   * @param numCPUCores the number of CPU cores
+   */
+  public RecordConvergenceTraceExample(int numCPUCores) {
+    this.numCPUCores = numCPUCores;
+  }
+
+  /**
+   * The main method.
+   *
+   * @param args the arguments
+   * @throws IOException Signals that an I/O exception has occurred.
+   * @throws InvalidLicenceException the invalid licence exception
+   * @throws InterruptedException the interrupted exception
+   * @throws ExecutionException the execution exception
+   */
+  public static void main(String[] args)
+      throws IOException, InvalidLicenceException, InterruptedException, ExecutionException {
+    new RecordConvergenceTraceExample().example();
+  }
+
+  /**
+   * To string.
+   *
+   * @return the string
+   */
+  public String toString() {
+    return "Example on how to record and compare the convergence of optimization runs.";
+  }
+
+  /**
+   * Example.
+   *
+   * @throws IOException Signals that an I/O exception has occurred.
+   * @throws InvalidLicenceException the invalid licence exception
+   * @throws InterruptedException the interrupted exception
+   * @throws ExecutionException the execution exception
+   */
+  public void example()
+      throws IOException, InvalidLicenceException, InterruptedException, ExecutionException {
+
+    Path oneCoreFile = Files.createTempFile("convergence-1-core", ".jctr");
+    Path fourCoresFile = Files.createTempFile("convergence-4-cores", ".jctr");
+
+    // (1) Record both runs, this instance is the first run
+    this.runAndRecord(oneCoreFile);
+    new RecordConvergenceTraceExample(4).runAndRecord(fourCoresFile);
+
+    // (2) Replay the traces, e.g. later in a separate analysis tool
+    ConvergenceTrace oneCore = ConvergenceTrace.open(oneCoreFile);
+    ConvergenceTrace fourCores = ConvergenceTrace.open(fourCoresFile);
+
+    System.out.println("Records: " + oneCore.size() + " / " + fourCores.size());
+    System.out.println("Best cost: " + oneCore.getBestCost() + " / " + fourCores.getBestCost());
+
+    // (3) How long did each run need to get within 1% of the best cost of both runs?
+    double targetCost = Math.min(oneCore.getBestCost(), fourCores.getBestCost()) * 1.01;
+
+    System.out.println(
+        "Millis to reach "
+            + targetCost
+            + ": "
+            + oneCore.getElapsedMillisToReach(targetCost)
+            + " / "
+            + fourCores.getElapsedMillisToReach(targetCost));
+
+    // (4) The cost of both runs every 250 millis, e.g. to be plotted
+    Map<String, ConvergenceTrace> traces = new LinkedHashMap<>();
+    traces.put("1 core", oneCore);
+    traces.put("4 cores", fourCores);
+
+    ConvergenceTrace.compare(traces, 250, System.out);
+
+    Files.delete(oneCoreFile);
+    Files.delete(fourCoresFile);
+  }
+
+  /**
+   * Solves the problem and records the convergence.
+   *
+   * @param traceFile the trace file
+   * @throws IOException Signals that an I/O exception has occurred.
+   * @throws InterruptedException the interrupted exception
+   * @throws ExecutionException the execution exception
+   */
+  private void runAndRecord(Path traceFile)
+      throws IOException, InterruptedException, ExecutionException {
+
+    // Set license via helper
+    ExampleLicenseHelper.setLicense(this);
+
+    // Set the Properties
+    this.setProperties();
+
+    this.addNodes();
+    this.addResources();
+
+    try (ConvergenceTraceRecorder recorder = ConvergenceTraceRecorder.create(traceFile)) {
+
+      // Every progress event is appended to the file
+      recorder.attach(this);
+
+      CompletableFuture<IOptimizationResult> resultFuture = this.startRunAsync();
+
+      // It is important to block the call, otherwise the optimization will be terminated
+      IOptimizationResult result = resultFuture.get();
+
+      System.out.println(
+          this.numCPUCores + " core(s): " + recorder.getRecordCount() + " records, " + result);
+    }
+  }
+
+  /** Sets the Properties. */
+  private void setProperties() {
+
+    Properties props = new Properties();
+
+    props.setProperty("JOptExitCondition.JOptGenerationCount", "3000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "10000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumRepetions", "1");
+    props.setProperty("JOpt.NumCPUCores", String.valueOf(this.numCPUCores));
+
+    // A progress update every 0.1%, recording is cheap enough for high frequencies
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.OnProgressOutPercentage", "0.1");
+    props.setProperty("JOpt.Algorithm.GE.OnProgressOutPercentage", "0.1");
+
+    this.addElement(props);
+  }
+
+  /** Adds the Resources. */
+  private void addResources() {
+
+    List<IWorkingHours> workingHours = new ArrayList<>();
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 18, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 18, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration maxWorkingTime = Duration.ofHours(10);
+    Quantity<Length> maxDistanceKmW = Quantities.getQuantity(1200.0, KILO(METRE));
+
+    CapacityResource rep1 =
+        new CapacityResource(
+            "Jack", 50.775346, 6.083887, maxWorkingTime, maxDistanceKmW, workingHours);
+    rep1.setCost(0, 1, 1);
+    this.addElement(rep1);
+  }
+
+  /** Adds the Nodes. */
+  private void addNodes() {
+
+    List<IOpeningHours> weeklyOpeningHours = new ArrayList<>();
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration visitDuration = Duration.ofMinutes(20);
+
+    // Define some Nodes
+    TimeWindowGeoNode koeln =
+        new TimeWindowGeoNode("Koeln", 50.9333, 6.95, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(koeln);
+
+    TimeWindowGeoNode essen =
+        new TimeWindowGeoNode("Essen", 51.45, 7.01667, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(essen);
+
+    TimeWindowGeoNode dueren =
+        new TimeWindowGeoNode("Dueren", 50.8, 6.48333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(dueren);
+
+    TimeWindowGeoNode wuppertal =
+        new TimeWindowGeoNode("Wuppertal", 51.2667, 7.18333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(wuppertal);
+
+    TimeWindowGeoNode aachen =
+        new TimeWindowGeoNode("Aachen", 50.775346, 6.083887, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(aachen);
+  }
+}
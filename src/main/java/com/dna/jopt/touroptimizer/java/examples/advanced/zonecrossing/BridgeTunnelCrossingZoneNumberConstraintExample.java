@@ -162,7 +162,7 @@ public class BridgeTunnelCrossingZoneNumberConstraintExample extends Optimizatio
 	boolean keepSolutionInJson = false;
 	
 	// The feature of ZoneConnections works regardless of the normal connection settings. Here, we remove the connections to generate a
-	// shorter JSON
+	// shorter JSON. To keep them without a large JSON, use ResultJsonPrinter.toJsonOptimizationString(config, sidecarDirectory)
 	boolean keepNodeConnectionsInJson = false; 
 	
 	// The license that will be used, if we use the JSON as input for the TourOptimizer
@@ -228,6 +228,8 @@ public class BridgeTunnelCrossingZoneNumberConstraintExample extends Optimizatio
     private static void addZoneConnections(IOptimization opti) {
 	IZoneManager zm = opti.getNodeConnector().getZoneManager();
 
+	// For many zones, load the connections from a penalty matrix via ZoneConnectionTable (see ZoneConnectionTableExample)
+
 	// The crossingPenaltyMultiplier of 5.0 will act an additional cost multiplier for going from Zone 1 to Zone 3 when zone-crossing
 	// penalization is turned on.
 	
@@ -0,0 +1,247 @@
+package com.dna.jopt.touroptimizer.java.examples.advanced.zonecrossing;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.zone.ZoneConnectionTable;
+
+/**
+ * Loads the zone connections of 400 postal zones from a penalty matrix, instead of building every
+ * {@code ZoneConnection} by hand as in {@link BridgeTunnelCrossingZoneNumberConstraintExample}.
+ *
+ * <p>The table is written and read as CSV and as binary file, put into the zone manager of a node
+ * connector and used to evaluate the crossing penalties of random zone sequences outside the
+ * optimizer.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class ZoneConnectionTableExample {
+
+    /** The number of zones. */
+    private static final int NUM_ZONES = 400;
+
+    /** The share of zone pairs with a penalized crossing. */
+    private static final double CONNECTION_SHARE = 0.1;
+
+    /** The number of evaluated zone sequences. */
+    private static final int NUM_SEQUENCES = 10_000;
+
+    /** The number of zones per sequence. */
+    private static final int SEQUENCE_LENGTH = 50;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void main(String[] args) throws IOException {
+	new ZoneConnectionTableExample().example();
+    }
+
+    public String toString() {
+	return "Loads zone connections from a penalty matrix and evaluates crossing penalties.";
+    }
+
+    /**
+     * Example.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void example() throws IOException {
+
+	Random random = new Random(42);
+
+	// (1) Postal zones, the zone numbers do not have to be contiguous
+	int[] zoneNumbers = new int[NUM_ZONES];
+
+	for (int ii = 0; ii < NUM_ZONES; ii++) {
+	    zoneNumbers[ii] = 10_000 + ii * 17;
+	}
+
+	ZoneConnectionTable table = createTable(zoneNumbers, random);
+
+	System.out.println("Zones: " + table.size() + ", zone connections: " + table.getConnectionCount());
+
+	Path directory = Files.createTempDirectory("zone-connections");
+
+	// (2) CSV, e.g. maintained in a spreadsheet
+	Path csvFile = directory.resolve("zone-connections.csv");
+
+	try (Writer writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+	    table.writeCsv(writer);
+	}
+
+	long startMillis = System.currentTimeMillis();
+
+	ZoneConnectionTable csvTable = ZoneConnectionTable.readCsv(csvFile);
+
+	System.out.println("Read CSV:    " + Files.size(csvFile) / 1024 + " kB in "
+		+ (System.currentTimeMillis() - startMillis) + " ms");
+
+	// (3) Binary
+	Path binaryFile = directory.resolve("zone-connections.jzct");
+
+	csvTable.write(binaryFile);
+
+	startMillis = System.currentTimeMillis();
+
+	ZoneConnectionTable binaryTable = ZoneConnectionTable.read(binaryFile);
+
+	System.out.println("Read binary: " + Files.size(binaryFile) / 1024 + " kB in "
+		+ (System.currentTimeMillis() - startMillis) + " ms");
+
+	// (4) Validate the loaded setup
+	System.out.println("Round trip equal: " + (isEqual(table, csvTable) && isEqual(table, binaryTable)));
+
+	// (5) One call for all zone connections, use opti.getNodeConnector().getZoneManager() in an optimization
+	INodeEdgeConnector connector = new NodeEdgeConnector();
+
+	startMillis = System.currentTimeMillis();
+
+	int count = binaryTable.putZoneConnections(connector.getZoneManager());
+
+	System.out.println("Put " + count + " zone connections in " + (System.currentTimeMillis() - startMillis)
+		+ " ms");
+
+	// (6) Crossing penalties outside the optimizer
+	evaluate(binaryTable, random);
+
+	Files.delete(csvFile);
+	Files.delete(binaryFile);
+	Files.delete(directory);
+    }
+
+    private static ZoneConnectionTable createTable(int[] zoneNumbers, Random random) {
+
+	ZoneConnectionTable table = new ZoneConnectionTable(zoneNumbers);
+
+	for (int from : zoneNumbers) {
+	    for (int to : zoneNumbers) {
+
+		if (from != to && random.nextDouble() < CONNECTION_SHARE) {
+		    // Bridges and tunnels, 0.0 deactivates the penalty in this direction
+		    table.put(from, to, random.nextInt(3) == 0 ? 0.0 : 1.0 + random.nextInt(5));
+		}
+	    }
+	}
+
+	return table;
+    }
+
+    private static boolean isEqual(ZoneConnectionTable expected, ZoneConnectionTable actual) {
+
+	if (expected.size() != actual.size()) {
+	    return false;
+	}
+
+	for (int from = 0; from < expected.size(); from++) {
+
+	    if (expected.zoneNumberOf(from) != actual.zoneNumberOf(from)) {
+		return false;
+	    }
+
+	    for (int to = 0; to < expected.size(); to++) {
+
+		if (Double.compare(expected.getPenalty(from, to), actual.getPenalty(from, to)) != 0) {
+		    return false;
+		}
+	    }
+	}
+
+	return true;
+    }
+
+    private static void evaluate(ZoneConnectionTable table, Random random) {
+
+	// The zone connections keyed by zone id, as a straightforward lookup would do it
+	Map<String, Double> penaltyById = new HashMap<>();
+
+	for (int from = 0; from < table.size(); from++) {
+	    for (int to = 0; to < table.size(); to++) {
+
+		if (table.hasConnection(from, to)) {
+		    penaltyById.put(table.zoneNumberOf(from) + "=>" + table.zoneNumberOf(to), table.getPenalty(from, to));
+		}
+	    }
+	}
+
+	int[][] sequences = new int[NUM_SEQUENCES][];
+
+	for (int ii = 0; ii < NUM_SEQUENCES; ii++) {
+	    sequences[ii] = random.ints(SEQUENCE_LENGTH, 0, table.size()).toArray();
+	}
+
+	// Warm up both variants before measuring
+	for (int round = 0; round < 5; round++) {
+	    evaluateById(table, penaltyById, sequences);
+	    evaluateDense(table, sequences);
+	}
+
+	long startNanos = System.nanoTime();
+	double byIdSum = evaluateById(table, penaltyById, sequences);
+	long byIdNanos = System.nanoTime() - startNanos;
+
+	startNanos = System.nanoTime();
+	double denseSum = evaluateDense(table, sequences);
+	long denseNanos = System.nanoTime() - startNanos;
+
+	System.out.println(String.format("Zone id map: %8.1f ns/sequence, penalty sum %.1f",
+		(double) byIdNanos / NUM_SEQUENCES, byIdSum));
+	System.out.println(String.format("Dense table: %8.1f ns/sequence, penalty sum %.1f",
+		(double) denseNanos / NUM_SEQUENCES, denseSum));
+    }
+
+    private static double evaluateById(ZoneConnectionTable table, Map<String, Double> penaltyById,
+	    int[][] sequences) {
+
+	double sum = 0.0;
+
+	for (int[] sequence : sequences) {
+	    for (int ii = 1; ii < sequence.length; ii++) {
+
+		Double penalty = penaltyById
+			.get(table.zoneNumberOf(sequence[ii - 1]) + "=>" + table.zoneNumberOf(sequence[ii]));
+
+		if (penalty != null) {
+		    sum += penalty;
+		}
+	    }
+	}
+
+	return sum;
+    }
+
+    private static double evaluateDense(ZoneConnectionTable table, int[][] sequences) {
+
+	double sum = 0.0;
+
+	for (int[] sequence : sequences) {
+	    sum += table.getCrossingPenalty(sequence);
+	}
+
+	return sum;
+    }
+}
@@ -44,6 +44,8 @@ import com.dna.jopt.member.unit.nodeedge.backupconnector.DefaultFlatEarthAverage
 import com.dna.jopt.member.unit.resource.CapacityResource;
 import com.dna.jopt.member.unit.resource.IResource;
 import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.CachingBackupElementConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.GeoDistanceKernel;
 
 import tech.units.indriya.quantity.Quantities;
 
@@ -101,9 +103,14 @@ public class CustomNodeBackUpConnectorHaversineExample extends Optimization {
     this.addNodes();
     this.addResources();
 
-    // Set custom backup connector
+    // Set custom backup connector. The haversine results are cached, as the optimizer asks for
+    // the same element pairs over and over again.
+    CachingBackupElementConnector cachingConnector =
+        new CachingBackupElementConnector(
+            new MyBackupElementConnector(false), 100_000, false);
+
     INodeEdgeConnector connector = new NodeEdgeConnector();
-    connector.setBackupElementConnector(new MyBackupElementConnector(false));
+    connector.setBackupElementConnector(cachingConnector);
     this.setNodeConnector(connector);
 
     CompletableFuture<IOptimizationResult> resultFuture = this.startRunAsync();
@@ -111,6 +118,8 @@ public class CustomNodeBackUpConnectorHaversineExample extends Optimization {
     // It is important to block the call, otherwise optimization will be terminated
 
     resultFuture.get();
+
+    System.out.println(cachingConnector.getStatisticsString());
   }
 
   /** Sets the properties. */
@@ -258,27 +267,18 @@ public class CustomNodeBackUpConnectorHaversineExample extends Optimization {
     System.out.println(rapoptResult);
   }
 
+  /**
+   * Calculates the haversine distance. The calculation is done by the {@link GeoDistanceKernel},
+   * which also offers batch variants for one-to-many and many-to-many distances.
+   *
+   * @param lon1 the lon 1
+   * @param lat1 the lat 1
+   * @param lon2 the lon 2
+   * @param lat2 the lat 2
+   * @return the distance in meter
+   */
   public static double haversineDistanceMeter(double lon1, double lat1, double lon2, double lat2) {
-
-    double r = 6371 * 1000.0; // Radius of the earth in meter
-
-    double deltaLatRad = toRad(lat2 - lat1);
-    double deltaLonRad = toRad(lon2 - lon1);
-
-    double a =
-        Math.sin(deltaLatRad / 2) * Math.sin(deltaLatRad / 2)
-            + Math.cos(toRad(lat1))
-                * Math.cos(toRad(lat2))
-                * Math.sin(deltaLonRad / 2)
-                * Math.sin(deltaLonRad / 2);
-    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-    return r * c; // Distance in meter
-
-  }
-
-  private static Double toRad(Double value) {
-    return value * Math.PI / 180;
+    return GeoDistanceKernel.haversineMeter(lat1, lon1, lat2, lon2);
   }
 
   /**
@@ -0,0 +1,241 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.backupconnector;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.GeoDistanceKernel;
+
+/**
+ * Compares the former per-pair haversine calculation of {@link
+ * CustomNodeBackUpConnectorHaversineExample} (boxed arguments, one pair per call) with the batch
+ * kernels of {@link GeoDistanceKernel}.
+ *
+ * <p>Every variant is warmed up before it is measured. For stable numbers run it with a fixed heap
+ * and without other load on the machine.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class HaversineKernelBenchmarkExample {
+
+  /** The number of points. */
+  private static final int NUM_POINTS = 2000;
+
+  /** The number of measured rounds per variant. */
+  private static final int ROUNDS = 5;
+
+  /**
+   * The main method.
+   *
+   * @param args the arguments
+   */
+  public static void main(String[] args) {
+    new HaversineKernelBenchmarkExample().example();
+  }
+
+  /**
+   * To string.
+   *
+   * @return the string
+   */
+  public String toString() {
+    return "Compares a per-pair haversine calculation with batch distance kernels.";
+  }
+
+  /** Example. */
+  public void example() {
+
+    Random random = new Random(42);
+
+    double[] lats = new double[NUM_POINTS];
+    double[] lons = new double[NUM_POINTS];
+
+    // Points in the area around Cologne
+    for (int ii = 0; ii < NUM_POINTS; ii++) {
+      lats[ii] = 50.5 + random.nextDouble();
+      lons[ii] = 6.5 + random.nextDouble();
+    }
+
+    GeoDistanceKernel kernel = GeoDistanceKernel.of(lats, lons);
+
+    System.out.println("Points: " + NUM_POINTS + ", pairs per round: " + NUM_POINTS * NUM_POINTS);
+
+    // (1) Start the JVM with --add-modules jdk.incubator.vector to compare both kernel variants
+    System.out.println("Vector API: " + (GeoDistanceKernel.isVectorized() ? "on" : "off"));
+
+    measure("Per pair, boxed (former)", () -> perPairBoxed(lats, lons));
+    measure("Per pair, primitive", () -> perPairPrimitive(lats, lons));
+    measure("Kernel, haversine rows", () -> kernelHaversineRows(kernel));
+    measure("Kernel, flat-earth rows", () -> kernelFlatEarthRows(kernel));
+    measure("Kernel, many-to-many", () -> kernelManyToMany(kernel));
+
+    System.out.println(
+        "Max deviation kernel vs former: " + maxDeviationMeter(lats, lons, kernel) + " m");
+    System.out.println(
+        "Max deviation flat-earth kernel vs JOpt: "
+            + maxFlatEarthDeviationMeter(lats, lons, kernel)
+            + " m");
+  }
+
+  private static void measure(String name, DoubleSupplier variant) {
+
+    double checksum = 0.0;
+
+    // Warm up
+    for (int round = 0; round < ROUNDS; round++) {
+      checksum += variant.getAsDouble();
+    }
+
+    long startNanos = System.nanoTime();
+
+    for (int round = 0; round < ROUNDS; round++) {
+      checksum += variant.getAsDouble();
+    }
+
+    long nanos = System.nanoTime() - startNanos;
+    double nanosPerPair = (double) nanos / ROUNDS / ((double) NUM_POINTS * NUM_POINTS);
+
+    // The checksum keeps the JIT from removing the calculation
+    System.out.println(
+        String.format(
+            "%-28s %8.2f ns/pair   (checksum %.3e)", name, nanosPerPair, checksum));
+  }
+
+  private static double perPairBoxed(double[] lats, double[] lons) {
+
+    double sum = 0.0;
+
+    for (int from = 0; from < lats.length; from++) {
+      for (int to = 0; to < lats.length; to++) {
+        sum += formerHaversineDistanceMeter(lons[from], lats[from], lons[to], lats[to]);
+      }
+    }
+
+    return sum;
+  }
+
+  private static double perPairPrimitive(double[] lats, double[] lons) {
+
+    double sum = 0.0;
+
+    for (int from = 0; from < lats.length; from++) {
+      for (int to = 0; to < lats.length; to++) {
+        sum += GeoDistanceKernel.haversineMeter(lats[from], lons[from], lats[to], lons[to]);
+      }
+    }
+
+    return sum;
+  }
+
+  private static double kernelHaversineRows(GeoDistanceKernel kernel) {
+
+    double sum = 0.0;
+    double[] row = new double[kernel.size()];
+
+    for (int from = 0; from < kernel.size(); from++) {
+      kernel.haversineRow(from, row);
+      sum += row[from == 0 ? 1 : 0];
+    }
+
+    return sum;
+  }
+
+  private static double kernelFlatEarthRows(GeoDistanceKernel kernel) {
+
+    double sum = 0.0;
+    double[] row = new double[kernel.size()];
+
+    for (int from = 0; from < kernel.size(); from++) {
+      kernel.flatEarthRow(from, row);
+      sum += row[from == 0 ? 1 : 0];
+    }
+
+    return sum;
+  }
+
+  private static double kernelManyToMany(GeoDistanceKernel kernel) {
+
+    float[] matrix = new float[kernel.size() * kernel.size()];
+    kernel.haversineManyToMany(matrix);
+
+    return matrix[1];
+  }
+
+  private static double maxDeviationMeter(double[] lats, double[] lons, GeoDistanceKernel kernel) {
+
+    double maxDeviation = 0.0;
+    double[] row = new double[kernel.size()];
+
+    for (int from = 0; from < kernel.size(); from++) {
+      kernel.haversineRow(from, row);
+
+      for (int to = 0; to < kernel.size(); to++) {
+        double former = formerHaversineDistanceMeter(lons[from], lats[from], lons[to], lats[to]);
+        maxDeviation = Math.max(maxDeviation, Math.abs(former - row[to]));
+      }
+    }
+
+    return maxDeviation;
+  }
+
+  private static double maxFlatEarthDeviationMeter(
+      double[] lats, double[] lons, GeoDistanceKernel kernel) {
+
+    double maxDeviation = 0.0;
+    double[] row = new double[kernel.size()];
+
+    for (int from = 0; from < kernel.size(); from++) {
+      kernel.flatEarthRow(from, row);
+
+      for (int to = 0; to < kernel.size(); to++) {
+        double jopt =
+            NodeEdgeConnector.distancePlacePlaceFlatEarth(
+                lons[from], lats[from], lons[to], lats[to]);
+        maxDeviation = Math.max(maxDeviation, Math.abs(jopt - row[to]));
+      }
+    }
+
+    return maxDeviation;
+  }
+
+  /**
+   * The former implementation of {@code
+   * CustomNodeBackUpConnectorHaversineExample.haversineDistanceMeter}, kept as baseline.
+   */
+  private static double formerHaversineDistanceMeter(
+      double lon1, double lat1, double lon2, double lat2) {
+
+    double r = 6371 * 1000.0; // Radius of the earth in meter
+
+    double deltaLatRad = toRad(lat2 - lat1);
+    double deltaLonRad = toRad(lon2 - lon1);
+
+    double a =
+        Math.sin(deltaLatRad / 2) * Math.sin(deltaLatRad / 2)
+            + Math.cos(toRad(lat1))
+                * Math.cos(toRad(lat2))
+                * Math.sin(deltaLonRad / 2)
+                * Math.sin(deltaLonRad / 2);
+    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+    return r * c; // Distance in meter
+  }
+
+  private static Double toRad(Double value) {
+    return value * Math.PI / 180;
+  }
+}
@@ -0,0 +1,162 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dna.jopt.config.convert.ConvertException;
+import com.dna.jopt.config.json.types.JSONConfig;
+import com.dna.jopt.config.serialize.SerializationException;
+import com.dna.jopt.config.types.OptimizationConfig;
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.io.importing.IOptimizationImporter;
+import com.dna.jopt.io.importing.json.OptimizationJSONImporter;
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.member.unit.resource.IResource;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ParallelConnectionBuilder;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveMatrixBackupElementConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.jsonprinter.ResultJsonPrinter;
+import com.dna.jopt.touroptimizer.java.examples.util.jsonprinter.SidecarJsonImporter;
+
+/**
+ * Saves an optimization with 500 nodes and all of their connections twice: once with the
+ * connections inside the JSON, once with the connections in a binary sidecar file. Both snapshots
+ * are loaded again and the sizes and load times are compared.
+ *
+ * <p>The sidecar is named by its hash. Keep it next to the JSON, e.g. in the same directory, and
+ * pass that directory to the {@link SidecarJsonImporter}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class ConnectionSidecarSnapshotExample extends Optimization {
+
+    /** The number of nodes. */
+    private static final int NUM_NODES = 500;
+
+    /** The number of resources. */
+    private static final int NUM_RESOURCES = 10;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws ConvertException       the convert exception
+     * @throws SerializationException the serialization exception
+     * @throws IOException            Signals that an I/O exception has occurred.
+     */
+    public static void main(String[] args) throws ConvertException, SerializationException, IOException {
+	new ConnectionSidecarSnapshotExample().example();
+    }
+
+    public String toString() {
+	return "Saves the element connections of a snapshot to a binary sidecar file and loads them again.";
+    }
+
+    /**
+     * Example.
+     *
+     * @throws ConvertException       the convert exception
+     * @throws SerializationException the serialization exception
+     * @throws IOException            Signals that an I/O exception has occurred.
+     */
+    public void example() throws ConvertException, SerializationException, IOException {
+
+	ExampleLicenseHelper.setLicense(this);
+
+	Position center = Position.of(50.9333, 6.85);
+
+	List<INode> nodes = PerformanceModeBigOptiExample.getNodes(center, Duration.ofMinutes(5), NUM_NODES, 0.002,
+		false);
+	List<IResource> ress = PerformanceModeBigOptiExample.getResources(center, NUM_RESOURCES, 0.01, false);
+
+	ress.forEach(this::addElement);
+	nodes.forEach(this::addElement);
+
+	// (1) All connections as connector items, they are part of the snapshot
+	List<IOptimizationElement> elements = new ArrayList<>(ress);
+	elements.addAll(nodes);
+
+	INodeEdgeConnector connector = new NodeEdgeConnector();
+	connector.putNodeConnections(ParallelConnectionBuilder.of(elements).buildItems());
+	this.setNodeConnector(connector);
+
+	OptimizationConfig<JSONConfig> config = ResultJsonPrinter.toJsonOptimization(this,
+		ExampleLicenseHelper.PUBLIC_JSON_LICENSE, Duration.ofMinutes(10), false, true);
+
+	// (2) Connections inside the JSON
+	String plainJson = ResultJsonPrinter.toJsonOptimizationString(config);
+
+	// (3) Connections in a sidecar, the JSON only references its hash
+	Path sidecarDirectory = Files.createTempDirectory("snapshot");
+	String sidecarJson = ResultJsonPrinter.toJsonOptimizationString(config, sidecarDirectory);
+
+	long sidecarBytes = 0;
+
+	try (var files = Files.list(sidecarDirectory)) {
+	    for (Path file : (Iterable<Path>) files::iterator) {
+		sidecarBytes += Files.size(file);
+	    }
+	}
+
+	System.out.println("Connections in JSON: " + plainJson.length() / 1024 + " kB");
+	System.out.println("Connections in sidecar: " + sidecarJson.length() / 1024 + " kB JSON + "
+		+ sidecarBytes / 1024 + " kB sidecar");
+
+	// (4) Loading, the first two variants result in the same optimization
+	long startMillis = System.currentTimeMillis();
+
+	IOptimizationImporter importer = new OptimizationJSONImporter();
+	importer.update(toStream(plainJson), new Optimization());
+
+	System.out.println("Loaded JSON with connections: " + (System.currentTimeMillis() - startMillis) + " ms");
+
+	startMillis = System.currentTimeMillis();
+
+	SidecarJsonImporter.update(toStream(sidecarJson), sidecarDirectory, new Optimization());
+
+	System.out.println("Loaded JSON with sidecar: " + (System.currentTimeMillis() - startMillis) + " ms");
+
+	// (5) Without time buckets, the connections can skip the JSON entirely
+	startMillis = System.currentTimeMillis();
+
+	IOptimization loadedOpti = new Optimization();
+	PrimitiveConnectionMatrix matrix = SidecarJsonImporter.updateWithoutConnections(toStream(sidecarJson),
+		sidecarDirectory, loadedOpti);
+
+	loadedOpti.setNodeConnector(PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(matrix));
+
+	System.out.println("Loaded JSON and sidecar matrix: " + (System.currentTimeMillis() - startMillis) + " ms, "
+		+ matrix.size() + " elements");
+    }
+
+    private static ByteArrayInputStream toStream(String json) {
+	return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
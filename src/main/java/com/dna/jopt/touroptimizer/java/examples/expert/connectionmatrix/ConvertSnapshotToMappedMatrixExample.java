@@ -0,0 +1,93 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.MappedConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveMatrixBackupElementConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.SnapshotConnectionReader;
+
+/**
+ * Converts the {@code elementConnections} of an optimization snapshot into a memory-mapped
+ * connection matrix file.
+ *
+ * <p>Run {@code SaveOptimizationToJsonExample} first to create {@code myopti.json.bz2}. The created
+ * matrix file can be opened by any number of optimizations (and JVMs) in constant time, they share
+ * the page cache of the operating system.
+ *
+ * <p>Usage: {@code ConvertSnapshotToMappedMatrixExample [snapshotFile] [matrixFile]}
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class ConvertSnapshotToMappedMatrixExample {
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void main(String[] args) throws IOException {
+
+	Path snapshotFile = Paths.get(args.length > 0 ? args[0] : "myopti.json.bz2");
+	Path matrixFile = Paths.get(args.length > 1 ? args[1] : "myopti.jcmx");
+
+	new ConvertSnapshotToMappedMatrixExample().example(snapshotFile, matrixFile);
+    }
+
+    public String toString() {
+	return "Converts the element connections of an optimization snapshot into a memory-mapped connection matrix file.";
+    }
+
+    /**
+     * Converts the snapshot and opens the created matrix file.
+     *
+     * @param snapshotFile the snapshot file
+     * @param matrixFile   the matrix file
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void example(Path snapshotFile, Path matrixFile) throws IOException {
+
+	// (1) Stream the connections of the snapshot into a primitive matrix
+	long startMillis = System.currentTimeMillis();
+
+	PrimitiveConnectionMatrix matrix = SnapshotConnectionReader.read(snapshotFile);
+
+	System.out.println("Read " + matrix.size() + " elements from " + snapshotFile + " in "
+		+ (System.currentTimeMillis() - startMillis) + " ms");
+
+	// (2) Write the matrix file
+	MappedConnectionMatrix.write(matrix, matrixFile);
+
+	// (3) Open the matrix file - only header and id table are read
+	startMillis = System.currentTimeMillis();
+
+	MappedConnectionMatrix mappedMatrix = MappedConnectionMatrix.open(matrixFile);
+
+	System.out.println("Mapped " + mappedMatrix.size() + " elements from " + matrixFile + " in "
+		+ (System.currentTimeMillis() - startMillis) + " ms");
+
+	// (4) Create a node connector for an optimization. Use
+	// opti.setNodeConnector(connector) to attach it.
+	INodeEdgeConnector connector = PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(mappedMatrix);
+
+	System.out.println("Created node connector: " + connector.getClass().getSimpleName());
+    }
+}
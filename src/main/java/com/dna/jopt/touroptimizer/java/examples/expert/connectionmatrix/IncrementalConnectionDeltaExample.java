@@ -0,0 +1,98 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.time.Duration;
+import java.util.List;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ConnectionDelta;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.IncrementalConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveMatrixBackupElementConnector;
+
+/**
+ * Intraday re-planning: a plan of 3,000 stops receives 10 new orders and loses 3 cancelled ones.
+ * Only the rows and columns of the changed elements are calculated, instead of rebuilding all
+ * connections.
+ *
+ * <p>The connector is created once and stays attached, e.g. via {@code setNodeConnector} after the
+ * plan was reloaded like in {@code LoadOptimizationFromJsonAndReassignNodes}. Every delta is
+ * visible to it immediately.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class IncrementalConnectionDeltaExample {
+
+    /** The number of existing stops. */
+    private static final int NUM_EXISTING = 3000;
+
+    /** The number of new orders. */
+    private static final int NUM_NEW = 10;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+	new IncrementalConnectionDeltaExample().example();
+    }
+
+    public String toString() {
+	return "Updates the connections of an existing plan incrementally when nodes are added or removed.";
+    }
+
+    /**
+     * Example.
+     */
+    public void example() {
+
+	List<INode> nodes = PerformanceModeBigOptiExample.getNodes(Position.of(50.9333, 6.85), Duration.ofMinutes(5),
+		NUM_EXISTING + NUM_NEW, 0.002, false);
+
+	List<INode> existing = nodes.subList(0, NUM_EXISTING);
+	List<INode> newOrders = nodes.subList(NUM_EXISTING, NUM_EXISTING + NUM_NEW);
+
+	// (1) Full build of the existing plan
+	long startMillis = System.currentTimeMillis();
+
+	IncrementalConnectionMatrix matrix = IncrementalConnectionMatrix.of(existing);
+
+	System.out.println("Full build of " + matrix.size() + " elements: " + (System.currentTimeMillis() - startMillis)
+		+ " ms");
+
+	// (2) The connector stays attached, use opti.setNodeConnector(connector)
+	INodeEdgeConnector connector = PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(matrix);
+
+	// (3) New orders arrive
+	ConnectionDelta added = matrix.addElements(newOrders);
+
+	System.out.println(added);
+
+	// (4) Orders are cancelled
+	ConnectionDelta removed = matrix.removeElements(List.of("N_17", "N_2500", newOrders.get(0).getId()));
+
+	System.out.println(removed);
+
+	System.out.println("Matrix now holds " + matrix.size() + " elements, capacity " + matrix.getCapacity()
+		+ ", connector " + connector.getClass().getSimpleName());
+
+	// (5) Connectors holding connector items receive only the new rows and columns
+	System.out.println("Connector items of the new orders: " + added.createConnectorItems().size());
+    }
+}
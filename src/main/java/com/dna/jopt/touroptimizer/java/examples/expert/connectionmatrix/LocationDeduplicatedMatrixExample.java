@@ -0,0 +1,137 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.LocationGrouping;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.LocationIndexedConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ParallelConnectionBuilder;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveMatrixBackupElementConnector;
+
+/**
+ * Builds the connection matrix of 2,000 nodes of which 30% share their location with another node,
+ * once per element and once per location.
+ *
+ * <p>The shared locations are modeled by location ids, as they can be set via {@code
+ * setLocationId} (see {@code ExternalNodeConnectionWithLocationIdExample}). Nodes with exactly the
+ * same position can be grouped via {@link LocationGrouping#byPosition(List)} instead.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class LocationDeduplicatedMatrixExample {
+
+    /** The number of nodes. */
+    private static final int NUM_NODES = 2000;
+
+    /** The share of nodes located at the location of another node. */
+    private static final double CO_LOCATED_SHARE = 0.3;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+	new LocationDeduplicatedMatrixExample().example();
+    }
+
+    public String toString() {
+	return "Builds a connection matrix between unique locations instead of between all elements.";
+    }
+
+    /**
+     * Builds the matrix per element and per location and compares the size.
+     */
+    public void example() {
+
+	List<INode> nodes = PerformanceModeBigOptiExample.getNodes(Position.of(50.9333, 6.85), Duration.ofMinutes(5),
+		NUM_NODES, 0.002, false);
+
+	Map<String, String> locationIds = createLocationIds(nodes);
+
+	// (1) One row and column per element
+	long startMillis = System.currentTimeMillis();
+
+	PrimitiveConnectionMatrix elementMatrix = ParallelConnectionBuilder.of(nodes).buildMatrix();
+
+	System.out.println("Element matrix:  " + elementMatrix.size() + " rows, "
+		+ elementMatrix.getMatrixBytes() / (1024 * 1024) + " MB, "
+		+ (System.currentTimeMillis() - startMillis) + " ms");
+
+	// (2) One row and column per location
+	startMillis = System.currentTimeMillis();
+
+	LocationGrouping grouping = LocationGrouping.by(nodes, node -> locationIds.get(node.getId()));
+
+	PrimitiveConnectionMatrix locationMatrix = ParallelConnectionBuilder.of(grouping.getRepresentatives())
+		.buildMatrix();
+
+	LocationIndexedConnectionMatrix matrix = new LocationIndexedConnectionMatrix(grouping, locationMatrix);
+
+	System.out.println("Location matrix: " + locationMatrix.size() + " rows, "
+		+ locationMatrix.getMatrixBytes() / (1024 * 1024) + " MB, "
+		+ (System.currentTimeMillis() - startMillis) + " ms");
+
+	System.out.println(
+		"Co-located elements: " + Math.round(grouping.getCoLocatedShare() * 100) + "%");
+
+	// (3) Element lookups resolve through the location index
+	String fromId = nodes.get(NUM_NODES - 1).getId();
+	String toId = nodes.get(0).getId();
+
+	System.out.println(fromId + " => " + toId + ": "
+		+ matrix.getDistanceMeter(matrix.indexOf(fromId), matrix.indexOf(toId)) + " m");
+
+	// (4) Use opti.setNodeConnector(connector) to attach it
+	INodeEdgeConnector connector = PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(matrix);
+
+	System.out.println("Created node connector: " + connector.getClass().getSimpleName());
+    }
+
+    /**
+     * Assigns location ids. The first 70% of the nodes get a location of their own, every other node
+     * is placed at the location of a random node of the first group.
+     *
+     * @param nodes the nodes
+     * @return the location ids by node id
+     */
+    private static Map<String, String> createLocationIds(List<INode> nodes) {
+
+	Random random = new Random(42);
+
+	int numUniqueLocations = (int) (nodes.size() * (1.0 - CO_LOCATED_SHARE));
+
+	Map<String, String> locationIds = new HashMap<>();
+
+	for (int ii = 0; ii < nodes.size(); ii++) {
+
+	    int locationNumber = ii < numUniqueLocations ? ii : random.nextInt(numUniqueLocations);
+
+	    locationIds.put(nodes.get(ii).getId(), "Location_" + locationNumber);
+	}
+
+	return locationIds;
+    }
+}
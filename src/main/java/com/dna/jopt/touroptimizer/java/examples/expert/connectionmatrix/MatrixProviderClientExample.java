@@ -0,0 +1,124 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveMatrixBackupElementConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.matrixprovider.FakeMatrixProvider;
+import com.dna.jopt.touroptimizer.java.examples.util.matrixprovider.IMatrixProvider;
+import com.dna.jopt.touroptimizer.java.examples.util.matrixprovider.MatrixProviderClient;
+
+/**
+ * Fetches the connections of 1,000 nodes from a matrix provider in tiles, twice. The first run asks
+ * the provider, the second run is answered from the tile cache on disk.
+ *
+ * <p>The {@link FakeMatrixProvider} stands in for a routing service: it answers after a fixed
+ * latency and fails a share of the requests, which the client retries. Replace it by an {@link
+ * IMatrixProvider} calling your own service.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class MatrixProviderClientExample {
+
+    /** The number of nodes. */
+    private static final int NUM_NODES = 1000;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws InterruptedException the interrupted exception
+     * @throws ExecutionException   the execution exception
+     * @throws IOException          Signals that an I/O exception has occurred.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+	new MatrixProviderClientExample().example();
+    }
+
+    public String toString() {
+	return "Fetches connections from a matrix provider in tiles, with retries and a disk cache.";
+    }
+
+    /**
+     * Example.
+     *
+     * @throws InterruptedException the interrupted exception
+     * @throws ExecutionException   the execution exception
+     * @throws IOException          Signals that an I/O exception has occurred.
+     */
+    public void example() throws InterruptedException, ExecutionException, IOException {
+
+	List<INode> nodes = PerformanceModeBigOptiExample.getNodes(Position.of(50.9333, 6.85), Duration.ofMinutes(5),
+		NUM_NODES, 0.002, false);
+
+	// 50 ms per tile, 5% of the requests fail
+	FakeMatrixProvider provider = new FakeMatrixProvider(Duration.ofMillis(50), 0.05);
+
+	Path cacheDirectory = Files.createTempDirectory("matrix-tiles");
+
+	// (1) First run, every tile is requested from the provider
+	MatrixProviderClient client = createClient(provider, cacheDirectory);
+
+	long startMillis = System.currentTimeMillis();
+	PrimitiveConnectionMatrix matrix = client.fetchMatrix(nodes).get();
+
+	System.out.println("First run:  " + (System.currentTimeMillis() - startMillis) + " ms, "
+		+ client.getStatisticsString());
+	System.out.println("Provider requests: " + provider.getRequestCount() + ", simulated failures: "
+		+ provider.getFailureCount() + ", max in flight: " + provider.getMaxInFlight());
+
+	// (2) Second run, every tile is read from the cache
+	client = createClient(provider, cacheDirectory);
+
+	startMillis = System.currentTimeMillis();
+	matrix = client.fetchMatrix(nodes).get();
+
+	System.out.println("Second run: " + (System.currentTimeMillis() - startMillis) + " ms, "
+		+ client.getStatisticsString());
+
+	// (3) Use opti.setNodeConnector(connector) to attach it
+	INodeEdgeConnector connector = PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(matrix);
+
+	System.out.println("Created node connector: " + connector.getClass().getSimpleName());
+
+	// (4) For smaller instances, a connector with one item per pair can be created in bulk
+	NodeEdgeConnector itemConnector = client.fetchConnector(nodes.subList(0, 100)).get();
+
+	System.out.println("Created item connector: " + itemConnector.getClass().getSimpleName());
+    }
+
+    private static MatrixProviderClient createClient(IMatrixProvider provider, Path cacheDirectory) {
+
+	return MatrixProviderClient.builder(provider)
+		.tileSize(100)
+		.maxInFlight(4)
+		.maxRetries(3)
+		.retryDelay(Duration.ofMillis(100))
+		.cacheDirectory(cacheDirectory)
+		.build();
+    }
+}
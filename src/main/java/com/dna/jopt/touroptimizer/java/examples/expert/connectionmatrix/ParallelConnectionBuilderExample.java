@@ -0,0 +1,117 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.time.Duration;
+import java.util.List;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ParallelConnectionBuilder;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+
+/**
+ * Compares a single-threaded nested loop with the {@link ParallelConnectionBuilder} for creating
+ * the connection matrix of 5,000 elements.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class ParallelConnectionBuilderExample {
+
+    /** The number of elements. */
+    private static final int NUM_ELEMENTS = 5000;
+
+    /** The average speed in meter per second. */
+    private static final double AVG_SPEED_METER_PER_SECOND = 22.0;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+	new ParallelConnectionBuilderExample().example();
+    }
+
+    public String toString() {
+	return "Creates a connection matrix with a single-threaded nested loop and in parallel with a fork-join pool.";
+    }
+
+    /**
+     * Builds the matrix both ways and prints the needed time.
+     */
+    public void example() {
+
+	List<INode> nodes = PerformanceModeBigOptiExample.getNodes(Position.of(50.9333, 6.85), Duration.ofMinutes(5),
+		NUM_ELEMENTS, 0.002, false);
+
+	// Warm up both variants once
+	buildSequential(nodes);
+	buildParallel(nodes);
+
+	long startNanos = System.nanoTime();
+	buildSequential(nodes);
+	long sequentialMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+
+	startNanos = System.nanoTime();
+	buildParallel(nodes);
+	long parallelMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+
+	System.out.println("Elements:   " + NUM_ELEMENTS);
+	System.out.println("Sequential: " + sequentialMillis + " ms");
+	System.out.println("Parallel:   " + parallelMillis + " ms (" + Runtime.getRuntime().availableProcessors()
+		+ " cores)");
+    }
+
+    /**
+     * Builds the matrix with a single-threaded nested loop.
+     *
+     * @param nodes the nodes
+     * @return the primitive connection matrix
+     */
+    private static PrimitiveConnectionMatrix buildSequential(List<INode> nodes) {
+
+	PrimitiveConnectionMatrix matrix = PrimitiveConnectionMatrix.of(nodes);
+
+	for (int from = 0; from < nodes.size(); from++) {
+	    for (int to = 0; to < nodes.size(); to++) {
+		if (from != to) {
+		    IOptimizationElement fromElement = nodes.get(from);
+		    IOptimizationElement toElement = nodes.get(to);
+
+		    double distanceMeter = NodeEdgeConnector.distancePlacePlaceFlatEarth(fromElement.getLongitude(),
+			    fromElement.getLatitude(), toElement.getLongitude(), toElement.getLatitude());
+
+		    matrix.put(from, to, distanceMeter, (long) (distanceMeter / AVG_SPEED_METER_PER_SECOND * 1000L));
+		}
+	    }
+	}
+
+	return matrix;
+    }
+
+    /**
+     * Builds the matrix with the parallel connection builder.
+     *
+     * @param nodes the nodes
+     * @return the primitive connection matrix
+     */
+    private static PrimitiveConnectionMatrix buildParallel(List<INode> nodes) {
+	return ParallelConnectionBuilder.of(nodes).averageSpeed(AVG_SPEED_METER_PER_SECOND).buildMatrix();
+    }
+}
@@ -0,0 +1,190 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnectorItem;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * Compares the heap footprint of a {@link PrimitiveConnectionMatrix} with the footprint of a
+ * {@link NodeEdgeConnector} holding one {@link NodeEdgeConnectorItem} per ordered pair.
+ *
+ * <p>The item based connector is measured on a sample of rows and extrapolated to the full matrix,
+ * as a full item based matrix for 10,000 elements would not fit into a default heap. Run with a
+ * fixed heap (e.g. {@code -Xms4g -Xmx4g}) to get stable numbers.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class PrimitiveConnectionMatrixFootprintExample {
+
+    /** The element counts to compare. */
+    private static final int[] ELEMENT_COUNTS = { 500, 2000, 10000 };
+
+    /** The maximal number of rows that are materialized as connector items. */
+    private static final int MAX_SAMPLE_ROWS = 200;
+
+    /** The average speed in meter per second. */
+    private static final double AVG_SPEED_METER_PER_SECOND = 22.0;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+	new PrimitiveConnectionMatrixFootprintExample().example();
+    }
+
+    public String toString() {
+	return "Compares the heap footprint of a primitive connection matrix with a connector holding one item per pair.";
+    }
+
+    /**
+     * Measures both representations for all element counts.
+     */
+    public void example() {
+
+	System.out.println(String.format("%8s %16s %18s %10s", "elements", "matrix [MB]", "items [MB]", "factor"));
+
+	for (int numElements : ELEMENT_COUNTS) {
+
+	    List<INode> nodes = PerformanceModeBigOptiExample.getNodes(Position.of(50.9333, 6.85),
+		    Duration.ofMinutes(5), numElements, 0.002, false);
+
+	    long matrixBytes = measureMatrixBytes(nodes);
+	    long itemBytes = measureItemBytes(nodes);
+
+	    System.out.println(String.format("%8d %16.1f %18.1f %10.1f", numElements, matrixBytes / 1e6,
+		    itemBytes / 1e6, (double) itemBytes / Math.max(1, matrixBytes)));
+	}
+    }
+
+    /**
+     * Measures the retained heap of a filled primitive connection matrix.
+     *
+     * @param nodes the nodes
+     * @return the bytes
+     */
+    private static long measureMatrixBytes(List<INode> nodes) {
+
+	long before = usedHeapBytes();
+
+	PrimitiveConnectionMatrix matrix = PrimitiveConnectionMatrix.of(nodes);
+
+	for (int from = 0; from < nodes.size(); from++) {
+	    for (int to = 0; to < nodes.size(); to++) {
+		if (from != to) {
+		    double distanceMeter = distanceMeter(nodes.get(from), nodes.get(to));
+		    matrix.put(from, to, distanceMeter, drivingTimeMillis(distanceMeter));
+		}
+	    }
+	}
+
+	long bytes = usedHeapBytes() - before;
+
+	Reference.reachabilityFence(matrix);
+
+	return bytes;
+    }
+
+    /**
+     * Measures the retained heap of the connector items of some rows and extrapolates it to all
+     * ordered pairs.
+     *
+     * @param nodes the nodes
+     * @return the bytes
+     */
+    private static long measureItemBytes(List<INode> nodes) {
+
+	int sampleRows = Math.min(nodes.size(), MAX_SAMPLE_ROWS);
+
+	long before = usedHeapBytes();
+
+	List<INodeConnectorItem> cons = new ArrayList<>();
+
+	for (int from = 0; from < sampleRows; from++) {
+	    for (int to = 0; to < nodes.size(); to++) {
+		if (from != to) {
+		    IOptimizationElement fromElement = nodes.get(from);
+		    IOptimizationElement toElement = nodes.get(to);
+
+		    double distanceMeter = distanceMeter(fromElement, toElement);
+
+		    INodeConnectorItem connection = new NodeEdgeConnectorItem();
+		    connection.setFromOptimizationElement(fromElement);
+		    connection.setToOptimizationElement(toElement);
+		    connection.setDistance(Quantities.getQuantity(distanceMeter, Units.METRE));
+		    connection.setDrivingTime(Duration.ofMillis(drivingTimeMillis(distanceMeter)));
+
+		    cons.add(connection);
+		}
+	    }
+	}
+
+	INodeEdgeConnector connector = new NodeEdgeConnector();
+	connector.putNodeConnections(cons);
+	cons = null;
+
+	long sampleBytes = usedHeapBytes() - before;
+
+	Reference.reachabilityFence(connector);
+
+	long samplePairs = (long) sampleRows * (nodes.size() - 1);
+	long allPairs = (long) nodes.size() * (nodes.size() - 1);
+
+	return (long) ((double) sampleBytes / samplePairs * allPairs);
+    }
+
+    /*
+     * Helper
+     */
+
+    private static double distanceMeter(IOptimizationElement from, IOptimizationElement to) {
+	return NodeEdgeConnector.distancePlacePlaceFlatEarth(from.getLongitude(), from.getLatitude(),
+		to.getLongitude(), to.getLatitude());
+    }
+
+    private static long drivingTimeMillis(double distanceMeter) {
+	return (long) (distanceMeter / AVG_SPEED_METER_PER_SECOND * 1000L);
+    }
+
+    private static long usedHeapBytes() {
+
+	MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+	for (int ii = 0; ii < 3; ii++) {
+	    System.gc();
+	}
+
+	return memory.getHeapMemoryUsage().getUsed();
+    }
+}
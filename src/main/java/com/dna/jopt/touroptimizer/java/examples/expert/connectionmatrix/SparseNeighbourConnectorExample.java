@@ -0,0 +1,157 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.backupconnector.DefaultFlatEarthAverageSpeedBackupElementConnector;
+import com.dna.jopt.member.unit.resource.IResource;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveMatrixBackupElementConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.SparseNeighbourConnectionMatrix;
+
+/**
+ * Stores exact connections only for the k nearest neighbours of every node and for the connections
+ * from and to the resources. All other pairs are answered by a fallback backup connector.
+ *
+ * <p>The fallback share printed after the run shows how often the optimizer asked for a pair
+ * outside the stored neighbourhood. Increase {@code NUM_NEIGHBOURS} if it is high, decrease it to
+ * save memory if it is low.
+ *
+ * <p>The instance has the shape of {@link PerformanceModeBigOptiExample}. Large instances can't be
+ * run in free license mode.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class SparseNeighbourConnectorExample extends Optimization {
+
+    /** The number of nodes. */
+    private static final int NUM_NODES = 2000;
+
+    /** The number of resources. */
+    private static final int NUM_RESOURCES = 40;
+
+    /** The number of nearest neighbours stored per node. */
+    private static final int NUM_NEIGHBOURS = 20;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws InterruptedException    the interrupted exception
+     * @throws ExecutionException      the execution exception
+     * @throws InvalidLicenceException the invalid licence exception
+     * @throws IOException             Signals that an I/O exception has occurred.
+     * @throws TimeoutException        the timeout exception
+     */
+    public static void main(String[] args)
+	    throws InterruptedException, ExecutionException, InvalidLicenceException, IOException, TimeoutException {
+	new SparseNeighbourConnectorExample().example();
+    }
+
+    public String toString() {
+	return "Stores exact connections only for the nearest neighbours and depots, all other pairs use a backup connector.";
+    }
+
+    /**
+     * Example.
+     *
+     * @throws InterruptedException    the interrupted exception
+     * @throws ExecutionException      the execution exception
+     * @throws InvalidLicenceException the invalid licence exception
+     * @throws IOException             Signals that an I/O exception has occurred.
+     * @throws TimeoutException        the timeout exception
+     */
+    public void example()
+	    throws InterruptedException, ExecutionException, InvalidLicenceException, IOException, TimeoutException {
+
+	ExampleLicenseHelper.setLicense(this);
+
+	this.addProperties();
+
+	Position center = Position.of(50.9333, 6.85);
+
+	List<INode> nodes = PerformanceModeBigOptiExample.getNodes(center, Duration.ofMinutes(5), NUM_NODES, 0.002,
+		false);
+	List<IResource> ress = PerformanceModeBigOptiExample.getResources(center, NUM_RESOURCES, 0.01, false);
+
+	ress.forEach(this::addElement);
+	nodes.forEach(this::addElement);
+
+	// (1) Exact connections for the nearest neighbours and the depots
+	long startMillis = System.currentTimeMillis();
+
+	SparseNeighbourConnectionMatrix matrix = SparseNeighbourConnectionMatrix.builder(nodes).depots(ress)
+		.neighbours(NUM_NEIGHBOURS).build();
+
+	System.out.println("Stored " + matrix.getConnectionCount() + " of "
+		+ (long) matrix.size() * (matrix.size() - 1) + " connections (" + matrix.getMatrixBytes() / 1024
+		+ " kB) in " + (System.currentTimeMillis() - startMillis) + " ms");
+
+	// (2) All other pairs are answered by the fallback
+	PrimitiveMatrixBackupElementConnector backupConnector = new PrimitiveMatrixBackupElementConnector(matrix,
+		new DefaultFlatEarthAverageSpeedBackupElementConnector(false));
+
+	INodeEdgeConnector connector = new NodeEdgeConnector();
+	connector.setBackupElementConnector(backupConnector);
+	this.setNodeConnector(connector);
+
+	this.getOptimizationEvents().progressSubject().subscribe(p -> System.out.println(p.getProgressString()));
+	this.getOptimizationEvents().errorSubject().subscribe(e -> System.out.println(e.toString()));
+
+	CompletableFuture<IOptimizationResult> resultFuture = this.startRunAsync();
+
+	// It is important to block the call, otherwise the Optimization will be
+	// terminated
+	IOptimizationResult result = resultFuture.get(5, TimeUnit.MINUTES);
+
+	System.out.println(result);
+
+	// (3) Tune the number of neighbours against the fallback share
+	System.out.println("Lookups: " + backupConnector.getLookupCount() + ", fallbacks: "
+		+ backupConnector.getFallbackCount() + " ("
+		+ Math.round(backupConnector.getFallbackShare() * 1000) / 10.0 + "%)");
+    }
+
+    /**
+     * Adds the properties.
+     */
+    private void addProperties() {
+
+	Properties props = new Properties();
+
+	props.setProperty("JOptExitCondition.JOptGenerationCount", "10000");
+	props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "100000");
+	props.setProperty("JOpt.NumCPUCores", "4");
+	props.setProperty("JOpt.PerformanceMode", "true");
+
+	this.addElement(props);
+    }
+}
@@ -0,0 +1,138 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionmatrix;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.member.unit.node.INode;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.advanced.performancemode.PerformanceModeBigOptiExample;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ParallelConnectionBuilder;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveMatrixBackupElementConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.SymmetricConnectionMatrix;
+
+/**
+ * Stores the road matrix of 3,000 nodes as upper triangle. The two directions of most pairs differ
+ * by a few percent only, 1% of the directions are one-way detours. Only the detours are kept in the
+ * exception table.
+ *
+ * <p>For hand-made connections like in {@code ExternalNodeConnectionExample}, a single {@code put}
+ * per pair is enough: the opposite direction is answered from the same entry.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class SymmetricConnectionMatrixExample {
+
+    /** The number of nodes. */
+    private static final int NUM_NODES = 3000;
+
+    /** The share of one-way detours. */
+    private static final double ONE_WAY_SHARE = 0.01;
+
+    /** Directions differing by up to 5% share one entry. */
+    private static final double RELATIVE_TOLERANCE = 0.05;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+	new SymmetricConnectionMatrixExample().example();
+    }
+
+    public String toString() {
+	return "Stores a nearly symmetric connection matrix as upper triangle with an exception table.";
+    }
+
+    /**
+     * Example.
+     */
+    public void example() {
+
+	List<INode> nodes = PerformanceModeBigOptiExample.getNodes(Position.of(50.9333, 6.85), Duration.ofMinutes(5),
+		NUM_NODES, 0.002, false);
+
+	// (1) A full matrix, as received from a routing service
+	PrimitiveConnectionMatrix fullMatrix = ParallelConnectionBuilder.of(nodes).haversine().buildMatrix();
+
+	addAsymmetry(fullMatrix, new Random(42));
+
+	// (2) Upper triangle plus exceptions
+	long startMillis = System.currentTimeMillis();
+
+	SymmetricConnectionMatrix matrix = SymmetricConnectionMatrix.copyOf(fullMatrix, RELATIVE_TOLERANCE);
+
+	System.out.println("Full matrix:      " + fullMatrix.getMatrixBytes() / (1024 * 1024) + " MB");
+	System.out.println("Symmetric matrix: " + matrix.getMatrixBytes() / (1024 * 1024) + " MB, "
+		+ matrix.getExceptionCount() + " exceptions, " + (System.currentTimeMillis() - startMillis) + " ms");
+
+	System.out.println("Max. relative deviation: "
+		+ Math.round(maxRelativeDeviation(fullMatrix, matrix) * 1000) / 10.0 + "%");
+
+	// (3) Use opti.setNodeConnector(connector) to attach it
+	INodeEdgeConnector connector = PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(matrix);
+
+	System.out.println("Created node connector: " + connector.getClass().getSimpleName());
+    }
+
+    /**
+     * Makes the matrix asymmetric: every connection deviates by up to 2%, some are one-way detours
+     * that are 40% longer.
+     *
+     * @param matrix the matrix
+     * @param random the random
+     */
+    private static void addAsymmetry(PrimitiveConnectionMatrix matrix, Random random) {
+
+	for (int from = 0; from < matrix.size(); from++) {
+	    for (int to = 0; to < matrix.size(); to++) {
+
+		if (!matrix.hasConnection(from, to)) {
+		    continue;
+		}
+
+		double factor = random.nextDouble() < ONE_WAY_SHARE ? 1.4 : 1.0 + random.nextDouble() * 0.02;
+
+		matrix.put(from, to, matrix.getDistanceMeter(from, to) * factor,
+			Math.round(matrix.getDrivingTimeMillis(from, to) * factor));
+	    }
+	}
+    }
+
+    private static double maxRelativeDeviation(PrimitiveConnectionMatrix fullMatrix,
+	    SymmetricConnectionMatrix matrix) {
+
+	double maxDeviation = 0.0;
+
+	for (int from = 0; from < fullMatrix.size(); from++) {
+	    for (int to = 0; to < fullMatrix.size(); to++) {
+
+		double expected = fullMatrix.getDrivingTimeMillis(from, to);
+
+		if (expected > 0) {
+		    double deviation = Math.abs(matrix.getDrivingTimeMillis(from, to) - expected) / expected;
+		    maxDeviation = Math.max(maxDeviation, deviation);
+		}
+	    }
+	}
+
+	return maxDeviation;
+    }
+}
@@ -55,17 +55,16 @@ import com.dna.jopt.member.unit.nodeedge.ConnectionBucket;
 import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
 import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
 import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
-import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnectorItem;
 import com.dna.jopt.member.unit.nodeedge.TimedConnectionData;
 import com.dna.jopt.member.unit.nodeedge.TimedNodeConnectorItem;
-import com.dna.jopt.member.unit.nodeedge.time.DayDef;
-import com.dna.jopt.member.unit.nodeedge.time.RangeDef;
 import com.dna.jopt.member.unit.resource.CapacityResource;
 import com.dna.jopt.member.unit.resource.IResource;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ParallelConnectionBuilder;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.TrafficProfile;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.TrafficProfileRegistry;
 import com.dna.jopt.touroptimizer.java.examples.util.jsonprinter.ResultJsonPrinter;
 
 import tech.units.indriya.quantity.Quantities;
-import tech.units.indriya.unit.Units;
 
 
 /**
@@ -90,6 +89,45 @@ import tech.units.indriya.unit.Units;
  */
 public class ConnectionStoreExample extends Optimization {
 
+    /**
+     * The weekday traffic profile (Monday to Friday), including morning and evening rush hours. Each
+     * {@link LocalTime} represents a time grid point where a specific multiplier for the base driving
+     * time applies. Between these grid points, driving times are linearly interpolated.
+     * 
+     * <p>Profile:
+     * <ul>
+     *   <li><b>6:00</b> Normal traffic (multiplier 1.0)</li>
+     *   <li><b>7:00-9:00</b> Morning rush hour (multiplier 1.8)</li>
+     *   <li><b>13:00</b> Normal midday traffic (multiplier 1.0)</li>
+     *   <li><b>16:00-19:00</b> Evening rush hour (multiplier 1.6)</li>
+     *   <li><b>20:00</b> Night traffic (multiplier 1.0)</li>
+     * </ul>
+     */
+    private static final TrafficProfile WEEKDAY_PROFILE = TrafficProfile.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY)
+	    .at(LocalTime.of(6, 0), 1.0)
+	    .at(LocalTime.of(7, 0), 1.8)
+	    .at(LocalTime.of(9, 0), 1.8)
+	    .at(LocalTime.of(13, 0), 1.0)
+	    .at(LocalTime.of(16, 0), 1.6)
+	    .at(LocalTime.of(19, 0), 1.6)
+	    .at(LocalTime.of(20, 0), 1.0);
+
+    /** The weekend traffic profile (Saturday and Sunday) with light delays. */
+    private static final TrafficProfile WEEKEND_PROFILE = TrafficProfile.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)
+	    .at(LocalTime.of(6, 0), 1.0)
+	    .at(LocalTime.of(7, 0), 1.05)
+	    .at(LocalTime.of(9, 0), 1.05)
+	    .at(LocalTime.of(13, 0), 1.0)
+	    .at(LocalTime.of(16, 0), 1.05)
+	    .at(LocalTime.of(19, 0), 1.05)
+	    .at(LocalTime.of(20, 0), 1.0);
+
+    /** The registry storing each distinct traffic profile once. */
+    private static final TrafficProfileRegistry TRAFFIC_PROFILES = new TrafficProfileRegistry();
+
+    /** The profile id shared by all connections of this example. */
+    private static final short RUSH_HOUR_PROFILE_ID = TRAFFIC_PROFILES.register(WEEKEND_PROFILE, WEEKDAY_PROFILE);
+
     /**
      * The main method.
      *
@@ -307,7 +345,9 @@ public class ConnectionStoreExample extends Optimization {
     }
 
     /**
-     * Creates the dummy connections.
+     * Creates the dummy connections. The rows of the connection matrix are filled in parallel by
+     * the {@link ParallelConnectionBuilder}, the flat-earth distances of a row are calculated by a
+     * batch kernel. The timed bucket data is attached to every connection with a distance.
      *
      * @param els the els
      * @return the list
@@ -316,168 +356,31 @@ public class ConnectionStoreExample extends Optimization {
 
 	double avgResourceSpeedMetersPerHour = 22.0;
 
-	List<INodeConnectorItem> cons = new ArrayList<>();
-
-	for (IOptimizationElement from : els) {
-
-	    for (IOptimizationElement to : els) {
-
-		if (from != to) {
-
-		    double distanceMetre = NodeEdgeConnector.distancePlacePlaceFlatEarth(from.getLongitude(),
-			    from.getLatitude(), to.getLongitude(), to.getLatitude());
-
-		    INodeConnectorItem connection = new NodeEdgeConnectorItem();
-		    connection.setFromOptimizationElement(from);
-		    connection.setToOptimizationElement(to);
-		    connection.setDistance(Quantities.getQuantity(distanceMetre, Units.METRE));
-		    connection.setDrivingTime(element2ElementDuration(distanceMetre, avgResourceSpeedMetersPerHour));
-
-		    cons.add(connection);
-
-		    if (distanceMetre > 0.0) {
+	return ParallelConnectionBuilder.of(els)
+		.flatEarth()
+		.drivingTime((from, to, distanceMetre) -> element2ElementDuration(distanceMetre,
+			avgResourceSpeedMetersPerHour).toMillis())
+		.buildItems(connection -> {
+		    if (connection.getDistanceMeter() > 0.0) {
 			TimedNodeConnectorItem.setTimedBucketData(connection, createConnectionBucket(connection));
 		    }
-
-		}
-	    }
-	}
-
-	return cons;
+		});
 
     }
 
     /**
-     * Creates the connection bucket.
+     * Creates the connection bucket. The buckets are created from the shared weekend and weekday
+     * profiles of the {@link #TRAFFIC_PROFILES} registry, every connection only contributes its base
+     * distance and driving time.
      *
      * @param connection the connection
      * @return the list
      */
     public static List<ConnectionBucket> createConnectionBucket(INodeConnectorItem connection) {
-
-	ConnectionBucket weekendBucket = new ConnectionBucket(
-		RangeDef.of(DayDef.of(DayOfWeek.SATURDAY), DayDef.of(DayOfWeek.SUNDAY)),
-		createTimedWeekendConnections(connection));
-
-	ConnectionBucket weekBucket = new ConnectionBucket(
-		RangeDef.of(DayDef.of(DayOfWeek.MONDAY), DayDef.of(DayOfWeek.FRIDAY)),
-		createTimedWeekConnections(connection));
-
-	return List.of(weekendBucket, weekBucket);
-
-    }
-
-    /*
-     * 
-     */
-
-    /**
-     * Creates the timed week connections.
-     *
-     * @param connection the connection
-     * @return the list
-     */
-    private static List<TimedConnectionData> createTimedWeekConnections(INodeConnectorItem connection) {
-	return createTimedWeekdayConnections(Quantities.getQuantity(connection.getDistanceMeter(), Units.METRE),
-		Duration.ofMillis(connection.getBaseTimeMillis()));
-    }
-
-    /**
-     * Creates the timed weekend connections.
-     *
-     * @param connection the connection
-     * @return the list
-     */
-    private static List<TimedConnectionData> createTimedWeekendConnections(INodeConnectorItem connection) {
-	return createTimedWeekendConnections(Quantities.getQuantity(connection.getDistanceMeter(), Units.METRE),
-		Duration.ofMillis(connection.getBaseTimeMillis()));
-    }
-
-    /*
-     * 
-     */
-    
-    /**
-     * Creates a list of {@link TimedConnectionData} objects for weekday traffic conditions (Monday to Friday).
-     * 
-     * <p>This method defines time-dependent connection data for typical weekday traffic patterns,
-     * including morning and evening rush hours. Each {@link LocalTime} in the list represents a
-     * time grid point where specific travel conditions (via multipliers) apply. Between these grid points,
-     * driving times are linearly interpolated.
-     * 
-     * <p>Example profile:
-     * <ul>
-     *   <li><b>6:00</b> Normal traffic (multiplier 1.0)</li>
-     *   <li><b>7:00-9:00</b> Morning rush hour (multiplier 1.8)</li>
-     *   <li><b>13:00</b> Normal midday traffic (multiplier 1.0)</li>
-     *   <li><b>16:00-19:00</b> Evening rush hour (multiplier 1.6)</li>
-     *   <li><b>20:00</b> Night traffic (multiplier 1.0)</li>
-     * </ul>
-     * 
-     * @param distance The base distance between two nodes.
-     * @param driving  The base (unadjusted) driving duration.
-     * @return A list of {@code TimedConnectionData} defining weekday traffic variations.
-     */
-    private static List<TimedConnectionData> createTimedWeekdayConnections(Quantity<Length> distance, Duration driving) {
-
-	// Monday-Friday
-	
-	double normalMultiplier = 1.0;
-	double rushHourMorningMultiplier = 1.8;
-	double rushHourEveningMultiplier = 1.6;
-
-	LocalTime normalMorning = LocalTime.of(6, 0);
-	LocalTime rushHourMorningStart = LocalTime.of(7, 0);
-	LocalTime rushHourMorningEnd = LocalTime.of(9, 0);
-	LocalTime normalNoon = LocalTime.of(13, 0);
-	LocalTime rushHourEveningStart = LocalTime.of(16, 0);
-	LocalTime rushHourEveningEnd = LocalTime.of(19, 0);
-	LocalTime normalNight = LocalTime.of(20, 0);
-
-	return List.of(createTimedConnection(normalMorning, distance, driving, normalMultiplier),
-		createTimedConnection(rushHourMorningStart, distance, driving, rushHourMorningMultiplier),
-		createTimedConnection(rushHourMorningEnd, distance, driving, rushHourMorningMultiplier),
-		createTimedConnection(normalNoon, distance, driving, normalMultiplier),
-		createTimedConnection(rushHourEveningStart, distance, driving, rushHourEveningMultiplier),
-		createTimedConnection(rushHourEveningEnd, distance, driving, rushHourEveningMultiplier),
-		createTimedConnection(normalNight, distance, driving, normalMultiplier));
-
+	return TRAFFIC_PROFILES.createBuckets(RUSH_HOUR_PROFILE_ID, connection.getDistanceMeter(),
+		connection.getBaseTimeMillis());
     }
 
-    /**
-     * Creates the timed weekend connections.
-     *
-     * @param distance the distance
-     * @param driving the driving
-     * @return the list
-     */
-    private static List<TimedConnectionData> createTimedWeekendConnections(Quantity<Length> distance,
-	    Duration driving) {
-
-	double normalMultiplier = 1.0;
-	double rushHourMorningMultiplier = 1.05;
-	double rushHourEveningMultiplier = 1.05;
-
-	LocalTime normalMorning = LocalTime.of(6, 0);
-	LocalTime rushHourMorningStart = LocalTime.of(7, 0);
-	LocalTime rushHourMorningEnd = LocalTime.of(9, 0);
-	LocalTime normalNoon = LocalTime.of(13, 0);
-	LocalTime rushHourEveningStart = LocalTime.of(16, 0);
-	LocalTime rushHourEveningEnd = LocalTime.of(19, 0);
-	LocalTime normalNight = LocalTime.of(20, 0);
-
-	return List.of(createTimedConnection(normalMorning, distance, driving, normalMultiplier),
-		createTimedConnection(rushHourMorningStart, distance, driving, rushHourMorningMultiplier),
-		createTimedConnection(rushHourMorningEnd, distance, driving, rushHourMorningMultiplier),
-		createTimedConnection(normalNoon, distance, driving, normalMultiplier),
-		createTimedConnection(rushHourEveningStart, distance, driving, rushHourEveningMultiplier),
-		createTimedConnection(rushHourEveningEnd, distance, driving, rushHourEveningMultiplier),
-		createTimedConnection(normalNight, distance, driving, normalMultiplier));
-
-    }
-
-   
-
     /**
      * Element 2 element duration.
      *
@@ -492,23 +395,6 @@ public class ConnectionStoreExample extends Optimization {
 	return Duration.ofMillis(traveltime);
     }
 
-    /**
-     * Creates the timed connection.
-     *
-     * @param time the time
-     * @param distance the distance
-     * @param driving the driving
-     * @param multiplier the multiplier
-     * @return the timed connection data
-     */
-    private static TimedConnectionData createTimedConnection(LocalTime time, Quantity<Length> distance,
-	    Duration driving, double multiplier) {
-
-	return new TimedConnectionData(time, distance, Duration.ofSeconds((long) (driving.getSeconds() * multiplier))
-
-	);
-    }
-
     /*
      * 
      * 
@@ -0,0 +1,350 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.connectionstore;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import com.dna.jopt.member.unit.nodeedge.ConnectionBucket;
+import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.TimedNodeConnectorItem;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.TrafficProfile;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.TrafficProfileRegistry;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.TrafficTimeTable;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * Compares the driving time lookup of a compiled {@link TrafficTimeTable} with the time-dependent
+ * connections of {@link ConnectionStoreExample}.
+ *
+ * <p>The connections are created as in {@link ConnectionStoreExample}: one connector item per
+ * connection, holding the real {@link ConnectionBucket}s created by {@link
+ * TrafficProfileRegistry#createBuckets(int, double, long)} from the same registered profiles. The
+ * time to create and attach them is measured first. The optimizer evaluates these buckets
+ * internally and does not expose the lookup, so the lookup is measured on the grid points of the
+ * buckets: every lookup converts the time to a {@code ZonedDateTime}, searches the bucket of the
+ * day and interpolates between the {@code LocalTime} / {@code Duration} grid points. The grid
+ * points are created per connection with the same rounded durations as {@link
+ * TrafficProfile#createBucket(javax.measure.Quantity, Duration)}.
+ *
+ * <p>Every variant is warmed up before it is measured. The results of both variants are compared
+ * and may differ by less than one second, as the bucket durations are rounded to seconds.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class TrafficTimeTableBenchmarkExample {
+
+    /** The number of connections. */
+    private static final int NUM_CONNECTIONS = 1000;
+
+    /** The number of lookups per round. */
+    private static final int NUM_LOOKUPS = 1_000_000;
+
+    /** The number of measured rounds per variant. */
+    private static final int ROUNDS = 5;
+
+    /** The zone offset of all lookups. */
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(1);
+
+    /** The weekday profile of {@link ConnectionStoreExample}. */
+    private static final TrafficProfile WEEKDAY_PROFILE = TrafficProfile.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY)
+	    .at(LocalTime.of(6, 0), 1.0)
+	    .at(LocalTime.of(7, 0), 1.8)
+	    .at(LocalTime.of(9, 0), 1.8)
+	    .at(LocalTime.of(13, 0), 1.0)
+	    .at(LocalTime.of(16, 0), 1.6)
+	    .at(LocalTime.of(19, 0), 1.6)
+	    .at(LocalTime.of(20, 0), 1.0);
+
+    /** The weekend profile of {@link ConnectionStoreExample}. */
+    private static final TrafficProfile WEEKEND_PROFILE = TrafficProfile.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)
+	    .at(LocalTime.of(6, 0), 1.0)
+	    .at(LocalTime.of(7, 0), 1.05)
+	    .at(LocalTime.of(9, 0), 1.05)
+	    .at(LocalTime.of(13, 0), 1.0)
+	    .at(LocalTime.of(16, 0), 1.05)
+	    .at(LocalTime.of(19, 0), 1.05)
+	    .at(LocalTime.of(20, 0), 1.0);
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+	new TrafficTimeTableBenchmarkExample().example();
+    }
+
+    public String toString() {
+	return "Compares compiled traffic time tables with the connection buckets of the optimizer.";
+    }
+
+    /**
+     * Example.
+     */
+    public void example() {
+
+	// (1) The registry and profile id of ConnectionStoreExample
+	TrafficProfileRegistry registry = new TrafficProfileRegistry();
+	short profileId = registry.register(WEEKEND_PROFILE, WEEKDAY_PROFILE);
+
+	List<TrafficProfile> profiles = registry.getProfiles(profileId);
+
+	TrafficTimeTable table = TrafficTimeTable.compile(registry, profileId);
+
+	System.out.println("Compiled " + profiles.size() + " profiles into " + table.getSlotCount() + " slots");
+
+	Random random = new Random(42);
+
+	long[] baseTimesMillis = new long[NUM_CONNECTIONS];
+	double[] distancesMeter = new double[NUM_CONNECTIONS];
+
+	for (int ii = 0; ii < NUM_CONNECTIONS; ii++) {
+	    baseTimesMillis[ii] = Duration.ofMinutes(5 + random.nextInt(120)).toMillis();
+	    // About 54 km/h
+	    distancesMeter[ii] = baseTimesMillis[ii] / 1000.0 * 15.0;
+	}
+
+	// (2) The connector items with real buckets, as handed to the optimizer
+	measureBucketCreation(registry, profileId, distancesMeter, baseTimesMillis);
+
+	// (3) The grid points of the same buckets, one list per connection
+	BucketGrid[][] buckets = new BucketGrid[NUM_CONNECTIONS][];
+
+	for (int ii = 0; ii < NUM_CONNECTIONS; ii++) {
+	    buckets[ii] = new BucketGrid[profiles.size()];
+
+	    for (int jj = 0; jj < profiles.size(); jj++) {
+		buckets[ii][jj] = BucketGrid.of(profiles.get(jj), baseTimesMillis[ii]);
+	    }
+	}
+
+	long weekStart = ZonedDateTime.of(2100, 2, 15, 0, 0, 0, 0, OFFSET).toInstant().toEpochMilli();
+
+	int[] connections = random.ints(NUM_LOOKUPS, 0, NUM_CONNECTIONS).toArray();
+	long[] epochMillis = random.longs(NUM_LOOKUPS, weekStart, weekStart + 7L * TrafficTimeTable.DAY_MILLIS)
+		.toArray();
+
+	double interpolated = measure("Bucket interpolation",
+		() -> bucketLookups(buckets, baseTimesMillis, connections, epochMillis));
+	double compiled = measure("Compiled time table",
+		() -> tableLookups(table, baseTimesMillis, connections, epochMillis));
+
+	System.out.println(String.format("Speedup %.1fx", interpolated / compiled));
+
+	verify(table, buckets, baseTimesMillis, connections, epochMillis);
+    }
+
+    /**
+     * Creates the connector items with their buckets, like {@code ConnectionStoreExample.createConnectionBucket}.
+     *
+     * @return the items
+     */
+    private static List<INodeConnectorItem> createItems(TrafficProfileRegistry registry, short profileId,
+	    double[] distancesMeter, long[] baseTimesMillis) {
+
+	List<INodeConnectorItem> items = new ArrayList<>(distancesMeter.length);
+
+	for (int ii = 0; ii < distancesMeter.length; ii++) {
+
+	    INodeConnectorItem item = new NodeEdgeConnectorItem();
+	    item.setDistance(Quantities.getQuantity(distancesMeter[ii], Units.METRE));
+	    item.setDrivingTime(Duration.ofMillis(baseTimesMillis[ii]));
+
+	    TimedNodeConnectorItem.setTimedBucketData(item,
+		    registry.createBuckets(profileId, distancesMeter[ii], baseTimesMillis[ii]));
+
+	    items.add(item);
+	}
+
+	return items;
+    }
+
+    private static void measureBucketCreation(TrafficProfileRegistry registry, short profileId,
+	    double[] distancesMeter, long[] baseTimesMillis) {
+
+	int created = 0;
+
+	// Warm up
+	for (int round = 0; round < ROUNDS; round++) {
+	    created += createItems(registry, profileId, distancesMeter, baseTimesMillis).size();
+	}
+
+	long startNanos = System.nanoTime();
+
+	for (int round = 0; round < ROUNDS; round++) {
+	    created += createItems(registry, profileId, distancesMeter, baseTimesMillis).size();
+	}
+
+	double nanosPerItem = (double) (System.nanoTime() - startNanos) / ROUNDS / distancesMeter.length;
+
+	System.out.println(String.format("%-30s %8.1f ns/connection (%d items)", "Creating bucket items", nanosPerItem,
+		created));
+    }
+
+    private static double measure(String name, DoubleSupplier variant) {
+
+	double checksum = 0.0;
+
+	// Warm up
+	for (int round = 0; round < ROUNDS; round++) {
+	    checksum += variant.getAsDouble();
+	}
+
+	long startNanos = System.nanoTime();
+
+	for (int round = 0; round < ROUNDS; round++) {
+	    checksum += variant.getAsDouble();
+	}
+
+	double nanosPerLookup = (double) (System.nanoTime() - startNanos) / ROUNDS / NUM_LOOKUPS;
+
+	// The checksum keeps the JIT from removing the calculation
+	System.out.println(String.format("%-30s %8.1f ns/lookup   (checksum %.3e)", name, nanosPerLookup, checksum));
+
+	return nanosPerLookup;
+    }
+
+    private static double bucketLookups(BucketGrid[][] buckets, long[] baseTimesMillis, int[] connections,
+	    long[] epochMillis) {
+
+	double sum = 0.0;
+
+	for (int ii = 0; ii < connections.length; ii++) {
+	    sum += bucketDrivingTime(buckets[connections[ii]], baseTimesMillis[connections[ii]], epochMillis[ii])
+		    .toMillis();
+	}
+
+	return sum;
+    }
+
+    private static double tableLookups(TrafficTimeTable table, long[] baseTimesMillis, int[] connections,
+	    long[] epochMillis) {
+
+	double sum = 0.0;
+	int offsetMillis = OFFSET.getTotalSeconds() * 1000;
+
+	for (int ii = 0; ii < connections.length; ii++) {
+	    sum += table.getDrivingTimeMillis(baseTimesMillis[connections[ii]],
+		    TrafficTimeTable.millisOfWeek(epochMillis[ii], offsetMillis));
+	}
+
+	return sum;
+    }
+
+    private static void verify(TrafficTimeTable table, BucketGrid[][] buckets, long[] baseTimesMillis,
+	    int[] connections, long[] epochMillis) {
+
+	long maxDifference = 0;
+	int offsetMillis = OFFSET.getTotalSeconds() * 1000;
+
+	for (int ii = 0; ii < connections.length; ii++) {
+
+	    long interpolated = bucketDrivingTime(buckets[connections[ii]], baseTimesMillis[connections[ii]], epochMillis[ii])
+		    .toMillis();
+	    long compiled = table.getDrivingTimeMillis(baseTimesMillis[connections[ii]],
+		    TrafficTimeTable.millisOfWeek(epochMillis[ii], offsetMillis));
+
+	    maxDifference = Math.max(maxDifference, Math.abs(interpolated - compiled));
+	}
+
+	System.out.println("Max. difference: " + maxDifference + " ms"
+		+ (maxDifference < 1000 ? " - OK" : " - MISMATCH"));
+    }
+
+    /**
+     * The interpolation over the bucket grid points, creating temporal objects on every call.
+     */
+    private static Duration bucketDrivingTime(BucketGrid[] buckets, long baseTimeMillis, long epochMillis) {
+
+	ZonedDateTime time = Instant.ofEpochMilli(epochMillis).atZone(OFFSET);
+	DayOfWeek day = time.getDayOfWeek();
+	LocalTime localTime = time.toLocalTime();
+
+	for (BucketGrid bucket : buckets) {
+
+	    if (day.compareTo(bucket.firstDay) < 0 || day.compareTo(bucket.lastDay) > 0) {
+		continue;
+	    }
+
+	    int last = bucket.times.length - 1;
+
+	    if (localTime.isBefore(bucket.times[0])) {
+		return bucket.durations[0];
+	    }
+
+	    for (int ii = 0; ii < last; ii++) {
+
+		if (localTime.isBefore(bucket.times[ii + 1])) {
+
+		    double fraction = (double) Duration.between(bucket.times[ii], localTime).toMillis()
+			    / Duration.between(bucket.times[ii], bucket.times[ii + 1]).toMillis();
+
+		    Duration difference = bucket.durations[ii + 1].minus(bucket.durations[ii]);
+
+		    return bucket.durations[ii].plusMillis((long) (difference.toMillis() * fraction));
+		}
+	    }
+
+	    return bucket.durations[last];
+	}
+
+	return Duration.ofMillis(baseTimeMillis);
+    }
+
+    /**
+     * The grid points of a {@link ConnectionBucket}, i.e. its range of days and the time and
+     * duration of each {@code TimedConnectionData}.
+     */
+    private static final class BucketGrid {
+
+	private final DayOfWeek firstDay;
+	private final DayOfWeek lastDay;
+	private final LocalTime[] times;
+	private final Duration[] durations;
+
+	private BucketGrid(DayOfWeek firstDay, DayOfWeek lastDay, LocalTime[] times, Duration[] durations) {
+	    this.firstDay = firstDay;
+	    this.lastDay = lastDay;
+	    this.times = times;
+	    this.durations = durations;
+	}
+
+	private static BucketGrid of(TrafficProfile profile, long baseTimeMillis) {
+
+	    LocalTime[] times = new LocalTime[profile.size()];
+	    Duration[] durations = new Duration[profile.size()];
+
+	    for (int ii = 0; ii < times.length; ii++) {
+		times[ii] = profile.getTime(ii);
+		// Rounded to seconds, like TrafficProfile.createBucket
+		durations[ii] = Duration.ofSeconds((long) (baseTimeMillis / 1000 * profile.getMultiplier(ii)));
+	    }
+
+	    return new BucketGrid(profile.getFirstDay(), profile.getLastDay(), times, durations);
+	}
+    }
+}
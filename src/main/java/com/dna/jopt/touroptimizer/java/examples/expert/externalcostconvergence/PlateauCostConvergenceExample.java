@@ -0,0 +1,191 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.externalcostconvergence;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+import static javax.measure.MetricPrefix.KILO;
+import static tech.units.indriya.unit.Units.METRE;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.time.Month.MAY;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.framework.body.Optimization;
+import com.dna.jopt.framework.exception.caught.InvalidLicenceException;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationResult;
+import com.dna.jopt.member.unit.hours.IWorkingHours;
+import com.dna.jopt.member.unit.hours.IOpeningHours;
+import com.dna.jopt.member.unit.hours.WorkingHours;
+import com.dna.jopt.member.unit.hours.OpeningHours;
+import com.dna.jopt.member.unit.node.geo.TimeWindowGeoNode;
+import com.dna.jopt.member.unit.resource.CapacityResource;
+import com.dna.jopt.touroptimizer.java.examples.ExampleLicenseHelper;
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Stopping the optimization once the cost improves by less than 0.05% per second for three
+ * seconds, measured with the {@link PlateauCostConverger}. The generation count is only a hard
+ * upper bound, which is usually not reached.
+ */
+public class PlateauCostConvergenceExample extends Optimization {
+
+  public static void main(String[] args)
+      throws InvalidLicenceException, IOException, InterruptedException, ExecutionException {
+    new PlateauCostConvergenceExample().example();
+  }
+
+  public String toString() {
+    return "Stopping the optimization once the relative cost improvement per second stays below an"
+        + " epsilon for a time window.";
+  }
+
+  public void example()
+      throws InvalidLicenceException, IOException, InterruptedException, ExecutionException {
+
+    // Set license via helper
+    ExampleLicenseHelper.setLicense(this);
+
+    // Properties!
+    this.setProperties();
+
+    this.addNodes();
+    this.addResources();
+
+    // (1) Plateau: less than 0.05% improvement per second, for 3 seconds
+    PlateauCostConverger converger =
+        new PlateauCostConverger(this, 0.0005, Duration.ofSeconds(3));
+
+    // (2) The algorithms that may trigger the stop
+    converger.addExecutionAlgorithm("GeneticEvolution");
+    converger.addExecutionAlgorithm("SmartSimulatedAnnealingAlgo");
+
+    // (3) Print the smoothed improvement rate
+    this.getOptimizationEvents()
+        .progressSubject()
+        .subscribe(
+            p ->
+                System.out.println(
+                    p.getProgressString()
+                        + " | improvement/s: "
+                        + converger.getImprovementRate()
+                        + (converger.isPlateau() ? " | plateau" : "")));
+
+    long startMillis = System.currentTimeMillis();
+
+    CompletableFuture<IOptimizationResult> resultFuture = this.startRunAsync();
+
+    // It is important to block the call, otherwise optimization will be terminated
+    IOptimizationResult result = resultFuture.get();
+
+    System.out.println("Stopped after " + (System.currentTimeMillis() - startMillis) + " ms");
+    System.out.println(result);
+  }
+
+  private void setProperties() {
+
+    Properties props = new Properties();
+
+    // Hard upper bound
+    props.setProperty("JOptExitCondition.JOptGenerationCount", "20000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumIterations", "1000000");
+    props.setProperty("JOpt.Algorithm.PreOptimization.SA.NumRepetions", "1");
+    props.setProperty("JOpt.NumCPUCores", "4");
+
+    this.addElement(props);
+  }
+
+  private void addResources() {
+
+    List<IWorkingHours> workingHours = new ArrayList<>();
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    workingHours.add(
+        new WorkingHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration maxWorkingTime = Duration.ofHours(13);
+    Quantity<Length> maxDistanceKmW = Quantities.getQuantity(1200.0, KILO(METRE));
+
+    CapacityResource rep1 =
+        new CapacityResource(
+            "Jack", 50.775346, 6.083887, maxWorkingTime, maxDistanceKmW, workingHours);
+    rep1.setCost(0, 1, 1);
+    this.addElement(rep1);
+  }
+
+  private void addNodes() {
+
+    List<IOpeningHours> weeklyOpeningHours = new ArrayList<>();
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 6, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    weeklyOpeningHours.add(
+        new OpeningHours(
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 8, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            ZonedDateTime.of(2020, MAY.getValue(), 7, 17, 0, 0, 0, ZoneId.of("Europe/Berlin"))));
+
+    Duration visitDuration = Duration.ofMinutes(20);
+
+    // Define some nodes
+    TimeWindowGeoNode koeln =
+        new TimeWindowGeoNode("Koeln", 50.9333, 6.95, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(koeln);
+
+    TimeWindowGeoNode oberhausen =
+        new TimeWindowGeoNode("Oberhausen", 51.4667, 6.85, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(oberhausen);
+
+    TimeWindowGeoNode essen =
+        new TimeWindowGeoNode("Essen", 51.45, 7.01667, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(essen);
+
+    TimeWindowGeoNode dueren =
+        new TimeWindowGeoNode("Dueren", 50.8, 6.48333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(dueren);
+
+    TimeWindowGeoNode nuernberg =
+        new TimeWindowGeoNode("Nuernberg", 49.4478, 11.0683, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(nuernberg);
+
+    TimeWindowGeoNode heilbronn =
+        new TimeWindowGeoNode("Heilbronn", 49.1403, 9.22, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(heilbronn);
+
+    TimeWindowGeoNode stuttgart =
+        new TimeWindowGeoNode("Stuttgart", 48.7667, 9.18333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(stuttgart);
+
+    TimeWindowGeoNode wuppertal =
+        new TimeWindowGeoNode("Wuppertal", 51.2667, 7.18333, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(wuppertal);
+
+    TimeWindowGeoNode aachen =
+        new TimeWindowGeoNode("Aachen", 50.775346, 6.083887, weeklyOpeningHours, visitDuration, 1);
+    this.addElement(aachen);
+  }
+}
@@ -0,0 +1,209 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.externalcostconvergence;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+import java.time.Duration;
+import java.util.Objects;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+import com.dna.jopt.util.costconverger.AbstractCostConverger;
+
+/**
+ * The Class PlateauCostConverger stops the optimization once the cost improves by less than a
+ * relative epsilon per wall-clock second for a given window, instead of after a fixed number of
+ * progress events with an exactly unchanged cost.
+ *
+ * <p>The improvement rate is the relative cost improvement per second between two progress events,
+ * smoothed with a time-weighted exponential moving average (EWMA). The smoothing time constant is
+ * independent of the progress frequency. The converger reports a plateau as soon as the smoothed
+ * rate stayed below the epsilon for the whole window.
+ *
+ * <p>As with every {@link AbstractCostConverger}, only progress events of the algorithms added via
+ * {@link #addExecutionAlgorithm(String)} are evaluated. The rate is reset whenever the algorithm
+ * changes, so every algorithm is judged on its own. Once a plateau is detected, {@link
+ * #onConverged(IOptimization)} and {@link #onDone(IOptimization)} are called as usual, by default
+ * stopping the whole run. To stop in a later phase only, add only this phase as execution
+ * algorithm.
+ *
+ * <p>Internally, {@link #getConvergenceCost(IOptimizationProgress)} returns a changing value while
+ * the cost improves and a constant value on a plateau, and the convergence threshold is set to one
+ * progress step. Do not change the convergence threshold. To evaluate another metric than the job
+ * cost, override {@link #getObservedCost(IOptimizationProgress)}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class PlateauCostConverger extends AbstractCostConverger {
+
+  /** The value returned as convergence cost on a plateau. */
+  private static final double PLATEAU = -1.0;
+
+  /** The minimal time between two rate samples, bursts of progress events are accumulated. */
+  private static final long MIN_SAMPLE_NANOS = 10_000_000L;
+
+  /** The relative improvement per second below which the cost counts as plateau. */
+  private final double epsilonPerSecond;
+
+  /** The time the rate has to stay below the epsilon. */
+  private final long windowNanos;
+
+  /** The smoothing time constant of the EWMA. */
+  private final double smoothingNanos;
+
+  /*
+   * State of the current algorithm
+   */
+
+  private String callerId;
+  private double sampleCost = Double.NaN;
+  private long sampleNanos;
+  private double improvementRate = Double.NaN;
+  private long belowEpsilonSinceNanos = -1L;
+  private boolean plateau;
+
+  /** Counts the progress steps off a plateau, to return a changing convergence cost. */
+  private long changingCost;
+
+  /**
+   * Instantiates a new plateau cost converger, smoothing over a quarter of the window.
+   *
+   * @param opti the optimization
+   * @param epsilonPerSecond the relative improvement per second below which the cost counts as
+   *     plateau, e.g. 0.0005 for 0.05% per second
+   * @param window the time the improvement has to stay below the epsilon
+   */
+  public PlateauCostConverger(IOptimization opti, double epsilonPerSecond, Duration window) {
+    this(opti, epsilonPerSecond, window, window.dividedBy(4));
+  }
+
+  /**
+   * Instantiates a new plateau cost converger.
+   *
+   * @param opti the optimization
+   * @param epsilonPerSecond the relative improvement per second below which the cost counts as
+   *     plateau
+   * @param window the time the improvement has to stay below the epsilon
+   * @param smoothing the time constant of the EWMA, older samples fade out with exp(-age /
+   *     smoothing)
+   */
+  public PlateauCostConverger(
+      IOptimization opti, double epsilonPerSecond, Duration window, Duration smoothing) {
+
+    super(opti);
+
+    if (epsilonPerSecond < 0
+        || window.isNegative()
+        || smoothing.isNegative()
+        || smoothing.isZero()) {
+      throw new IllegalArgumentException(
+          "Invalid plateau definition: " + epsilonPerSecond + ", " + window + ", " + smoothing);
+    }
+
+    this.epsilonPerSecond = epsilonPerSecond;
+    this.windowNanos = window.toNanos();
+    this.smoothingNanos = smoothing.toNanos();
+
+    // A plateau is reported by one repeated convergence cost
+    this.setConvergenceThreshold(1);
+  }
+
+  /**
+   * Gets the cost the improvement is measured on. By default the job cost.
+   *
+   * @param curP the current progress
+   * @return the observed cost
+   */
+  protected double getObservedCost(IOptimizationProgress curP) {
+    return curP.getJobCost();
+  }
+
+  @Override
+  public double getConvergenceCost(IOptimizationProgress curP) {
+
+    observe(curP.getCallerId(), getObservedCost(curP), System.nanoTime());
+
+    return this.plateau ? PLATEAU : ++this.changingCost;
+  }
+
+  /**
+   * Updates the smoothed improvement rate.
+   *
+   * @param callerId the caller id of the progress
+   * @param cost the observed cost
+   * @param nowNanos the current time in nanos
+   */
+  void observe(String callerId, double cost, long nowNanos) {
+
+    if (!Objects.equals(this.callerId, callerId)) {
+      // A new algorithm, start over
+      this.callerId = callerId;
+      this.sampleCost = cost;
+      this.sampleNanos = nowNanos;
+      this.improvementRate = Double.NaN;
+      this.belowEpsilonSinceNanos = -1L;
+      this.plateau = false;
+      return;
+    }
+
+    long elapsedNanos = nowNanos - this.sampleNanos;
+
+    if (elapsedNanos < MIN_SAMPLE_NANOS) {
+      return;
+    }
+
+    double reference = Math.abs(this.sampleCost);
+    double improvement = this.sampleCost - cost;
+    double relativeImprovement = reference > 0 ? improvement / reference : improvement;
+    double rate = relativeImprovement * 1e9 / elapsedNanos;
+
+    if (Double.isNaN(this.improvementRate)) {
+      this.improvementRate = rate;
+    } else {
+      // The weight of the new sample grows with the time it covers
+      double alpha = 1.0 - Math.exp(-elapsedNanos / this.smoothingNanos);
+      this.improvementRate += alpha * (rate - this.improvementRate);
+    }
+
+    this.sampleCost = cost;
+    this.sampleNanos = nowNanos;
+
+    if (this.improvementRate >= this.epsilonPerSecond) {
+      this.belowEpsilonSinceNanos = -1L;
+    } else if (this.belowEpsilonSinceNanos < 0) {
+      this.belowEpsilonSinceNanos = nowNanos;
+    }
+
+    this.plateau =
+        this.belowEpsilonSinceNanos >= 0
+            && nowNanos - this.belowEpsilonSinceNanos >= this.windowNanos;
+  }
+
+  /**
+   * Gets the smoothed relative improvement per second of the current algorithm.
+   *
+   * @return the improvement rate, or NaN before the second progress event
+   */
+  public double getImprovementRate() {
+    return this.improvementRate;
+  }
+
+  /**
+   * Checks if the current algorithm reached a plateau.
+   *
+   * @return true, if plateau
+   */
+  public boolean isPlateau() {
+    return this.plateau;
+  }
+}
@@ -0,0 +1,50 @@
+package com.dna.jopt.touroptimizer.java.examples.expert.openassessor.timing;
+/*-
+ * #%L
+ * JOpt TourOptimizer Examples
+ * %%
+ * Copyright (C) 2017 - 2026 DNA Evolutions GmbH
+ * %%
+ * This file is subject to the terms and conditions defined in file 'src/main/resources/LICENSE.txt',
+ * which is part of this repository.
+ *
+ * If not, see <https://www.dna-evolutions.com/>.
+ * #L%
+ */
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.body.scheme.DefaultOptimizationScheme;
+import com.dna.jopt.touroptimizer.java.examples.expert.openassessor.nodelevel.custom.CustomNodePriorityBasedEarlyVisitRestriction;
+import com.dna.jopt.touroptimizer.java.examples.expert.openassessor.routelevel.custom.CustomRouteWithOddNumberOfElementsRestriction;
+import com.dna.jopt.touroptimizer.java.examples.util.restrictiontiming.RestrictionTimingRegistry;
+
+/**
+ * Attaches a custom node-level and a custom route-level restriction, each wrapped into a timed
+ * restriction of a {@link RestrictionTimingRegistry}.
+ */
+public class TimedRestrictionsOptimizationScheme extends DefaultOptimizationScheme {
+
+  private final RestrictionTimingRegistry timings;
+
+  public TimedRestrictionsOptimizationScheme(
+      IOptimization optimization, RestrictionTimingRegistry timings) {
+    super(optimization);
+    this.timings = timings;
+  }
+
+  @Override
+  public void postCreate() {
+
+    // Attach the timed wrappers instead of the restrictions themselves
+    this.attachCustomNodeLevelRestriction(
+        this.timings.timed(
+            "EarlyVisit",
+            new CustomNodePriorityBasedEarlyVisitRestriction(
+                this.getOptimization().getPropertyProvider())));
+
+    this.attachCustomRouteLevelRestriction(
+        this.timings.timed(
+            "OddNumberOfElements",
+            new CustomRouteWithOddNumberOfElementsRestriction(
+                this.getOptimization().getPropertyProvider())));
+  }
+}
@@ -0,0 +1,320 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Class BoundedStripedCache is a size-bounded cache with primitive {@code long} keys that is
+ * split into independently locked stripes.
+ *
+ * <p>Every stripe is a set-associative table: a key can only be stored in one bucket of {@link
+ * #WAYS} slots. A lookup reads the slots of its bucket without locking and without allocating, a
+ * hit only sets the reference bit of its slot. Only a put locks the stripe of its key. A full
+ * bucket evicts by an approximate CLOCK: a hand rotating over the slots of the bucket clears
+ * reference bits until it finds an unreferenced slot (second chance).
+ *
+ * <p>The stripe is taken from the high bits of the mixed key, the bucket from the low bits, so the
+ * keys of one stripe are spread over all of its buckets. Values are never {@code null}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ * @param <V> the value type
+ */
+public class BoundedStripedCache<V> {
+
+  /** The default number of stripes. */
+  public static final int DEFAULT_STRIPES = 16;
+
+  /** The number of slots per bucket. */
+  public static final int WAYS = 4;
+
+  /** The stripes. */
+  private final Stripe<V>[] stripes;
+
+  /** The number of bits selecting the stripe. */
+  private final int stripeBits;
+
+  /** The hits. */
+  private final LongAdder hits = new LongAdder();
+
+  /** The misses. */
+  private final LongAdder misses = new LongAdder();
+
+  /** The evictions. */
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Instantiates a new bounded striped cache with {@link #DEFAULT_STRIPES} stripes.
+   *
+   * @param maxEntries the max entries
+   */
+  public BoundedStripedCache(int maxEntries) {
+    this(maxEntries, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Instantiates a new bounded striped cache. The capacity is rounded up to full buckets, i.e. to
+   * a multiple of {@code stripes * WAYS}.
+   *
+   * @param maxEntries the max entries
+   * @param stripes the number of stripes, rounded up to a power of two
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public BoundedStripedCache(int maxEntries, int stripes) {
+
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Max entries has to be positive: " + maxEntries);
+    }
+
+    if (stripes < 1) {
+      throw new IllegalArgumentException("Stripes has to be positive: " + stripes);
+    }
+
+    int stripeCount = Integer.highestOneBit(Math.min(stripes, maxEntries));
+    if (stripeCount < Math.min(stripes, maxEntries)) {
+      stripeCount <<= 1;
+    }
+
+    int slotsPerStripe = (maxEntries + stripeCount - 1) / stripeCount;
+    int bucketsPerStripe = Math.max(1, (slotsPerStripe + WAYS - 1) / WAYS);
+
+    this.stripes = new Stripe[stripeCount];
+    this.stripeBits = Integer.numberOfTrailingZeros(stripeCount);
+
+    for (int ii = 0; ii < stripeCount; ii++) {
+      this.stripes[ii] = new Stripe<>(bucketsPerStripe);
+    }
+  }
+
+  /**
+   * Gets the cached value. Does not lock and does not allocate.
+   *
+   * @param key the key
+   * @return the value or {@code null} if the key is not cached
+   */
+  public V get(long key) {
+
+    long hash = mix(key);
+    V value = stripeFor(hash).get(key, hash);
+
+    if (value == null) {
+      this.misses.increment();
+    } else {
+      this.hits.increment();
+    }
+
+    return value;
+  }
+
+  /**
+   * Puts a value, an entry of the same bucket may be evicted.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public void put(long key, V value) {
+
+    if (value == null) {
+      throw new IllegalArgumentException("Cached values must not be null");
+    }
+
+    long hash = mix(key);
+
+    if (stripeFor(hash).put(key, hash, value)) {
+      this.evictions.increment();
+    }
+  }
+
+  /**
+   * Gets the number of cached entries.
+   *
+   * @return the size
+   */
+  public int size() {
+
+    int size = 0;
+
+    for (Stripe<V> stripe : this.stripes) {
+      size += stripe.size();
+    }
+
+    return size;
+  }
+
+  /**
+   * Gets the maximal number of entries, i.e. the number of slots.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return this.stripes.length * this.stripes[0].buckets * WAYS;
+  }
+
+  /** Removes all entries. The counters are not reset. */
+  public void clear() {
+    for (Stripe<V> stripe : this.stripes) {
+      stripe.clear();
+    }
+  }
+
+  /**
+   * Gets the hit count.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Gets the miss count.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Gets the eviction count.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  private Stripe<V> stripeFor(long hash) {
+    // The high bits, the bucket within the stripe is taken from the low bits
+    return this.stripeBits == 0
+        ? this.stripes[0]
+        : this.stripes[(int) (hash >>> (Long.SIZE - this.stripeBits))];
+  }
+
+  /** The finalizer of MurmurHash3, spreads packed keys over all bits. */
+  private static long mix(long key) {
+    long hash = key;
+    hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+    hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  /** An immutable entry, published by a volatile write into its slot. */
+  private static final class Entry<V> {
+
+    private final long key;
+    private final V value;
+
+    private Entry(long key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  /**
+   * A single stripe. Reads do not lock, writes are synchronized on the stripe.
+   *
+   * @param <V> the value type
+   */
+  private static final class Stripe<V> {
+
+    private final int buckets;
+    private final AtomicReferenceArray<Entry<V>> slots;
+
+    /** The reference bits, racy by design: a lost update only affects the eviction order. */
+    private final boolean[] referenced;
+
+    /** The clock hand per bucket, guarded by the stripe. */
+    private final byte[] hands;
+
+    private int size;
+
+    private Stripe(int buckets) {
+      this.buckets = buckets;
+      this.slots = new AtomicReferenceArray<>(buckets * WAYS);
+      this.referenced = new boolean[buckets * WAYS];
+      this.hands = new byte[buckets];
+    }
+
+    private int bucketOf(long hash) {
+      // Maps the low 32 bits onto the buckets without a modulo
+      return (int) (((hash & 0xFFFFFFFFL) * this.buckets) >>> Integer.SIZE);
+    }
+
+    V get(long key, long hash) {
+
+      int base = bucketOf(hash) * WAYS;
+
+      for (int slot = base; slot < base + WAYS; slot++) {
+        Entry<V> entry = this.slots.get(slot);
+
+        if (entry != null && entry.key == key) {
+          this.referenced[slot] = true;
+          return entry.value;
+        }
+      }
+
+      return null;
+    }
+
+    /** Returns {@code true} if an entry was evicted. */
+    synchronized boolean put(long key, long hash, V value) {
+
+      int bucket = bucketOf(hash);
+      int base = bucket * WAYS;
+      int free = -1;
+
+      for (int slot = base; slot < base + WAYS; slot++) {
+        Entry<V> entry = this.slots.get(slot);
+
+        if (entry == null) {
+          if (free < 0) {
+            free = slot;
+          }
+        } else if (entry.key == key) {
+          this.slots.set(slot, new Entry<>(key, value));
+          this.referenced[slot] = true;
+          return false;
+        }
+      }
+
+      if (free >= 0) {
+        this.referenced[free] = false;
+        this.slots.set(free, new Entry<>(key, value));
+        this.size++;
+        return false;
+      }
+
+      // Second chance: clear reference bits until an unreferenced slot is found
+      int hand = this.hands[bucket];
+
+      while (this.referenced[base + hand]) {
+        this.referenced[base + hand] = false;
+        hand = (hand + 1) % WAYS;
+      }
+
+      this.hands[bucket] = (byte) ((hand + 1) % WAYS);
+      this.referenced[base + hand] = false;
+      this.slots.set(base + hand, new Entry<>(key, value));
+
+      return true;
+    }
+
+    synchronized int size() {
+      return this.size;
+    }
+
+    synchronized void clear() {
+
+      for (int slot = 0; slot < this.slots.length(); slot++) {
+        this.slots.set(slot, null);
+        this.referenced[slot] = false;
+      }
+
+      Arrays.fill(this.hands, (byte) 0);
+      this.size = 0;
+    }
+  }
+}
@@ -0,0 +1,327 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.member.unit.nodeedge.backupconnector.DefaultFlatEarthAverageSpeedBackupElementConnector;
+import com.dna.jopt.member.unit.resource.IResource;
+
+/**
+ * The Class CachingBackupElementConnector decorates another backup connector and caches its
+ * results in a {@link BoundedStripedCache}.
+ *
+ * <p>Distances and durations are cached by (from element id, to element id, visitor speed class),
+ * packed into one {@code long}: element ids and speed classes are numbered on their first lookup.
+ * A cached duration is only used for the distance it was calculated from. The speed class of a
+ * visitor is its average speed, resources with the same average speed share their entries. A
+ * lookup of known ids does not allocate.
+ *
+ * <pre>
+ * CachingBackupElementConnector cachingConnector =
+ *     new CachingBackupElementConnector(
+ *         new MyBackupElementConnector(false), 100_000, false);
+ *
+ * connector.setBackupElementConnector(cachingConnector);
+ * </pre>
+ *
+ * <p>The decorated connector has to be deterministic, otherwise the cache changes the results.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class CachingBackupElementConnector
+    extends DefaultFlatEarthAverageSpeedBackupElementConnector {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 5081935671209471542L;
+
+  /** The number of key bits per element id. */
+  private static final int ELEMENT_BITS = 26;
+
+  /** The number of key bits per speed class. */
+  private static final int SPEED_CLASS_BITS = Long.SIZE - 2 * ELEMENT_BITS;
+
+  /** The key of lookups that cannot be cached, more elements or speed classes than key bits. */
+  private static final long NO_KEY = -1L;
+
+  /** The decorated backup connector. */
+  private final DefaultFlatEarthAverageSpeedBackupElementConnector delegate;
+
+  /** The max entries per cache. */
+  private final int maxEntries;
+
+  /** The distance cache, recreated after deserialization. */
+  private transient BoundedStripedCache<Quantity<Length>> distanceCache;
+
+  /** The duration cache, recreated after deserialization. */
+  private transient BoundedStripedCache<CachedDuration> durationCache;
+
+  /** The numbers of the element ids. */
+  private transient ConcurrentHashMap<String, Integer> elementNumbers;
+
+  /** The next element number. */
+  private transient AtomicInteger nextElementNumber;
+
+  /** The speed classes by number, copied on write. */
+  private transient volatile double[] speedClasses;
+
+  /**
+   * Instantiates a new caching backup element connector.
+   *
+   * @param delegate the decorated backup connector
+   * @param maxEntries the max entries of the distance and of the duration cache
+   * @param doRecalculateElement2ElementDuration the do recalculate element 2 element duration, has
+   *     to match the setting of the decorated connector
+   */
+  public CachingBackupElementConnector(
+      DefaultFlatEarthAverageSpeedBackupElementConnector delegate,
+      int maxEntries,
+      boolean doRecalculateElement2ElementDuration) {
+    super(doRecalculateElement2ElementDuration);
+
+    this.delegate = Objects.requireNonNull(delegate);
+    this.maxEntries = maxEntries;
+
+    this.createCaches();
+  }
+
+  /**
+   * Gets the decorated backup connector.
+   *
+   * @return the delegate
+   */
+  public DefaultFlatEarthAverageSpeedBackupElementConnector getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Gets the distance cache.
+   *
+   * @return the distance cache
+   */
+  public BoundedStripedCache<Quantity<Length>> getDistanceCache() {
+    return this.distanceCache;
+  }
+
+  /**
+   * Gets the number of cached durations.
+   *
+   * @return the duration cache size
+   */
+  public int getDurationCacheSize() {
+    return this.durationCache.size();
+  }
+
+  /**
+   * Gets the hits of both caches.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return this.distanceCache.getHitCount() + this.durationCache.getHitCount();
+  }
+
+  /**
+   * Gets the misses of both caches.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return this.distanceCache.getMissCount() + this.durationCache.getMissCount();
+  }
+
+  /**
+   * Gets the statistics string.
+   *
+   * @return the statistics string
+   */
+  public String getStatisticsString() {
+    return "CachingBackupElementConnector distance hits/misses/evictions: "
+        + this.distanceCache.getHitCount()
+        + "/"
+        + this.distanceCache.getMissCount()
+        + "/"
+        + this.distanceCache.getEvictionCount()
+        + ", duration hits/misses/evictions: "
+        + this.durationCache.getHitCount()
+        + "/"
+        + this.durationCache.getMissCount()
+        + "/"
+        + this.durationCache.getEvictionCount();
+  }
+
+  /**
+   * Gets the element 2 element distance.
+   *
+   * @param fromElementId the from element id
+   * @param fromElementLon the from element lon
+   * @param fromElementLat the from element lat
+   * @param toElementId the to element id
+   * @param toElementLon the to element lon
+   * @param toElementLat the to element lat
+   * @param visitor the visitor
+   * @return the element 2 element distance
+   */
+  @Override
+  public Quantity<Length> getElement2ElementDistance(
+      String fromElementId,
+      double fromElementLon,
+      double fromElementLat,
+      String toElementId,
+      double toElementLon,
+      double toElementLat,
+      IResource visitor) {
+
+    long key = key(fromElementId, toElementId, visitor);
+
+    Quantity<Length> distance = key == NO_KEY ? null : this.distanceCache.get(key);
+
+    if (distance == null) {
+      distance =
+          this.delegate.getElement2ElementDistance(
+              fromElementId,
+              fromElementLon,
+              fromElementLat,
+              toElementId,
+              toElementLon,
+              toElementLat,
+              visitor);
+
+      if (key != NO_KEY) {
+        this.distanceCache.put(key, distance);
+      }
+    }
+
+    return distance;
+  }
+
+  /**
+   * Gets the element 2 element duration.
+   *
+   * @param fromElementId the from element id
+   * @param toElementId the to element id
+   * @param distanceMeter the distance meter
+   * @param visitor the visitor
+   * @return the element 2 element duration
+   */
+  @Override
+  public Duration getElement2ElementDuration(
+      String fromElementId, String toElementId, double distanceMeter, IResource visitor) {
+
+    long key = key(fromElementId, toElementId, visitor);
+
+    CachedDuration cached = key == NO_KEY ? null : this.durationCache.get(key);
+
+    if (cached != null && cached.distanceMeter == distanceMeter) {
+      return cached.duration;
+    }
+
+    Duration duration =
+        this.delegate.getElement2ElementDuration(
+            fromElementId, toElementId, distanceMeter, visitor);
+
+    if (key != NO_KEY) {
+      this.durationCache.put(key, new CachedDuration(distanceMeter, duration));
+    }
+
+    return duration;
+  }
+
+  /** Packs the numbers of both element ids and of the speed class into one key. */
+  private long key(String fromElementId, String toElementId, IResource visitor) {
+
+    int fromNumber = elementNumber(fromElementId);
+    int toNumber = elementNumber(toElementId);
+    int speedClassNumber = speedClassNumber(visitor == null ? Double.NaN : visitor.getAvgSpeed());
+
+    if (fromNumber < 0 || toNumber < 0 || speedClassNumber < 0) {
+      return NO_KEY;
+    }
+
+    return ((long) speedClassNumber << (2 * ELEMENT_BITS))
+        | ((long) fromNumber << ELEMENT_BITS)
+        | toNumber;
+  }
+
+  /** Gets the number of an element id, or -1 if all numbers are taken. */
+  private int elementNumber(String elementId) {
+
+    Integer number = this.elementNumbers.get(elementId);
+
+    if (number == null) {
+      number =
+          this.elementNumbers.computeIfAbsent(
+              elementId, id -> this.nextElementNumber.getAndIncrement());
+    }
+
+    return number < (1 << ELEMENT_BITS) ? number : -1;
+  }
+
+  /** Gets the number of a speed class, or -1 if all numbers are taken. */
+  private int speedClassNumber(double speedClass) {
+
+    // Usually only a handful of distinct average speeds, a scan beats a boxed map lookup
+    double[] known = this.speedClasses;
+
+    for (int ii = 0; ii < known.length; ii++) {
+      if (Double.compare(known[ii], speedClass) == 0) {
+        return ii;
+      }
+    }
+
+    synchronized (this) {
+      known = this.speedClasses;
+
+      for (int ii = 0; ii < known.length; ii++) {
+        if (Double.compare(known[ii], speedClass) == 0) {
+          return ii;
+        }
+      }
+
+      if (known.length >= (1 << SPEED_CLASS_BITS) - 1) {
+        return -1;
+      }
+
+      double[] extended = Arrays.copyOf(known, known.length + 1);
+      extended[known.length] = speedClass;
+      this.speedClasses = extended;
+
+      return known.length;
+    }
+  }
+
+  private void createCaches() {
+    this.distanceCache = new BoundedStripedCache<>(this.maxEntries);
+    this.durationCache = new BoundedStripedCache<>(this.maxEntries);
+    this.elementNumbers = new ConcurrentHashMap<>();
+    this.nextElementNumber = new AtomicInteger();
+    this.speedClasses = new double[0];
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+
+    this.createCaches();
+  }
+
+  /** A cached duration and the distance it was calculated from. */
+  private static final class CachedDuration {
+
+    private final double distanceMeter;
+    private final Duration duration;
+
+    private CachedDuration(double distanceMeter, Duration duration) {
+      this.distanceMeter = distanceMeter;
+      this.duration = duration;
+    }
+  }
+}
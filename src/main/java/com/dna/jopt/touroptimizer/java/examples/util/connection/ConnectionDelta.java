@@ -0,0 +1,122 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.util.List;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+
+/**
+ * The Class ConnectionDelta describes one update of an {@link IncrementalConnectionMatrix}: the
+ * added elements, the removed element ids and the number of calculated connections.
+ *
+ * <p>A connector reading the matrix via {@link PrimitiveMatrixBackupElementConnector} sees the
+ * update immediately. A connector holding connector items can receive the new rows and columns via
+ * {@link #applyTo(INodeEdgeConnector)}, the items of all other pairs are not touched. Items of
+ * removed elements stay in such a connector, but are no longer requested once the elements are
+ * removed from the optimization.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ConnectionDelta {
+
+  /** The matrix. */
+  private final IncrementalConnectionMatrix matrix;
+
+  /** The added elements. */
+  private final List<IOptimizationElement> addedElements;
+
+  /** The removed element ids. */
+  private final List<String> removedIds;
+
+  /** The number of calculated connections. */
+  private final long calculatedConnections;
+
+  /** The time needed to apply the delta to the matrix. */
+  private final long nanos;
+
+  ConnectionDelta(
+      IncrementalConnectionMatrix matrix,
+      List<IOptimizationElement> addedElements,
+      List<String> removedIds,
+      long calculatedConnections,
+      long nanos) {
+
+    this.matrix = matrix;
+    this.addedElements = List.copyOf(addedElements);
+    this.removedIds = List.copyOf(removedIds);
+    this.calculatedConnections = calculatedConnections;
+    this.nanos = nanos;
+  }
+
+  /**
+   * Gets the added elements. Elements that were already part of the matrix are not contained.
+   *
+   * @return the added elements
+   */
+  public List<IOptimizationElement> getAddedElements() {
+    return this.addedElements;
+  }
+
+  /**
+   * Gets the removed element ids. Unknown ids are not contained.
+   *
+   * @return the removed ids
+   */
+  public List<String> getRemovedIds() {
+    return this.removedIds;
+  }
+
+  /**
+   * Gets the number of calculated connections.
+   *
+   * @return the calculated connections
+   */
+  public long getCalculatedConnections() {
+    return this.calculatedConnections;
+  }
+
+  /**
+   * Gets the time needed to apply the delta to the matrix in millis.
+   *
+   * @return the millis
+   */
+  public double getMillis() {
+    return this.nanos / 1_000_000.0;
+  }
+
+  /**
+   * Creates connector items for the new rows and columns, i.e. for every connection from or to an
+   * added element. The items are read from one consistent state of the matrix.
+   *
+   * @return the connector items
+   */
+  public List<INodeConnectorItem> createConnectorItems() {
+    return this.matrix.createConnectorItems(this.addedElements);
+  }
+
+  /**
+   * Puts the connector items of the new rows and columns into a connector, in one bulk call. The
+   * connector may already be attached to an optimization.
+   *
+   * @param connector the connector
+   */
+  public void applyTo(INodeEdgeConnector connector) {
+    connector.putNodeConnections(createConnectorItems());
+  }
+
+  @Override
+  public String toString() {
+    return "Added "
+        + this.addedElements.size()
+        + ", removed "
+        + this.removedIds.size()
+        + ", calculated "
+        + this.calculatedConnections
+        + " connections in "
+        + String.format("%.2f", getMillis())
+        + " ms";
+  }
+}
@@ -0,0 +1,784 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * The Class ConnectionSidecar moves the {@code elementConnections} section of an optimization
+ * snapshot into a compact binary file next to the JSON. The JSON keeps an empty section and a
+ * reference to the sidecar by its SHA-256 hash.
+ *
+ * <p>A sidecar file contains:
+ *
+ * <ul>
+ *   <li>a dictionary of the element ids, every id is stored once,
+ *   <li>a dictionary of the additional fields of the connections, e.g. the time buckets of
+ *       time-dependent connections. Connections sharing the same buckets store a single index,
+ *   <li>one record per connection: the from and to index as zigzag varint delta to the previous
+ *       connection, the distance in centimeter and the driving time in millis as varint, and the
+ *       index of the additional fields as varint.
+ * </ul>
+ *
+ * <p>A row-major connection section needs about 10 bytes per connection, instead of about 95
+ * characters of JSON text.
+ *
+ * <p>Distances are kept with a precision of one centimeter and driving times with a precision of
+ * one millisecond. The format of the first connection (meter or quantity string, ISO-8601 or
+ * seconds) is used when the section is restored.
+ *
+ * <p>A section is read from a {@link JsonParser} and restored into a {@link JsonGenerator} token by
+ * token, see {@link #write(JsonParser, Path)} and {@link #writeConnections(Path, JsonGenerator)}.
+ * Only the additional fields of a connection are read as JSON nodes.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ConnectionSidecar {
+
+  /** The name of the connection section. */
+  public static final String ELEMENT_CONNECTIONS = "elementConnections";
+
+  /** The name of the field referencing the sidecar. */
+  public static final String REFERENCE_FIELD = "elementConnectionsSidecar";
+
+  /** The file extension of a sidecar file. */
+  public static final String FILE_EXTENSION = ".jcsc";
+
+  /** The magic number of a sidecar file ("JCSC"). */
+  public static final int MAGIC = 0x4A435343;
+
+  /** The file format version. */
+  public static final int VERSION = 1;
+
+  /** The distance is written as number in meter. */
+  private static final int DISTANCE_NUMBER = 0;
+
+  /** The distance is written as quantity string in meter. */
+  private static final int DISTANCE_METER = 1;
+
+  /** The distance is written as quantity string in kilometer. */
+  private static final int DISTANCE_KILOMETER = 2;
+
+  /** The driving time is written as ISO-8601 string. */
+  private static final int TIME_ISO = 0;
+
+  /** The driving time is written as number in seconds. */
+  private static final int TIME_SECONDS = 1;
+
+  private ConnectionSidecar() {
+    // Nothing to do
+  }
+
+  /**
+   * Moves the connection section of a snapshot into a sidecar file in the given directory. The
+   * section is replaced by an empty array and the reference field is added.
+   *
+   * @param snapshot the snapshot
+   * @param directory the directory of the sidecar
+   * @return the sidecar file, or {@code null} if the snapshot has no connections
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static Path externalize(ObjectNode snapshot, Path directory) throws IOException {
+
+    JsonNode connections = snapshot.get(ELEMENT_CONNECTIONS);
+
+    if (connections == null || !connections.isArray() || connections.isEmpty()) {
+      return null;
+    }
+
+    Path file = write((ArrayNode) connections, directory);
+
+    snapshot.putArray(ELEMENT_CONNECTIONS);
+    snapshot.set(REFERENCE_FIELD, reference(file));
+
+    return file;
+  }
+
+  /**
+   * Creates the reference field of a sidecar file.
+   *
+   * @param file the sidecar file
+   * @return the reference, the hash and the number of connections
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static ObjectNode reference(Path file) throws IOException {
+
+    ObjectNode reference = JsonNodeFactory.instance.objectNode();
+    reference.put("sha256", hashOf(file));
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+      readHeader(in, file);
+      reference.put("connections", readCount(in, file));
+    }
+
+    return reference;
+  }
+
+  /**
+   * Restores the connection section of a snapshot from its sidecar file and removes the reference
+   * field. Snapshots without reference are not changed.
+   *
+   * @param snapshot the snapshot
+   * @param directory the directory of the sidecar
+   * @return true, if the section was restored
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static boolean internalize(ObjectNode snapshot, Path directory) throws IOException {
+
+    Path file = referencedFile(snapshot, directory);
+
+    if (file == null) {
+      return false;
+    }
+
+    snapshot.set(ELEMENT_CONNECTIONS, readConnections(file));
+    snapshot.remove(REFERENCE_FIELD);
+
+    return true;
+  }
+
+  /**
+   * Gets the sidecar file referenced by a snapshot.
+   *
+   * @param snapshot the snapshot
+   * @param directory the directory of the sidecar
+   * @return the file, or {@code null} if the snapshot has no reference
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static Path referencedFile(ObjectNode snapshot, Path directory) throws IOException {
+
+    JsonNode reference = snapshot.get(REFERENCE_FIELD);
+
+    return reference != null ? resolve(reference, directory) : null;
+  }
+
+  /**
+   * Resolves the value of a reference field to its sidecar file.
+   *
+   * @param reference the value of the reference field
+   * @param directory the directory of the sidecar
+   * @return the file
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static Path resolve(JsonNode reference, Path directory) throws IOException {
+
+    String hash = reference.path("sha256").asText("");
+
+    if (!hash.matches("[0-9a-f]{64}")) {
+      throw new IOException("Invalid sidecar reference: " + reference);
+    }
+
+    return directory.resolve(hash + FILE_EXTENSION);
+  }
+
+  /**
+   * Writes a connection section to a sidecar file. The file is named by the SHA-256 hash of its
+   * content, writing the same connections twice results in the same file.
+   *
+   * @param connections the connections
+   * @param directory the directory
+   * @return the sidecar file, or {@code null} if the section has no connections
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static Path write(ArrayNode connections, Path directory) throws IOException {
+    return write(connections.traverse(), directory);
+  }
+
+  /**
+   * Writes a connection section to a sidecar file, reading it token by token. The parser has to be
+   * positioned on, or right before, the start of the section array and is left on its end. Only
+   * the compact records are buffered until the dictionaries are complete.
+   *
+   * @param connections the parser of the connection section
+   * @param directory the directory
+   * @return the sidecar file, or {@code null} if the section has no connections
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static Path write(JsonParser connections, Path directory) throws IOException {
+
+    Encoder encoder = new Encoder();
+    encoder.read(connections);
+
+    if (encoder.size == 0) {
+      return null;
+    }
+
+    Files.createDirectories(directory);
+
+    MessageDigest digest = newDigest();
+    Path tmpFile = Files.createTempFile(directory, "connections", ".tmp");
+
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(
+              new BufferedOutputStream(
+                  new DigestOutputStream(Files.newOutputStream(tmpFile), digest)))) {
+        encoder.writeTo(out);
+      }
+
+      Path file = directory.resolve(toHex(digest.digest()) + FILE_EXTENSION);
+
+      Files.move(
+          tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      return file;
+
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /**
+   * Reads the connections of a sidecar file as JSON connection section.
+   *
+   * @param file the file
+   * @return the connections
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static ArrayNode readConnections(Path file) throws IOException {
+
+    ObjectMapper mapper = new ObjectMapper();
+    TokenBuffer buffer = new TokenBuffer(mapper, false);
+
+    writeConnections(file, buffer);
+
+    try (JsonParser parser = buffer.asParser()) {
+      return mapper.readTree(parser);
+    }
+  }
+
+  /**
+   * Writes the connections of a sidecar file as JSON connection section to a generator, one
+   * connection at a time. The section is written as array value, e.g. after its field name.
+   *
+   * @param file the file
+   * @param generator the generator
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static void writeConnections(Path file, JsonGenerator generator) throws IOException {
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    generator.writeStartArray();
+
+    read(
+        file,
+        (header, fromIndex, toIndex, distanceCentimeter, drivingTimeMillis, extraIndex) -> {
+          generator.writeStartObject();
+
+          generator.writeStringField("fromElementId", header.ids.get(fromIndex));
+          generator.writeStringField("toElementId", header.ids.get(toIndex));
+          writeDistance(generator, header.distanceFormat, distanceCentimeter);
+          writeDrivingTime(generator, header.timeFormat, drivingTimeMillis);
+
+          if (extraIndex > 0) {
+            Iterator<Map.Entry<String, JsonNode>> fields =
+                header.extras.get(extraIndex - 1).fields();
+
+            while (fields.hasNext()) {
+              Map.Entry<String, JsonNode> field = fields.next();
+
+              generator.writeFieldName(field.getKey());
+              mapper.writeTree(generator, field.getValue());
+            }
+          }
+
+          generator.writeEndObject();
+        });
+
+    generator.writeEndArray();
+  }
+
+  /**
+   * Reads the distances and driving times of a sidecar file into a matrix, without creating JSON
+   * nodes. Additional fields like time buckets are not part of the matrix.
+   *
+   * @param file the file
+   * @return the primitive connection matrix
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static PrimitiveConnectionMatrix readMatrix(Path file) throws IOException {
+
+    PrimitiveConnectionMatrix[] matrix = new PrimitiveConnectionMatrix[1];
+
+    read(
+        file,
+        (header, fromIndex, toIndex, distanceCentimeter, drivingTimeMillis, extraIndex) -> {
+          if (matrix[0] == null) {
+            matrix[0] = new PrimitiveConnectionMatrix(header.ids);
+          }
+
+          matrix[0].put(fromIndex, toIndex, distanceCentimeter / 100.0, drivingTimeMillis);
+        });
+
+    return matrix[0] != null ? matrix[0] : new PrimitiveConnectionMatrix(List.of());
+  }
+
+  /**
+   * Checks if a sidecar file contains additional connection fields, e.g. time buckets.
+   *
+   * @param file the file
+   * @return true, if additional fields are present
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static boolean hasAdditionalFields(Path file) throws IOException {
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+      return !readHeader(in, file).extras.isEmpty();
+    }
+  }
+
+  /*
+   * Writing
+   */
+
+  private static int distanceFormatOf(JsonParser parser) throws IOException {
+
+    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+      return DISTANCE_NUMBER;
+    }
+
+    return parser.getText().trim().endsWith("km") ? DISTANCE_KILOMETER : DISTANCE_METER;
+  }
+
+  private static double parseDistanceMeter(JsonParser parser) throws IOException {
+
+    JsonToken token = parser.currentToken();
+
+    if (token == JsonToken.VALUE_NULL) {
+      return 0.0;
+    }
+
+    if (token.isNumeric()) {
+      return parser.getDoubleValue();
+    }
+
+    if (token != JsonToken.VALUE_STRING) {
+      throw new IOException("Unsupported distance: " + token);
+    }
+
+    String[] parts = parser.getText().trim().split("\\s+");
+    double amount = Double.parseDouble(parts[0]);
+
+    if (parts.length == 1 || "m".equals(parts[1])) {
+      return amount;
+    }
+
+    if ("km".equals(parts[1])) {
+      return amount * 1000.0;
+    }
+
+    throw new IOException("Unsupported distance unit: " + parser.getText());
+  }
+
+  private static long parseDrivingTimeMillis(JsonParser parser) throws IOException {
+
+    JsonToken token = parser.currentToken();
+
+    if (token == JsonToken.VALUE_NULL) {
+      return 0L;
+    }
+
+    if (token.isNumeric()) {
+      return Math.round(parser.getDoubleValue() * 1000.0);
+    }
+
+    if (token != JsonToken.VALUE_STRING) {
+      throw new IOException("Unsupported driving time: " + token);
+    }
+
+    return Duration.parse(parser.getText().trim()).toMillis();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+    writeVarint(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeVarint(OutputStream out, long value) throws IOException {
+
+    long remaining = value;
+
+    while ((remaining & ~0x7FL) != 0L) {
+      out.write((int) ((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+
+    out.write((int) remaining);
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /*
+   * Reading
+   */
+
+  private static void read(Path file, ConnectionConsumer consumer) throws IOException {
+
+    MessageDigest digest = newDigest();
+
+    try (DataInputStream in =
+        new DataInputStream(
+            new BufferedInputStream(new DigestInputStream(Files.newInputStream(file), digest)))) {
+
+      Header header = readHeader(in, file);
+
+      int size = readCount(in, file);
+      int fromIndex = 0;
+      int toIndex = 0;
+
+      for (int ii = 0; ii < size; ii++) {
+
+        fromIndex += (int) unzigzag(readVarint(in));
+        toIndex += (int) unzigzag(readVarint(in));
+
+        long distanceCentimeter = unzigzag(readVarint(in));
+        long drivingTimeMillis = unzigzag(readVarint(in));
+        int extraIndex = (int) readVarint(in);
+
+        if (fromIndex < 0
+            || fromIndex >= header.ids.size()
+            || toIndex < 0
+            || toIndex >= header.ids.size()
+            || extraIndex > header.extras.size()) {
+          throw new IOException("Corrupt sidecar record " + ii + ": " + file);
+        }
+
+        consumer.accept(
+            header, fromIndex, toIndex, distanceCentimeter, drivingTimeMillis, extraIndex);
+      }
+
+      if (in.read() != -1) {
+        throw new IOException("Trailing data in sidecar file: " + file);
+      }
+    }
+
+    String expectedHash = file.getFileName().toString().replace(FILE_EXTENSION, "");
+
+    if (!expectedHash.equals(toHex(digest.digest()))) {
+      throw new IOException("Sidecar file does not match its hash: " + file);
+    }
+  }
+
+  private static Header readHeader(DataInputStream in, Path file) throws IOException {
+
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a connection sidecar file: " + file);
+    }
+
+    int version = in.readInt();
+
+    if (version != VERSION) {
+      throw new IOException("Unsupported connection sidecar version " + version + ": " + file);
+    }
+
+    int distanceFormat = in.readUnsignedByte();
+    int timeFormat = in.readUnsignedByte();
+
+    int idCount = readCount(in, file);
+    List<String> ids = new ArrayList<>(idCount);
+
+    for (int ii = 0; ii < idCount; ii++) {
+      ids.add(readString(in));
+    }
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    int extraCount = readCount(in, file);
+    List<ObjectNode> extras = new ArrayList<>(extraCount);
+
+    for (int ii = 0; ii < extraCount; ii++) {
+      extras.add((ObjectNode) mapper.readTree(readString(in)));
+    }
+
+    return new Header(distanceFormat, timeFormat, ids, extras);
+  }
+
+  private static int readCount(DataInputStream in, Path file) throws IOException {
+
+    long count = readVarint(in);
+
+    if (count > Integer.MAX_VALUE) {
+      throw new IOException("Invalid count " + count + " in sidecar file: " + file);
+    }
+
+    return (int) count;
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+
+    byte[] bytes = new byte[(int) readVarint(in)];
+    in.readFully(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static long readVarint(InputStream in) throws IOException {
+
+    long value = 0L;
+
+    for (int shift = 0; shift < 64; shift += 7) {
+
+      int next = in.read();
+
+      if (next < 0) {
+        throw new IOException("Unexpected end of sidecar file");
+      }
+
+      value |= (long) (next & 0x7F) << shift;
+
+      if ((next & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new IOException("Malformed varint in sidecar file");
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1L);
+  }
+
+  private static void writeDistance(JsonGenerator generator, int format, long distanceCentimeter)
+      throws IOException {
+
+    BigDecimal meter = BigDecimal.valueOf(distanceCentimeter, 2);
+
+    switch (format) {
+      case DISTANCE_METER:
+        generator.writeStringField("distance", meter.stripTrailingZeros().toPlainString() + " m");
+        break;
+      case DISTANCE_KILOMETER:
+        generator.writeStringField(
+            "distance", meter.movePointLeft(3).stripTrailingZeros().toPlainString() + " km");
+        break;
+      default:
+        generator.writeNumberField("distance", meter.doubleValue());
+    }
+  }
+
+  private static void writeDrivingTime(JsonGenerator generator, int format, long drivingTimeMillis)
+      throws IOException {
+
+    if (format == TIME_SECONDS) {
+      generator.writeNumberField("drivingTime", drivingTimeMillis / 1000.0);
+    } else {
+      generator.writeStringField("drivingTime", Duration.ofMillis(drivingTimeMillis).toString());
+    }
+  }
+
+  /*
+   * Helper
+   */
+
+  private static String hashOf(Path file) {
+    return file.getFileName().toString().replace(FILE_EXTENSION, "");
+  }
+
+  private static MessageDigest newDigest() {
+
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    return HexFormat.of().formatHex(bytes);
+  }
+
+  /** Encodes a connection section while reading it, the dictionaries are written afterwards. */
+  private static final class Encoder {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Integer> ids = new LinkedHashMap<>();
+    private final Map<String, Integer> extras = new LinkedHashMap<>();
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+
+    private int distanceFormat = DISTANCE_NUMBER;
+    private int timeFormat = TIME_ISO;
+    private int size;
+    private int previousFrom;
+    private int previousTo;
+
+    void read(JsonParser parser) throws IOException {
+
+      JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+
+      if (token == JsonToken.VALUE_NULL) {
+        return;
+      }
+
+      if (token != JsonToken.START_ARRAY) {
+        throw new IOException("The connection section has to be a JSON array");
+      }
+
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+
+        if (token != JsonToken.START_OBJECT) {
+          throw new IOException("Element connection has to be a JSON object, found " + token);
+        }
+
+        this.readConnection(parser);
+      }
+    }
+
+    private void readConnection(JsonParser parser) throws IOException {
+
+      String fromId = null;
+      String toId = null;
+      long distanceCentimeter = 0L;
+      long drivingTimeMillis = 0L;
+      ObjectNode extra = null;
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+        String name = parser.currentName();
+        JsonToken value = parser.nextToken();
+
+        switch (name) {
+          case "fromElementId":
+            fromId = parser.getValueAsString();
+            break;
+          case "toElementId":
+            toId = parser.getValueAsString();
+            break;
+          case "distance":
+            if (this.size == 0) {
+              this.distanceFormat = distanceFormatOf(parser);
+            }
+            distanceCentimeter = Math.round(parseDistanceMeter(parser) * 100.0);
+            break;
+          case "drivingTime":
+            if (this.size == 0) {
+              this.timeFormat = value.isNumeric() ? TIME_SECONDS : TIME_ISO;
+            }
+            drivingTimeMillis = parseDrivingTimeMillis(parser);
+            break;
+          default:
+            if (extra == null) {
+              extra = this.mapper.createObjectNode();
+            }
+            extra.set(name, this.mapper.readTree(parser));
+        }
+      }
+
+      if (fromId == null || toId == null) {
+        throw new IOException("Element connection without from/to element id");
+      }
+
+      int fromIndex = this.ids.computeIfAbsent(fromId, id -> this.ids.size());
+      int toIndex = this.ids.computeIfAbsent(toId, id -> this.ids.size());
+      int extraIndex = 0;
+
+      if (extra != null) {
+        String key = this.mapper.writeValueAsString(extra);
+        extraIndex = this.extras.computeIfAbsent(key, k -> this.extras.size()) + 1;
+      }
+
+      writeVarint(this.records, zigzag(fromIndex - this.previousFrom));
+      writeVarint(this.records, zigzag(toIndex - this.previousTo));
+      writeVarint(this.records, zigzag(distanceCentimeter));
+      writeVarint(this.records, zigzag(drivingTimeMillis));
+      writeVarint(this.records, extraIndex);
+
+      this.previousFrom = fromIndex;
+      this.previousTo = toIndex;
+      this.size++;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeByte(this.distanceFormat);
+      out.writeByte(this.timeFormat);
+
+      writeVarint(out, this.ids.size());
+      for (String id : this.ids.keySet()) {
+        writeString(out, id);
+      }
+
+      writeVarint(out, this.extras.size());
+      for (String extra : this.extras.keySet()) {
+        writeString(out, extra);
+      }
+
+      writeVarint(out, this.size);
+      this.records.writeTo(out);
+    }
+  }
+
+  /** The dictionaries and formats of a sidecar file. */
+  private static final class Header {
+
+    private final int distanceFormat;
+    private final int timeFormat;
+    private final List<String> ids;
+    private final List<ObjectNode> extras;
+
+    private Header(int distanceFormat, int timeFormat, List<String> ids, List<ObjectNode> extras) {
+      this.distanceFormat = distanceFormat;
+      this.timeFormat = timeFormat;
+      this.ids = ids;
+      this.extras = extras;
+    }
+  }
+
+  /** Receives the decoded connections of a sidecar file. */
+  @FunctionalInterface
+  private interface ConnectionConsumer {
+
+    void accept(
+        Header header,
+        int fromIndex,
+        int toIndex,
+        long distanceCentimeter,
+        long drivingTimeMillis,
+        int extraIndex)
+        throws IOException;
+  }
+}
@@ -0,0 +1,301 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.util.List;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+
+/**
+ * The Class GeoDistanceKernel calculates great-circle (haversine) and flat-earth (equirectangular)
+ * distances for whole batches of points.
+ *
+ * <p>The coordinates are converted to radians and the cosine of every latitude is calculated once
+ * when the kernel is created. A one-to-many call then only needs two sine, one square root and one
+ * arc sine per haversine pair. The loops work on plain {@code double[]} arrays without boxing.
+ *
+ * <p>If the JVM is started with {@code --add-modules jdk.incubator.vector}, the rows are
+ * calculated with the Vector API, see {@link #isVectorized()}. Otherwise, or for the remainder of a
+ * row, a scalar loop unrolled by four is used, which gives the JIT independent instruction chains.
+ *
+ * <pre>
+ * GeoDistanceKernel kernel = GeoDistanceKernel.of(elements);
+ *
+ * double[] row = new double[kernel.size()];
+ * kernel.haversineRow(fromIndex, row);
+ * </pre>
+ *
+ * <p>A kernel is immutable and can be shared between threads, the target arrays cannot.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class GeoDistanceKernel {
+
+  /** The mean earth radius in meter. */
+  public static final double EARTH_RADIUS_METER = 6371 * 1000.0;
+
+  private static final double TWO_EARTH_RADIUS_METER = 2.0 * EARTH_RADIUS_METER;
+
+  /** True, if the Vector API module is available, the vector kernel is not loaded otherwise. */
+  private static final boolean VECTORIZED =
+      ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+  /** The latitudes in radians. */
+  private final double[] latitudesRad;
+
+  /** The longitudes in radians. */
+  private final double[] longitudesRad;
+
+  /** The cosines of the latitudes. */
+  private final double[] cosLatitudes;
+
+  private GeoDistanceKernel(double[] latitudes, double[] longitudes) {
+
+    if (latitudes.length != longitudes.length) {
+      throw new IllegalArgumentException(
+          "Latitudes and longitudes differ in length: "
+              + latitudes.length
+              + " vs "
+              + longitudes.length);
+    }
+
+    int size = latitudes.length;
+
+    this.latitudesRad = new double[size];
+    this.longitudesRad = new double[size];
+    this.cosLatitudes = new double[size];
+
+    for (int ii = 0; ii < size; ii++) {
+      this.latitudesRad[ii] = Math.toRadians(latitudes[ii]);
+      this.longitudesRad[ii] = Math.toRadians(longitudes[ii]);
+      this.cosLatitudes[ii] = Math.cos(this.latitudesRad[ii]);
+    }
+  }
+
+  /**
+   * Creates a kernel for the given coordinates in degrees.
+   *
+   * @param latitudes the latitudes
+   * @param longitudes the longitudes
+   * @return the geo distance kernel
+   */
+  public static GeoDistanceKernel of(double[] latitudes, double[] longitudes) {
+    return new GeoDistanceKernel(latitudes, longitudes);
+  }
+
+  /**
+   * Creates a kernel for the given elements. The position in the list defines the index.
+   *
+   * @param elements the elements
+   * @return the geo distance kernel
+   */
+  public static GeoDistanceKernel of(List<? extends IOptimizationElement> elements) {
+    return new GeoDistanceKernel(
+        elements.stream().mapToDouble(IOptimizationElement::getLatitude).toArray(),
+        elements.stream().mapToDouble(IOptimizationElement::getLongitude).toArray());
+  }
+
+  /**
+   * Checks if the rows are calculated with the Vector API ({@code jdk.incubator.vector}).
+   *
+   * @return true, if vectorized
+   */
+  public static boolean isVectorized() {
+    return VECTORIZED;
+  }
+
+  /**
+   * Gets the number of points.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.latitudesRad.length;
+  }
+
+  /**
+   * Calculates the haversine distance of a single pair without creating a kernel.
+   *
+   * @param lat1 the latitude of the first point in degrees
+   * @param lon1 the longitude of the first point in degrees
+   * @param lat2 the latitude of the second point in degrees
+   * @param lon2 the longitude of the second point in degrees
+   * @return the distance in meter
+   */
+  public static double haversineMeter(double lat1, double lon1, double lat2, double lon2) {
+
+    double lat1Rad = Math.toRadians(lat1);
+    double lat2Rad = Math.toRadians(lat2);
+
+    return haversine(
+        lat1Rad,
+        Math.toRadians(lon1),
+        Math.cos(lat1Rad),
+        lat2Rad,
+        Math.toRadians(lon2),
+        Math.cos(lat2Rad));
+  }
+
+  /**
+   * Calculates the haversine distances from an arbitrary point to all points of the kernel.
+   *
+   * @param latitude the latitude in degrees
+   * @param longitude the longitude in degrees
+   * @param target the target, at least {@link #size()} long
+   */
+  public void haversineOneToMany(double latitude, double longitude, double[] target) {
+
+    double latRad = Math.toRadians(latitude);
+
+    haversineRadians(latRad, Math.toRadians(longitude), Math.cos(latRad), target);
+  }
+
+  /**
+   * Calculates the haversine distances from the point at the given index to all points of the
+   * kernel. The distance to itself is zero.
+   *
+   * @param fromIndex the from index
+   * @param target the target, at least {@link #size()} long
+   */
+  public void haversineRow(int fromIndex, double[] target) {
+    haversineRadians(
+        this.latitudesRad[fromIndex],
+        this.longitudesRad[fromIndex],
+        this.cosLatitudes[fromIndex],
+        target);
+  }
+
+  /**
+   * Calculates the haversine distances between all points, row-major: the distance {@code i => j}
+   * is stored at {@code i * size + j}.
+   *
+   * @param target the target, at least {@code size * size} long
+   */
+  public void haversineManyToMany(float[] target) {
+
+    int size = size();
+
+    checkTarget(target.length, (long) size * size);
+
+    double[] row = new double[size];
+
+    for (int from = 0; from < size; from++) {
+      haversineRow(from, row);
+
+      int offset = from * size;
+      for (int to = 0; to < size; to++) {
+        target[offset + to] = (float) row[to];
+      }
+    }
+  }
+
+  /**
+   * Calculates the equirectangular (flat-earth) distances from an arbitrary point to all points of
+   * the kernel. Suitable for short distances, where it is close to the haversine distance.
+   *
+   * @param latitude the latitude in degrees
+   * @param longitude the longitude in degrees
+   * @param target the target, at least {@link #size()} long
+   */
+  public void flatEarthOneToMany(double latitude, double longitude, double[] target) {
+    flatEarthRadians(Math.toRadians(latitude), Math.toRadians(longitude), target);
+  }
+
+  /**
+   * Calculates the equirectangular (flat-earth) distances from the point at the given index to all
+   * points of the kernel.
+   *
+   * @param fromIndex the from index
+   * @param target the target, at least {@link #size()} long
+   */
+  public void flatEarthRow(int fromIndex, double[] target) {
+    flatEarthRadians(this.latitudesRad[fromIndex], this.longitudesRad[fromIndex], target);
+  }
+
+  private void haversineRadians(double latRad, double lonRad, double cosLat, double[] target) {
+
+    int size = size();
+
+    checkTarget(target.length, size);
+
+    double[] lats = this.latitudesRad;
+    double[] lons = this.longitudesRad;
+    double[] coss = this.cosLatitudes;
+
+    int ii =
+        VECTORIZED
+            ? GeoDistanceVectorKernel.haversine(
+                latRad, lonRad, cosLat, lats, lons, coss, target, size)
+            : 0;
+
+    for (; ii + 3 < size; ii += 4) {
+      target[ii] = haversine(latRad, lonRad, cosLat, lats[ii], lons[ii], coss[ii]);
+      target[ii + 1] =
+          haversine(latRad, lonRad, cosLat, lats[ii + 1], lons[ii + 1], coss[ii + 1]);
+      target[ii + 2] =
+          haversine(latRad, lonRad, cosLat, lats[ii + 2], lons[ii + 2], coss[ii + 2]);
+      target[ii + 3] =
+          haversine(latRad, lonRad, cosLat, lats[ii + 3], lons[ii + 3], coss[ii + 3]);
+    }
+
+    for (; ii < size; ii++) {
+      target[ii] = haversine(latRad, lonRad, cosLat, lats[ii], lons[ii], coss[ii]);
+    }
+  }
+
+  private void flatEarthRadians(double latRad, double lonRad, double[] target) {
+
+    int size = size();
+
+    checkTarget(target.length, size);
+
+    double[] lats = this.latitudesRad;
+    double[] lons = this.longitudesRad;
+
+    int ii =
+        VECTORIZED
+            ? GeoDistanceVectorKernel.flatEarth(latRad, lonRad, lats, lons, target, size)
+            : 0;
+
+    for (; ii + 3 < size; ii += 4) {
+      target[ii] = flatEarth(latRad, lonRad, lats[ii], lons[ii]);
+      target[ii + 1] = flatEarth(latRad, lonRad, lats[ii + 1], lons[ii + 1]);
+      target[ii + 2] = flatEarth(latRad, lonRad, lats[ii + 2], lons[ii + 2]);
+      target[ii + 3] = flatEarth(latRad, lonRad, lats[ii + 3], lons[ii + 3]);
+    }
+
+    for (; ii < size; ii++) {
+      target[ii] = flatEarth(latRad, lonRad, lats[ii], lons[ii]);
+    }
+  }
+
+  private static double haversine(
+      double lat1Rad, double lon1Rad, double cosLat1, double lat2Rad, double lon2Rad,
+      double cosLat2) {
+
+    double sinHalfDeltaLat = Math.sin((lat2Rad - lat1Rad) * 0.5);
+    double sinHalfDeltaLon = Math.sin((lon2Rad - lon1Rad) * 0.5);
+
+    double a =
+        sinHalfDeltaLat * sinHalfDeltaLat
+            + cosLat1 * cosLat2 * sinHalfDeltaLon * sinHalfDeltaLon;
+
+    // 2 * asin(sqrt(a)) equals 2 * atan2(sqrt(a), sqrt(1 - a)) and is cheaper
+    return TWO_EARTH_RADIUS_METER * Math.asin(Math.sqrt(Math.min(1.0, a)));
+  }
+
+  private static double flatEarth(double lat1Rad, double lon1Rad, double lat2Rad, double lon2Rad) {
+
+    double x = (lon2Rad - lon1Rad) * Math.cos((lat1Rad + lat2Rad) * 0.5);
+    double y = lat2Rad - lat1Rad;
+
+    return EARTH_RADIUS_METER * Math.sqrt(x * x + y * y);
+  }
+
+  private static void checkTarget(int targetLength, long requiredLength) {
+    if (targetLength < requiredLength) {
+      throw new IllegalArgumentException(
+          "Target too small: " + targetLength + " < " + requiredLength);
+    }
+  }
+}
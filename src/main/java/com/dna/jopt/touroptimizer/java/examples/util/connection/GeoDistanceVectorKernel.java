@@ -0,0 +1,88 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Class GeoDistanceVectorKernel holds the {@code jdk.incubator.vector} loops of the {@link
+ * GeoDistanceKernel}. The sine, cosine and arc sine lanewise operations are intrinsified with the
+ * SVML stubs of the JDK on x86.
+ *
+ * <p>The class is only loaded if the module {@code jdk.incubator.vector} is part of the boot layer,
+ * i.e. if the JVM is started with {@code --add-modules jdk.incubator.vector}. Every method
+ * processes the largest multiple of the vector length and returns the number of processed points,
+ * the remainder is left to the scalar loop.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+final class GeoDistanceVectorKernel {
+
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  private GeoDistanceVectorKernel() {
+    // Nothing to do
+  }
+
+  /** Calculates the haversine distances from one point, returns the number of processed points. */
+  static int haversine(
+      double latRad,
+      double lonRad,
+      double cosLat,
+      double[] lats,
+      double[] lons,
+      double[] coss,
+      double[] target,
+      int size) {
+
+    int bound = SPECIES.loopBound(size);
+
+    for (int ii = 0; ii < bound; ii += SPECIES.length()) {
+      DoubleVector lat = DoubleVector.fromArray(SPECIES, lats, ii);
+      DoubleVector lon = DoubleVector.fromArray(SPECIES, lons, ii);
+      DoubleVector cos = DoubleVector.fromArray(SPECIES, coss, ii);
+
+      DoubleVector sinHalfDeltaLat = lat.sub(latRad).mul(0.5).lanewise(VectorOperators.SIN);
+      DoubleVector sinHalfDeltaLon = lon.sub(lonRad).mul(0.5).lanewise(VectorOperators.SIN);
+
+      DoubleVector a =
+          sinHalfDeltaLat
+              .mul(sinHalfDeltaLat)
+              .add(cos.mul(cosLat).mul(sinHalfDeltaLon).mul(sinHalfDeltaLon));
+
+      a.min(1.0)
+          .lanewise(VectorOperators.SQRT)
+          .lanewise(VectorOperators.ASIN)
+          .mul(2.0 * GeoDistanceKernel.EARTH_RADIUS_METER)
+          .intoArray(target, ii);
+    }
+
+    return bound;
+  }
+
+  /** Calculates the flat-earth distances from one point, returns the number of processed points. */
+  static int flatEarth(
+      double latRad, double lonRad, double[] lats, double[] lons, double[] target, int size) {
+
+    int bound = SPECIES.loopBound(size);
+
+    for (int ii = 0; ii < bound; ii += SPECIES.length()) {
+      DoubleVector lat = DoubleVector.fromArray(SPECIES, lats, ii);
+      DoubleVector lon = DoubleVector.fromArray(SPECIES, lons, ii);
+
+      DoubleVector x =
+          lon.sub(lonRad).mul(lat.add(latRad).mul(0.5).lanewise(VectorOperators.COS));
+      DoubleVector y = lat.sub(latRad);
+
+      x.mul(x)
+          .add(y.mul(y))
+          .lanewise(VectorOperators.SQRT)
+          .mul(GeoDistanceKernel.EARTH_RADIUS_METER)
+          .intoArray(target, ii);
+    }
+
+    return bound;
+  }
+}
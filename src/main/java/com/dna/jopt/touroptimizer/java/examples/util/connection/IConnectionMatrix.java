@@ -0,0 +1,148 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnectorItem;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * The Interface IConnectionMatrix describes a read-only, index based source of element connections.
+ * Element ids are mapped to dense indices from {@code 0} to {@code size() - 1}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public interface IConnectionMatrix extends Serializable {
+
+  /** The marker for a connection that is not available. */
+  int MISSING_TIME = -1;
+
+  /**
+   * Gets the number of elements.
+   *
+   * @return the size
+   */
+  int size();
+
+  /**
+   * Gets the dense index of an element id.
+   *
+   * @param elementId the element id
+   * @return the index, or -1 if the id is unknown
+   */
+  int indexOf(String elementId);
+
+  /**
+   * Gets the element id of a dense index.
+   *
+   * @param index the index
+   * @return the element id
+   */
+  String idOf(int index);
+
+  /**
+   * Gets the distance in meter.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return the distance meter
+   */
+  float getDistanceMeter(int fromIndex, int toIndex);
+
+  /**
+   * Gets the driving time in millis.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return the driving time millis, or {@link #MISSING_TIME} if the connection is missing
+   */
+  int getDrivingTimeMillis(int fromIndex, int toIndex);
+
+  /**
+   * Gets the distance in meter between two element ids. A matrix that can change while it is read
+   * resolves the ids and reads the value atomically.
+   *
+   * @param fromElementId the from element id
+   * @param toElementId the to element id
+   * @return the distance meter, or {@link Float#NaN} if an id is unknown or the connection is
+   *     missing
+   */
+  default float getDistanceMeter(String fromElementId, String toElementId) {
+
+    int fromIndex = indexOf(fromElementId);
+    int toIndex = indexOf(toElementId);
+
+    if (fromIndex < 0 || toIndex < 0 || !hasConnection(fromIndex, toIndex)) {
+      return Float.NaN;
+    }
+
+    return getDistanceMeter(fromIndex, toIndex);
+  }
+
+  /**
+   * Gets the driving time in millis between two element ids. A matrix that can change while it is
+   * read resolves the ids and reads the value atomically.
+   *
+   * @param fromElementId the from element id
+   * @param toElementId the to element id
+   * @return the driving time millis, or {@link #MISSING_TIME} if an id is unknown or the
+   *     connection is missing
+   */
+  default int getDrivingTimeMillis(String fromElementId, String toElementId) {
+
+    int fromIndex = indexOf(fromElementId);
+    int toIndex = indexOf(toElementId);
+
+    if (fromIndex < 0 || toIndex < 0) {
+      return MISSING_TIME;
+    }
+
+    return getDrivingTimeMillis(fromIndex, toIndex);
+  }
+
+  /**
+   * Checks if a connection is available for the pair.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return true, if successful
+   */
+  default boolean hasConnection(int fromIndex, int toIndex) {
+    return getDrivingTimeMillis(fromIndex, toIndex) != MISSING_TIME;
+  }
+
+  /**
+   * Creates a connector item for a single pair. Items are never stored by a matrix, they are only
+   * created on request, for example to export a few connections.
+   *
+   * @param from the from element
+   * @param to the to element
+   * @return the connector item
+   */
+  default INodeConnectorItem createConnectorItem(IOptimizationElement from,
+      IOptimizationElement to) {
+
+    int fromIndex = indexOf(from.getId());
+    int toIndex = indexOf(to.getId());
+
+    if (fromIndex < 0 || toIndex < 0 || !hasConnection(fromIndex, toIndex)) {
+      throw new IllegalStateException(
+          "No connection available for " + from.getId() + "=>" + to.getId());
+    }
+
+    INodeConnectorItem connection = new NodeEdgeConnectorItem();
+    connection.setFromOptimizationElement(from);
+    connection.setToOptimizationElement(to);
+    connection.setDistance(
+        Quantities.getQuantity(getDistanceMeter(fromIndex, toIndex), Units.METRE));
+    connection.setDrivingTime(Duration.ofMillis(getDrivingTimeMillis(fromIndex, toIndex)));
+
+    return connection;
+  }
+}
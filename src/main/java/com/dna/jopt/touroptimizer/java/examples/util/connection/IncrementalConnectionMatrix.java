@@ -0,0 +1,651 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.IntStream;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnectorItem;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * The Class IncrementalConnectionMatrix is a connection matrix that can grow and shrink when
+ * elements are added to or removed from an existing plan.
+ *
+ * <p>Adding {@code k} elements to a matrix of {@code n} elements only calculates the about {@code
+ * 2 * k * n + k^2} connections of the new rows and columns. Removing an element moves the last
+ * element into its row and column. All other connections are left untouched, a full {@code
+ * O(n^2)} rebuild is never needed.
+ *
+ * <pre>
+ * IncrementalConnectionMatrix matrix = IncrementalConnectionMatrix.of(existingElements);
+ * opti.setNodeConnector(PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(matrix));
+ *
+ * // Later, e.g. after reloading the plan
+ * ConnectionDelta delta = matrix.addElements(newOrders);
+ * matrix.removeElements(cancelledOrderIds);
+ * </pre>
+ *
+ * <p>Lookups by element id and updates may happen concurrently: the ids are resolved and the
+ * values are read under one read lock, so a lookup never sees a half-applied delta. Updates are
+ * applied one after another. The new rows and columns are calculated before the write lock is
+ * taken, it is only held while they are copied into the matrix. Removing an element moves another
+ * element into its index, an index from {@link #indexOf(String)} is therefore only valid until the
+ * next delta. Index based lookups use an optimistic read and only block while a delta is applied.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class IncrementalConnectionMatrix implements IConnectionMatrix {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = -1948562072301644571L;
+
+  /** The minimal number of free rows kept for further elements. */
+  private static final int MIN_HEADROOM = 16;
+
+  /**
+   * The Interface ElementDistanceFunction calculates the distance between two elements. It is
+   * serializable, so that a deserialized matrix can still be updated.
+   */
+  @FunctionalInterface
+  public interface ElementDistanceFunction extends Serializable {
+
+    /**
+     * Gets the distance in meter.
+     *
+     * @param from the from element
+     * @param to the to element
+     * @return the distance in meter
+     */
+    double distanceMeter(IOptimizationElement from, IOptimizationElement to);
+  }
+
+  /**
+   * The Interface ElementDrivingTimeFunction calculates the driving time between two elements.
+   */
+  @FunctionalInterface
+  public interface ElementDrivingTimeFunction extends Serializable {
+
+    /**
+     * Gets the driving time in millis.
+     *
+     * @param from the from element
+     * @param to the to element
+     * @param distanceMeter the distance in meter
+     * @return the driving time in millis
+     */
+    long drivingTimeMillis(
+        IOptimizationElement from, IOptimizationElement to, double distanceMeter);
+  }
+
+  /** The lock guarding the state below. */
+  private transient StampedLock lock = new StampedLock();
+
+  /** The distance function. */
+  private final ElementDistanceFunction distanceFunction;
+
+  /** The driving time function. */
+  private final ElementDrivingTimeFunction drivingTimeFunction;
+
+  /** The elements by index. */
+  private final List<IOptimizationElement> elements = new ArrayList<>();
+
+  /** The indices by element id. */
+  private final Map<String, Integer> indices = new HashMap<>();
+
+  /** The allocated number of rows and columns. */
+  private int capacity;
+
+  /** The distances in meter, row-major with a row length of {@link #capacity}. */
+  private float[] distancesMeter;
+
+  /** The driving times in millis, row-major with a row length of {@link #capacity}. */
+  private int[] drivingTimesMillis;
+
+  /**
+   * Instantiates a new, empty incremental connection matrix.
+   *
+   * @param distanceFunction the distance function
+   * @param drivingTimeFunction the driving time function
+   */
+  public IncrementalConnectionMatrix(
+      ElementDistanceFunction distanceFunction, ElementDrivingTimeFunction drivingTimeFunction) {
+
+    this.distanceFunction = distanceFunction;
+    this.drivingTimeFunction = drivingTimeFunction;
+    this.capacity = 0;
+    this.distancesMeter = new float[0];
+    this.drivingTimesMillis = new int[0];
+  }
+
+  /**
+   * Creates a matrix of the elements using the haversine distance and an average speed of 22
+   * meter per second.
+   *
+   * @param elements the elements
+   * @return the incremental connection matrix
+   */
+  public static IncrementalConnectionMatrix of(List<? extends IOptimizationElement> elements) {
+
+    IncrementalConnectionMatrix matrix =
+        new IncrementalConnectionMatrix(
+            (from, to) ->
+                GeoDistanceKernel.haversineMeter(
+                    from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude()),
+            (from, to, distanceMeter) ->
+                (long)
+                    (distanceMeter
+                        / ParallelConnectionBuilder.DEFAULT_AVG_SPEED_METER_PER_SECOND
+                        * 1000L));
+
+    matrix.addElements(elements);
+
+    return matrix;
+  }
+
+  /**
+   * Adds elements and calculates their rows and columns. Elements that are already part of the
+   * matrix are skipped.
+   *
+   * <p>The distance and driving time functions are called without holding the lock, lookups only
+   * wait while the calculated rows and columns are copied into the matrix.
+   *
+   * @param added the added elements
+   * @return the delta
+   */
+  public synchronized ConnectionDelta addElements(List<? extends IOptimizationElement> added) {
+
+    long startNanos = System.nanoTime();
+
+    // Updates are synchronized, the state can be read without lock until it is changed below
+    int oldSize = this.elements.size();
+
+    List<IOptimizationElement> newElements = new ArrayList<>();
+    Set<String> newIds = new LinkedHashSet<>();
+
+    for (IOptimizationElement element : added) {
+      if (!this.indices.containsKey(element.getId()) && newIds.add(element.getId())) {
+        newElements.add(element);
+      }
+    }
+
+    int numAdded = newElements.size();
+    int newSize = oldSize + numAdded;
+
+    if (newSize > PrimitiveConnectionMatrix.MAX_SIZE) {
+      throw new IllegalArgumentException(
+          "An incremental connection matrix can hold at most "
+              + PrimitiveConnectionMatrix.MAX_SIZE
+              + " elements, requested "
+              + newSize);
+    }
+
+    List<IOptimizationElement> allElements = new ArrayList<>(this.elements);
+    allElements.addAll(newElements);
+
+    // New rows are complete, old rows only get the new columns
+    float[] rowDistances = new float[numAdded * newSize];
+    int[] rowTimes = new int[numAdded * newSize];
+    float[] columnDistances = new float[oldSize * numAdded];
+    int[] columnTimes = new int[oldSize * numAdded];
+
+    IntStream.range(0, newSize)
+        .parallel()
+        .forEach(
+            from -> {
+              if (from >= oldSize) {
+                fillRow(
+                    allElements,
+                    from,
+                    0,
+                    newSize,
+                    rowDistances,
+                    rowTimes,
+                    (from - oldSize) * newSize);
+              } else {
+                fillRow(
+                    allElements,
+                    from,
+                    oldSize,
+                    newSize,
+                    columnDistances,
+                    columnTimes,
+                    from * numAdded - oldSize);
+              }
+            });
+
+    // Not published yet, the grown arrays can be filled without lock as well
+    int newCapacity = this.capacity;
+    float[] distances = this.distancesMeter;
+    int[] times = this.drivingTimesMillis;
+
+    if (newSize > this.capacity) {
+      newCapacity =
+          Math.min(
+              PrimitiveConnectionMatrix.MAX_SIZE, newSize + Math.max(MIN_HEADROOM, newSize / 8));
+      distances = new float[newCapacity * newCapacity];
+      times = new int[newCapacity * newCapacity];
+
+      copyRows(oldSize, newCapacity, distances, times);
+    }
+
+    long stamp = this.lock.writeLock();
+
+    try {
+      this.capacity = newCapacity;
+      this.distancesMeter = distances;
+      this.drivingTimesMillis = times;
+
+      for (IOptimizationElement element : newElements) {
+        this.indices.put(element.getId(), this.elements.size());
+        this.elements.add(element);
+      }
+
+      for (int row = oldSize; row < newSize; row++) {
+        System.arraycopy(
+            rowDistances, (row - oldSize) * newSize, distances, row * newCapacity, newSize);
+        System.arraycopy(rowTimes, (row - oldSize) * newSize, times, row * newCapacity, newSize);
+      }
+
+      for (int row = 0; row < oldSize; row++) {
+        System.arraycopy(
+            columnDistances, row * numAdded, distances, row * newCapacity + oldSize, numAdded);
+        System.arraycopy(
+            columnTimes, row * numAdded, times, row * newCapacity + oldSize, numAdded);
+      }
+
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+
+    // The new rows without self connections plus the new columns of the old rows
+    long connections = (long) numAdded * (newSize - 1) + (long) oldSize * numAdded;
+
+    return new ConnectionDelta(
+        this, newElements, List.of(), connections, System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Removes elements. The row and column of the last element are moved into the freed slot.
+   * Unknown ids are skipped.
+   *
+   * @param removedIds the ids of the removed elements
+   * @return the delta
+   */
+  public synchronized ConnectionDelta removeElements(Collection<String> removedIds) {
+
+    long startNanos = System.nanoTime();
+    long stamp = this.lock.writeLock();
+
+    try {
+      List<String> removed = new ArrayList<>();
+
+      for (String id : new LinkedHashSet<>(removedIds)) {
+        Integer index = this.indices.remove(id);
+
+        if (index != null) {
+          removeAt(index);
+          removed.add(id);
+        }
+      }
+
+      return new ConnectionDelta(this, List.of(), removed, 0, System.nanoTime() - startNanos);
+
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Gets the element of an index.
+   *
+   * @param index the index
+   * @return the element
+   */
+  public IOptimizationElement getElement(int index) {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      return this.elements.get(index);
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Gets the allocated number of rows, including the free rows for further elements.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      return this.capacity;
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public int size() {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      return this.elements.size();
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public int indexOf(String elementId) {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      Integer index = this.indices.get(elementId);
+      return index == null ? -1 : index;
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public String idOf(int index) {
+    return getElement(index).getId();
+  }
+
+  @Override
+  public float getDistanceMeter(int fromIndex, int toIndex) {
+
+    long stamp = this.lock.tryOptimisticRead();
+
+    float[] distances = this.distancesMeter;
+    int position = position(fromIndex, toIndex, this.capacity);
+    float distanceMeter = position < distances.length ? distances[position] : 0.0f;
+
+    if (this.lock.validate(stamp)) {
+      return distanceMeter;
+    }
+
+    stamp = this.lock.readLock();
+
+    try {
+      return this.distancesMeter[position(fromIndex, toIndex, this.capacity)];
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public int getDrivingTimeMillis(int fromIndex, int toIndex) {
+
+    long stamp = this.lock.tryOptimisticRead();
+
+    int[] times = this.drivingTimesMillis;
+    int position = position(fromIndex, toIndex, this.capacity);
+    int drivingTimeMillis = position < times.length ? times[position] : MISSING_TIME;
+
+    if (this.lock.validate(stamp)) {
+      return drivingTimeMillis;
+    }
+
+    stamp = this.lock.readLock();
+
+    try {
+      return this.drivingTimesMillis[position(fromIndex, toIndex, this.capacity)];
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public float getDistanceMeter(String fromElementId, String toElementId) {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      int position = positionOf(fromElementId, toElementId);
+
+      return position < 0 || this.drivingTimesMillis[position] == MISSING_TIME
+          ? Float.NaN
+          : this.distancesMeter[position];
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public int getDrivingTimeMillis(String fromElementId, String toElementId) {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      int position = positionOf(fromElementId, toElementId);
+
+      return position < 0 ? MISSING_TIME : this.drivingTimesMillis[position];
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public INodeConnectorItem createConnectorItem(
+      IOptimizationElement from, IOptimizationElement to) {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      INodeConnectorItem item = createItem(from, to);
+
+      if (item == null) {
+        throw new IllegalStateException(
+            "No connection available for " + from.getId() + "=>" + to.getId());
+      }
+
+      return item;
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Creates the connector items for every connection from or to one of the added elements. All
+   * items are read under one read lock, elements removed in the meantime are skipped.
+   *
+   * @param added the added elements
+   * @return the connector items
+   */
+  List<INodeConnectorItem> createConnectorItems(List<IOptimizationElement> added) {
+
+    long stamp = this.lock.readLock();
+
+    try {
+      List<INodeConnectorItem> items = new ArrayList<>();
+      Set<String> addedIds = new HashSet<>();
+
+      added.forEach(element -> addedIds.add(element.getId()));
+
+      for (IOptimizationElement element : added) {
+
+        if (!this.indices.containsKey(element.getId())) {
+          // Removed again in the meantime
+          continue;
+        }
+
+        for (IOptimizationElement other : this.elements) {
+
+          if (other.getId().equals(element.getId())) {
+            continue;
+          }
+
+          addItem(items, element, other);
+
+          // Connections between two added elements are created once per direction
+          if (!addedIds.contains(other.getId())) {
+            addItem(items, other, element);
+          }
+        }
+      }
+
+      return items;
+
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  private void addItem(
+      List<INodeConnectorItem> items, IOptimizationElement from, IOptimizationElement to) {
+
+    INodeConnectorItem item = createItem(from, to);
+
+    if (item != null) {
+      items.add(item);
+    }
+  }
+
+  /** Creates a connector item, the caller holds the lock. */
+  private INodeConnectorItem createItem(IOptimizationElement from, IOptimizationElement to) {
+
+    int position = positionOf(from.getId(), to.getId());
+
+    if (position < 0 || this.drivingTimesMillis[position] == MISSING_TIME) {
+      return null;
+    }
+
+    INodeConnectorItem connection = new NodeEdgeConnectorItem();
+    connection.setFromOptimizationElement(from);
+    connection.setToOptimizationElement(to);
+    connection.setDistance(Quantities.getQuantity(this.distancesMeter[position], Units.METRE));
+    connection.setDrivingTime(Duration.ofMillis(this.drivingTimesMillis[position]));
+
+    return connection;
+  }
+
+  /** Resolves the position of a pair of ids, the caller holds the lock. */
+  private int positionOf(String fromElementId, String toElementId) {
+
+    Integer fromIndex = this.indices.get(fromElementId);
+    Integer toIndex = this.indices.get(toElementId);
+
+    return fromIndex == null || toIndex == null
+        ? -1
+        : position(fromIndex, toIndex, this.capacity);
+  }
+
+  private static int position(int fromIndex, int toIndex, int rowLength) {
+    return fromIndex * rowLength + toIndex;
+  }
+
+  /**
+   * Calculates the connections of a row from column {@code fromColumn} to {@code size - 1} into
+   * scratch arrays, column {@code to} is stored at {@code offset + to}. Does not touch the matrix.
+   */
+  private void fillRow(
+      List<IOptimizationElement> allElements,
+      int from,
+      int fromColumn,
+      int size,
+      float[] distances,
+      int[] times,
+      int offset) {
+
+    IOptimizationElement fromElement = allElements.get(from);
+
+    for (int to = fromColumn; to < size; to++) {
+
+      if (to == from) {
+        distances[offset + to] = 0.0f;
+        times[offset + to] = MISSING_TIME;
+        continue;
+      }
+
+      IOptimizationElement toElement = allElements.get(to);
+      double distanceMeter = this.distanceFunction.distanceMeter(fromElement, toElement);
+
+      distances[offset + to] = (float) distanceMeter;
+      times[offset + to] =
+          (int) this.drivingTimeFunction.drivingTimeMillis(fromElement, toElement, distanceMeter);
+    }
+  }
+
+  /** Moves the last element into the slot of a removed element. */
+  private void removeAt(int index) {
+
+    int last = this.elements.size() - 1;
+
+    if (index != last) {
+      IOptimizationElement moved = this.elements.get(last);
+
+      this.elements.set(index, moved);
+      this.indices.put(moved.getId(), index);
+
+      // Row
+      System.arraycopy(
+          this.distancesMeter,
+          last * this.capacity,
+          this.distancesMeter,
+          index * this.capacity,
+          last);
+      System.arraycopy(
+          this.drivingTimesMillis,
+          last * this.capacity,
+          this.drivingTimesMillis,
+          index * this.capacity,
+          last);
+
+      // Column
+      for (int row = 0; row < last; row++) {
+        this.distancesMeter[row * this.capacity + index] =
+            this.distancesMeter[row * this.capacity + last];
+        this.drivingTimesMillis[row * this.capacity + index] =
+            this.drivingTimesMillis[row * this.capacity + last];
+      }
+
+      this.distancesMeter[index * this.capacity + index] = 0.0f;
+      this.drivingTimesMillis[index * this.capacity + index] = MISSING_TIME;
+    }
+
+    this.elements.remove(last);
+  }
+
+  /** Copies the rows of the current elements into larger arrays, all other times are missing. */
+  private void copyRows(int size, int newCapacity, float[] newDistances, int[] newTimes) {
+
+    Arrays.fill(newTimes, MISSING_TIME);
+
+    for (int row = 0; row < size; row++) {
+      System.arraycopy(
+          this.distancesMeter, row * this.capacity, newDistances, row * newCapacity, size);
+      System.arraycopy(
+          this.drivingTimesMillis, row * this.capacity, newTimes, row * newCapacity, size);
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    this.lock = new StampedLock();
+  }
+}
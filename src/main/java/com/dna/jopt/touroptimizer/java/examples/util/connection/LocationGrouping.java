@@ -0,0 +1,175 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+
+/**
+ * The Class LocationGrouping groups elements that share a location, for example several nodes
+ * with the same location id or several visits at the same address.
+ *
+ * <p>Every group is a location with a dense index. The first element of a group is its
+ * representative, connections only have to be calculated between the representatives.
+ *
+ * <pre>
+ * LocationGrouping grouping = LocationGrouping.byPosition(elements);
+ *
+ * PrimitiveConnectionMatrix locationMatrix =
+ *     ParallelConnectionBuilder.of(grouping.getRepresentatives()).buildMatrix();
+ *
+ * IConnectionMatrix matrix = new LocationIndexedConnectionMatrix(grouping, locationMatrix);
+ * </pre>
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class LocationGrouping {
+
+  /** The elements. */
+  private final List<IOptimizationElement> elements;
+
+  /** The representatives by location index. */
+  private final List<IOptimizationElement> representatives;
+
+  /** The location index by element index. */
+  private final int[] locationIndices;
+
+  private LocationGrouping(
+      List<IOptimizationElement> elements,
+      List<IOptimizationElement> representatives,
+      int[] locationIndices) {
+
+    this.elements = Collections.unmodifiableList(elements);
+    this.representatives = Collections.unmodifiableList(representatives);
+    this.locationIndices = locationIndices;
+  }
+
+  /**
+   * Groups elements with exactly the same latitude and longitude.
+   *
+   * @param elements the elements
+   * @return the location grouping
+   */
+  public static LocationGrouping byPosition(List<? extends IOptimizationElement> elements) {
+    return by(elements, element -> List.of(element.getLatitude(), element.getLongitude()));
+  }
+
+  /**
+   * Groups elements by a location key, e.g. the location ids that were set via {@code
+   * setLocationId}. Elements with a {@code null} key get a location of their own.
+   *
+   * @param <E> the element type
+   * @param elements the elements
+   * @param locationKey the location key function
+   * @return the location grouping
+   */
+  public static <E extends IOptimizationElement> LocationGrouping by(
+      List<? extends E> elements, Function<? super E, ?> locationKey) {
+
+    List<IOptimizationElement> representatives = new ArrayList<>();
+    int[] locationIndices = new int[elements.size()];
+
+    Map<Object, Integer> locationIndexByKey = new HashMap<>();
+
+    for (int ii = 0; ii < elements.size(); ii++) {
+
+      E element = elements.get(ii);
+      Object key = locationKey.apply(element);
+
+      Integer locationIndex = key == null ? null : locationIndexByKey.get(key);
+
+      if (locationIndex == null) {
+        locationIndex = representatives.size();
+        representatives.add(element);
+
+        if (key != null) {
+          locationIndexByKey.put(key, locationIndex);
+        }
+      }
+
+      locationIndices[ii] = locationIndex;
+    }
+
+    return new LocationGrouping(new ArrayList<>(elements), representatives, locationIndices);
+  }
+
+  /**
+   * Gets the elements, in the original order.
+   *
+   * @return the elements
+   */
+  public List<IOptimizationElement> getElements() {
+    return this.elements;
+  }
+
+  /**
+   * Gets the representatives, one element per location. The position defines the location index.
+   *
+   * @return the representatives
+   */
+  public List<IOptimizationElement> getRepresentatives() {
+    return this.representatives;
+  }
+
+  /**
+   * Gets the number of locations.
+   *
+   * @return the location count
+   */
+  public int getLocationCount() {
+    return this.representatives.size();
+  }
+
+  /**
+   * Gets the location index of an element.
+   *
+   * @param elementIndex the element index
+   * @return the location index
+   */
+  public int getLocationIndex(int elementIndex) {
+    return this.locationIndices[elementIndex];
+  }
+
+  /**
+   * Gets the share of elements sharing their location with another element.
+   *
+   * @return the co-located share between 0 and 1
+   */
+  public double getCoLocatedShare() {
+
+    if (this.elements.isEmpty()) {
+      return 0.0;
+    }
+
+    int[] groupSizes = new int[getLocationCount()];
+
+    for (int locationIndex : this.locationIndices) {
+      groupSizes[locationIndex]++;
+    }
+
+    int coLocated = 0;
+
+    for (int groupSize : groupSizes) {
+      if (groupSize > 1) {
+        coLocated += groupSize;
+      }
+    }
+
+    return (double) coLocated / this.elements.size();
+  }
+
+  /**
+   * Gets a copy of the location indices by element index.
+   *
+   * @return the location indices
+   */
+  int[] copyLocationIndices() {
+    return this.locationIndices.clone();
+  }
+}
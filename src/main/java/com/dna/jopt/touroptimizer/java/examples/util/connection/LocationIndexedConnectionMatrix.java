@@ -0,0 +1,144 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+
+/**
+ * The Class LocationIndexedConnectionMatrix serves element connections from a matrix between
+ * locations.
+ *
+ * <p>Elements sharing a location (see {@link LocationGrouping}) share one row and one column of the
+ * location matrix. An element lookup resolves through an index indirection: element index to
+ * location index, then location pair. Connections between two elements at the same location have
+ * a distance and driving time of zero.
+ *
+ * <p>With a share of {@code s} co-located elements, the location matrix is about {@code (1 - s)^2}
+ * of the element matrix, e.g. half the size for 30% co-located elements.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class LocationIndexedConnectionMatrix implements IConnectionMatrix {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 3361209437816342217L;
+
+  /** The location matrix, indexed by location. */
+  private final IConnectionMatrix locationMatrix;
+
+  /** The element ids by element index. */
+  private final String[] elementIds;
+
+  /** The element indices by element id. */
+  private final Map<String, Integer> elementIndices;
+
+  /** The location index by element index. */
+  private final int[] locationIndices;
+
+  /**
+   * Instantiates a new location indexed connection matrix.
+   *
+   * @param grouping the grouping
+   * @param locationMatrix the location matrix, built for the representatives of the grouping in
+   *     their order
+   */
+  public LocationIndexedConnectionMatrix(
+      LocationGrouping grouping, IConnectionMatrix locationMatrix) {
+
+    List<IOptimizationElement> representatives = grouping.getRepresentatives();
+
+    if (locationMatrix.size() != representatives.size()) {
+      throw new IllegalArgumentException(
+          "Location matrix size "
+              + locationMatrix.size()
+              + " does not match the number of locations "
+              + representatives.size());
+    }
+
+    for (int ii = 0; ii < representatives.size(); ii++) {
+      if (!representatives.get(ii).getId().equals(locationMatrix.idOf(ii))) {
+        throw new IllegalArgumentException(
+            "Location matrix is not ordered like the representatives at index " + ii);
+      }
+    }
+
+    this.locationMatrix = locationMatrix;
+    this.locationIndices = grouping.copyLocationIndices();
+
+    int size = grouping.getElements().size();
+
+    this.elementIds = new String[size];
+    this.elementIndices = new HashMap<>(size * 4 / 3 + 1);
+
+    for (int ii = 0; ii < size; ii++) {
+      this.elementIds[ii] = grouping.getElements().get(ii).getId();
+
+      if (this.elementIndices.put(this.elementIds[ii], ii) != null) {
+        throw new IllegalArgumentException("Duplicate element id: " + this.elementIds[ii]);
+      }
+    }
+  }
+
+  /**
+   * Gets the location matrix.
+   *
+   * @return the location matrix
+   */
+  public IConnectionMatrix getLocationMatrix() {
+    return this.locationMatrix;
+  }
+
+  /**
+   * Gets the location index of an element.
+   *
+   * @param elementIndex the element index
+   * @return the location index
+   */
+  public int locationOf(int elementIndex) {
+    return this.locationIndices[elementIndex];
+  }
+
+  @Override
+  public int size() {
+    return this.elementIds.length;
+  }
+
+  @Override
+  public int indexOf(String elementId) {
+
+    Integer index = this.elementIndices.get(elementId);
+
+    return index == null ? -1 : index;
+  }
+
+  @Override
+  public String idOf(int index) {
+    return this.elementIds[index];
+  }
+
+  @Override
+  public float getDistanceMeter(int fromIndex, int toIndex) {
+
+    int fromLocation = this.locationIndices[fromIndex];
+    int toLocation = this.locationIndices[toIndex];
+
+    return fromLocation == toLocation
+        ? 0.0f
+        : this.locationMatrix.getDistanceMeter(fromLocation, toLocation);
+  }
+
+  @Override
+  public int getDrivingTimeMillis(int fromIndex, int toIndex) {
+
+    int fromLocation = this.locationIndices[fromIndex];
+    int toLocation = this.locationIndices[toIndex];
+
+    return fromLocation == toLocation
+        ? 0
+        : this.locationMatrix.getDrivingTimeMillis(fromLocation, toLocation);
+  }
+}
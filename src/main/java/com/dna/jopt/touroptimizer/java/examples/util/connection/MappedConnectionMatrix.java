@@ -0,0 +1,423 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Class MappedConnectionMatrix is an {@link IConnectionMatrix} backed by a memory-mapped matrix
+ * file.
+ *
+ * <p>Opening a matrix file only reads the header and the id table. The distance and time columns
+ * are mapped read-only via {@link FileChannel#map}, so several JVMs on the same host share the
+ * page cache and no connection is parsed or copied onto the heap.
+ *
+ * <p>File layout (little endian):
+ *
+ * <pre>
+ * header      int magic ("JCMX"), int version, int size, int reserved,
+ *             long idTableOffset, long distanceOffset, long timeOffset
+ * id table    size x (int byteLength, UTF-8 bytes)
+ * distances   size * size x float, distance in meter, row-major
+ * times       size * size x int, driving time in millis (-1 = missing), row-major
+ * </pre>
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class MappedConnectionMatrix implements IConnectionMatrix {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = -6002745139722436811L;
+
+  /** The magic number of a matrix file ("JCMX"). */
+  public static final int MAGIC = 0x4A434D58;
+
+  /** The current file format version. */
+  public static final int VERSION = 1;
+
+  /** The header length in bytes. */
+  private static final int HEADER_BYTES = 4 * Integer.BYTES + 3 * Long.BYTES;
+
+  /**
+   * The maximal number of elements, such that a single column still fits into one mapped buffer.
+   */
+  public static final int MAX_SIZE = 23170;
+
+  /** The rows written per chunk. */
+  private static final int ROWS_PER_CHUNK = 64;
+
+  /** The file the matrix is mapped from. Stored as string, as paths are not serializable. */
+  private final String file;
+
+  /** The element ids by index. */
+  private final transient String[] ids;
+
+  /** The indices by element id. */
+  private final transient Map<String, Integer> indices;
+
+  /** The mapped distances. */
+  private final transient FloatBuffer distancesMeter;
+
+  /** The mapped driving times. */
+  private final transient IntBuffer drivingTimesMillis;
+
+  /**
+   * Instantiates a new mapped connection matrix.
+   *
+   * @param file the file
+   * @param ids the ids
+   * @param indices the indices by id
+   * @param distancesMeter the distances meter
+   * @param drivingTimesMillis the driving times millis
+   */
+  private MappedConnectionMatrix(
+      String file,
+      String[] ids,
+      Map<String, Integer> indices,
+      FloatBuffer distancesMeter,
+      IntBuffer drivingTimesMillis) {
+
+    this.file = file;
+    this.ids = ids;
+    this.indices = indices;
+    this.distancesMeter = distancesMeter;
+    this.drivingTimesMillis = drivingTimesMillis;
+  }
+
+  /**
+   * Opens a matrix file. The offsets of the header have to describe the id table, the distance
+   * column and the time column in this order, without overlapping and inside the file. The ids have
+   * to be unique.
+   *
+   * @param file the file
+   * @return the mapped connection matrix
+   * @throws IOException Signals that an I/O exception has occurred, or the file is invalid.
+   */
+  public static MappedConnectionMatrix open(Path file) throws IOException {
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, header, 0);
+      header.flip();
+
+      int magic = header.getInt();
+      int version = header.getInt();
+      int size = header.getInt();
+      header.getInt(); // reserved
+
+      long idTableOffset = header.getLong();
+      long distanceOffset = header.getLong();
+      long timeOffset = header.getLong();
+
+      if (magic != MAGIC) {
+        throw new IOException("Not a connection matrix file: " + file);
+      }
+
+      if (version != VERSION) {
+        throw new IOException("Unsupported connection matrix version " + version + ": " + file);
+      }
+
+      if (size < 0 || size > MAX_SIZE) {
+        throw new IOException("Invalid connection matrix size " + size + ": " + file);
+      }
+
+      long columnBytes = (long) size * size * Integer.BYTES;
+
+      checkLayout(file, channel.size(), size, idTableOffset, distanceOffset, timeOffset);
+
+      // Id table
+      ByteBuffer idTable =
+          ByteBuffer.allocate((int) (distanceOffset - idTableOffset))
+              .order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, idTable, idTableOffset);
+      idTable.flip();
+
+      String[] ids = new String[size];
+      Map<String, Integer> indices = new HashMap<>((int) (size / 0.75) + 1);
+
+      for (int ii = 0; ii < size; ii++) {
+
+        int idLength = idTable.remaining() >= Integer.BYTES ? idTable.getInt() : -1;
+
+        if (idLength < 0 || idLength > idTable.remaining()) {
+          throw new IOException("Corrupt id table at element " + ii + ": " + file);
+        }
+
+        byte[] idBytes = new byte[idLength];
+        idTable.get(idBytes);
+        ids[ii] = new String(idBytes, StandardCharsets.UTF_8);
+
+        Integer previous = indices.putIfAbsent(ids[ii], ii);
+
+        if (previous != null) {
+          throw new IOException(
+              "Duplicate element id '"
+                  + ids[ii]
+                  + "' at index "
+                  + previous
+                  + " and "
+                  + ii
+                  + ": "
+                  + file);
+        }
+      }
+
+      // Columns - the mapping stays valid after the channel is closed
+      MappedByteBuffer distances =
+          channel.map(FileChannel.MapMode.READ_ONLY, distanceOffset, columnBytes);
+      MappedByteBuffer times = channel.map(FileChannel.MapMode.READ_ONLY, timeOffset, columnBytes);
+
+      return new MappedConnectionMatrix(
+          file.toAbsolutePath().toString(),
+          ids,
+          indices,
+          distances.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer(),
+          times.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
+    }
+  }
+
+  /**
+   * Writes a matrix to a matrix file. An existing file is replaced.
+   *
+   * @param matrix the matrix
+   * @param file the file
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static void write(IConnectionMatrix matrix, Path file) throws IOException {
+
+    int size = matrix.size();
+
+    if (size > MAX_SIZE) {
+      throw new IllegalArgumentException(
+          "A connection matrix file can hold at most " + MAX_SIZE + " elements, got " + size);
+    }
+
+    byte[][] idBytes = new byte[size][];
+    long idTableBytes = 0;
+
+    for (int ii = 0; ii < size; ii++) {
+      idBytes[ii] = matrix.idOf(ii).getBytes(StandardCharsets.UTF_8);
+      idTableBytes += Integer.BYTES + idBytes[ii].length;
+    }
+
+    long idTableOffset = HEADER_BYTES;
+    // Align the columns to 8 bytes
+    long distanceOffset = (idTableOffset + idTableBytes + 7) & ~7L;
+    long timeOffset = distanceOffset + (long) size * size * Float.BYTES;
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+
+      // Header
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header
+          .putInt(MAGIC)
+          .putInt(VERSION)
+          .putInt(size)
+          .putInt(0)
+          .putLong(idTableOffset)
+          .putLong(distanceOffset)
+          .putLong(timeOffset);
+      header.flip();
+      writeFully(channel, header, 0);
+
+      // Id table
+      ByteBuffer idTable =
+          ByteBuffer.allocate((int) (distanceOffset - idTableOffset))
+              .order(ByteOrder.LITTLE_ENDIAN);
+
+      for (byte[] id : idBytes) {
+        idTable.putInt(id.length).put(id);
+      }
+
+      idTable.position(idTable.capacity());
+      idTable.flip();
+      writeFully(channel, idTable, idTableOffset);
+
+      // Columns, written in chunks of rows
+      ByteBuffer chunk =
+          ByteBuffer.allocate(Math.max(1, ROWS_PER_CHUNK * size * Integer.BYTES))
+              .order(ByteOrder.LITTLE_ENDIAN);
+
+      for (int rowStart = 0; rowStart < size; rowStart += ROWS_PER_CHUNK) {
+
+        int rowEnd = Math.min(size, rowStart + ROWS_PER_CHUNK);
+        long rowOffset = (long) rowStart * size * Integer.BYTES;
+
+        chunk.clear();
+        for (int from = rowStart; from < rowEnd; from++) {
+          for (int to = 0; to < size; to++) {
+            chunk.putFloat(matrix.hasConnection(from, to) ? matrix.getDistanceMeter(from, to) : 0F);
+          }
+        }
+        chunk.flip();
+        writeFully(channel, chunk, distanceOffset + rowOffset);
+
+        chunk.clear();
+        for (int from = rowStart; from < rowEnd; from++) {
+          for (int to = 0; to < size; to++) {
+            chunk.putInt(matrix.getDrivingTimeMillis(from, to));
+          }
+        }
+        chunk.flip();
+        writeFully(channel, chunk, timeOffset + rowOffset);
+      }
+    }
+  }
+
+  /**
+   * Gets the file the matrix is mapped from.
+   *
+   * @return the file
+   */
+  public Path getFile() {
+    return Paths.get(this.file);
+  }
+
+  @Override
+  public int size() {
+    return this.ids.length;
+  }
+
+  @Override
+  public int indexOf(String elementId) {
+    Integer index = this.indices.get(elementId);
+
+    return index == null ? -1 : index;
+  }
+
+  @Override
+  public String idOf(int index) {
+    return this.ids[index];
+  }
+
+  @Override
+  public float getDistanceMeter(int fromIndex, int toIndex) {
+    return this.distancesMeter.get(fromIndex * this.ids.length + toIndex);
+  }
+
+  @Override
+  public int getDrivingTimeMillis(int fromIndex, int toIndex) {
+    return this.drivingTimesMillis.get(fromIndex * this.ids.length + toIndex);
+  }
+
+  /**
+   * Re-maps the file after deserialization, e.g. when an optimization holding this matrix is
+   * cloned.
+   *
+   * @return the mapped connection matrix
+   * @throws ObjectStreamException the object stream exception
+   */
+  private Object readResolve() throws ObjectStreamException {
+    try {
+      return open(getFile());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot re-map connection matrix file " + this.file, e);
+    }
+  }
+
+  /*
+   * Helper
+   */
+
+  /**
+   * Checks that the id table and both columns lie in this order inside the file, without
+   * overlapping, and that the id table can be read into one buffer.
+   */
+  private static void checkLayout(
+      Path file,
+      long fileSize,
+      int size,
+      long idTableOffset,
+      long distanceOffset,
+      long timeOffset)
+      throws IOException {
+
+    long columnBytes = (long) size * size * Integer.BYTES;
+    // Every id takes at least its length
+    long minIdTableBytes = (long) size * Integer.BYTES;
+
+    if (idTableOffset < HEADER_BYTES
+        || distanceOffset - idTableOffset < minIdTableBytes
+        || distanceOffset - idTableOffset > Integer.MAX_VALUE) {
+      throw new IOException(
+          "Invalid id table offsets "
+              + idTableOffset
+              + " - "
+              + distanceOffset
+              + " for "
+              + size
+              + " elements: "
+              + file);
+    }
+
+    if (timeOffset < distanceOffset || timeOffset - distanceOffset < columnBytes) {
+      throw new IOException(
+          "Invalid column offsets "
+              + distanceOffset
+              + " / "
+              + timeOffset
+              + ", a column needs "
+              + columnBytes
+              + " bytes: "
+              + file);
+    }
+
+    if (timeOffset > fileSize - columnBytes) {
+      throw new IOException(
+          "Truncated connection matrix file, "
+              + fileSize
+              + " bytes, the time column needs "
+              + columnBytes
+              + " bytes at offset "
+              + timeOffset
+              + ": "
+              + file);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+
+    long curPosition = position;
+
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, curPosition);
+
+      if (read < 0) {
+        throw new IOException("Unexpected end of connection matrix file");
+      }
+
+      curPosition += read;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+
+    long curPosition = position;
+
+    while (buffer.hasRemaining()) {
+      curPosition += channel.write(buffer, curPosition);
+    }
+  }
+}
@@ -0,0 +1,437 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnectorItem;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * The Class ParallelConnectionBuilder creates the connections between all ordered pairs of
+ * elements (except self connections) in parallel.
+ *
+ * <p>The pair space is split into blocks of rows (all connections starting at the same element)
+ * that are filled by a {@link ForkJoinPool}. Every block writes into its own, precomputed range of
+ * the target arrays, therefore no locking is needed while collecting the results.
+ *
+ * <p>Distance and driving time are pluggable primitive functions working on element indices. The
+ * coordinates of the elements are available via {@link #getLatitudes()} and {@link
+ * #getLongitudes()}. Distances can also be calculated for a whole row at once, e.g. by the batch
+ * kernels of {@link #haversine()} and {@link #flatEarth()}. By default, the flat-earth distance of
+ * JOpt and an average speed of 22 meter per second are used.
+ *
+ * <pre>
+ * List&lt;INodeConnectorItem&gt; cons = ParallelConnectionBuilder.of(elements)
+ *     .averageSpeed(22.0)
+ *     .buildItems(item -&gt; TimedNodeConnectorItem.setTimedBucketData(item, createBuckets(item)));
+ * </pre>
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class ParallelConnectionBuilder {
+
+  /** The default average speed in meter per second. */
+  public static final double DEFAULT_AVG_SPEED_METER_PER_SECOND = 22.0;
+
+  /** The default number of rows per block. */
+  public static final int DEFAULT_ROW_BLOCK_SIZE = 16;
+
+  /**
+   * The Interface DistanceFunction calculates the distance between two elements.
+   */
+  @FunctionalInterface
+  public interface DistanceFunction {
+
+    /**
+     * Gets the distance in meter.
+     *
+     * @param fromIndex the from index
+     * @param toIndex the to index
+     * @return the distance in meter
+     */
+    double distanceMeter(int fromIndex, int toIndex);
+  }
+
+  /**
+   * The Interface RowDistanceFunction calculates the distances from one element to all elements.
+   */
+  @FunctionalInterface
+  public interface RowDistanceFunction {
+
+    /**
+     * Calculates the distances in meter. The distance to the element itself is ignored.
+     *
+     * @param fromIndex the from index
+     * @param target the target, indexed by the to index
+     */
+    void distancesMeter(int fromIndex, double[] target);
+  }
+
+  /**
+   * The Interface DrivingTimeFunction calculates the driving time between two elements.
+   */
+  @FunctionalInterface
+  public interface DrivingTimeFunction {
+
+    /**
+     * Gets the driving time in millis.
+     *
+     * @param fromIndex the from index
+     * @param toIndex the to index
+     * @param distanceMeter the distance in meter as calculated by the distance function
+     * @return the driving time in millis
+     */
+    long drivingTimeMillis(int fromIndex, int toIndex, double distanceMeter);
+  }
+
+  /**
+   * The Interface ItemDecorator is called for every created connector item, e.g. to attach timed
+   * bucket data. It is called concurrently for different items.
+   */
+  @FunctionalInterface
+  public interface ItemDecorator {
+
+    /**
+     * Decorates a connector item.
+     *
+     * @param item the item
+     */
+    void decorate(INodeConnectorItem item);
+  }
+
+  /** The elements. */
+  private final List<? extends IOptimizationElement> elements;
+
+  /** The latitudes by index. */
+  private final double[] latitudes;
+
+  /** The longitudes by index. */
+  private final double[] longitudes;
+
+  /** The distance function. */
+  private DistanceFunction distanceFunction;
+
+  /** The row distance function, preferred over the distance function if set. */
+  private RowDistanceFunction rowDistanceFunction;
+
+  /** The driving time function. */
+  private DrivingTimeFunction drivingTimeFunction;
+
+  /** The row block size. */
+  private int rowBlockSize = DEFAULT_ROW_BLOCK_SIZE;
+
+  /** The pool. */
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  /**
+   * Instantiates a new parallel connection builder.
+   *
+   * @param elements the elements
+   */
+  private ParallelConnectionBuilder(List<? extends IOptimizationElement> elements) {
+
+    this.elements = elements;
+
+    this.latitudes = elements.stream().mapToDouble(IOptimizationElement::getLatitude).toArray();
+    this.longitudes = elements.stream().mapToDouble(IOptimizationElement::getLongitude).toArray();
+
+    this.distanceFunction =
+        (from, to) ->
+            NodeEdgeConnector.distancePlacePlaceFlatEarth(
+                this.longitudes[from], this.latitudes[from], this.longitudes[to],
+                this.latitudes[to]);
+
+    this.drivingTimeFunction =
+        (from, to, distanceMeter) ->
+            (long) (distanceMeter / DEFAULT_AVG_SPEED_METER_PER_SECOND * 1000L);
+  }
+
+  /**
+   * Creates a new builder for the given elements. The position in the list defines the index.
+   *
+   * @param elements the elements
+   * @return the parallel connection builder
+   */
+  public static ParallelConnectionBuilder of(List<? extends IOptimizationElement> elements) {
+    return new ParallelConnectionBuilder(elements);
+  }
+
+  /**
+   * Sets the distance function.
+   *
+   * @param distanceFunction the distance function
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder distance(DistanceFunction distanceFunction) {
+    this.distanceFunction = distanceFunction;
+    this.rowDistanceFunction = null;
+    return this;
+  }
+
+  /**
+   * Sets a function calculating the distances of a whole row at once.
+   *
+   * @param rowDistanceFunction the row distance function
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder distanceRows(RowDistanceFunction rowDistanceFunction) {
+    this.rowDistanceFunction = rowDistanceFunction;
+    return this;
+  }
+
+  /**
+   * Uses the haversine distance, calculated row by row by a {@link GeoDistanceKernel}.
+   *
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder haversine() {
+
+    GeoDistanceKernel kernel = GeoDistanceKernel.of(this.latitudes, this.longitudes);
+
+    return distanceRows(kernel::haversineRow);
+  }
+
+  /**
+   * Uses the flat-earth distance, calculated row by row by a {@link GeoDistanceKernel}.
+   *
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder flatEarth() {
+
+    GeoDistanceKernel kernel = GeoDistanceKernel.of(this.latitudes, this.longitudes);
+
+    return distanceRows(kernel::flatEarthRow);
+  }
+
+  /**
+   * Sets the driving time function.
+   *
+   * @param drivingTimeFunction the driving time function
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder drivingTime(DrivingTimeFunction drivingTimeFunction) {
+    this.drivingTimeFunction = drivingTimeFunction;
+    return this;
+  }
+
+  /**
+   * Sets a driving time function using a constant average speed.
+   *
+   * @param speedMeterPerSecond the speed in meter per second
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder averageSpeed(double speedMeterPerSecond) {
+
+    if (speedMeterPerSecond <= 0) {
+      throw new IllegalArgumentException(
+          "Average speed has to be positive: " + speedMeterPerSecond);
+    }
+
+    this.drivingTimeFunction =
+        (from, to, distanceMeter) -> (long) (distanceMeter / speedMeterPerSecond * 1000L);
+    return this;
+  }
+
+  /**
+   * Sets the number of rows filled by a single task.
+   *
+   * @param rowBlockSize the row block size
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder rowBlockSize(int rowBlockSize) {
+
+    if (rowBlockSize < 1) {
+      throw new IllegalArgumentException("Row block size has to be positive: " + rowBlockSize);
+    }
+
+    this.rowBlockSize = rowBlockSize;
+    return this;
+  }
+
+  /**
+   * Sets the pool used for filling the rows. By default, the common pool is used.
+   *
+   * @param pool the pool
+   * @return the parallel connection builder
+   */
+  public ParallelConnectionBuilder pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  /**
+   * Gets the latitudes by index.
+   *
+   * @return the latitudes
+   */
+  public double[] getLatitudes() {
+    return this.latitudes;
+  }
+
+  /**
+   * Gets the longitudes by index.
+   *
+   * @return the longitudes
+   */
+  public double[] getLongitudes() {
+    return this.longitudes;
+  }
+
+  /**
+   * Builds a primitive connection matrix.
+   *
+   * @return the primitive connection matrix
+   */
+  public PrimitiveConnectionMatrix buildMatrix() {
+
+    PrimitiveConnectionMatrix matrix = PrimitiveConnectionMatrix.of(this.elements);
+
+    // Distinct rows write distinct array ranges
+    fillRows(
+        from -> {
+          double[] distancesMeter = rowDistances(from);
+
+          for (int to = 0; to < this.latitudes.length; to++) {
+            if (from != to) {
+              double distanceMeter = distancesMeter[to];
+
+              matrix.put(
+                  from,
+                  to,
+                  distanceMeter,
+                  this.drivingTimeFunction.drivingTimeMillis(from, to, distanceMeter));
+            }
+          }
+        });
+
+    return matrix;
+  }
+
+  /**
+   * Builds connector items. The items are ordered row by row, in the order of the elements.
+   *
+   * @return the connector items
+   */
+  public List<INodeConnectorItem> buildItems() {
+    return buildItems(item -> {});
+  }
+
+  /**
+   * Builds connector items. The items are ordered row by row, in the order of the elements.
+   *
+   * @param decorator the decorator called for every created item
+   * @return the connector items
+   */
+  public List<INodeConnectorItem> buildItems(ItemDecorator decorator) {
+
+    int size = this.latitudes.length;
+
+    INodeConnectorItem[] items = new INodeConnectorItem[size * Math.max(0, size - 1)];
+
+    // Row "from" owns the slots [from * (size - 1), (from + 1) * (size - 1))
+    fillRows(
+        from -> {
+          int slot = from * (size - 1);
+          double[] distancesMeter = rowDistances(from);
+
+          for (int to = 0; to < size; to++) {
+            if (from != to) {
+              double distanceMeter = distancesMeter[to];
+
+              INodeConnectorItem connection = new NodeEdgeConnectorItem();
+              connection.setFromOptimizationElement(this.elements.get(from));
+              connection.setToOptimizationElement(this.elements.get(to));
+              connection.setDistance(Quantities.getQuantity(distanceMeter, Units.METRE));
+              connection.setDrivingTime(
+                  Duration.ofMillis(
+                      this.drivingTimeFunction.drivingTimeMillis(from, to, distanceMeter)));
+
+              decorator.decorate(connection);
+
+              items[slot++] = connection;
+            }
+          }
+        });
+
+    return Arrays.asList(items);
+  }
+
+  /**
+   * Calculates the distances of a row.
+   *
+   * @param from the from index
+   * @return the distances in meter, indexed by the to index
+   */
+  private double[] rowDistances(int from) {
+
+    double[] distancesMeter = new double[this.latitudes.length];
+
+    if (this.rowDistanceFunction != null) {
+      this.rowDistanceFunction.distancesMeter(from, distancesMeter);
+    } else {
+      for (int to = 0; to < distancesMeter.length; to++) {
+        if (from != to) {
+          distancesMeter[to] = this.distanceFunction.distanceMeter(from, to);
+        }
+      }
+    }
+
+    return distancesMeter;
+  }
+
+  /**
+   * Fills all rows in parallel and waits for completion.
+   *
+   * @param rowFiller the row filler
+   */
+  private void fillRows(IntConsumer rowFiller) {
+    this.pool.invoke(new RowBlockTask(rowFiller, 0, this.latitudes.length, this.rowBlockSize));
+  }
+
+  /** The Class RowBlockTask splits a range of rows until it is small enough to be filled. */
+  private static final class RowBlockTask extends RecursiveAction {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 2675128893546719036L;
+
+    private final transient IntConsumer rowFiller;
+    private final int rowStart;
+    private final int rowEnd;
+    private final int rowBlockSize;
+
+    private RowBlockTask(IntConsumer rowFiller, int rowStart, int rowEnd, int rowBlockSize) {
+      this.rowFiller = rowFiller;
+      this.rowStart = rowStart;
+      this.rowEnd = rowEnd;
+      this.rowBlockSize = rowBlockSize;
+    }
+
+    @Override
+    protected void compute() {
+
+      if (this.rowEnd - this.rowStart <= this.rowBlockSize) {
+        for (int row = this.rowStart; row < this.rowEnd; row++) {
+          this.rowFiller.accept(row);
+        }
+        return;
+      }
+
+      int rowMid = (this.rowStart + this.rowEnd) >>> 1;
+
+      invokeAll(
+          new RowBlockTask(this.rowFiller, this.rowStart, rowMid, this.rowBlockSize),
+          new RowBlockTask(this.rowFiller, rowMid, this.rowEnd, this.rowBlockSize));
+    }
+  }
+}
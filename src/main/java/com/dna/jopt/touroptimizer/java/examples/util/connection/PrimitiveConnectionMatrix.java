@@ -0,0 +1,219 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnectorItem;
+
+/**
+ * The Class PrimitiveConnectionMatrix stores distances and driving times of element connections in
+ * flat primitive arrays instead of one {@link NodeEdgeConnectorItem} per ordered pair.
+ *
+ * <p>Every element id is mapped to a dense index. The connection from index {@code i} to index
+ * {@code j} is stored row-major at position {@code i * size + j}, using a {@code float} for the
+ * distance in meter and an {@code int} for the driving time in milliseconds. A pair that was never
+ * put is reported as missing, which allows the optimizer to fall back to its backup connector.
+ *
+ * <p>The matrix has to be filled completely before it is attached to a running optimization. Reads
+ * are not synchronized.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class PrimitiveConnectionMatrix implements IConnectionMatrix {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 4184520133516342209L;
+
+  /** The maximal number of elements, such that size * size still fits into an int index. */
+  public static final int MAX_SIZE = 46340;
+
+  /** The element ids by index. */
+  private final String[] ids;
+
+  /** The indices by element id. */
+  private final Map<String, Integer> indices;
+
+  /** The distances in meter (row-major). */
+  private final float[] distancesMeter;
+
+  /** The driving times in millis (row-major). */
+  private final int[] drivingTimesMillis;
+
+  /**
+   * Instantiates a new primitive connection matrix for the given element ids.
+   *
+   * @param elementIds the element ids, the position in the list defines the index
+   */
+  public PrimitiveConnectionMatrix(List<String> elementIds) {
+
+    int size = elementIds.size();
+
+    if (size > MAX_SIZE) {
+      throw new IllegalArgumentException(
+          "A primitive connection matrix can hold at most " + MAX_SIZE + " elements, got " + size);
+    }
+
+    this.ids = elementIds.toArray(new String[0]);
+    this.indices = new HashMap<>((int) (size / 0.75) + 1);
+
+    for (int ii = 0; ii < size; ii++) {
+      if (this.indices.put(this.ids[ii], ii) != null) {
+        throw new IllegalArgumentException("Duplicate element id: " + this.ids[ii]);
+      }
+    }
+
+    this.distancesMeter = new float[size * size];
+    this.drivingTimesMillis = new int[size * size];
+
+    Arrays.fill(this.drivingTimesMillis, MISSING_TIME);
+  }
+
+  /**
+   * Creates a new primitive connection matrix for the ids of the given elements.
+   *
+   * @param elements the elements
+   * @return the primitive connection matrix
+   */
+  public static PrimitiveConnectionMatrix of(List<? extends IOptimizationElement> elements) {
+    return new PrimitiveConnectionMatrix(
+        elements.stream().map(IOptimizationElement::getId).toList());
+  }
+
+  /**
+   * Gets the number of elements.
+   *
+   * @return the size
+   */
+  @Override
+  public int size() {
+    return this.ids.length;
+  }
+
+  /**
+   * Gets the dense index of an element id.
+   *
+   * @param elementId the element id
+   * @return the index, or -1 if the id is unknown
+   */
+  @Override
+  public int indexOf(String elementId) {
+    Integer index = this.indices.get(elementId);
+
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Gets the element id of a dense index.
+   *
+   * @param index the index
+   * @return the element id
+   */
+  @Override
+  public String idOf(int index) {
+    return this.ids[index];
+  }
+
+  /**
+   * Puts a connection.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @param distanceMeter the distance in meter
+   * @param drivingTimeMillis the driving time in millis
+   */
+  public void put(int fromIndex, int toIndex, double distanceMeter, long drivingTimeMillis) {
+
+    if (drivingTimeMillis < 0 || drivingTimeMillis > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "Driving time out of range: " + drivingTimeMillis + " ms (" + idOf(fromIndex) + "=>"
+              + idOf(toIndex) + ")");
+    }
+
+    int pos = fromIndex * this.ids.length + toIndex;
+
+    this.distancesMeter[pos] = (float) distanceMeter;
+    this.drivingTimesMillis[pos] = (int) drivingTimeMillis;
+  }
+
+  /**
+   * Puts a connection.
+   *
+   * @param fromElementId the from element id
+   * @param toElementId the to element id
+   * @param distanceMeter the distance in meter
+   * @param drivingTime the driving time
+   */
+  public void put(String fromElementId, String toElementId, double distanceMeter,
+      Duration drivingTime) {
+    put(checkedIndexOf(fromElementId), checkedIndexOf(toElementId), distanceMeter,
+        drivingTime.toMillis());
+  }
+
+  /**
+   * Checks if a connection was put for the pair.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return true, if successful
+   */
+  @Override
+  public boolean hasConnection(int fromIndex, int toIndex) {
+    return this.drivingTimesMillis[fromIndex * this.ids.length + toIndex] != MISSING_TIME;
+  }
+
+  /**
+   * Gets the distance in meter.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return the distance meter
+   */
+  @Override
+  public float getDistanceMeter(int fromIndex, int toIndex) {
+    return this.distancesMeter[fromIndex * this.ids.length + toIndex];
+  }
+
+  /**
+   * Gets the driving time in millis.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return the driving time millis, or -1 if the connection is missing
+   */
+  @Override
+  public int getDrivingTimeMillis(int fromIndex, int toIndex) {
+    return this.drivingTimesMillis[fromIndex * this.ids.length + toIndex];
+  }
+
+  /**
+   * Gets the number of bytes used by the distance and time arrays.
+   *
+   * @return the matrix bytes
+   */
+  public long getMatrixBytes() {
+    return (long) this.distancesMeter.length * Float.BYTES
+        + (long) this.drivingTimesMillis.length * Integer.BYTES;
+  }
+
+  /**
+   * Gets the index of an id and fails if it is unknown.
+   *
+   * @param elementId the element id
+   * @return the index
+   */
+  private int checkedIndexOf(String elementId) {
+    int index = indexOf(elementId);
+
+    if (index < 0) {
+      throw new IllegalArgumentException("Unknown element id: " + elementId);
+    }
+
+    return index;
+  }
+}
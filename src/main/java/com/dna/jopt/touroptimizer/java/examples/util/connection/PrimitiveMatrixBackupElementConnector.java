@@ -0,0 +1,216 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import static tech.units.indriya.unit.Units.METRE;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.member.unit.nodeedge.INodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.member.unit.nodeedge.backupconnector.DefaultFlatEarthAverageSpeedBackupElementConnector;
+import com.dna.jopt.member.unit.resource.IResource;
+
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * The Class PrimitiveMatrixBackupElementConnector serves element connections from an {@link
+ * IConnectionMatrix}, for example a {@link PrimitiveConnectionMatrix} or a {@link
+ * MappedConnectionMatrix}.
+ *
+ * <p>The optimizer asks the backup connector for every connection that was not put into the {@link
+ * INodeEdgeConnector}. Attaching this backup connector to an empty {@link NodeEdgeConnector} (see
+ * {@link #createNodeEdgeConnector(IConnectionMatrix)}) therefore lets the core read the
+ * whole matrix on demand, without holding a connector item per pair. Pairs that are missing in
+ * the matrix are calculated by a fallback connector, by default the flat-earth approximation.
+ *
+ * <p>Every lookup is counted, see {@link #getFallbackCount()}. For sparse matrices like the {@link
+ * SparseNeighbourConnectionMatrix}, the share of fallbacks shows whether the matrix covers the
+ * pairs the optimizer actually asks for.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class PrimitiveMatrixBackupElementConnector
+    extends DefaultFlatEarthAverageSpeedBackupElementConnector {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = -2310884127165573920L;
+
+  /** The matrix. */
+  private final IConnectionMatrix matrix;
+
+  /** The fallback connector, {@code null} for the default flat-earth approximation. */
+  private final DefaultFlatEarthAverageSpeedBackupElementConnector fallback;
+
+  /** The number of lookups. */
+  private final LongAdder lookups = new LongAdder();
+
+  /** The number of lookups answered by the fallback. */
+  private final LongAdder fallbacks = new LongAdder();
+
+  /**
+   * Instantiates a new primitive matrix backup element connector. The driving times of the matrix
+   * do not depend on the visiting resource, therefore they are not recalculated.
+   *
+   * @param matrix the matrix
+   */
+  public PrimitiveMatrixBackupElementConnector(IConnectionMatrix matrix) {
+    this(matrix, null);
+  }
+
+  /**
+   * Instantiates a new primitive matrix backup element connector with a fallback for the pairs
+   * missing in the matrix.
+   *
+   * @param matrix the matrix
+   * @param fallback the fallback connector, {@code null} for the default flat-earth approximation
+   */
+  public PrimitiveMatrixBackupElementConnector(
+      IConnectionMatrix matrix, DefaultFlatEarthAverageSpeedBackupElementConnector fallback) {
+    super(false);
+
+    this.matrix = matrix;
+    this.fallback = fallback;
+  }
+
+  /**
+   * Creates a node edge connector that is backed by the matrix.
+   *
+   * @param matrix the matrix
+   * @return the node edge connector
+   */
+  public static INodeEdgeConnector createNodeEdgeConnector(IConnectionMatrix matrix) {
+
+    INodeEdgeConnector connector = new NodeEdgeConnector();
+    connector.setBackupElementConnector(new PrimitiveMatrixBackupElementConnector(matrix));
+
+    return connector;
+  }
+
+  /**
+   * Gets the matrix.
+   *
+   * @return the matrix
+   */
+  public IConnectionMatrix getMatrix() {
+    return this.matrix;
+  }
+
+  /**
+   * Gets the number of distance and duration lookups.
+   *
+   * @return the lookup count
+   */
+  public long getLookupCount() {
+    return this.lookups.sum();
+  }
+
+  /**
+   * Gets the number of distance and duration lookups answered by the fallback.
+   *
+   * @return the fallback count
+   */
+  public long getFallbackCount() {
+    return this.fallbacks.sum();
+  }
+
+  /**
+   * Gets the share of lookups answered by the fallback.
+   *
+   * @return the fallback share between 0 and 1
+   */
+  public double getFallbackShare() {
+
+    long lookupCount = getLookupCount();
+
+    return lookupCount == 0 ? 0.0 : (double) getFallbackCount() / lookupCount;
+  }
+
+  /**
+   * Gets the element 2 element distance.
+   *
+   * @param fromElementId the from element id
+   * @param fromElementLon the from element lon
+   * @param fromElementLat the from element lat
+   * @param toElementId the to element id
+   * @param toElementLon the to element lon
+   * @param toElementLat the to element lat
+   * @param visitor the visitor
+   * @return the element 2 element distance
+   */
+  @Override
+  public Quantity<Length> getElement2ElementDistance(
+      String fromElementId,
+      double fromElementLon,
+      double fromElementLat,
+      String toElementId,
+      double toElementLon,
+      double toElementLat,
+      IResource visitor) {
+
+    this.lookups.increment();
+
+    float distanceMeter = this.matrix.getDistanceMeter(fromElementId, toElementId);
+
+    if (Float.isNaN(distanceMeter)) {
+      this.fallbacks.increment();
+
+      if (this.fallback != null) {
+        return this.fallback.getElement2ElementDistance(
+            fromElementId,
+            fromElementLon,
+            fromElementLat,
+            toElementId,
+            toElementLon,
+            toElementLat,
+            visitor);
+      }
+
+      return super.getElement2ElementDistance(
+          fromElementId,
+          fromElementLon,
+          fromElementLat,
+          toElementId,
+          toElementLon,
+          toElementLat,
+          visitor);
+    }
+
+    return Quantities.getQuantity(distanceMeter, METRE);
+  }
+
+  /**
+   * Gets the element 2 element duration.
+   *
+   * @param fromElementId the from element id
+   * @param toElementId the to element id
+   * @param distanceMeter the distance meter
+   * @param visitor the visitor
+   * @return the element 2 element duration
+   */
+  @Override
+  public Duration getElement2ElementDuration(
+      String fromElementId, String toElementId, double distanceMeter, IResource visitor) {
+
+    this.lookups.increment();
+
+    int drivingTimeMillis = this.matrix.getDrivingTimeMillis(fromElementId, toElementId);
+
+    if (drivingTimeMillis == IConnectionMatrix.MISSING_TIME) {
+      this.fallbacks.increment();
+
+      if (this.fallback != null) {
+        return this.fallback.getElement2ElementDuration(
+            fromElementId, toElementId, distanceMeter, visitor);
+      }
+
+      return super.getElement2ElementDuration(fromElementId, toElementId, distanceMeter, visitor);
+    }
+
+    return Duration.ofMillis(drivingTimeMillis);
+  }
+}
@@ -0,0 +1,227 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The Class SnapshotConnectionReader reads the {@code elementConnections} section of an
+ * optimization snapshot (as written by {@code OptimizationJSONExporter}) into a {@link
+ * PrimitiveConnectionMatrix}.
+ *
+ * <p>The snapshot is streamed. Only the connection section is looked at, all other sections are
+ * skipped without being bound to objects. Distances may be given as plain numbers (meter) or as
+ * quantity strings like {@code "5.2 km"}, driving times as ISO-8601 strings like {@code "PT10M"}
+ * or as plain numbers (seconds).
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class SnapshotConnectionReader {
+
+  /** The name of the connection section. */
+  private static final String ELEMENT_CONNECTIONS = "elementConnections";
+
+  private SnapshotConnectionReader() {
+    // Nothing to do
+  }
+
+  /**
+   * Reads the connections of a snapshot file. Files ending with {@code .bz2} or {@code .gz} are
+   * decompressed.
+   *
+   * @param snapshotFile the snapshot file
+   * @return the primitive connection matrix
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static PrimitiveConnectionMatrix read(Path snapshotFile) throws IOException {
+
+    String fileName = snapshotFile.getFileName().toString();
+
+    try (InputStream fileStream = new BufferedInputStream(Files.newInputStream(snapshotFile))) {
+
+      if (fileName.endsWith(".bz2")) {
+        return read(new BZip2CompressorInputStream(fileStream));
+      }
+
+      if (fileName.endsWith(".gz")) {
+        return read(new GZIPInputStream(fileStream));
+      }
+
+      return read(fileStream);
+    }
+  }
+
+  /**
+   * Reads the connections of an uncompressed snapshot stream. The stream is not closed.
+   *
+   * @param snapshotStream the snapshot stream
+   * @return the primitive connection matrix
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static PrimitiveConnectionMatrix read(InputStream snapshotStream) throws IOException {
+
+    Map<String, Integer> indices = new LinkedHashMap<>();
+    ConnectionBuffer connections = new ConnectionBuffer();
+
+    JsonFactory factory = new JsonFactory();
+    factory.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    try (JsonParser parser = factory.createParser(snapshotStream)) {
+
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("A snapshot has to be a JSON object");
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+        String field = parser.getCurrentName();
+        JsonToken value = parser.nextToken();
+
+        if (ELEMENT_CONNECTIONS.equals(field) && value == JsonToken.START_ARRAY) {
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            readConnection(parser, indices, connections);
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    PrimitiveConnectionMatrix matrix =
+        new PrimitiveConnectionMatrix(new ArrayList<>(indices.keySet()));
+
+    for (int ii = 0; ii < connections.size; ii++) {
+      matrix.put(
+          connections.fromIndices[ii],
+          connections.toIndices[ii],
+          connections.distancesMeter[ii],
+          connections.drivingTimesMillis[ii]);
+    }
+
+    return matrix;
+  }
+
+  /**
+   * Reads a single connection object, the parser is positioned at its start.
+   *
+   * @param parser the parser
+   * @param indices the indices
+   * @param connections the connections
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  private static void readConnection(
+      JsonParser parser, Map<String, Integer> indices, ConnectionBuffer connections)
+      throws IOException {
+
+    String fromId = null;
+    String toId = null;
+    double distanceMeter = 0.0;
+    long drivingTimeMillis = 0L;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+      String field = parser.getCurrentName();
+      JsonToken value = parser.nextToken();
+
+      switch (field) {
+        case "fromElementId":
+          fromId = parser.getText();
+          break;
+        case "toElementId":
+          toId = parser.getText();
+          break;
+        case "distance":
+          distanceMeter = parseDistanceMeter(parser, value);
+          break;
+        case "drivingTime":
+          drivingTimeMillis = parseDrivingTimeMillis(parser, value);
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+
+    if (fromId == null || toId == null) {
+      throw new IOException("Element connection without from/to element id");
+    }
+
+    connections.add(
+        indices.computeIfAbsent(fromId, id -> indices.size()),
+        indices.computeIfAbsent(toId, id -> indices.size()),
+        distanceMeter,
+        drivingTimeMillis);
+  }
+
+  private static double parseDistanceMeter(JsonParser parser, JsonToken value) throws IOException {
+
+    if (value.isNumeric()) {
+      return parser.getDoubleValue();
+    }
+
+    String[] parts = parser.getText().trim().split("\\s+");
+    double amount = Double.parseDouble(parts[0]);
+
+    if (parts.length == 1 || "m".equals(parts[1])) {
+      return amount;
+    }
+
+    if ("km".equals(parts[1])) {
+      return amount * 1000.0;
+    }
+
+    throw new IOException("Unsupported distance unit: " + parser.getText());
+  }
+
+  private static long parseDrivingTimeMillis(JsonParser parser, JsonToken value)
+      throws IOException {
+
+    if (value.isNumeric()) {
+      return (long) (parser.getDoubleValue() * 1000L);
+    }
+
+    return Duration.parse(parser.getText().trim()).toMillis();
+  }
+
+  /** Growable primitive buffer for the parsed connections. */
+  private static final class ConnectionBuffer {
+
+    private int size;
+    private int[] fromIndices = new int[1024];
+    private int[] toIndices = new int[1024];
+    private double[] distancesMeter = new double[1024];
+    private long[] drivingTimesMillis = new long[1024];
+
+    private void add(int fromIndex, int toIndex, double distanceMeter, long drivingTimeMillis) {
+
+      if (this.size == this.fromIndices.length) {
+        int capacity = this.size * 2;
+        this.fromIndices = Arrays.copyOf(this.fromIndices, capacity);
+        this.toIndices = Arrays.copyOf(this.toIndices, capacity);
+        this.distancesMeter = Arrays.copyOf(this.distancesMeter, capacity);
+        this.drivingTimesMillis = Arrays.copyOf(this.drivingTimesMillis, capacity);
+      }
+
+      this.fromIndices[this.size] = fromIndex;
+      this.toIndices[this.size] = toIndex;
+      this.distancesMeter[this.size] = distanceMeter;
+      this.drivingTimesMillis[this.size] = drivingTimeMillis;
+      this.size++;
+    }
+  }
+}
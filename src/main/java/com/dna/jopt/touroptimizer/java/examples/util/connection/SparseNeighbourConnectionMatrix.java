@@ -0,0 +1,343 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ParallelConnectionBuilder.DistanceFunction;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ParallelConnectionBuilder.DrivingTimeFunction;
+import com.dna.jopt.touroptimizer.java.examples.util.spatial.NeighbourBuffer;
+import com.dna.jopt.touroptimizer.java.examples.util.spatial.SpatialIndex;
+
+/**
+ * The Class SparseNeighbourConnectionMatrix stores exact connections only for the k nearest
+ * neighbours of every element and for the connections from and to the depots.
+ *
+ * <p>For large instances a full matrix grows quadratically, while consecutive stops of a good tour
+ * are almost always close to each other. All other pairs are reported as missing, a {@link
+ * PrimitiveMatrixBackupElementConnector} then asks its fallback connector for them and counts how
+ * often that happens.
+ *
+ * <pre>
+ * SparseNeighbourConnectionMatrix matrix =
+ *     SparseNeighbourConnectionMatrix.builder(nodes).depots(resources).neighbours(20).build();
+ *
+ * PrimitiveMatrixBackupElementConnector backup =
+ *     new PrimitiveMatrixBackupElementConnector(matrix, new MyBackupElementConnector(false));
+ * </pre>
+ *
+ * <p>The connections are stored row by row (compressed sparse rows), sorted by the to index. A
+ * stored connection costs 12 bytes, a lookup is a binary search within the row.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class SparseNeighbourConnectionMatrix implements IConnectionMatrix {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = -6407720563211478120L;
+
+  /** The element ids by index, elements first, then depots. */
+  private final String[] ids;
+
+  /** The indices by element id. */
+  private final Map<String, Integer> indices;
+
+  /** The start of every row in the column arrays, plus the end of the last row. */
+  private final int[] rowOffsets;
+
+  /** The to indices, ascending within a row. */
+  private final int[] columns;
+
+  /** The distances in meter. */
+  private final float[] distancesMeter;
+
+  /** The driving times in millis. */
+  private final int[] drivingTimesMillis;
+
+  private SparseNeighbourConnectionMatrix(
+      String[] ids,
+      int[] rowOffsets,
+      int[] columns,
+      float[] distancesMeter,
+      int[] drivingTimesMillis) {
+
+    this.ids = ids;
+    this.indices = new HashMap<>(ids.length * 4 / 3 + 1);
+
+    for (int ii = 0; ii < ids.length; ii++) {
+      if (this.indices.put(ids[ii], ii) != null) {
+        throw new IllegalArgumentException("Duplicate element id: " + ids[ii]);
+      }
+    }
+
+    this.rowOffsets = rowOffsets;
+    this.columns = columns;
+    this.distancesMeter = distancesMeter;
+    this.drivingTimesMillis = drivingTimesMillis;
+  }
+
+  /**
+   * Creates a builder for the given elements.
+   *
+   * @param elements the elements, usually the nodes
+   * @return the builder
+   */
+  public static Builder builder(List<? extends IOptimizationElement> elements) {
+    return new Builder(elements);
+  }
+
+  @Override
+  public int size() {
+    return this.ids.length;
+  }
+
+  @Override
+  public int indexOf(String elementId) {
+
+    Integer index = this.indices.get(elementId);
+
+    return index == null ? -1 : index;
+  }
+
+  @Override
+  public String idOf(int index) {
+    return this.ids[index];
+  }
+
+  @Override
+  public float getDistanceMeter(int fromIndex, int toIndex) {
+
+    int position = find(fromIndex, toIndex);
+
+    return position < 0 ? 0.0f : this.distancesMeter[position];
+  }
+
+  @Override
+  public int getDrivingTimeMillis(int fromIndex, int toIndex) {
+
+    int position = find(fromIndex, toIndex);
+
+    return position < 0 ? MISSING_TIME : this.drivingTimesMillis[position];
+  }
+
+  /**
+   * Gets the number of stored connections.
+   *
+   * @return the connection count
+   */
+  public int getConnectionCount() {
+    return this.columns.length;
+  }
+
+  /**
+   * Gets the number of bytes used by the row and column arrays.
+   *
+   * @return the matrix bytes
+   */
+  public long getMatrixBytes() {
+    return (long) this.rowOffsets.length * Integer.BYTES
+        + (long) this.columns.length * (Integer.BYTES + Float.BYTES + Integer.BYTES);
+  }
+
+  private int find(int fromIndex, int toIndex) {
+    return Arrays.binarySearch(
+        this.columns, this.rowOffsets[fromIndex], this.rowOffsets[fromIndex + 1], toIndex);
+  }
+
+  /**
+   * The Class Builder selects the neighbours by great-circle distance via a {@link SpatialIndex}
+   * and calculates the stored connections in parallel.
+   */
+  public static final class Builder {
+
+    /** The default number of neighbours. */
+    public static final int DEFAULT_NEIGHBOURS = 20;
+
+    private final List<? extends IOptimizationElement> elements;
+
+    private List<? extends IOptimizationElement> depots = List.of();
+
+    private int neighbours = DEFAULT_NEIGHBOURS;
+
+    private DistanceFunction distanceFunction;
+
+    private DrivingTimeFunction drivingTimeFunction =
+        (from, to, distanceMeter) ->
+            (long)
+                (distanceMeter
+                    / ParallelConnectionBuilder.DEFAULT_AVG_SPEED_METER_PER_SECOND
+                    * 1000L);
+
+    private Builder(List<? extends IOptimizationElement> elements) {
+      this.elements = elements;
+    }
+
+    /**
+     * Sets the depots. Every element is connected to and from every depot, the depots are
+     * connected to each other.
+     *
+     * @param depots the depots, e.g. the resources
+     * @return the builder
+     */
+    public Builder depots(List<? extends IOptimizationElement> depots) {
+      this.depots = depots;
+      return this;
+    }
+
+    /**
+     * Sets the number of nearest neighbours per element.
+     *
+     * @param neighbours the neighbours
+     * @return the builder
+     */
+    public Builder neighbours(int neighbours) {
+
+      if (neighbours < 1) {
+        throw new IllegalArgumentException("Neighbours has to be positive: " + neighbours);
+      }
+
+      this.neighbours = neighbours;
+      return this;
+    }
+
+    /**
+     * Sets the function calculating the exact distance of a stored connection, e.g. by asking a
+     * routing service. By default, the haversine distance is stored. The indices refer to the
+     * elements followed by the depots.
+     *
+     * @param distanceFunction the distance function
+     * @return the builder
+     */
+    public Builder distance(DistanceFunction distanceFunction) {
+      this.distanceFunction = distanceFunction;
+      return this;
+    }
+
+    /**
+     * Sets the function calculating the driving time of a stored connection.
+     *
+     * @param drivingTimeFunction the driving time function
+     * @return the builder
+     */
+    public Builder drivingTime(DrivingTimeFunction drivingTimeFunction) {
+      this.drivingTimeFunction = drivingTimeFunction;
+      return this;
+    }
+
+    /**
+     * Builds the matrix.
+     *
+     * @return the sparse neighbour connection matrix
+     */
+    public SparseNeighbourConnectionMatrix build() {
+
+      List<IOptimizationElement> all = new ArrayList<>(this.elements);
+      all.addAll(this.depots);
+
+      int numElements = this.elements.size();
+      int size = all.size();
+      int k = Math.min(this.neighbours, Math.max(0, numElements - 1));
+
+      SpatialIndex elementIndex = SpatialIndex.of(this.elements);
+      ThreadLocal<NeighbourBuffer> buffers =
+          ThreadLocal.withInitial(() -> new NeighbourBuffer(Math.max(1, k)));
+
+      DistanceFunction distance = this.distanceFunction;
+      if (distance == null) {
+        distance =
+            (from, to) ->
+                GeoDistanceKernel.haversineMeter(
+                    all.get(from).getLatitude(),
+                    all.get(from).getLongitude(),
+                    all.get(to).getLatitude(),
+                    all.get(to).getLongitude());
+      }
+
+      int[][] rowColumns = new int[size][];
+
+      IntStream.range(0, size)
+          .parallel()
+          .forEach(
+              from -> {
+                if (from < numElements) {
+                  rowColumns[from] =
+                      elementColumns(from, numElements, size, k, elementIndex, buffers.get());
+                } else {
+                  // Depot rows are complete
+                  rowColumns[from] =
+                      IntStream.range(0, size).filter(to -> to != from).toArray();
+                }
+              });
+
+      int[] rowOffsets = new int[size + 1];
+
+      for (int from = 0; from < size; from++) {
+        rowOffsets[from + 1] = rowOffsets[from] + rowColumns[from].length;
+      }
+
+      int[] columns = new int[rowOffsets[size]];
+      float[] distancesMeter = new float[columns.length];
+      int[] drivingTimesMillis = new int[columns.length];
+
+      DistanceFunction finalDistance = distance;
+
+      IntStream.range(0, size)
+          .parallel()
+          .forEach(
+              from -> {
+                int position = rowOffsets[from];
+
+                for (int to : rowColumns[from]) {
+                  double distanceMeter = finalDistance.distanceMeter(from, to);
+
+                  columns[position] = to;
+                  distancesMeter[position] = (float) distanceMeter;
+                  drivingTimesMillis[position] =
+                      (int) this.drivingTimeFunction.drivingTimeMillis(from, to, distanceMeter);
+                  position++;
+                }
+              });
+
+      return new SparseNeighbourConnectionMatrix(
+          all.stream().map(IOptimizationElement::getId).toArray(String[]::new),
+          rowOffsets,
+          columns,
+          distancesMeter,
+          drivingTimesMillis);
+    }
+
+    /**
+     * Selects the k nearest elements and adds all depots, sorted ascending.
+     */
+    private static int[] elementColumns(
+        int from,
+        int numElements,
+        int size,
+        int k,
+        SpatialIndex elementIndex,
+        NeighbourBuffer buffer) {
+
+      int found = k > 0 ? elementIndex.nearestNeighbours(from, k, buffer) : 0;
+
+      int[] columns = new int[found + size - numElements];
+
+      for (int ii = 0; ii < found; ii++) {
+        columns[ii] = buffer.index(ii);
+      }
+
+      for (int depot = numElements; depot < size; depot++) {
+        columns[found + depot - numElements] = depot;
+      }
+
+      Arrays.sort(columns);
+
+      return columns;
+    }
+  }
+}
@@ -0,0 +1,462 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+
+/**
+ * The Class SymmetricConnectionMatrix stores only the upper triangle of a connection matrix. Both
+ * directions of a pair share one distance and one driving time, unless the directions really
+ * differ. Such pairs, e.g. one-way streets or a bridge that is only crossed in one direction, are
+ * kept in a small hash-based exception table.
+ *
+ * <p>A connection put for one direction is also reported for the opposite direction. When the
+ * opposite direction is put as well, it is compared to the stored value: if distance and driving
+ * time are within the relative tolerance, the shared value is kept, otherwise the direction is
+ * added to the exception table. Overwriting a direction later does not change the opposite
+ * direction, use {@link #putSymmetric(int, int, double, long)} to change both.
+ *
+ * <p>Compared to a {@link PrimitiveConnectionMatrix}, the matrix needs about half of the memory and
+ * only one connection per pair has to be provided. Like the primitive matrix, it has to be filled
+ * completely before it is attached to a running optimization. Reads are not synchronized.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class SymmetricConnectionMatrix implements IConnectionMatrix {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = -2687425174530961874L;
+
+  /** The maximal number of elements, such that size * (size + 1) / 2 still fits into an int. */
+  public static final int MAX_SIZE = 65535;
+
+  /** The element ids by index. */
+  private final String[] ids;
+
+  /** The indices by element id. */
+  private final Map<String, Integer> indices;
+
+  /** The relative tolerance under which two directions are treated as equal. */
+  private final double relativeTolerance;
+
+  /** The shared distances in meter (upper triangle, including the diagonal). */
+  private final float[] distancesMeter;
+
+  /** The shared driving times in millis (upper triangle, including the diagonal). */
+  private final int[] drivingTimesMillis;
+
+  /** The directed connections differing from the shared connection. */
+  private final AsymmetryTable exceptions = new AsymmetryTable();
+
+  /**
+   * Instantiates a new symmetric connection matrix for the given element ids.
+   *
+   * @param elementIds the element ids, the position in the list defines the index
+   * @param relativeTolerance the relative tolerance, e.g. {@code 0.05} treats two directions
+   *     differing by at most 5% as equal. Use {@code 0.0} to keep every difference.
+   */
+  public SymmetricConnectionMatrix(List<String> elementIds, double relativeTolerance) {
+
+    int size = elementIds.size();
+
+    if (size > MAX_SIZE) {
+      throw new IllegalArgumentException(
+          "A symmetric connection matrix can hold at most " + MAX_SIZE + " elements, got " + size);
+    }
+
+    if (relativeTolerance < 0.0 || Double.isNaN(relativeTolerance)) {
+      throw new IllegalArgumentException("Invalid relative tolerance: " + relativeTolerance);
+    }
+
+    this.ids = elementIds.toArray(new String[0]);
+    this.indices = new HashMap<>((int) (size / 0.75) + 1);
+    this.relativeTolerance = relativeTolerance;
+
+    for (int ii = 0; ii < size; ii++) {
+      if (this.indices.put(this.ids[ii], ii) != null) {
+        throw new IllegalArgumentException("Duplicate element id: " + this.ids[ii]);
+      }
+    }
+
+    int triangleSize = (int) ((long) size * (size + 1) / 2);
+
+    this.distancesMeter = new float[triangleSize];
+    this.drivingTimesMillis = new int[triangleSize];
+
+    Arrays.fill(this.drivingTimesMillis, MISSING_TIME);
+  }
+
+  /**
+   * Creates a new symmetric connection matrix for the ids of the given elements.
+   *
+   * @param elements the elements
+   * @param relativeTolerance the relative tolerance
+   * @return the symmetric connection matrix
+   */
+  public static SymmetricConnectionMatrix of(
+      List<? extends IOptimizationElement> elements, double relativeTolerance) {
+    return new SymmetricConnectionMatrix(
+        elements.stream().map(IOptimizationElement::getId).toList(), relativeTolerance);
+  }
+
+  /**
+   * Copies all connections of another matrix, e.g. of a {@link PrimitiveConnectionMatrix} read from
+   * a snapshot.
+   *
+   * @param source the source
+   * @param relativeTolerance the relative tolerance
+   * @return the symmetric connection matrix
+   */
+  public static SymmetricConnectionMatrix copyOf(
+      IConnectionMatrix source, double relativeTolerance) {
+
+    int size = source.size();
+    String[] elementIds = new String[size];
+
+    for (int ii = 0; ii < size; ii++) {
+      elementIds[ii] = source.idOf(ii);
+    }
+
+    SymmetricConnectionMatrix matrix =
+        new SymmetricConnectionMatrix(Arrays.asList(elementIds), relativeTolerance);
+
+    for (int from = 0; from < size; from++) {
+      for (int to = 0; to < size; to++) {
+        if (source.hasConnection(from, to)) {
+          matrix.put(
+              from, to, source.getDistanceMeter(from, to), source.getDrivingTimeMillis(from, to));
+        }
+      }
+    }
+
+    return matrix;
+  }
+
+  /**
+   * Gets the number of elements.
+   *
+   * @return the size
+   */
+  @Override
+  public int size() {
+    return this.ids.length;
+  }
+
+  /**
+   * Gets the dense index of an element id.
+   *
+   * @param elementId the element id
+   * @return the index, or -1 if the id is unknown
+   */
+  @Override
+  public int indexOf(String elementId) {
+    Integer index = this.indices.get(elementId);
+
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Gets the element id of a dense index.
+   *
+   * @param index the index
+   * @return the element id
+   */
+  @Override
+  public String idOf(int index) {
+    return this.ids[index];
+  }
+
+  /**
+   * Puts a directed connection. If no connection is stored for the pair yet, it is used for both
+   * directions.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @param distanceMeter the distance in meter
+   * @param drivingTimeMillis the driving time in millis
+   */
+  public void put(int fromIndex, int toIndex, double distanceMeter, long drivingTimeMillis) {
+
+    checkDrivingTime(fromIndex, toIndex, drivingTimeMillis);
+
+    int pos = triangleIndex(fromIndex, toIndex);
+    long key = key(fromIndex, toIndex);
+
+    if (this.exceptions.contains(key)) {
+      this.exceptions.put(key, (float) distanceMeter, (int) drivingTimeMillis);
+
+    } else if (this.drivingTimesMillis[pos] == MISSING_TIME) {
+      this.distancesMeter[pos] = (float) distanceMeter;
+      this.drivingTimesMillis[pos] = (int) drivingTimeMillis;
+
+    } else if (!isWithinTolerance(
+        this.distancesMeter[pos], distanceMeter, this.drivingTimesMillis[pos], drivingTimeMillis)) {
+      this.exceptions.put(key, (float) distanceMeter, (int) drivingTimeMillis);
+    }
+  }
+
+  /**
+   * Puts a directed connection.
+   *
+   * @param fromElementId the from element id
+   * @param toElementId the to element id
+   * @param distanceMeter the distance in meter
+   * @param drivingTime the driving time
+   */
+  public void put(
+      String fromElementId, String toElementId, double distanceMeter, Duration drivingTime) {
+    put(
+        checkedIndexOf(fromElementId),
+        checkedIndexOf(toElementId),
+        distanceMeter,
+        drivingTime.toMillis());
+  }
+
+  /**
+   * Puts the same connection for both directions of a pair.
+   *
+   * @param index the index
+   * @param otherIndex the other index
+   * @param distanceMeter the distance in meter
+   * @param drivingTimeMillis the driving time in millis
+   */
+  public void putSymmetric(
+      int index, int otherIndex, double distanceMeter, long drivingTimeMillis) {
+
+    checkDrivingTime(index, otherIndex, drivingTimeMillis);
+
+    int pos = triangleIndex(index, otherIndex);
+
+    this.distancesMeter[pos] = (float) distanceMeter;
+    this.drivingTimesMillis[pos] = (int) drivingTimeMillis;
+
+    // Exceptions are never removed, they are overwritten with the shared value
+    for (long key : new long[] {key(index, otherIndex), key(otherIndex, index)}) {
+      if (this.exceptions.contains(key)) {
+        this.exceptions.put(key, (float) distanceMeter, (int) drivingTimeMillis);
+      }
+    }
+  }
+
+  /**
+   * Checks if a connection was put for the pair, in any direction.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return true, if successful
+   */
+  @Override
+  public boolean hasConnection(int fromIndex, int toIndex) {
+    return this.drivingTimesMillis[triangleIndex(fromIndex, toIndex)] != MISSING_TIME;
+  }
+
+  /**
+   * Gets the distance in meter.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return the distance meter
+   */
+  @Override
+  public float getDistanceMeter(int fromIndex, int toIndex) {
+
+    int slot = this.exceptions.slotOf(key(fromIndex, toIndex));
+
+    if (slot >= 0) {
+      return this.exceptions.distancesMeter[slot];
+    }
+
+    return this.distancesMeter[triangleIndex(fromIndex, toIndex)];
+  }
+
+  /**
+   * Gets the driving time in millis.
+   *
+   * @param fromIndex the from index
+   * @param toIndex the to index
+   * @return the driving time millis, or -1 if the connection is missing
+   */
+  @Override
+  public int getDrivingTimeMillis(int fromIndex, int toIndex) {
+
+    int slot = this.exceptions.slotOf(key(fromIndex, toIndex));
+
+    if (slot >= 0) {
+      return this.exceptions.drivingTimesMillis[slot];
+    }
+
+    return this.drivingTimesMillis[triangleIndex(fromIndex, toIndex)];
+  }
+
+  /**
+   * Gets the relative tolerance.
+   *
+   * @return the relative tolerance
+   */
+  public double getRelativeTolerance() {
+    return this.relativeTolerance;
+  }
+
+  /**
+   * Gets the number of directed connections in the exception table.
+   *
+   * @return the exception count
+   */
+  public int getExceptionCount() {
+    return this.exceptions.size;
+  }
+
+  /**
+   * Gets the number of bytes used by the triangle and the exception table.
+   *
+   * @return the matrix bytes
+   */
+  public long getMatrixBytes() {
+    return (long) this.distancesMeter.length * Float.BYTES
+        + (long) this.drivingTimesMillis.length * Integer.BYTES
+        + this.exceptions.getBytes();
+  }
+
+  /*
+   * Helper
+   */
+
+  private boolean isWithinTolerance(
+      double distanceMeter, double otherDistanceMeter, long drivingTimeMillis, long otherMillis) {
+
+    return Math.abs(distanceMeter - otherDistanceMeter)
+            <= this.relativeTolerance * Math.max(distanceMeter, otherDistanceMeter)
+        && Math.abs(drivingTimeMillis - otherMillis)
+            <= this.relativeTolerance * Math.max(drivingTimeMillis, otherMillis);
+  }
+
+  private int triangleIndex(int fromIndex, int toIndex) {
+
+    int row = Math.min(fromIndex, toIndex);
+    int column = Math.max(fromIndex, toIndex);
+
+    // Rows 0 .. row - 1 hold size, size - 1, ... entries
+    return (int) ((long) row * this.ids.length - (long) row * (row - 1) / 2) + (column - row);
+  }
+
+  private static long key(int fromIndex, int toIndex) {
+    return ((long) fromIndex << 32) | toIndex;
+  }
+
+  private void checkDrivingTime(int fromIndex, int toIndex, long drivingTimeMillis) {
+
+    if (drivingTimeMillis < 0 || drivingTimeMillis > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "Driving time out of range: " + drivingTimeMillis + " ms (" + idOf(fromIndex) + "=>"
+              + idOf(toIndex) + ")");
+    }
+  }
+
+  private int checkedIndexOf(String elementId) {
+    int index = indexOf(elementId);
+
+    if (index < 0) {
+      throw new IllegalArgumentException("Unknown element id: " + elementId);
+    }
+
+    return index;
+  }
+
+  /** Open-addressing table of directed connections, keyed by from and to index. */
+  private static final class AsymmetryTable implements Serializable {
+
+    private static final long serialVersionUID = 6302916582345129011L;
+
+    /** The marker of an empty slot, no valid key is negative. */
+    private static final long EMPTY = -1L;
+
+    private int size;
+    private long[] keys = newKeys(16);
+    private float[] distancesMeter = new float[16];
+    private int[] drivingTimesMillis = new int[16];
+
+    private boolean contains(long key) {
+      return this.size > 0 && slotOf(key) >= 0;
+    }
+
+    private int slotOf(long key) {
+
+      if (this.size == 0) {
+        return -1;
+      }
+
+      int mask = this.keys.length - 1;
+
+      for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+        if (this.keys[slot] == key) {
+          return slot;
+        }
+        if (this.keys[slot] == EMPTY) {
+          return -1;
+        }
+      }
+    }
+
+    private void put(long key, float distanceMeter, int drivingTimeMillis) {
+
+      if ((this.size + 1) * 2 > this.keys.length) {
+        resize(this.keys.length * 2);
+      }
+
+      int mask = this.keys.length - 1;
+      int slot = hash(key) & mask;
+
+      while (this.keys[slot] != EMPTY && this.keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+
+      if (this.keys[slot] == EMPTY) {
+        this.keys[slot] = key;
+        this.size++;
+      }
+
+      this.distancesMeter[slot] = distanceMeter;
+      this.drivingTimesMillis[slot] = drivingTimeMillis;
+    }
+
+    private void resize(int capacity) {
+
+      long[] oldKeys = this.keys;
+      float[] oldDistances = this.distancesMeter;
+      int[] oldTimes = this.drivingTimesMillis;
+
+      this.keys = newKeys(capacity);
+      this.distancesMeter = new float[capacity];
+      this.drivingTimesMillis = new int[capacity];
+      this.size = 0;
+
+      for (int ii = 0; ii < oldKeys.length; ii++) {
+        if (oldKeys[ii] != EMPTY) {
+          put(oldKeys[ii], oldDistances[ii], oldTimes[ii]);
+        }
+      }
+    }
+
+    private long getBytes() {
+      return (long) this.keys.length * (Long.BYTES + Float.BYTES + Integer.BYTES);
+    }
+
+    private static long[] newKeys(int capacity) {
+      long[] keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      return keys;
+    }
+
+    private static int hash(long key) {
+      long mixed = key * 0x9E3779B97F4A7C15L;
+      return (int) (mixed ^ (mixed >>> 32));
+    }
+  }
+}
@@ -0,0 +1,258 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.member.unit.nodeedge.ConnectionBucket;
+import com.dna.jopt.member.unit.nodeedge.TimedConnectionData;
+import com.dna.jopt.member.unit.nodeedge.time.DayDef;
+import com.dna.jopt.member.unit.nodeedge.time.RangeDef;
+
+/**
+ * The Class TrafficProfile describes how the driving time of a connection changes over the day for
+ * a range of week days, independent of a concrete connection.
+ *
+ * <p>A profile is a list of time grid points, each with a multiplier for the base driving time.
+ * Between the grid points, the optimizer interpolates linearly. A profile only becomes a {@link
+ * ConnectionBucket} when it is applied to the base distance and driving time of a connection via
+ * {@link #createBucket(Quantity, Duration)}.
+ *
+ * <pre>
+ * TrafficProfile weekdays =
+ *     TrafficProfile.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY)
+ *         .at(LocalTime.of(6, 0), 1.0)
+ *         .at(LocalTime.of(7, 0), 1.8)
+ *         .at(LocalTime.of(9, 0), 1.8)
+ *         .at(LocalTime.of(13, 0), 1.0);
+ * </pre>
+ *
+ * <p>Profiles are immutable, {@link #at(LocalTime, double)} returns a new profile. Two profiles
+ * with the same days, grid points and multipliers are equal, which allows a {@link
+ * TrafficProfileRegistry} to store them once.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class TrafficProfile implements Serializable {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = -4157232389906641787L;
+
+  /** The first day of the range. */
+  private final DayOfWeek firstDay;
+
+  /** The last day of the range. */
+  private final DayOfWeek lastDay;
+
+  /** The time grid points. */
+  private final LocalTime[] times;
+
+  /** The driving time multipliers by grid point. */
+  private final double[] multipliers;
+
+  /** The range definition, shared by all buckets of this profile. */
+  private transient RangeDef range;
+
+  private TrafficProfile(
+      DayOfWeek firstDay, DayOfWeek lastDay, LocalTime[] times, double[] multipliers) {
+
+    this.firstDay = Objects.requireNonNull(firstDay);
+    this.lastDay = Objects.requireNonNull(lastDay);
+    this.times = times;
+    this.multipliers = multipliers;
+
+    this.range = createRange();
+  }
+
+  /**
+   * Creates an empty profile for the given range of week days.
+   *
+   * @param firstDay the first day
+   * @param lastDay the last day
+   * @return the traffic profile
+   */
+  public static TrafficProfile of(DayOfWeek firstDay, DayOfWeek lastDay) {
+    return new TrafficProfile(firstDay, lastDay, new LocalTime[0], new double[0]);
+  }
+
+  /**
+   * Returns a new profile with an additional grid point. Grid points have to be added in
+   * ascending order of time.
+   *
+   * @param time the time
+   * @param multiplier the multiplier for the base driving time
+   * @return the traffic profile
+   */
+  public TrafficProfile at(LocalTime time, double multiplier) {
+
+    if (this.times.length > 0 && !time.isAfter(this.times[this.times.length - 1])) {
+      throw new IllegalArgumentException(
+          "Grid points have to be ascending: "
+              + time
+              + " after "
+              + this.times[this.times.length - 1]);
+    }
+
+    if (multiplier <= 0) {
+      throw new IllegalArgumentException("Multiplier has to be positive: " + multiplier);
+    }
+
+    LocalTime[] newTimes = Arrays.copyOf(this.times, this.times.length + 1);
+    double[] newMultipliers = Arrays.copyOf(this.multipliers, this.multipliers.length + 1);
+
+    newTimes[this.times.length] = time;
+    newMultipliers[this.multipliers.length] = multiplier;
+
+    return new TrafficProfile(this.firstDay, this.lastDay, newTimes, newMultipliers);
+  }
+
+  /**
+   * Gets the number of grid points.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.times.length;
+  }
+
+  /**
+   * Gets the first day of the range.
+   *
+   * @return the first day
+   */
+  public DayOfWeek getFirstDay() {
+    return this.firstDay;
+  }
+
+  /**
+   * Gets the last day of the range.
+   *
+   * @return the last day
+   */
+  public DayOfWeek getLastDay() {
+    return this.lastDay;
+  }
+
+  /**
+   * Gets the time of a grid point.
+   *
+   * @param index the index
+   * @return the time
+   */
+  public LocalTime getTime(int index) {
+    return this.times[index];
+  }
+
+  /**
+   * Gets the driving time multiplier of a grid point.
+   *
+   * @param index the index
+   * @return the multiplier
+   */
+  public double getMultiplier(int index) {
+    return this.multipliers[index];
+  }
+
+  /**
+   * Creates the connection bucket for a connection. All buckets of this profile share the same
+   * range definition, grid points with the same multiplier share the same duration.
+   *
+   * @param distance the base distance of the connection
+   * @param baseDrivingTime the base driving time of the connection
+   * @return the connection bucket
+   */
+  public ConnectionBucket createBucket(Quantity<Length> distance, Duration baseDrivingTime) {
+
+    TimedConnectionData[] data = new TimedConnectionData[this.times.length];
+    Duration[] durations = new Duration[this.times.length];
+
+    for (int ii = 0; ii < this.times.length; ii++) {
+
+      durations[ii] = findDuration(durations, ii);
+
+      if (durations[ii] == null) {
+        durations[ii] =
+            Duration.ofSeconds((long) (baseDrivingTime.getSeconds() * this.multipliers[ii]));
+      }
+
+      data[ii] = new TimedConnectionData(this.times[ii], distance, durations[ii]);
+    }
+
+    return new ConnectionBucket(this.range, List.of(data));
+  }
+
+  private Duration findDuration(Duration[] durations, int index) {
+
+    for (int ii = 0; ii < index; ii++) {
+      if (this.multipliers[ii] == this.multipliers[index]) {
+        return durations[ii];
+      }
+    }
+
+    return null;
+  }
+
+  private RangeDef createRange() {
+    return RangeDef.of(DayDef.of(this.firstDay), DayDef.of(this.lastDay));
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+
+    this.range = createRange();
+  }
+
+  @Override
+  public int hashCode() {
+
+    int result = this.firstDay.hashCode();
+    result = 31 * result + this.lastDay.hashCode();
+    result = 31 * result + Arrays.hashCode(this.times);
+    result = 31 * result + Arrays.hashCode(this.multipliers);
+
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof TrafficProfile)) {
+      return false;
+    }
+
+    TrafficProfile other = (TrafficProfile) obj;
+
+    return this.firstDay == other.firstDay
+        && this.lastDay == other.lastDay
+        && Arrays.equals(this.times, other.times)
+        && Arrays.equals(this.multipliers, other.multipliers);
+  }
+
+  @Override
+  public String toString() {
+    return "TrafficProfile ["
+        + this.firstDay
+        + "-"
+        + this.lastDay
+        + ", times="
+        + Arrays.toString(this.times)
+        + ", multipliers="
+        + Arrays.toString(this.multipliers)
+        + "]";
+  }
+}
@@ -0,0 +1,143 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import com.dna.jopt.member.unit.nodeedge.ConnectionBucket;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * The Class TrafficProfileRegistry stores every distinct combination of {@link TrafficProfile}s
+ * once and identifies it by a small profile id.
+ *
+ * <p>The registry only dedupes the profile definitions. Buckets created by {@link
+ * #createBuckets(int, double, long)} share the day ranges, the time grid and one duration per
+ * multiplier. Every time-dependent connection still gets its own {@link ConnectionBucket}s, since
+ * the optimizer reads them from the connector item.
+ *
+ * <pre>
+ * int rushHourId = registry.register(weekendProfile, weekdayProfile);
+ *
+ * TimedNodeConnectorItem.setTimedBucketData(
+ *     item, registry.createBuckets(rushHourId, item.getDistanceMeter(), item.getBaseTimeMillis()));
+ * </pre>
+ *
+ * <p>Registering is synchronized, creating buckets does not lock and can be done by many threads.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class TrafficProfileRegistry implements Serializable {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 6606914135620425751L;
+
+  /** The id of connections without time dependency. */
+  public static final short NO_PROFILE = -1;
+
+  /** The maximal number of profile ids. */
+  public static final int MAX_PROFILES = Short.MAX_VALUE;
+
+  /** The interned profiles. */
+  private final Map<TrafficProfile, TrafficProfile> profiles = new HashMap<>();
+
+  /** The profile ids by profile combination. */
+  private final Map<List<TrafficProfile>, Short> ids = new HashMap<>();
+
+  /** The profile combinations by id. */
+  private final List<List<TrafficProfile>> profilesById = new CopyOnWriteArrayList<>();
+
+  /**
+   * Registers a combination of profiles, usually one profile per range of week days. Registering
+   * an equal combination again returns the same id.
+   *
+   * @param trafficProfiles the traffic profiles
+   * @return the profile id
+   */
+  public synchronized short register(TrafficProfile... trafficProfiles) {
+
+    List<TrafficProfile> combination = new ArrayList<>(trafficProfiles.length);
+
+    for (TrafficProfile profile : trafficProfiles) {
+      combination.add(this.profiles.computeIfAbsent(profile, p -> p));
+    }
+
+    Short id = this.ids.get(combination);
+
+    if (id != null) {
+      return id;
+    }
+
+    if (this.profilesById.size() >= MAX_PROFILES) {
+      throw new IllegalStateException("Too many profiles: " + MAX_PROFILES);
+    }
+
+    short newId = (short) this.profilesById.size();
+
+    List<TrafficProfile> immutableCombination = List.copyOf(combination);
+    this.profilesById.add(immutableCombination);
+    this.ids.put(immutableCombination, newId);
+
+    return newId;
+  }
+
+  /**
+   * Gets the profiles of a profile id.
+   *
+   * @param profileId the profile id
+   * @return the profiles
+   */
+  public List<TrafficProfile> getProfiles(int profileId) {
+    return this.profilesById.get(profileId);
+  }
+
+  /**
+   * Gets the number of registered profile ids.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.profilesById.size();
+  }
+
+  /**
+   * Creates the connection buckets of a connection.
+   *
+   * @param profileId the profile id
+   * @param distanceMeter the base distance in meter
+   * @param baseTimeMillis the base driving time in millis
+   * @return the connection buckets, empty for {@link #NO_PROFILE}
+   */
+  public List<ConnectionBucket> createBuckets(
+      int profileId, double distanceMeter, long baseTimeMillis) {
+
+    if (profileId == NO_PROFILE) {
+      return List.of();
+    }
+
+    List<TrafficProfile> combination = this.profilesById.get(profileId);
+
+    // One quantity and one duration per connection, shared by all buckets
+    Quantity<Length> distance = Quantities.getQuantity(distanceMeter, Units.METRE);
+    Duration baseDrivingTime = Duration.ofMillis(baseTimeMillis);
+
+    ConnectionBucket[] buckets = new ConnectionBucket[combination.size()];
+
+    for (int ii = 0; ii < buckets.length; ii++) {
+      buckets[ii] = combination.get(ii).createBucket(distance, baseDrivingTime);
+    }
+
+    return List.of(buckets);
+  }
+}
@@ -0,0 +1,275 @@
+package com.dna.jopt.touroptimizer.java.examples.util.connection;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Class TrafficTimeTable is the compiled form of the {@link TrafficProfile}s of a connection.
+ * The piecewise-linear multiplier curve over the week is stored in flat primitive arrays: one slot
+ * per linear segment, with its start, its start multiplier and its slope, and a table mapping every
+ * minute of the week to its slot.
+ *
+ * <p>A lookup is one array access plus one multiply-add. No {@code LocalTime}, {@code Duration} or
+ * other object is created, so tables can be evaluated at a high rate, e.g. when a plan is checked
+ * or reported. A table depends on the profiles only, not on a concrete connection: all connections
+ * of a {@link TrafficProfileRegistry} profile id share one table and pass their base driving time.
+ *
+ * <p>The curve follows the grid points of each profile:
+ *
+ * <ul>
+ *   <li>between two grid points of a day, the multiplier is interpolated linearly,
+ *   <li>before the first and after the last grid point of a day, the multiplier of that grid point
+ *       applies,
+ *   <li>on days without profile, the multiplier is {@code 1.0}, i.e. the base driving time.
+ * </ul>
+ *
+ * <p>If the day ranges of two profiles overlap, the first profile wins. Buckets created by {@link
+ * TrafficProfile#createBucket} round their grid point durations to full seconds, driving times of
+ * the table can differ from them by less than one second.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class TrafficTimeTable {
+
+  /** The millis of a minute. */
+  public static final int MINUTE_MILLIS = 60_000;
+
+  /** The millis of a day. */
+  public static final int DAY_MILLIS = 24 * 60 * MINUTE_MILLIS;
+
+  /** The millis of a week. */
+  public static final int WEEK_MILLIS = 7 * DAY_MILLIS;
+
+  /** The days between Monday and Thursday, 1970-01-01 was a Thursday. */
+  private static final long EPOCH_DAY_OF_WEEK_OFFSET = 3L * DAY_MILLIS;
+
+  /** The slot by minute of the week. */
+  private final short[] slotByMinute;
+
+  /** The start of each slot in millis of the week, followed by {@link #WEEK_MILLIS}. */
+  private final int[] slotStarts;
+
+  /** The multiplier at the start of each slot. */
+  private final double[] startMultipliers;
+
+  /** The change of the multiplier per milli of each slot. */
+  private final double[] slopes;
+
+  private TrafficTimeTable(int[] slotStarts, double[] startMultipliers, double[] slopes) {
+
+    this.slotStarts = slotStarts;
+    this.startMultipliers = startMultipliers;
+    this.slopes = slopes;
+
+    this.slotByMinute = new short[WEEK_MILLIS / MINUTE_MILLIS];
+
+    int slot = 0;
+
+    for (int minute = 0; minute < this.slotByMinute.length; minute++) {
+
+      while (slotStarts[slot + 1] <= minute * MINUTE_MILLIS) {
+        slot++;
+      }
+
+      this.slotByMinute[minute] = (short) slot;
+    }
+  }
+
+  /**
+   * Compiles the profiles of a connection, e.g. the profiles of one {@link TrafficProfileRegistry}
+   * profile id.
+   *
+   * @param profiles the profiles
+   * @return the traffic time table
+   */
+  public static TrafficTimeTable compile(List<TrafficProfile> profiles) {
+
+    TrafficProfile[] profileByDay = new TrafficProfile[7];
+
+    for (TrafficProfile profile : profiles) {
+
+      int day = profile.getFirstDay().ordinal();
+
+      // Ranges like FRIDAY - MONDAY wrap around the end of the week
+      while (true) {
+
+        if (profileByDay[day] == null && profile.size() > 0) {
+          profileByDay[day] = profile;
+        }
+
+        if (day == profile.getLastDay().ordinal()) {
+          break;
+        }
+
+        day = (day + 1) % 7;
+      }
+    }
+
+    SlotBuilder slots = new SlotBuilder();
+
+    for (int day = 0; day < 7; day++) {
+      addDay(slots, day * DAY_MILLIS, profileByDay[day]);
+    }
+
+    return slots.build();
+  }
+
+  /**
+   * Compiles the profiles of a registry profile id. {@link TrafficProfileRegistry#NO_PROFILE}
+   * results in a constant multiplier of {@code 1.0}.
+   *
+   * @param registry the registry
+   * @param profileId the profile id
+   * @return the traffic time table
+   */
+  public static TrafficTimeTable compile(TrafficProfileRegistry registry, int profileId) {
+
+    if (profileId == TrafficProfileRegistry.NO_PROFILE) {
+      return compile(List.of());
+    }
+
+    return compile(registry.getProfiles(profileId));
+  }
+
+  /**
+   * Gets the multiplier for the base driving time.
+   *
+   * @param millisOfWeek the millis of the week, starting Monday 00:00
+   * @return the multiplier
+   */
+  public double getMultiplier(int millisOfWeek) {
+
+    int slot = this.slotByMinute[millisOfWeek / MINUTE_MILLIS];
+
+    // Grid points within a minute, only for grid points with seconds
+    while (this.slotStarts[slot + 1] <= millisOfWeek) {
+      slot++;
+    }
+
+    return this.startMultipliers[slot]
+        + this.slopes[slot] * (millisOfWeek - this.slotStarts[slot]);
+  }
+
+  /**
+   * Gets the driving time of a connection.
+   *
+   * @param baseTimeMillis the base driving time of the connection in millis
+   * @param millisOfWeek the millis of the week, starting Monday 00:00
+   * @return the driving time in millis
+   */
+  public long getDrivingTimeMillis(long baseTimeMillis, int millisOfWeek) {
+    return (long) (baseTimeMillis * getMultiplier(millisOfWeek));
+  }
+
+  /**
+   * Gets the number of linear segments.
+   *
+   * @return the slot count
+   */
+  public int getSlotCount() {
+    return this.startMultipliers.length;
+  }
+
+  /**
+   * Converts epoch millis to millis of the week.
+   *
+   * @param epochMillis the epoch millis
+   * @param zoneOffsetMillis the zone offset in millis, e.g. {@code 3_600_000} for UTC+1
+   * @return the millis of the week, starting Monday 00:00
+   */
+  public static int millisOfWeek(long epochMillis, int zoneOffsetMillis) {
+    return Math.floorMod(epochMillis + zoneOffsetMillis + EPOCH_DAY_OF_WEEK_OFFSET, WEEK_MILLIS);
+  }
+
+  /**
+   * Converts a day of the week and millis of the day to millis of the week.
+   *
+   * @param day the day
+   * @param millisOfDay the millis of the day
+   * @return the millis of the week, starting Monday 00:00
+   */
+  public static int millisOfWeek(DayOfWeek day, int millisOfDay) {
+    return day.ordinal() * DAY_MILLIS + millisOfDay;
+  }
+
+  private static void addDay(SlotBuilder slots, int dayStart, TrafficProfile profile) {
+
+    if (profile == null) {
+      slots.add(dayStart, 1.0, 0.0);
+      return;
+    }
+
+    int last = profile.size() - 1;
+
+    // Constant until the first grid point
+    slots.add(dayStart, profile.getMultiplier(0), 0.0);
+
+    for (int ii = 0; ii < last; ii++) {
+
+      int start = dayStart + profile.getTime(ii).toSecondOfDay() * 1000;
+      int end = dayStart + profile.getTime(ii + 1).toSecondOfDay() * 1000;
+
+      double slope = (profile.getMultiplier(ii + 1) - profile.getMultiplier(ii)) / (end - start);
+
+      slots.add(start, profile.getMultiplier(ii), slope);
+    }
+
+    // Constant after the last grid point
+    slots.add(
+        dayStart + profile.getTime(last).toSecondOfDay() * 1000, profile.getMultiplier(last), 0.0);
+  }
+
+  /** Collects the slots, merging slots that continue the previous slot. */
+  private static final class SlotBuilder {
+
+    private int size;
+    private int[] starts = new int[64];
+    private double[] multipliers = new double[64];
+    private double[] slopes = new double[64];
+
+    private void add(int start, double multiplier, double slope) {
+
+      // A slot starting at the same time replaces the previous one, e.g. a grid point at 00:00
+      if (this.size > 0 && this.starts[this.size - 1] == start) {
+        this.size--;
+      }
+
+      // Two constant slots with the same multiplier are one slot
+      if (this.size > 0
+          && slope == 0.0
+          && this.slopes[this.size - 1] == 0.0
+          && this.multipliers[this.size - 1] == multiplier) {
+        return;
+      }
+
+      if (this.size == this.starts.length) {
+        this.starts = Arrays.copyOf(this.starts, this.size * 2);
+        this.multipliers = Arrays.copyOf(this.multipliers, this.size * 2);
+        this.slopes = Arrays.copyOf(this.slopes, this.size * 2);
+      }
+
+      this.starts[this.size] = start;
+      this.multipliers[this.size] = multiplier;
+      this.slopes[this.size] = slope;
+      this.size++;
+    }
+
+    private TrafficTimeTable build() {
+
+      if (this.size > Short.MAX_VALUE) {
+        throw new IllegalStateException("Too many grid points: " + this.size);
+      }
+
+      int[] slotStarts = Arrays.copyOf(this.starts, this.size + 1);
+      slotStarts[this.size] = WEEK_MILLIS;
+
+      return new TrafficTimeTable(
+          slotStarts,
+          Arrays.copyOf(this.multipliers, this.size),
+          Arrays.copyOf(this.slopes, this.size));
+    }
+  }
+}
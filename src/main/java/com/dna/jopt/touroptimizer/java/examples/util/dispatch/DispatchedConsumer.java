@@ -0,0 +1,405 @@
+package com.dna.jopt.touroptimizer.java.examples.util.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.reactivex.rxjava3.functions.Consumer;
+
+/**
+ * The Class DispatchedConsumer queues the events of a subject and delivers them to a consumer on
+ * the executor of an {@link EventDispatcher}. The emitting thread only enqueues the event, so a
+ * slow consumer does not slow down the optimization, unless the {@link OverflowPolicy} is {@link
+ * OverflowPolicy#BLOCK}.
+ *
+ * <p>Events are delivered in order and never concurrently. At most one drain task per consumer is
+ * queued on the executor at a time, and a drain task hands over after a batch of events, so
+ * consumers sharing the executor are served in turn.
+ *
+ * <p>As with a lambda subscription in RxJava, an exception thrown by the consumer is passed to the
+ * error consumer and ends the subscription. Queued and further events are dropped. Without an
+ * error consumer, the exception is passed to the uncaught exception handler of the dispatch
+ * thread.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ *
+ * @param <T> the event type
+ */
+public final class DispatchedConsumer<T> implements Consumer<T> {
+
+  /** The events delivered by one drain task before handing over the thread. */
+  private static final int BATCH = 64;
+
+  /** The interval a blocked emitter re-checks if the dispatcher was closed. */
+  private static final long BLOCK_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /** The name. */
+  private final String name;
+
+  /** The capacity. */
+  private final int capacity;
+
+  /** The overflow policy. */
+  private final OverflowPolicy policy;
+
+  /** The consumer. */
+  private final Consumer<? super T> consumer;
+
+  /** The error consumer, may be null. */
+  private final Consumer<? super Throwable> errorConsumer;
+
+  /** The dispatcher. */
+  private final EventDispatcher dispatcher;
+
+  /*
+   * Metrics
+   */
+
+  private final LongAdder offered = new LongAdder();
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder blockedNanos = new LongAdder();
+
+  /*
+   * Guarded by lock
+   */
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = this.lock.newCondition();
+  private final ArrayDeque<T> queue;
+  private boolean scheduled;
+  private boolean terminated;
+  private int maxQueueSize;
+
+  DispatchedConsumer(
+      EventDispatcher dispatcher,
+      String name,
+      int capacity,
+      OverflowPolicy policy,
+      Consumer<? super T> consumer,
+      Consumer<? super Throwable> errorConsumer) {
+
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity has to be positive: " + capacity);
+    }
+
+    this.dispatcher = dispatcher;
+    this.name = name;
+    this.capacity = capacity;
+    this.policy = policy;
+    this.consumer = consumer;
+    this.errorConsumer = errorConsumer;
+    this.queue = new ArrayDeque<>(Math.min(capacity, 1024));
+  }
+
+  /**
+   * Enqueues an event. Called by the subject on the emitting thread.
+   *
+   * @param event the event
+   */
+  @Override
+  public void accept(T event) {
+
+    this.offered.increment();
+
+    boolean schedule;
+
+    this.lock.lock();
+    try {
+      if (!isOpen()) {
+        this.dropped.increment();
+        return;
+      }
+
+      if (this.queue.size() >= this.capacity && !makeRoom()) {
+        this.dropped.increment();
+        return;
+      }
+
+      this.queue.addLast(event);
+      this.maxQueueSize = Math.max(this.maxQueueSize, this.queue.size());
+
+      schedule = !this.scheduled;
+      this.scheduled = true;
+    } finally {
+      this.lock.unlock();
+    }
+
+    if (schedule && !trySchedule()) {
+      // The executor was shut down, queued events are lost
+      discardQueue();
+    }
+  }
+
+  /**
+   * Applies the overflow policy to a full queue.
+   *
+   * @return true, if the new event can be added
+   */
+  private boolean makeRoom() {
+
+    switch (this.policy) {
+      case DROP_OLDEST:
+        this.queue.pollFirst();
+        this.dropped.increment();
+        return true;
+
+      case CONFLATE_LATEST:
+        this.queue.pollLast();
+        this.dropped.increment();
+        return true;
+
+      case BLOCK:
+        return awaitRoom();
+
+      default:
+        throw new IllegalStateException("Unknown overflow policy: " + this.policy);
+    }
+  }
+
+  private boolean awaitRoom() {
+
+    long start = System.nanoTime();
+
+    try {
+      while (this.queue.size() >= this.capacity && isOpen()) {
+        this.notFull.awaitNanos(BLOCK_CHECK_NANOS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      this.blockedNanos.add(System.nanoTime() - start);
+    }
+
+    return isOpen();
+  }
+
+  private boolean isOpen() {
+    return !this.terminated && !this.dispatcher.isClosed();
+  }
+
+  private boolean trySchedule() {
+
+    try {
+      this.dispatcher.execute(this::drain);
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  private void drain() {
+
+    // After a full batch, hand over to other consumers of the executor. If the executor is shut
+    // down meanwhile, the remaining events are delivered on this thread.
+    while (drainBatch() && !trySchedule()) {
+      // Next batch
+    }
+  }
+
+  /**
+   * Delivers up to one batch of events.
+   *
+   * @return true, if the batch was full and events may remain
+   */
+  private boolean drainBatch() {
+
+    for (int ii = 0; ii < BATCH; ii++) {
+
+      T event;
+
+      this.lock.lock();
+      try {
+        event = this.queue.pollFirst();
+
+        if (event == null) {
+          this.scheduled = false;
+          return false;
+        }
+
+        this.notFull.signal();
+      } finally {
+        this.lock.unlock();
+      }
+
+      try {
+        this.consumer.accept(event);
+        this.delivered.increment();
+      } catch (Throwable t) {
+        terminate(t);
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private void terminate(Throwable t) {
+
+    this.lock.lock();
+    try {
+      this.terminated = true;
+    } finally {
+      this.lock.unlock();
+    }
+
+    discardQueue();
+
+    try {
+      if (this.errorConsumer != null) {
+        this.errorConsumer.accept(t);
+        return;
+      }
+    } catch (Throwable errorConsumerFailure) {
+      t.addSuppressed(errorConsumerFailure);
+    }
+
+    Thread current = Thread.currentThread();
+    current.getUncaughtExceptionHandler().uncaughtException(current, t);
+  }
+
+  private void discardQueue() {
+
+    this.lock.lock();
+    try {
+      this.dropped.add(this.queue.size());
+      this.queue.clear();
+      this.scheduled = false;
+      this.notFull.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Gets the capacity of the queue.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Gets the overflow policy.
+   *
+   * @return the policy
+   */
+  public OverflowPolicy getPolicy() {
+    return this.policy;
+  }
+
+  /**
+   * Gets the number of events emitted to this consumer.
+   *
+   * @return the offered events
+   */
+  public long getOffered() {
+    return this.offered.sum();
+  }
+
+  /**
+   * Gets the number of events the consumer accepted without exception.
+   *
+   * @return the delivered events
+   */
+  public long getDelivered() {
+    return this.delivered.sum();
+  }
+
+  /**
+   * Gets the number of events dropped by the overflow policy, after closing or after the
+   * consumer failed.
+   *
+   * @return the dropped events
+   */
+  public long getDropped() {
+    return this.dropped.sum();
+  }
+
+  /**
+   * Gets the time emitting threads were blocked by the {@link OverflowPolicy#BLOCK} policy.
+   *
+   * @return the blocked nanos
+   */
+  public long getBlockedNanos() {
+    return this.blockedNanos.sum();
+  }
+
+  /**
+   * Gets the current number of queued events.
+   *
+   * @return the queue size
+   */
+  public int getQueueSize() {
+
+    this.lock.lock();
+    try {
+      return this.queue.size();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the largest number of queued events so far.
+   *
+   * @return the max queue size
+   */
+  public int getMaxQueueSize() {
+
+    this.lock.lock();
+    try {
+      return this.maxQueueSize;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Checks if the consumer failed and the subscription ended.
+   *
+   * @return true, if terminated
+   */
+  public boolean isTerminated() {
+
+    this.lock.lock();
+    try {
+      return this.terminated;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.name
+        + " ("
+        + this.policy
+        + ", capacity "
+        + this.capacity
+        + ") offered: "
+        + getOffered()
+        + ", delivered: "
+        + getDelivered()
+        + ", dropped: "
+        + getDropped()
+        + ", max queued: "
+        + getMaxQueueSize();
+  }
+}
@@ -0,0 +1,228 @@
+package com.dna.jopt.touroptimizer.java.examples.util.dispatch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.functions.Consumer;
+
+/**
+ * The Class EventDispatcher moves the consumers of optimization events off the emitting thread.
+ * Every consumer created by {@link #async(String, int, OverflowPolicy, Consumer, Consumer)} gets a
+ * bounded queue of its own and is subscribed to a subject instead of the consumer itself:
+ *
+ * <pre>
+ * EventDispatcher dispatcher = new EventDispatcher(1);
+ *
+ * opti.getOptimizationEvents()
+ *     .progressSubject()
+ *     .subscribe(
+ *         dispatcher.async("log", 1, OverflowPolicy.CONFLATE_LATEST, p -> log(p), errorConsumer),
+ *         errorConsumer);
+ * ...
+ * dispatcher.close();
+ * </pre>
+ *
+ * <p>The error consumer is passed twice: to the subject for errors of the subject itself and to
+ * the dispatched consumer for exceptions of the consumer, which are thrown on the dispatch thread.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class EventDispatcher implements AutoCloseable {
+
+  /** The time {@link #close()} waits for queued events to be delivered. */
+  public static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  /** The executor. */
+  private final ExecutorService executor;
+
+  /** True, if the executor is shut down on close. */
+  private final boolean ownsExecutor;
+
+  /** The consumers. */
+  private final List<DispatchedConsumer<?>> consumers = new CopyOnWriteArrayList<>();
+
+  private volatile boolean closed;
+
+  /**
+   * Instantiates a new event dispatcher on its own daemon threads.
+   *
+   * @param threads the number of dispatch threads
+   */
+  public EventDispatcher(int threads) {
+    this(Executors.newFixedThreadPool(threads, new DispatchThreadFactory()), true);
+  }
+
+  /**
+   * Instantiates a new event dispatcher on an executor. The executor is not shut down on close.
+   *
+   * @param executor the executor
+   */
+  public EventDispatcher(ExecutorService executor) {
+    this(executor, false);
+  }
+
+  private EventDispatcher(ExecutorService executor, boolean ownsExecutor) {
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /**
+   * Creates a dispatched consumer, exceptions of the consumer are passed to the uncaught exception
+   * handler of the dispatch thread.
+   *
+   * @param <T> the event type
+   * @param name the name in metrics and reports
+   * @param capacity the queue capacity
+   * @param policy the policy on a full queue
+   * @param consumer the consumer
+   * @return the dispatched consumer, to subscribe to a subject
+   */
+  public <T> DispatchedConsumer<T> async(
+      String name, int capacity, OverflowPolicy policy, Consumer<? super T> consumer) {
+    return async(name, capacity, policy, consumer, null);
+  }
+
+  /**
+   * Creates a dispatched consumer.
+   *
+   * @param <T> the event type
+   * @param name the name in metrics and reports
+   * @param capacity the queue capacity
+   * @param policy the policy on a full queue
+   * @param consumer the consumer
+   * @param errorConsumer the error consumer for exceptions of the consumer, may be null
+   * @return the dispatched consumer, to subscribe to a subject
+   */
+  public <T> DispatchedConsumer<T> async(
+      String name,
+      int capacity,
+      OverflowPolicy policy,
+      Consumer<? super T> consumer,
+      Consumer<? super Throwable> errorConsumer) {
+
+    DispatchedConsumer<T> dispatched =
+        new DispatchedConsumer<>(this, name, capacity, policy, consumer, errorConsumer);
+
+    this.consumers.add(dispatched);
+
+    return dispatched;
+  }
+
+  /**
+   * Gets the consumers.
+   *
+   * @return the consumers
+   */
+  public List<DispatchedConsumer<?>> getConsumers() {
+    return Collections.unmodifiableList(this.consumers);
+  }
+
+  /**
+   * Gets the number of dropped events of all consumers.
+   *
+   * @return the dropped events
+   */
+  public long getDroppedEvents() {
+    return this.consumers.stream().mapToLong(DispatchedConsumer::getDropped).sum();
+  }
+
+  /**
+   * Checks if the dispatcher was closed.
+   *
+   * @return true, if closed
+   */
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  /**
+   * Writes one line per consumer.
+   *
+   * @param out the output
+   */
+  public void writeReport(Appendable out) {
+
+    try {
+      for (DispatchedConsumer<?> c : this.consumers) {
+        out.append(c.toString()).append(System.lineSeparator());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Closes the dispatcher with the default timeout.
+   *
+   * @see #close(Duration)
+   */
+  @Override
+  public void close() {
+    close(DEFAULT_CLOSE_TIMEOUT);
+  }
+
+  /**
+   * Closes the dispatcher. Further events are dropped, queued events are still delivered. An own
+   * executor is shut down and awaited.
+   *
+   * @param timeout the time to wait for the queued events
+   * @return true, if all queued events were delivered in time
+   */
+  public boolean close(Duration timeout) {
+
+    this.closed = true;
+
+    if (!this.ownsExecutor) {
+      return this.consumers.stream().allMatch(c -> c.getQueueSize() == 0);
+    }
+
+    this.executor.shutdown();
+
+    try {
+      return this.executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /*
+   * Helper
+   */
+
+  void execute(Runnable drainTask) {
+    this.executor.execute(drainTask);
+  }
+
+  /** Creates named daemon threads, so dispatching never keeps the JVM alive. */
+  private static final class DispatchThreadFactory implements ThreadFactory {
+
+    private static final AtomicInteger DISPATCHERS = new AtomicInteger();
+
+    private final int dispatcher = DISPATCHERS.incrementAndGet();
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable r) {
+
+      Thread t =
+          new Thread(
+              r,
+              "jopt-event-dispatch-" + this.dispatcher + "-" + this.threads.incrementAndGet());
+      t.setDaemon(true);
+
+      return t;
+    }
+  }
+}
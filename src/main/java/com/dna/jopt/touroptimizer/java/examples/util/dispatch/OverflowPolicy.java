@@ -0,0 +1,27 @@
+package com.dna.jopt.touroptimizer.java.examples.util.dispatch;
+
+/**
+ * The Enum OverflowPolicy defines what a {@link DispatchedConsumer} does with a new event while its
+ * queue is full.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public enum OverflowPolicy {
+
+  /** Removes the oldest queued event, e.g. for logs where recent events matter most. */
+  DROP_OLDEST,
+
+  /**
+   * Replaces the newest queued event, the events before it are kept. With a capacity of 1 only the
+   * latest event is delivered, e.g. for progress where every event supersedes the previous one.
+   */
+  CONFLATE_LATEST,
+
+  /**
+   * Blocks the emitting thread until the consumer catches up. No event is lost, but a slow
+   * consumer throttles the optimization as with a synchronous subscription.
+   */
+  BLOCK
+}
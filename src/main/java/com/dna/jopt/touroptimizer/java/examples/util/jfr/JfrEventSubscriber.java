@@ -0,0 +1,274 @@
+package com.dna.jopt.touroptimizer.java.examples.util.jfr;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+import com.dna.jopt.framework.stream.info.autofilter.NodeFilteringEvent;
+import com.dna.jopt.member.bucket.entity.IEntity;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.AutoFilterEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.CodedEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.ErrorEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.ExportStateEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.ProgressEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.RunEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.StageEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.StatusEvent;
+import com.dna.jopt.touroptimizer.java.examples.util.jfr.JfrEvents.WarningEvent;
+
+/**
+ * The Class JfrEventSubscriber turns the event subjects of an optimization into {@link JfrEvents}
+ * for the JDK Flight Recorder.
+ *
+ * <pre>
+ * JfrEventSubscriber jfr = JfrEventSubscriber.attach(opti, "run-1");
+ * jfr.finishOn(opti.startRunAsync()).get();
+ * </pre>
+ *
+ * <p>While no recording enables an event type, the subscriber only checks {@code isEnabled()} of a
+ * short-lived event object, which the JIT can usually remove by escape analysis. Strings, e.g.
+ * messages, are only built for enabled events. Only the run and stage events, one per run or
+ * stage, are always created, as their duration starts before a recording may be started.
+ *
+ * <p>Node filtering and export state requests are not available as subjects here. Forward {@link
+ * #onNodeFiltering(NodeFilteringEvent)} from the {@code onNodeFiltering} callback of the
+ * optimization and call {@link #exportRequested(String)} right before {@code requestExportState}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class JfrEventSubscriber {
+
+  /** The optimization id. */
+  private final String optimizationId;
+
+  /** The run event, started on attach. */
+  private final RunEvent runEvent = new RunEvent();
+
+  /** The export state events by execution id, from the request until done. */
+  private final Map<String, ExportStateEvent> pendingExports = new ConcurrentHashMap<>();
+
+  /*
+   * Guarded by this
+   */
+
+  private StageEvent stageEvent;
+  private int stage = Integer.MIN_VALUE;
+  private double lastCost = Double.NaN;
+  private long progressEvents;
+  private boolean finished;
+
+  private JfrEventSubscriber(String optimizationId) {
+    this.optimizationId = optimizationId;
+    this.runEvent.begin();
+  }
+
+  /**
+   * Subscribes to the progress, status, warning, error and request-done subjects of an
+   * optimization and starts the run event. Attach right before the optimization is started.
+   *
+   * @param opti the optimization
+   * @param optimizationId the optimization id, written into every event
+   * @return the JFR event subscriber
+   */
+  public static JfrEventSubscriber attach(IOptimization opti, String optimizationId) {
+
+    JfrEventSubscriber subscriber = new JfrEventSubscriber(optimizationId);
+
+    opti.getOptimizationEvents().progressSubject().subscribe(subscriber::onProgress);
+
+    opti.getOptimizationEvents()
+        .statusSubject()
+        .subscribe(
+            s -> {
+              StatusEvent e = new StatusEvent();
+
+              if (e.isEnabled()) {
+                subscriber.commit(e, s.getCode(), s.getDescription());
+              }
+            });
+
+    opti.getOptimizationEvents()
+        .warningSubject()
+        .subscribe(
+            w -> {
+              WarningEvent e = new WarningEvent();
+
+              if (e.isEnabled()) {
+                subscriber.commit(e, w.getCode(), w.getDescription());
+              }
+            });
+
+    opti.getOptimizationEvents()
+        .errorSubject()
+        .subscribe(
+            err -> {
+              ErrorEvent e = new ErrorEvent();
+
+              if (e.isEnabled()) {
+                subscriber.commit(e, err.getCode(), err.getCause());
+              }
+            });
+
+    opti.getOptimizationEvents()
+        .requestCodeExecutionDoneSubject()
+        .subscribe(id -> subscriber.onExportStateDone(String.valueOf(id)));
+
+    return subscriber;
+  }
+
+  /**
+   * Ends the run event when the result future completes.
+   *
+   * @param <T> the type of the result future
+   * @param resultFuture the result future of the optimization
+   * @return the result future
+   */
+  public <T extends CompletableFuture<?>> T finishOn(T resultFuture) {
+    resultFuture.whenComplete((r, e) -> onRunEnd(e == null));
+    return resultFuture;
+  }
+
+  /**
+   * Tracks the stage and commits a progress event.
+   *
+   * @param p the optimization progress
+   */
+  public void onProgress(IOptimizationProgress p) {
+
+    IEntity winner = p.getResultEntity();
+    double cost = winner.getJoinedCost();
+    int curStage = p.getOptimizationStage();
+
+    synchronized (this) {
+      if (this.finished) {
+        return;
+      }
+
+      if (curStage != this.stage) {
+        onStageChange(curStage, p.getCallerId(), cost);
+      }
+
+      this.lastCost = cost;
+      this.progressEvents++;
+    }
+
+    ProgressEvent e = new ProgressEvent();
+
+    if (e.isEnabled()) {
+      e.optimizationId = this.optimizationId;
+      e.stage = curStage;
+      e.callerId = p.getCallerId();
+      e.progress = p.getProgress();
+      e.cost = cost;
+      e.routeCount = winner.getRouteCount();
+      e.commit();
+    }
+  }
+
+  private void onStageChange(int newStage, String callerId, double cost) {
+
+    endStage();
+
+    this.stage = newStage;
+
+    this.stageEvent = new StageEvent();
+    this.stageEvent.optimizationId = this.optimizationId;
+    this.stageEvent.stage = newStage;
+    this.stageEvent.callerId = callerId;
+    this.stageEvent.startCost = cost;
+    this.stageEvent.begin();
+  }
+
+  private void endStage() {
+
+    if (this.stageEvent != null) {
+      this.stageEvent.endCost = this.lastCost;
+      this.stageEvent.commit();
+      this.stageEvent = null;
+    }
+  }
+
+  /**
+   * Ends the current stage and the run event. Further progress is ignored.
+   *
+   * @param succeeded true, if the optimization returned a result
+   */
+  public synchronized void onRunEnd(boolean succeeded) {
+
+    if (this.finished) {
+      return;
+    }
+
+    this.finished = true;
+
+    endStage();
+
+    this.runEvent.optimizationId = this.optimizationId;
+    this.runEvent.succeeded = succeeded;
+    this.runEvent.finalCost = this.lastCost;
+    this.runEvent.progressEvents = this.progressEvents;
+    this.runEvent.commit();
+  }
+
+  /**
+   * Commits an AutoFilter event. Call from the {@code onNodeFiltering(NodeFilteringEvent)} callback
+   * of the optimization.
+   *
+   * @param nodeFilteringEvent the node filtering event
+   */
+  public void onNodeFiltering(NodeFilteringEvent nodeFilteringEvent) {
+
+    AutoFilterEvent e = new AutoFilterEvent();
+
+    if (e.isEnabled()) {
+      List<?> reasons = nodeFilteringEvent.getFilterReasons();
+
+      e.optimizationId = this.optimizationId;
+      e.reasonCount = reasons != null ? reasons.size() : 0;
+      e.filterReasons = String.valueOf(reasons);
+      e.commit();
+    }
+  }
+
+  /**
+   * Starts an export state event. Call right before {@code requestExportState} with the same
+   * execution id, the event is committed when the request is done.
+   *
+   * @param executionId the execution id of the request
+   */
+  public void exportRequested(String executionId) {
+
+    ExportStateEvent e = new ExportStateEvent();
+    e.optimizationId = this.optimizationId;
+    e.executionId = executionId;
+    e.begin();
+
+    this.pendingExports.put(executionId, e);
+  }
+
+  private void onExportStateDone(String executionId) {
+
+    ExportStateEvent e = this.pendingExports.remove(executionId);
+
+    if (e == null) {
+      // Not announced, recorded without duration
+      e = new ExportStateEvent();
+      e.optimizationId = this.optimizationId;
+      e.executionId = executionId;
+    }
+
+    e.commit();
+  }
+
+  private void commit(CodedEvent e, Object code, Object message) {
+    e.optimizationId = this.optimizationId;
+    e.code = String.valueOf(code);
+    e.message = String.valueOf(message);
+    e.commit();
+  }
+}
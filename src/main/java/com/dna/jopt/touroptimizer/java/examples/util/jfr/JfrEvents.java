@@ -0,0 +1,169 @@
+package com.dna.jopt.touroptimizer.java.examples.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Class JfrEvents holds the JDK Flight Recorder event types of an optimization, committed by
+ * {@link JfrEventSubscriber}. All events are in the category "JOpt", carry the optimization id and
+ * are recorded without stack trace.
+ *
+ * <p>The run and stage events have a duration, so a recording shows which phase of which
+ * optimization was running during a CPU or allocation spike. The event names are stable and used
+ * by the settings file {@code jopt.jfc}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class JfrEvents {
+
+  /** The category of all events. */
+  static final String CATEGORY = "JOpt";
+
+  private JfrEvents() {
+    // Holder
+  }
+
+  /** The run of an optimization, from attaching the subscriber until the result is available. */
+  @Name("com.dna.jopt.Run")
+  @Label("Optimization Run")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class RunEvent extends Event {
+
+    @Label("Optimization Id")
+    String optimizationId;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    @Label("Final Cost")
+    @Description("The joined cost of the last progress event")
+    double finalCost;
+
+    @Label("Progress Events")
+    long progressEvents;
+  }
+
+  /** A stage of an optimization, e.g. the pre-optimization or the genetic evolution. */
+  @Name("com.dna.jopt.Stage")
+  @Label("Optimization Stage")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class StageEvent extends Event {
+
+    @Label("Optimization Id")
+    String optimizationId;
+
+    @Label("Stage")
+    int stage;
+
+    @Label("Caller Id")
+    @Description("The algorithm reporting progress at the start of the stage")
+    String callerId;
+
+    @Label("Start Cost")
+    double startCost;
+
+    @Label("End Cost")
+    double endCost;
+  }
+
+  /** A progress event. */
+  @Name("com.dna.jopt.Progress")
+  @Label("Optimization Progress")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class ProgressEvent extends Event {
+
+    @Label("Optimization Id")
+    String optimizationId;
+
+    @Label("Stage")
+    int stage;
+
+    @Label("Caller Id")
+    String callerId;
+
+    @Label("Progress")
+    @Description("The progress of the current algorithm in percent")
+    double progress;
+
+    @Label("Cost")
+    double cost;
+
+    @Label("Routes")
+    int routeCount;
+  }
+
+  /** The common fields of status, warning and error events. */
+  abstract static class CodedEvent extends Event {
+
+    @Label("Optimization Id")
+    String optimizationId;
+
+    @Label("Code")
+    String code;
+
+    @Label("Message")
+    String message;
+  }
+
+  /** A status event. */
+  @Name("com.dna.jopt.Status")
+  @Label("Optimization Status")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class StatusEvent extends CodedEvent {}
+
+  /** A warning event. */
+  @Name("com.dna.jopt.Warning")
+  @Label("Optimization Warning")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class WarningEvent extends CodedEvent {}
+
+  /** An error event. */
+  @Name("com.dna.jopt.Error")
+  @Label("Optimization Error")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class ErrorEvent extends CodedEvent {}
+
+  /** Nodes were filtered by the AutoFilter. */
+  @Name("com.dna.jopt.AutoFilter")
+  @Label("AutoFilter")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class AutoFilterEvent extends Event {
+
+    @Label("Optimization Id")
+    String optimizationId;
+
+    @Label("Reasons")
+    @Description("The number of filter reasons")
+    int reasonCount;
+
+    @Label("Filter Reasons")
+    String filterReasons;
+  }
+
+  /** An export state request, from the request until the state is written. */
+  @Name("com.dna.jopt.ExportState")
+  @Label("Export State")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  public static final class ExportStateEvent extends Event {
+
+    @Label("Optimization Id")
+    String optimizationId;
+
+    @Label("Execution Id")
+    String executionId;
+  }
+}
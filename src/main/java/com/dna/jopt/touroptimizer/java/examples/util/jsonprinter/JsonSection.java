@@ -0,0 +1,39 @@
+package com.dna.jopt.touroptimizer.java.examples.util.jsonprinter;
+
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ConnectionSidecar;
+
+/**
+ * The sections of an optimization JSON which can be left out while streaming it with {@link
+ * ResultJsonPrinter#writeJson(com.dna.jopt.config.types.OptimizationConfig, java.io.OutputStream,
+ * boolean, boolean, JsonSection...)}. A left out section is read back as empty.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public enum JsonSection {
+
+    /** The solution of a previous run. */
+    SOLUTION("solution"),
+
+    /** The element connections, usually the largest section. */
+    ELEMENT_CONNECTIONS(ConnectionSidecar.ELEMENT_CONNECTIONS),
+
+    /** The build options of the core. */
+    CORE_BUILD_OPTIONS("coreBuildOptions");
+
+    private final String propertyName;
+
+    JsonSection(String propertyName) {
+	this.propertyName = propertyName;
+    }
+
+    /**
+     * Gets the top-level property name of the section.
+     *
+     * @return the property name
+     */
+    public String getPropertyName() {
+	return this.propertyName;
+    }
+}
@@ -1,11 +1,20 @@
 package com.dna.jopt.touroptimizer.java.examples.util.jsonprinter;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import com.dna.jopt.config.convert.ConvertException;
 import com.dna.jopt.config.convert.ExportTarget;
@@ -19,9 +28,23 @@ import com.dna.jopt.config.types.CoreConfig;
 import com.dna.jopt.config.types.OptimizationConfig;
 import com.dna.jopt.config.types.ext.CoreExtensionManifest;
 import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ConnectionSidecar;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 public class ResultJsonPrinter {
 
+    /** The buffer of the inline gzip compression. */
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
     private ResultJsonPrinter() {
 	// Nothing to do
     }
@@ -31,23 +54,18 @@ public class ResultJsonPrinter {
 
 	OptimizationConfig<CoreConfig> exportedConfig = OptimizationConfiguration.exportConfig(ExportTarget.of(opti),
 		new CoreExtensionManifest());
-	
-	// Strip some info
-	exportedConfig = exportedConfig.withCoreBuildOptions(Optional.empty())
-		.withSolution(Optional.empty());
-	
-	
-	 if(!keepNodeConnectionsInJson) {
-	     exportedConfig = exportedConfig.withElementConnections(new ArrayList<>());
-	 }
+
+	// Strip some info while writing, without copying the config
+	JsonSection[] excludedSections = keepNodeConnectionsInJson
+		? new JsonSection[] { JsonSection.CORE_BUILD_OPTIONS, JsonSection.SOLUTION }
+		: JsonSection.values();
 
 	// Without pretty directly call:
-	// String serializedExportedConfig =
-	// ConfigSerialization.serialize(exportedConfig);
+	// writeJson(exportedConfig, System.out, false, false, excludedSections);
 
-	String serializedExportedConfig = prettySerialize(exportedConfig);
+	writeJson(exportedConfig, System.out, true, false, excludedSections);
 
-	System.out.println(serializedExportedConfig);
+	System.out.println();
 
     }
     
@@ -83,13 +101,252 @@ public class ResultJsonPrinter {
     public static String toJsonOptimizationString(OptimizationConfig<JSONConfig>  jopti) throws IOException, ConvertException {
 	return JSONOptimization.asJSON(jopti);
     }
-    
-    
-    
+
+    /**
+     * Serializes the optimization like {@link #toJsonOptimizationString(OptimizationConfig)}, but
+     * moves the element connections into a binary sidecar file in the given directory. The JSON
+     * only references the sidecar by its hash. Load it via {@link SidecarJsonImporter}.
+     *
+     * <p>The optimization is streamed, only the tokens of the connection section are buffered until
+     * the section is written to the sidecar. An empty section is kept in the JSON, no sidecar is
+     * written for it.
+     *
+     * @param jopti            the JSON optimization
+     * @param sidecarDirectory the directory of the sidecar file
+     * @return the JSON string
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static String toJsonOptimizationString(OptimizationConfig<JSONConfig> jopti, Path sidecarDirectory)
+	    throws IOException {
+
+	ObjectMapper mapper = ConfigSerialization.objectMapper();
+	StringWriter out = new StringWriter();
+
+	try (JsonGenerator generator = new SidecarGenerator(mapper.getFactory().createGenerator(out),
+		sidecarDirectory)) {
+	    mapper.writeValue(generator, jopti);
+	}
+
+	return out.toString();
+    }
+
+    /**
+     * Streams the optimization to an output stream, like {@link #toJsonOptimizationString(OptimizationConfig)}
+     * but without building the JSON in memory. Excluded sections are skipped while writing, the
+     * config is not copied. The stream is not closed.
+     *
+     * @param config           the optimization config
+     * @param out              the output stream
+     * @param pretty           true, to indent the JSON
+     * @param gzip             true, to gzip the JSON while writing
+     * @param excludedSections the sections to leave out
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void writeJson(OptimizationConfig<?> config, OutputStream out, boolean pretty, boolean gzip,
+	    JsonSection... excludedSections) throws IOException {
+
+	ObjectMapper mapper = ConfigSerialization.objectMapper();
+
+	OutputStream callerOut = nonClosing(out);
+
+	// Closing the gzip stream writes the trailer and ends the deflater, also if writing failed
+	try (OutputStream target = gzip ? new GZIPOutputStream(callerOut, GZIP_BUFFER_BYTES) : callerOut;
+		JsonGenerator generator = createGenerator(mapper, target, pretty, excludedSections)) {
+	    mapper.writeValue(generator, config);
+	}
+    }
+
+    /**
+     * Streams the optimization to a channel, e.g. a {@code FileChannel} or a socket. The channel is
+     * not closed.
+     *
+     * @param config           the optimization config
+     * @param channel          the channel
+     * @param pretty           true, to indent the JSON
+     * @param gzip             true, to gzip the JSON while writing
+     * @param excludedSections the sections to leave out
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see #writeJson(OptimizationConfig, OutputStream, boolean, boolean, JsonSection...)
+     */
+    public static void writeJson(OptimizationConfig<?> config, WritableByteChannel channel, boolean pretty,
+	    boolean gzip, JsonSection... excludedSections) throws IOException {
+
+	writeJson(config, Channels.newOutputStream(channel), pretty, gzip, excludedSections);
+    }
+
+    /**
+     * Streams the optimization as JSON optimization to an output stream, like {@link
+     * #toJsonOptimization(IOptimization, JSONConfig, boolean, boolean)} followed by {@link
+     * #toJsonOptimizationString(OptimizationConfig)}, but without intermediate copies or strings.
+     *
+     * @param opti             the optimization
+     * @param myExtension      the JSON extension
+     * @param out              the output stream
+     * @param gzip             true, to gzip the JSON while writing
+     * @param excludedSections the sections to leave out
+     * @throws ConvertException       the convert exception
+     * @throws SerializationException the serialization exception
+     * @throws IOException            Signals that an I/O exception has occurred.
+     */
+    public static void writeJsonOptimization(IOptimization opti, JSONConfig myExtension, OutputStream out,
+	    boolean gzip, JsonSection... excludedSections)
+	    throws ConvertException, SerializationException, IOException {
+
+	OptimizationConfig<JSONConfig> config = JSONOptimization.fromOptization(opti, Optional.of(myExtension));
+
+	writeJson(config, out, false, gzip, excludedSections);
+    }
+
     /*
      * Helper
      */
 
+    private static OutputStream nonClosing(OutputStream out) {
+
+	// Only flushes on close, the stream of the caller stays open
+	return new FilterOutputStream(out) {
+
+	    @Override
+	    public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+	    }
+
+	    @Override
+	    public void close() throws IOException {
+		flush();
+	    }
+	};
+    }
+
+    private static JsonGenerator createGenerator(ObjectMapper mapper, OutputStream out, boolean pretty,
+	    JsonSection... excludedSections) throws IOException {
+
+	JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+
+	// The caller owns the stream
+	generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+	if (pretty) {
+	    generator.useDefaultPrettyPrinter();
+	}
+
+	if (excludedSections.length == 0) {
+	    return generator;
+	}
+
+	return new FilteringGeneratorDelegate(generator, new SectionFilter(excludedSections),
+		TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+    }
+
+    /**
+     * Diverts the top-level connection section into a token buffer and writes it to a sidecar file
+     * as soon as the section is complete. The JSON gets an empty section followed by the reference
+     * field instead.
+     */
+    private static final class SidecarGenerator extends JsonGeneratorDelegate {
+
+	private final JsonGenerator target;
+	private final Path sidecarDirectory;
+
+	/** The tokens of the connection section, {@code null} while writing other properties. */
+	private TokenBuffer section;
+
+	SidecarGenerator(JsonGenerator target, Path sidecarDirectory) {
+	    super(target, false);
+
+	    this.target = target;
+	    this.sidecarDirectory = sidecarDirectory;
+	}
+
+	@Override
+	public void writeFieldName(String name) throws IOException {
+	    if (isSection(name)) {
+		startSection();
+	    } else {
+		super.writeFieldName(name);
+	    }
+	}
+
+	@Override
+	public void writeFieldName(SerializableString name) throws IOException {
+	    if (isSection(name.getValue())) {
+		startSection();
+	    } else {
+		super.writeFieldName(name);
+	    }
+	}
+
+	@Override
+	public void writeEndArray() throws IOException {
+	    super.writeEndArray();
+	    endSectionIfComplete();
+	}
+
+	@Override
+	public void writeNull() throws IOException {
+	    super.writeNull();
+	    endSectionIfComplete();
+	}
+
+	private boolean isSection(String name) {
+
+	    JsonStreamContext context = this.target.getOutputContext();
+
+	    return this.section == null && ConnectionSidecar.ELEMENT_CONNECTIONS.equals(name) && context.inObject()
+		    && context.getParent().inRoot();
+	}
+
+	private void startSection() throws IOException {
+
+	    this.target.writeFieldName(ConnectionSidecar.ELEMENT_CONNECTIONS);
+	    this.target.writeStartArray();
+	    this.target.writeEndArray();
+
+	    // Until the section is complete, all tokens go to the buffer
+	    this.section = new TokenBuffer(this.target.getCodec(), false);
+	    this.delegate = this.section;
+	}
+
+	private void endSectionIfComplete() throws IOException {
+
+	    if (this.section == null || !this.section.getOutputContext().inRoot()) {
+		return;
+	    }
+
+	    this.delegate = this.target;
+
+	    Path sidecarFile;
+
+	    try (JsonParser parser = this.section.asParser()) {
+		sidecarFile = ConnectionSidecar.write(parser, this.sidecarDirectory);
+	    }
+
+	    this.section = null;
+
+	    if (sidecarFile != null) {
+		this.target.writeFieldName(ConnectionSidecar.REFERENCE_FIELD);
+		this.target.writeTree(ConnectionSidecar.reference(sidecarFile));
+	    }
+	}
+    }
+
+    /** Skips top-level properties, everything below the other properties is written unfiltered. */
+    private static final class SectionFilter extends TokenFilter {
+
+	private final Set<String> excludedPropertyNames = new HashSet<>();
+
+	SectionFilter(JsonSection... excludedSections) {
+	    for (JsonSection section : excludedSections) {
+		this.excludedPropertyNames.add(section.getPropertyName());
+	    }
+	}
+
+	@Override
+	public TokenFilter includeProperty(String name) {
+	    return this.excludedPropertyNames.contains(name) ? null : TokenFilter.INCLUDE_ALL;
+	}
+    }
+
     public static String prettySerialize(OptimizationConfig<CoreConfig> exportedConfig) throws IOException {
 
 	ByteArrayOutputStream outStream = new ByteArrayOutputStream();
@@ -0,0 +1,188 @@
+package com.dna.jopt.touroptimizer.java.examples.util.jsonprinter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import com.dna.jopt.config.convert.ConvertException;
+import com.dna.jopt.config.serialize.ConfigSerialization;
+import com.dna.jopt.config.serialize.SerializationException;
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.io.importing.IOptimizationImporter;
+import com.dna.jopt.io.importing.json.OptimizationJSONImporter;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.ConnectionSidecar;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Loads JSON snapshots written by {@link ResultJsonPrinter#toJsonOptimizationString(
+ * com.dna.jopt.config.types.OptimizationConfig, Path)}, whose element connections are stored in a
+ * {@link ConnectionSidecar} file. Snapshots without sidecar reference are loaded unchanged.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class SidecarJsonImporter {
+
+    private SidecarJsonImporter() {
+	// Nothing to do
+    }
+
+    /**
+     * Loads a snapshot into an optimization. The snapshot is copied token by token and the
+     * connection section is restored from the sidecar, one connection at a time, before the
+     * snapshot is handed to the {@link OptimizationJSONImporter}. The result is the same as for a
+     * snapshot holding its connections in the JSON, including time buckets.
+     *
+     * @param jsonStream       the JSON stream
+     * @param sidecarDirectory the directory of the sidecar file
+     * @param opti             the optimization
+     * @throws ConvertException       the convert exception
+     * @throws SerializationException the serialization exception
+     * @throws IOException            Signals that an I/O exception has occurred.
+     */
+    public static void update(InputStream jsonStream, Path sidecarDirectory, IOptimization opti)
+	    throws ConvertException, SerializationException, IOException {
+
+	importSnapshot(jsonStream, sidecarDirectory, true, opti);
+    }
+
+    /**
+     * Loads a snapshot into an optimization without its element connections. The connections are
+     * read from the sidecar into a matrix, without creating any JSON text or nodes for them. Attach
+     * them via
+     * {@code opti.setNodeConnector(PrimitiveMatrixBackupElementConnector.createNodeEdgeConnector(matrix))}.
+     *
+     * <p>Time buckets are not part of the matrix, use {@link #update(InputStream, Path,
+     * IOptimization)} for time-dependent connections. Zone connections of the snapshot are held by
+     * the node connector created by the importer; re-add them after attaching a new connector.
+     *
+     * @param jsonStream       the JSON stream
+     * @param sidecarDirectory the directory of the sidecar file
+     * @param opti             the optimization
+     * @return the connections, or {@code null} if the snapshot has no sidecar reference
+     * @throws ConvertException       the convert exception
+     * @throws SerializationException the serialization exception
+     * @throws IOException            Signals that an I/O exception has occurred.
+     */
+    public static PrimitiveConnectionMatrix updateWithoutConnections(InputStream jsonStream,
+	    Path sidecarDirectory, IOptimization opti)
+	    throws ConvertException, SerializationException, IOException {
+
+	Path sidecarFile = importSnapshot(jsonStream, sidecarDirectory, false, opti);
+
+	return sidecarFile != null ? ConnectionSidecar.readMatrix(sidecarFile) : null;
+    }
+
+    /*
+     * Helper
+     */
+
+    /**
+     * Copies the snapshot token by token for the {@link OptimizationJSONImporter}. The reference
+     * field is replaced by the connection section of the sidecar, or left out.
+     *
+     * @return the referenced sidecar file, or {@code null}
+     */
+    private static Path importSnapshot(InputStream jsonStream, Path sidecarDirectory, boolean restoreConnections,
+	    IOptimization opti) throws ConvertException, SerializationException, IOException {
+
+	ObjectMapper mapper = ConfigSerialization.objectMapper();
+	ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+
+	Path sidecarFile = null;
+	boolean hasConnections = false;
+	boolean hasEmptySection = false;
+
+	try (JsonParser parser = mapper.getFactory().createParser(jsonStream);
+		JsonGenerator generator = mapper.getFactory().createGenerator(snapshot, JsonEncoding.UTF8)) {
+
+	    if (parser.nextToken() != JsonToken.START_OBJECT) {
+		throw new IOException("A snapshot has to be a JSON object");
+	    }
+
+	    generator.writeStartObject();
+
+	    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+		String name = parser.currentName();
+		parser.nextToken();
+
+		if (ConnectionSidecar.REFERENCE_FIELD.equals(name)) {
+		    sidecarFile = ConnectionSidecar.resolve(mapper.readTree(parser), sidecarDirectory);
+
+		    if (restoreConnections) {
+			generator.writeFieldName(ConnectionSidecar.ELEMENT_CONNECTIONS);
+			ConnectionSidecar.writeConnections(sidecarFile, generator);
+			hasConnections = true;
+		    }
+
+		} else if (ConnectionSidecar.ELEMENT_CONNECTIONS.equals(name)) {
+		    boolean copied = copyConnections(parser, generator);
+
+		    hasConnections |= copied;
+		    hasEmptySection |= !copied;
+
+		} else {
+		    generator.writeFieldName(name);
+		    generator.copyCurrentStructure(parser);
+		}
+	    }
+
+	    // The empty section is written last, unless the connections were restored from the sidecar
+	    if (hasEmptySection && !hasConnections) {
+		generator.writeFieldName(ConnectionSidecar.ELEMENT_CONNECTIONS);
+		generator.writeStartArray();
+		generator.writeEndArray();
+	    }
+
+	    generator.writeEndObject();
+	}
+
+	IOptimizationImporter importer = new OptimizationJSONImporter();
+	importer.update(new ByteArrayInputStream(snapshot.toByteArray()), opti);
+
+	return sidecarFile;
+    }
+
+    /**
+     * Copies a connection section held in the snapshot, element by element. An empty section is
+     * consumed but not copied.
+     *
+     * @return true, if the section was copied
+     */
+    private static boolean copyConnections(JsonParser parser, JsonGenerator generator) throws IOException {
+
+	JsonToken token = parser.currentToken();
+
+	if (token == JsonToken.VALUE_NULL) {
+	    return false;
+	}
+
+	if (token != JsonToken.START_ARRAY) {
+	    throw new IOException("The connection section has to be a JSON array");
+	}
+
+	if (parser.nextToken() == JsonToken.END_ARRAY) {
+	    return false;
+	}
+
+	generator.writeFieldName(ConnectionSidecar.ELEMENT_CONNECTIONS);
+	generator.writeStartArray();
+
+	do {
+	    generator.copyCurrentStructure(parser);
+	} while (parser.nextToken() != JsonToken.END_ARRAY);
+
+	generator.writeEndArray();
+
+	return true;
+    }
+}
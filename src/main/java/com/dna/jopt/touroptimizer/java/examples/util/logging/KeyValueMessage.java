@@ -0,0 +1,246 @@
+package com.dna.jopt.touroptimizer.java.examples.util.logging;
+
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+/**
+ * The Class KeyValueMessage is a reusable log4j2 message of key/value pairs, formatted as {@code
+ * key=value key="text with spaces"}. Values are kept as primitives and written directly into the
+ * buffer of the layout, so logging a record allocates nothing once the message exists.
+ *
+ * <p>A message is reused by {@link #clear()} and must not be shared between threads. Log4j2 formats
+ * reusable messages before the log call returns, also for async loggers, so the message can be
+ * cleared right after the call.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class KeyValueMessage implements ReusableMessage {
+
+  private static final long serialVersionUID = 1L;
+
+  /** The maximal number of pairs. */
+  public static final int MAX_PAIRS = 16;
+
+  private static final Object[] NO_PARAMETERS = new Object[0];
+
+  /** The constant format, a key/value message has no format pattern. */
+  private static final String FORMAT = "KeyValueMessage";
+
+  private static final byte LONG = 0;
+  private static final byte DOUBLE = 1;
+  private static final byte TEXT = 2;
+
+  /*
+   * The pairs, by index
+   */
+
+  private final String[] keys = new String[MAX_PAIRS];
+  private final byte[] types = new byte[MAX_PAIRS];
+  private final long[] longs = new long[MAX_PAIRS];
+  private final double[] doubles = new double[MAX_PAIRS];
+  private final CharSequence[] texts = new CharSequence[MAX_PAIRS];
+
+  private int size;
+
+  /**
+   * Removes all pairs.
+   *
+   * @return the key value message
+   */
+  public KeyValueMessage clear() {
+
+    // Do not keep texts alive
+    for (int ii = 0; ii < this.size; ii++) {
+      this.texts[ii] = null;
+    }
+
+    this.size = 0;
+
+    return this;
+  }
+
+  /**
+   * Adds a long value.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the key value message
+   */
+  public KeyValueMessage add(String key, long value) {
+
+    int index = next(key, LONG);
+    this.longs[index] = value;
+
+    return this;
+  }
+
+  /**
+   * Adds a double value.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the key value message
+   */
+  public KeyValueMessage add(String key, double value) {
+
+    int index = next(key, DOUBLE);
+    this.doubles[index] = value;
+
+    return this;
+  }
+
+  /**
+   * Adds a text value, quoted if it contains a space, a quote or an equals sign.
+   *
+   * @param key the key
+   * @param value the value, null is written as {@code null}
+   * @return the key value message
+   */
+  public KeyValueMessage add(String key, CharSequence value) {
+
+    int index = next(key, TEXT);
+    this.texts[index] = value;
+
+    return this;
+  }
+
+  /**
+   * Gets the number of pairs.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.size;
+  }
+
+  private int next(String key, byte type) {
+
+    if (this.size == MAX_PAIRS) {
+      throw new IllegalStateException("A key value message holds at most " + MAX_PAIRS + " pairs");
+    }
+
+    int index = this.size++;
+    this.keys[index] = key;
+    this.types[index] = type;
+
+    return index;
+  }
+
+  @Override
+  public void formatTo(StringBuilder buffer) {
+
+    for (int ii = 0; ii < this.size; ii++) {
+
+      if (ii > 0) {
+        buffer.append(' ');
+      }
+
+      buffer.append(this.keys[ii]).append('=');
+
+      switch (this.types[ii]) {
+        case LONG:
+          buffer.append(this.longs[ii]);
+          break;
+
+        case DOUBLE:
+          buffer.append(this.doubles[ii]);
+          break;
+
+        default:
+          appendText(buffer, this.texts[ii]);
+          break;
+      }
+    }
+  }
+
+  private static void appendText(StringBuilder buffer, CharSequence text) {
+
+    if (text == null) {
+      buffer.append("null");
+      return;
+    }
+
+    boolean quote = text.length() == 0;
+
+    for (int ii = 0; ii < text.length() && !quote; ii++) {
+      char c = text.charAt(ii);
+      quote = c == ' ' || c == '"' || c == '=' || c < 0x20;
+    }
+
+    if (!quote) {
+      buffer.append(text);
+      return;
+    }
+
+    buffer.append('"');
+
+    for (int ii = 0; ii < text.length(); ii++) {
+      char c = text.charAt(ii);
+
+      if (c == '"' || c == '\\') {
+        buffer.append('\\').append(c);
+      } else if (c == '\n') {
+        buffer.append("\\n");
+      } else if (c == '\r') {
+        buffer.append("\\r");
+      } else {
+        buffer.append(c);
+      }
+    }
+
+    buffer.append('"');
+  }
+
+  /*
+   * Message
+   */
+
+  @Override
+  public String getFormattedMessage() {
+
+    // Only used by layouts which are not garbage-free
+    StringBuilder buffer = new StringBuilder(32 * this.size);
+    formatTo(buffer);
+
+    return buffer.toString();
+  }
+
+  @Override
+  public String getFormat() {
+    // Called for every record by the reusable log events, formatting here would allocate
+    return FORMAT;
+  }
+
+  @Override
+  public Object[] getParameters() {
+    return NO_PARAMETERS;
+  }
+
+  @Override
+  public Throwable getThrowable() {
+    return null;
+  }
+
+  @Override
+  public Object[] swapParameters(Object[] emptyReplacement) {
+    return emptyReplacement;
+  }
+
+  @Override
+  public short getParameterCount() {
+    return 0;
+  }
+
+  @Override
+  public Message memento() {
+    return new SimpleMessage(getFormattedMessage());
+  }
+
+  @Override
+  public String toString() {
+    return getFormattedMessage();
+  }
+}
@@ -0,0 +1,165 @@
+package com.dna.jopt.touroptimizer.java.examples.util.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+import com.dna.jopt.member.bucket.entity.IEntity;
+
+import io.reactivex.rxjava3.functions.Consumer;
+
+/**
+ * The Class ProgressLogger writes the progress, status, warnings and errors of an optimization as
+ * structured key/value records to the log4j2 logger {@value #LOGGER_NAME}, instead of printing
+ * progress strings to {@code System.out}.
+ *
+ * <pre>
+ * 2026-10-17T12:00:01,234 INFO  JOPT-opti-1 event=progress optimization=opti-1 stage=2
+ *     caller=GeneticEvolution progress=45.0 cost=1234.5 routes=3
+ * </pre>
+ *
+ * <p>Every record carries the marker {@code JOPT-<optimizationId>}, a child of {@link #JOPT}, so a
+ * {@code MarkerFilter} can select all optimizations or a single one. Records are built in a
+ * thread-local {@link KeyValueMessage} and skipped before any work if the logger is disabled for
+ * the level and marker. Together with an async logger and a garbage-free layout, as configured in
+ * {@code log4j2.xml}, logging allocates nothing per record in steady state and the emitting thread
+ * only copies the record into the ring buffer.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ProgressLogger {
+
+  /** The name of the logger. */
+  public static final String LOGGER_NAME = "com.dna.jopt.progress";
+
+  /** The parent marker of all optimization markers. */
+  public static final Marker JOPT = MarkerManager.getMarker("JOPT");
+
+  private static final Logger LOGGER = LogManager.getLogger(LOGGER_NAME);
+
+  /** The messages, one per emitting thread. */
+  private static final ThreadLocal<KeyValueMessage> MESSAGES =
+      ThreadLocal.withInitial(KeyValueMessage::new);
+
+  /** The optimization id. */
+  private final String optimizationId;
+
+  /** The marker of the optimization. */
+  private final Marker marker;
+
+  /**
+   * Instantiates a new progress logger.
+   *
+   * @param optimizationId the optimization id, written into every record
+   */
+  public ProgressLogger(String optimizationId) {
+    this.optimizationId = optimizationId;
+    this.marker = MarkerManager.getMarker("JOPT-" + optimizationId).addParents(JOPT);
+  }
+
+  /**
+   * Subscribes a new progress logger to the progress, status, warning and error subjects of an
+   * optimization.
+   *
+   * @param opti the optimization
+   * @param optimizationId the optimization id
+   * @param errorConsumer the error consumer of all subscriptions, e.g. bridging into the uncaught
+   *     exception handler of the optimization
+   * @return the progress logger
+   */
+  public static ProgressLogger attach(
+      IOptimization opti, String optimizationId, Consumer<? super Throwable> errorConsumer) {
+
+    ProgressLogger logger = new ProgressLogger(optimizationId);
+
+    opti.getOptimizationEvents().progressSubject().subscribe(logger::onProgress, errorConsumer);
+
+    opti.getOptimizationEvents()
+        .statusSubject()
+        .subscribe(
+            s -> logger.onCoded(Level.INFO, "status", s.getCode(), s.getDescription()),
+            errorConsumer);
+
+    opti.getOptimizationEvents()
+        .warningSubject()
+        .subscribe(
+            w -> logger.onCoded(Level.WARN, "warning", w.getCode(), w.getDescription()),
+            errorConsumer);
+
+    opti.getOptimizationEvents()
+        .errorSubject()
+        .subscribe(
+            e -> logger.onCoded(Level.ERROR, "error", e.getCode(), String.valueOf(e.getCause())),
+            errorConsumer);
+
+    return logger;
+  }
+
+  /**
+   * Logs a progress record at level INFO.
+   *
+   * @param p the optimization progress
+   */
+  public void onProgress(IOptimizationProgress p) {
+
+    if (!LOGGER.isEnabled(Level.INFO, this.marker)) {
+      return;
+    }
+
+    IEntity winner = p.getResultEntity();
+
+    KeyValueMessage message =
+        message("progress")
+            .add("stage", p.getOptimizationStage())
+            .add("caller", p.getCallerId())
+            .add("progress", p.getProgress())
+            .add("cost", winner.getJoinedCost())
+            .add("routes", winner.getRouteCount());
+
+    LOGGER.log(Level.INFO, this.marker, message);
+  }
+
+  /**
+   * Logs a status, warning or error record.
+   *
+   * @param level the level
+   * @param event the event name
+   * @param code the code, numbers are written without quotes
+   * @param description the description
+   */
+  public void onCoded(Level level, String event, Object code, CharSequence description) {
+
+    if (!LOGGER.isEnabled(level, this.marker)) {
+      return;
+    }
+
+    KeyValueMessage message = message(event);
+
+    if (code instanceof Number) {
+      message.add("code", ((Number) code).longValue());
+    } else {
+      message.add("code", String.valueOf(code));
+    }
+
+    LOGGER.log(level, this.marker, message.add("description", description));
+  }
+
+  private KeyValueMessage message(String event) {
+    return MESSAGES.get().clear().add("event", event).add("optimization", this.optimizationId);
+  }
+
+  /**
+   * Gets the marker of the optimization.
+   *
+   * @return the marker
+   */
+  public Marker getMarker() {
+    return this.marker;
+  }
+}
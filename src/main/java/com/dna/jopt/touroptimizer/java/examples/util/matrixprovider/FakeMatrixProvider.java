@@ -0,0 +1,158 @@
+package com.dna.jopt.touroptimizer.java.examples.util.matrixprovider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.GeoDistanceKernel;
+
+/**
+ * The Class FakeMatrixProvider is an in-process stand-in for a routing service. It answers every
+ * tile with the haversine distance times a detour factor and a constant average speed, after a
+ * configurable latency.
+ *
+ * <p>A share of requests can be failed on purpose to exercise the retries of the {@link
+ * MatrixProviderClient}. The provider records the highest number of concurrent requests it has
+ * seen, which shows whether the concurrency limit of the client holds.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class FakeMatrixProvider implements IMatrixProvider {
+
+  /** The default detour factor of roads compared to the beeline. */
+  public static final double DEFAULT_DETOUR_FACTOR = 1.3;
+
+  /** The default average speed in meter per second. */
+  public static final double DEFAULT_AVG_SPEED_METER_PER_SECOND = 13.9;
+
+  private final double detourFactor;
+  private final double avgSpeedMeterPerSecond;
+  private final Duration latency;
+  private final double failureRate;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+
+  /**
+   * Instantiates a new fake matrix provider with the default detour factor and speed.
+   *
+   * @param latency the latency of every request
+   * @param failureRate the share of requests failing, between 0 and 1
+   */
+  public FakeMatrixProvider(Duration latency, double failureRate) {
+    this(DEFAULT_DETOUR_FACTOR, DEFAULT_AVG_SPEED_METER_PER_SECOND, latency, failureRate);
+  }
+
+  /**
+   * Instantiates a new fake matrix provider.
+   *
+   * @param detourFactor the detour factor
+   * @param avgSpeedMeterPerSecond the average speed in meter per second
+   * @param latency the latency of every request
+   * @param failureRate the share of requests failing, between 0 and 1
+   */
+  public FakeMatrixProvider(
+      double detourFactor, double avgSpeedMeterPerSecond, Duration latency, double failureRate) {
+
+    if (failureRate < 0.0 || failureRate >= 1.0) {
+      throw new IllegalArgumentException("Failure rate has to be in [0, 1): " + failureRate);
+    }
+
+    this.detourFactor = detourFactor;
+    this.avgSpeedMeterPerSecond = avgSpeedMeterPerSecond;
+    this.latency = latency;
+    this.failureRate = failureRate;
+  }
+
+  @Override
+  public CompletableFuture<MatrixTile> fetchTile(MatrixTileRequest request) {
+
+    this.requests.increment();
+    this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+
+    Executor delayed =
+        CompletableFuture.delayedExecutor(this.latency.toMillis(), TimeUnit.MILLISECONDS);
+
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            if (ThreadLocalRandom.current().nextDouble() < this.failureRate) {
+              this.failures.increment();
+              throw new IllegalStateException("Simulated failure of " + request);
+            }
+
+            return calculateTile(request);
+
+          } finally {
+            this.inFlight.decrementAndGet();
+          }
+        },
+        delayed);
+  }
+
+  @Override
+  public String getCacheNamespace() {
+    return "fake-" + this.detourFactor + "-" + this.avgSpeedMeterPerSecond;
+  }
+
+  private MatrixTile calculateTile(MatrixTileRequest request) {
+
+    List<IOptimizationElement> toElements = request.getToElements();
+    GeoDistanceKernel toKernel = GeoDistanceKernel.of(toElements);
+
+    MatrixTile tile = new MatrixTile(request.getFromCount(), request.getToCount());
+    double[] row = new double[toElements.size()];
+
+    for (int from = 0; from < request.getFromCount(); from++) {
+
+      IOptimizationElement element = request.getFromElements().get(from);
+      toKernel.haversineOneToMany(element.getLatitude(), element.getLongitude(), row);
+
+      for (int to = 0; to < row.length; to++) {
+        double distanceMeter = row[to] * this.detourFactor;
+
+        tile.put(
+            from, to, distanceMeter, (long) (distanceMeter / this.avgSpeedMeterPerSecond * 1000L));
+      }
+    }
+
+    return tile;
+  }
+
+  /**
+   * Gets the number of requests.
+   *
+   * @return the request count
+   */
+  public long getRequestCount() {
+    return this.requests.sum();
+  }
+
+  /**
+   * Gets the number of simulated failures.
+   *
+   * @return the failure count
+   */
+  public long getFailureCount() {
+    return this.failures.sum();
+  }
+
+  /**
+   * Gets the highest number of concurrent requests seen so far.
+   *
+   * @return the max in flight
+   */
+  public int getMaxInFlight() {
+    return this.maxInFlight.get();
+  }
+}
@@ -0,0 +1,39 @@
+package com.dna.jopt.touroptimizer.java.examples.util.matrixprovider;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Interface IMatrixProvider is the service provider interface of a source of many-to-many
+ * road connections, e.g. a routing service.
+ *
+ * <p>An implementation answers one tile at a time and must not block the calling thread: the
+ * {@link MatrixProviderClient} calls {@link #fetchTile(MatrixTileRequest)} from its own threads
+ * and limits how many tiles are in flight. A failed tile is signalled by completing the future
+ * exceptionally, the client then retries it.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public interface IMatrixProvider {
+
+  /**
+   * Fetches the connections of a tile.
+   *
+   * @param request the tile request
+   * @return the future of the tile, with {@code request.getFromCount()} rows and {@code
+   *     request.getToCount()} columns
+   */
+  CompletableFuture<MatrixTile> fetchTile(MatrixTileRequest request);
+
+  /**
+   * Gets the cache namespace. Cached tiles are only reused for the same namespace, so it should
+   * change whenever the provider returns different connections, e.g. with the profile or the map
+   * version.
+   *
+   * @return the cache namespace
+   */
+  default String getCacheNamespace() {
+    return getClass().getSimpleName();
+  }
+}
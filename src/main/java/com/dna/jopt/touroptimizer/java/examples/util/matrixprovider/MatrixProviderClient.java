@@ -0,0 +1,550 @@
+package com.dna.jopt.touroptimizer.java.examples.util.matrixprovider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.nodeedge.INodeConnectorItem;
+import com.dna.jopt.member.unit.nodeedge.NodeEdgeConnector;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.PrimitiveConnectionMatrix;
+
+/**
+ * The Class MatrixProviderClient fetches all connections between a list of elements from an
+ * {@link IMatrixProvider}.
+ *
+ * <p>The many-to-many request is split into square tiles of {@code tileSize x tileSize}
+ * elements. At most {@code maxInFlight} tiles are requested at the same time, a failed tile is
+ * retried with an exponential back-off. Completed tiles can be persisted in a cache directory; a
+ * later request for the same coordinates is then answered from disk.
+ *
+ * <pre>
+ * MatrixProviderClient client = MatrixProviderClient.builder(provider)
+ *     .tileSize(100)
+ *     .maxInFlight(4)
+ *     .cacheDirectory(Paths.get("matrix-cache"))
+ *     .build();
+ *
+ * NodeEdgeConnector connector = client.fetchConnector(elements).get();
+ * </pre>
+ *
+ * <p>For large instances, prefer {@link #fetchMatrix(List)} and a {@code
+ * PrimitiveMatrixBackupElementConnector}, it does not create a connector item per pair.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class MatrixProviderClient {
+
+  /** The default tile size. */
+  public static final int DEFAULT_TILE_SIZE = 100;
+
+  /** The default number of tiles in flight. */
+  public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+  /** The default number of retries per tile. */
+  public static final int DEFAULT_MAX_RETRIES = 3;
+
+  /** The default delay before the first retry, doubled for every further retry. */
+  public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMillis(200);
+
+  private final IMatrixProvider provider;
+  private final int tileSize;
+  private final int maxInFlight;
+  private final int maxRetries;
+  private final Duration retryDelay;
+  private final Path cacheDirectory;
+  private final Executor executor;
+
+  /** The number of tiles fetched from the provider. */
+  private final LongAdder providerTiles = new LongAdder();
+
+  /** The number of tiles read from the cache. */
+  private final LongAdder cachedTiles = new LongAdder();
+
+  /** The number of retries. */
+  private final LongAdder retries = new LongAdder();
+
+  /** The number of tiles that could not be written to the cache. */
+  private final LongAdder cacheWriteFailures = new LongAdder();
+
+  private MatrixProviderClient(Builder builder) {
+    this.provider = builder.provider;
+    this.tileSize = builder.tileSize;
+    this.maxInFlight = builder.maxInFlight;
+    this.maxRetries = builder.maxRetries;
+    this.retryDelay = builder.retryDelay;
+    this.cacheDirectory = builder.cacheDirectory;
+    this.executor = builder.executor;
+  }
+
+  /**
+   * Creates a builder for a provider.
+   *
+   * @param provider the provider
+   * @return the builder
+   */
+  public static Builder builder(IMatrixProvider provider) {
+    return new Builder(provider);
+  }
+
+  /**
+   * Fetches all connections between the elements into a primitive matrix. Self connections are
+   * skipped.
+   *
+   * @param elements the elements
+   * @return the future of the matrix, completed exceptionally if a tile failed after all retries
+   */
+  public CompletableFuture<PrimitiveConnectionMatrix> fetchMatrix(
+      List<? extends IOptimizationElement> elements) {
+
+    PrimitiveConnectionMatrix matrix = PrimitiveConnectionMatrix.of(elements);
+
+    Queue<MatrixTileRequest> pending = new ConcurrentLinkedQueue<>(createTileRequests(elements));
+    AtomicInteger remaining = new AtomicInteger(pending.size());
+
+    CompletableFuture<PrimitiveConnectionMatrix> result = new CompletableFuture<>();
+
+    if (pending.isEmpty()) {
+      result.complete(matrix);
+      return result;
+    }
+
+    // Every worker takes the next tile as soon as its previous one is done
+    for (int worker = 0; worker < Math.min(this.maxInFlight, pending.size()); worker++) {
+      fetchNext(pending, remaining, matrix, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Fetches all connections between the elements and puts them into a new node edge connector, in
+   * one bulk call.
+   *
+   * @param elements the elements
+   * @return the future of the node edge connector
+   */
+  public CompletableFuture<NodeEdgeConnector> fetchConnector(
+      List<? extends IOptimizationElement> elements) {
+
+    return fetchMatrix(elements)
+        .thenApplyAsync(
+            matrix -> {
+              List<INodeConnectorItem> items = new ArrayList<>(elements.size() * elements.size());
+
+              for (IOptimizationElement from : elements) {
+                for (IOptimizationElement to : elements) {
+                  if (from != to) {
+                    items.add(matrix.createConnectorItem(from, to));
+                  }
+                }
+              }
+
+              NodeEdgeConnector connector = new NodeEdgeConnector();
+              connector.putNodeConnections(items);
+
+              return connector;
+            },
+            this.executor);
+  }
+
+  /**
+   * Gets the number of tiles fetched from the provider.
+   *
+   * @return the provider tile count
+   */
+  public long getProviderTileCount() {
+    return this.providerTiles.sum();
+  }
+
+  /**
+   * Gets the number of tiles read from the cache.
+   *
+   * @return the cached tile count
+   */
+  public long getCachedTileCount() {
+    return this.cachedTiles.sum();
+  }
+
+  /**
+   * Gets the number of retries.
+   *
+   * @return the retry count
+   */
+  public long getRetryCount() {
+    return this.retries.sum();
+  }
+
+  /**
+   * Gets the number of tiles that could not be written to the cache. Such tiles are still
+   * returned, they are only fetched again by a later request.
+   *
+   * @return the cache write failure count
+   */
+  public long getCacheWriteFailureCount() {
+    return this.cacheWriteFailures.sum();
+  }
+
+  /**
+   * Gets the statistics string.
+   *
+   * @return the statistics string
+   */
+  public String getStatisticsString() {
+    return "Tiles from provider: "
+        + getProviderTileCount()
+        + ", from cache: "
+        + getCachedTileCount()
+        + ", retries: "
+        + getRetryCount()
+        + ", cache write failures: "
+        + getCacheWriteFailureCount();
+  }
+
+  private List<MatrixTileRequest> createTileRequests(
+      List<? extends IOptimizationElement> elements) {
+
+    List<IOptimizationElement> all = new ArrayList<>(elements);
+    List<MatrixTileRequest> requests = new ArrayList<>();
+
+    for (int fromOffset = 0; fromOffset < all.size(); fromOffset += this.tileSize) {
+      for (int toOffset = 0; toOffset < all.size(); toOffset += this.tileSize) {
+        requests.add(
+            new MatrixTileRequest(
+                all.subList(fromOffset, Math.min(all.size(), fromOffset + this.tileSize)),
+                all.subList(toOffset, Math.min(all.size(), toOffset + this.tileSize)),
+                fromOffset,
+                toOffset));
+      }
+    }
+
+    return requests;
+  }
+
+  private void fetchNext(
+      Queue<MatrixTileRequest> pending,
+      AtomicInteger remaining,
+      PrimitiveConnectionMatrix matrix,
+      CompletableFuture<PrimitiveConnectionMatrix> result) {
+
+    MatrixTileRequest request = pending.poll();
+
+    if (request == null || result.isDone()) {
+      return;
+    }
+
+    CompletableFuture.supplyAsync(() -> readCachedTile(request), this.executor)
+        .thenCompose(
+            cached ->
+                cached != null ? CompletableFuture.completedFuture(cached) : fetch(request, 0))
+        .whenComplete(
+            (tile, error) -> {
+              if (error != null) {
+                result.completeExceptionally(
+                    new IOException("Failed to fetch " + request, unwrap(error)));
+                return;
+              }
+
+              try {
+                copyTile(request, tile, matrix);
+
+                if (remaining.decrementAndGet() == 0) {
+                  result.complete(matrix);
+                } else {
+                  fetchNext(pending, remaining, matrix, result);
+                }
+              } catch (RuntimeException e) {
+                // An exception thrown in here would be swallowed and the result never completed
+                result.completeExceptionally(new IOException("Failed to copy " + request, e));
+              }
+            });
+  }
+
+  /** Fetches a tile from the provider, retrying on failure. */
+  private CompletableFuture<MatrixTile> fetch(MatrixTileRequest request, int attempt) {
+
+    CompletableFuture<MatrixTile> tileFuture;
+
+    try {
+      tileFuture = this.provider.fetchTile(request);
+    } catch (RuntimeException e) {
+      tileFuture = CompletableFuture.failedFuture(e);
+    }
+
+    return tileFuture
+        .thenApply(tile -> checkTile(request, tile))
+        .handle(
+            (tile, error) -> {
+              if (error == null) {
+                this.providerTiles.increment();
+                writeCachedTile(request, tile);
+                return CompletableFuture.completedFuture(tile);
+              }
+
+              if (attempt >= this.maxRetries) {
+                return CompletableFuture.<MatrixTile>failedFuture(unwrap(error));
+              }
+
+              this.retries.increment();
+
+              long delayMillis = this.retryDelay.toMillis() << Math.min(attempt, 16);
+              Executor delayed =
+                  CompletableFuture.delayedExecutor(
+                      delayMillis, TimeUnit.MILLISECONDS, this.executor);
+
+              return CompletableFuture.supplyAsync(() -> request, delayed)
+                  .thenCompose(retried -> fetch(retried, attempt + 1));
+            })
+        .thenCompose(future -> future);
+  }
+
+  private static MatrixTile checkTile(MatrixTileRequest request, MatrixTile tile) {
+
+    if (tile == null
+        || tile.getRows() != request.getFromCount()
+        || tile.getColumns() != request.getToCount()) {
+      throw new IllegalStateException("Provider returned a tile of the wrong size for " + request);
+    }
+
+    String invalid = findInvalidValue(request, tile);
+
+    if (invalid != null) {
+      throw new IllegalStateException(
+          "Provider returned an invalid " + invalid + " for " + request);
+    }
+
+    return tile;
+  }
+
+  /**
+   * Finds the first value a {@link PrimitiveConnectionMatrix} cannot hold, e.g. a negative driving
+   * time for an unroutable pair. Self connections are skipped, they are never copied.
+   *
+   * @return the description of the value, or null if all values are valid
+   */
+  private static String findInvalidValue(MatrixTileRequest request, MatrixTile tile) {
+
+    for (int row = 0; row < tile.getRows(); row++) {
+      int from = request.getFromOffset() + row;
+
+      for (int column = 0; column < tile.getColumns(); column++) {
+        int to = request.getToOffset() + column;
+
+        if (from == to) {
+          continue;
+        }
+
+        float distanceMeter = tile.getDistanceMeter(row, column);
+        int drivingTimeMillis = tile.getDrivingTimeMillis(row, column);
+
+        if (!Float.isFinite(distanceMeter) || distanceMeter < 0.0f) {
+          return "distance " + distanceMeter + " m at " + row + "/" + column;
+        }
+
+        if (drivingTimeMillis < 0) {
+          return "driving time " + drivingTimeMillis + " ms at " + row + "/" + column;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private static void copyTile(
+      MatrixTileRequest request, MatrixTile tile, PrimitiveConnectionMatrix matrix) {
+
+    // Tiles cover distinct ranges of the matrix
+    for (int row = 0; row < tile.getRows(); row++) {
+      int from = request.getFromOffset() + row;
+
+      for (int column = 0; column < tile.getColumns(); column++) {
+        int to = request.getToOffset() + column;
+
+        if (from != to) {
+          matrix.put(
+              from,
+              to,
+              tile.getDistanceMeter(row, column),
+              tile.getDrivingTimeMillis(row, column));
+        }
+      }
+    }
+  }
+
+  private MatrixTile readCachedTile(MatrixTileRequest request) {
+
+    if (this.cacheDirectory == null) {
+      return null;
+    }
+
+    Path file = cacheFile(request);
+
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    try {
+      MatrixTile tile = MatrixTile.read(file);
+
+      // A tile of the wrong size or with invalid values is fetched again and overwritten
+      if (tile.getRows() == request.getFromCount()
+          && tile.getColumns() == request.getToCount()
+          && findInvalidValue(request, tile) == null) {
+        this.cachedTiles.increment();
+        return tile;
+      }
+    } catch (IOException e) {
+      // An unreadable cache entry is fetched again and overwritten
+    }
+
+    return null;
+  }
+
+  private void writeCachedTile(MatrixTileRequest request, MatrixTile tile) {
+
+    if (this.cacheDirectory == null) {
+      return;
+    }
+
+    try {
+      Files.createDirectories(this.cacheDirectory);
+      tile.write(cacheFile(request));
+    } catch (IOException e) {
+      // The cache is best-effort, the tile is used anyway
+      this.cacheWriteFailures.increment();
+    }
+  }
+
+  private Path cacheFile(MatrixTileRequest request) {
+    return this.cacheDirectory.resolve(
+        request.createCacheKey(this.provider.getCacheNamespace()) + ".tile");
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  /** The Class Builder configures a {@link MatrixProviderClient}. */
+  public static final class Builder {
+
+    private final IMatrixProvider provider;
+    private int tileSize = DEFAULT_TILE_SIZE;
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private Duration retryDelay = DEFAULT_RETRY_DELAY;
+    private Path cacheDirectory;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    private Builder(IMatrixProvider provider) {
+      this.provider = provider;
+    }
+
+    /**
+     * Sets the number of elements per tile side.
+     *
+     * @param tileSize the tile size
+     * @return the builder
+     */
+    public Builder tileSize(int tileSize) {
+
+      if (tileSize < 1) {
+        throw new IllegalArgumentException("Tile size has to be positive: " + tileSize);
+      }
+
+      this.tileSize = tileSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximal number of tiles requested at the same time.
+     *
+     * @param maxInFlight the max in flight
+     * @return the builder
+     */
+    public Builder maxInFlight(int maxInFlight) {
+
+      if (maxInFlight < 1) {
+        throw new IllegalArgumentException("Max in flight has to be positive: " + maxInFlight);
+      }
+
+      this.maxInFlight = maxInFlight;
+      return this;
+    }
+
+    /**
+     * Sets the number of retries per tile.
+     *
+     * @param maxRetries the max retries
+     * @return the builder
+     */
+    public Builder maxRetries(int maxRetries) {
+
+      if (maxRetries < 0) {
+        throw new IllegalArgumentException("Max retries must not be negative: " + maxRetries);
+      }
+
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Sets the delay before the first retry. The delay is doubled for every further retry.
+     *
+     * @param retryDelay the retry delay
+     * @return the builder
+     */
+    public Builder retryDelay(Duration retryDelay) {
+      this.retryDelay = retryDelay;
+      return this;
+    }
+
+    /**
+     * Sets the cache directory. Without a cache directory, every tile is fetched from the
+     * provider.
+     *
+     * @param cacheDirectory the cache directory
+     * @return the builder
+     */
+    public Builder cacheDirectory(Path cacheDirectory) {
+      this.cacheDirectory = cacheDirectory;
+      return this;
+    }
+
+    /**
+     * Sets the executor for cache access and retries. By default, the common fork-join pool is
+     * used.
+     *
+     * @param executor the executor
+     * @return the builder
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Builds the client.
+     *
+     * @return the matrix provider client
+     */
+    public MatrixProviderClient build() {
+      return new MatrixProviderClient(this);
+    }
+  }
+}
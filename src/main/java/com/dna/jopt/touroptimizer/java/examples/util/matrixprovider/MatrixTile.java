@@ -0,0 +1,196 @@
+package com.dna.jopt.touroptimizer.java.examples.util.matrixprovider;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The Class MatrixTile holds the connections of a {@link MatrixTileRequest}, row-major: the
+ * connection from row {@code r} to column {@code c} lives at position {@code r * columns + c}.
+ *
+ * <p>Tiles can be written to and read from a small binary file, which is how the {@link
+ * MatrixProviderClient} persists completed tiles.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class MatrixTile {
+
+  /** The magic number of a tile file ("JTIL"). */
+  public static final int MAGIC = 0x4A54494C;
+
+  /** The file format version. */
+  public static final int VERSION = 1;
+
+  /** The number of rows. */
+  private final int rows;
+
+  /** The number of columns. */
+  private final int columns;
+
+  /** The distances in meter. */
+  private final float[] distancesMeter;
+
+  /** The driving times in millis. */
+  private final int[] drivingTimesMillis;
+
+  /**
+   * Instantiates a new, empty matrix tile.
+   *
+   * @param rows the rows
+   * @param columns the columns
+   */
+  public MatrixTile(int rows, int columns) {
+    this(rows, columns, new float[rows * columns], new int[rows * columns]);
+  }
+
+  private MatrixTile(int rows, int columns, float[] distancesMeter, int[] drivingTimesMillis) {
+    this.rows = rows;
+    this.columns = columns;
+    this.distancesMeter = distancesMeter;
+    this.drivingTimesMillis = drivingTimesMillis;
+  }
+
+  /**
+   * Puts a connection.
+   *
+   * @param row the row
+   * @param column the column
+   * @param distanceMeter the distance in meter
+   * @param drivingTimeMillis the driving time in millis
+   */
+  public void put(int row, int column, double distanceMeter, long drivingTimeMillis) {
+
+    int position = row * this.columns + column;
+
+    this.distancesMeter[position] = (float) distanceMeter;
+    this.drivingTimesMillis[position] = (int) Math.min(Integer.MAX_VALUE, drivingTimeMillis);
+  }
+
+  /**
+   * Gets the number of rows.
+   *
+   * @return the rows
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the columns
+   */
+  public int getColumns() {
+    return this.columns;
+  }
+
+  /**
+   * Gets the distance in meter.
+   *
+   * @param row the row
+   * @param column the column
+   * @return the distance meter
+   */
+  public float getDistanceMeter(int row, int column) {
+    return this.distancesMeter[row * this.columns + column];
+  }
+
+  /**
+   * Gets the driving time in millis.
+   *
+   * @param row the row
+   * @param column the column
+   * @return the driving time millis
+   */
+  public int getDrivingTimeMillis(int row, int column) {
+    return this.drivingTimesMillis[row * this.columns + column];
+  }
+
+  /**
+   * Writes the tile to a file. The file is written next to the target and then moved, so readers
+   * never see a partially written tile.
+   *
+   * @param file the file
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public void write(Path file) throws IOException {
+
+    Path tmpFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(this.rows);
+        out.writeInt(this.columns);
+
+        for (float distanceMeter : this.distancesMeter) {
+          out.writeFloat(distanceMeter);
+        }
+
+        for (int drivingTimeMillis : this.drivingTimesMillis) {
+          out.writeInt(drivingTimeMillis);
+        }
+      }
+
+      Files.move(
+          tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /**
+   * Reads a tile from a file.
+   *
+   * @param file the file
+   * @return the matrix tile
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static MatrixTile read(Path file) throws IOException {
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a matrix tile file: " + file);
+      }
+
+      int version = in.readInt();
+
+      if (version != VERSION) {
+        throw new IOException("Unsupported matrix tile version " + version + ": " + file);
+      }
+
+      int rows = in.readInt();
+      int columns = in.readInt();
+
+      if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+        throw new IOException("Invalid matrix tile size " + rows + "x" + columns + ": " + file);
+      }
+
+      float[] distancesMeter = new float[rows * columns];
+      int[] drivingTimesMillis = new int[rows * columns];
+
+      for (int ii = 0; ii < distancesMeter.length; ii++) {
+        distancesMeter[ii] = in.readFloat();
+      }
+
+      for (int ii = 0; ii < drivingTimesMillis.length; ii++) {
+        drivingTimesMillis[ii] = in.readInt();
+      }
+
+      return new MatrixTile(rows, columns, distancesMeter, drivingTimesMillis);
+    }
+  }
+}
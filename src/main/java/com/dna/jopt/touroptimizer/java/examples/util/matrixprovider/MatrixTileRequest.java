@@ -0,0 +1,158 @@
+package com.dna.jopt.touroptimizer.java.examples.util.matrixprovider;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.dna.jopt.member.unit.IOptimizationElement;
+
+/**
+ * The Class MatrixTileRequest describes one tile of a many-to-many request: a block of consecutive
+ * from elements and a block of consecutive to elements.
+ *
+ * <p>The offsets locate the tile within the full matrix. The cache key is derived from the
+ * coordinates of the elements, so a cached tile is not reused once an element moves.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class MatrixTileRequest {
+
+  /** The from elements. */
+  private final List<IOptimizationElement> fromElements;
+
+  /** The to elements. */
+  private final List<IOptimizationElement> toElements;
+
+  /** The index of the first from element within the full matrix. */
+  private final int fromOffset;
+
+  /** The index of the first to element within the full matrix. */
+  private final int toOffset;
+
+  /**
+   * Instantiates a new matrix tile request.
+   *
+   * @param fromElements the from elements
+   * @param toElements the to elements
+   * @param fromOffset the from offset
+   * @param toOffset the to offset
+   */
+  public MatrixTileRequest(
+      List<IOptimizationElement> fromElements,
+      List<IOptimizationElement> toElements,
+      int fromOffset,
+      int toOffset) {
+
+    this.fromElements = List.copyOf(fromElements);
+    this.toElements = List.copyOf(toElements);
+    this.fromOffset = fromOffset;
+    this.toOffset = toOffset;
+  }
+
+  /**
+   * Gets the from elements, one per row.
+   *
+   * @return the from elements
+   */
+  public List<IOptimizationElement> getFromElements() {
+    return this.fromElements;
+  }
+
+  /**
+   * Gets the to elements, one per column.
+   *
+   * @return the to elements
+   */
+  public List<IOptimizationElement> getToElements() {
+    return this.toElements;
+  }
+
+  /**
+   * Gets the number of rows.
+   *
+   * @return the from count
+   */
+  public int getFromCount() {
+    return this.fromElements.size();
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the to count
+   */
+  public int getToCount() {
+    return this.toElements.size();
+  }
+
+  /**
+   * Gets the index of the first from element within the full matrix.
+   *
+   * @return the from offset
+   */
+  public int getFromOffset() {
+    return this.fromOffset;
+  }
+
+  /**
+   * Gets the index of the first to element within the full matrix.
+   *
+   * @return the to offset
+   */
+  public int getToOffset() {
+    return this.toOffset;
+  }
+
+  /**
+   * Creates the cache key of the tile, a SHA-256 hash of the namespace and of all coordinates.
+   *
+   * @param namespace the cache namespace of the provider
+   * @return the cache key as hex string
+   */
+  public String createCacheKey(String namespace) {
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(namespace.getBytes(StandardCharsets.UTF_8));
+
+      int coordinates = (getFromCount() + getToCount()) * 2;
+
+      ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + coordinates * Double.BYTES);
+      buffer.putInt(getFromCount()).putInt(getToCount());
+
+      for (IOptimizationElement element : this.fromElements) {
+        buffer.putDouble(element.getLatitude()).putDouble(element.getLongitude());
+      }
+
+      for (IOptimizationElement element : this.toElements) {
+        buffer.putDouble(element.getLatitude()).putDouble(element.getLongitude());
+      }
+
+      digest.update(buffer.array());
+
+      return HexFormat.of().formatHex(digest.digest());
+
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM has to provide SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Tile ["
+        + this.fromOffset
+        + "+"
+        + getFromCount()
+        + " => "
+        + this.toOffset
+        + "+"
+        + getToCount()
+        + "]";
+  }
+}
@@ -0,0 +1,117 @@
+package com.dna.jopt.touroptimizer.java.examples.util.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The Class MetricsHttpServer serves the metrics of a {@link MetricsRegistry} on {@code /metrics}
+ * using the HTTP server of the JDK. Requests are handled on the dispatcher thread, a scrape only
+ * reads the current values and does not block any optimization.
+ *
+ * <pre>
+ * try (MetricsHttpServer server = MetricsHttpServer.start(registry, 9400)) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class MetricsHttpServer implements AutoCloseable {
+
+  /** The path of the metrics endpoint. */
+  public static final String PATH = "/metrics";
+
+  /** The server. */
+  private final HttpServer server;
+
+  /** The registry. */
+  private final MetricsRegistry registry;
+
+  private MetricsHttpServer(HttpServer server, MetricsRegistry registry) {
+    this.server = server;
+    this.registry = registry;
+  }
+
+  /**
+   * Starts a server on all interfaces.
+   *
+   * @param registry the registry
+   * @param port the port, 0 picks a free port
+   * @return the metrics http server
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static MetricsHttpServer start(MetricsRegistry registry, int port) throws IOException {
+    return start(registry, new InetSocketAddress(port));
+  }
+
+  /**
+   * Starts a server.
+   *
+   * @param registry the registry
+   * @param address the address
+   * @return the metrics http server
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static MetricsHttpServer start(MetricsRegistry registry, InetSocketAddress address)
+      throws IOException {
+
+    HttpServer server = HttpServer.create(address, 0);
+    MetricsHttpServer metricsServer = new MetricsHttpServer(server, registry);
+
+    server.createContext(PATH, metricsServer::handle);
+    server.start();
+
+    return metricsServer;
+  }
+
+  /**
+   * Gets the port the server is bound to.
+   *
+   * @return the port
+   */
+  public int getPort() {
+    return this.server.getAddress().getPort();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+
+    try (exchange) {
+
+      String method = exchange.getRequestMethod();
+
+      if (!"GET".equals(method) && !"HEAD".equals(method)) {
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+
+      byte[] body = this.registry.scrape().getBytes(StandardCharsets.UTF_8);
+
+      exchange.getResponseHeaders().set("Content-Type", MetricsRegistry.CONTENT_TYPE);
+
+      if ("HEAD".equals(method)) {
+        exchange.sendResponseHeaders(200, -1);
+        return;
+      }
+
+      exchange.sendResponseHeaders(200, body.length);
+
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+
+  /** Stops the server, open requests get one second to complete. */
+  @Override
+  public void close() {
+    this.server.stop(1);
+  }
+}
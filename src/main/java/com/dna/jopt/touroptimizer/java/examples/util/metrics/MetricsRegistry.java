@@ -0,0 +1,292 @@
+package com.dna.jopt.touroptimizer.java.examples.util.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.touroptimizer.java.examples.util.metrics.OptimizationMetrics.Histogram;
+
+/**
+ * The Class MetricsRegistry holds the {@link OptimizationMetrics} of many concurrent optimizations
+ * and writes them in the Prometheus text exposition format. Every sample carries an {@code
+ * optimization} label with the id the optimization was registered with.
+ *
+ * <p>To find stuck optimizations, alert on {@code jopt_seconds_since_last_progress} of running
+ * optimizations ({@code jopt_running == 1}) or on a {@code jopt_progress_rate} of zero.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class MetricsRegistry {
+
+  /** The content type of the Prometheus text format. */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  /** The metrics by optimization id. */
+  private final ConcurrentMap<String, OptimizationMetrics> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Registers an optimization and subscribes to its event subjects. Register before the
+   * optimization is started.
+   *
+   * @param optimizationId the unique optimization id
+   * @param opti the optimization
+   * @return the metrics of the optimization
+   */
+  public OptimizationMetrics register(String optimizationId, IOptimization opti) {
+
+    OptimizationMetrics optiMetrics = new OptimizationMetrics(optimizationId);
+
+    if (this.metrics.putIfAbsent(optimizationId, optiMetrics) != null) {
+      throw new IllegalArgumentException("Optimization already registered: " + optimizationId);
+    }
+
+    optiMetrics.attach(opti);
+
+    return optiMetrics;
+  }
+
+  /**
+   * Removes an optimization, e.g. some time after it has finished.
+   *
+   * @param optimizationId the optimization id
+   */
+  public void unregister(String optimizationId) {
+    this.metrics.remove(optimizationId);
+  }
+
+  /**
+   * Gets the metrics of an optimization.
+   *
+   * @param optimizationId the optimization id
+   * @return the metrics, or null if not registered
+   */
+  public OptimizationMetrics get(String optimizationId) {
+    return this.metrics.get(optimizationId);
+  }
+
+  /**
+   * Writes all metrics in the Prometheus text format.
+   *
+   * @param out the output
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public void writeTo(Appendable out) throws IOException {
+
+    // Sorted, so that scrapes are stable
+    List<OptimizationMetrics> all = new ArrayList<>(new TreeMap<>(this.metrics).values());
+
+    gauge(out, all, "jopt_running", "1 while the optimization is running.",
+        m -> m.isFinished() ? 0 : 1);
+    gauge(out, all, "jopt_progress", "Progress of the current stage in percent.",
+        OptimizationMetrics::getProgress);
+    gauge(out, all, "jopt_progress_rate", "Progress of the current stage in percent per second.",
+        OptimizationMetrics::getProgressRate);
+    gauge(out, all, "jopt_joined_cost", "Joined cost of the current best solution.",
+        OptimizationMetrics::getCost);
+    gauge(out, all, "jopt_utilization_ratio", "Average utilization of the Resources.",
+        OptimizationMetrics::getUtilization);
+    gauge(out, all, "jopt_distance_meters", "Total distance of all Routes.",
+        OptimizationMetrics::getDistanceMeter);
+    gauge(out, all, "jopt_routes", "Number of Routes.", OptimizationMetrics::getRouteCount);
+    gauge(out, all, "jopt_elements", "Number of Elements.", OptimizationMetrics::getElementsCount);
+    gauge(out, all, "jopt_runtime_seconds", "Time since the optimization was registered.",
+        OptimizationMetrics::getRuntimeSeconds);
+    gauge(out, all, "jopt_seconds_since_last_progress", "Time since the last progress event.",
+        OptimizationMetrics::getSecondsSinceLastProgress);
+
+    header(out, "jopt_stage_info", "gauge", "The current stage (caller id).");
+    for (OptimizationMetrics m : all) {
+      if (m.getStage() != null && !m.isFinished()) {
+        sample(out, "jopt_stage_info", m, "stage", m.getStage(), 1);
+      }
+    }
+
+    counter(out, all, "jopt_progress_events_total", "Number of progress events.",
+        OptimizationMetrics::getProgressEvents);
+    counter(out, all, "jopt_status_events_total", "Number of status events.",
+        OptimizationMetrics::getStatusEvents);
+
+    header(out, "jopt_warnings_total", "counter", "Number of warnings by code.");
+    for (OptimizationMetrics m : all) {
+      byCode(out, "jopt_warnings_total", m, m.getWarningsByCode());
+    }
+
+    header(out, "jopt_errors_total", "counter", "Number of errors by code.");
+    for (OptimizationMetrics m : all) {
+      byCode(out, "jopt_errors_total", m, m.getErrorsByCode());
+    }
+
+    header(out, "jopt_stage_duration_seconds", "histogram", "Duration of finished stages.");
+    for (OptimizationMetrics m : all) {
+      for (Map.Entry<String, Histogram> e : new TreeMap<>(m.getStageDurations()).entrySet()) {
+        histogram(out, "jopt_stage_duration_seconds", m, e.getKey(), e.getValue());
+      }
+    }
+  }
+
+  /**
+   * Writes all metrics in the Prometheus text format.
+   *
+   * @return the text
+   */
+  public String scrape() {
+
+    StringBuilder sb = new StringBuilder(4096);
+
+    try {
+      writeTo(sb);
+    } catch (IOException e) {
+      // A StringBuilder does not throw
+      throw new UncheckedIOException(e);
+    }
+
+    return sb.toString();
+  }
+
+  /*
+   * Text format
+   */
+
+  private static void gauge(
+      Appendable out,
+      Collection<OptimizationMetrics> all,
+      String name,
+      String help,
+      ToDoubleFunction<OptimizationMetrics> value)
+      throws IOException {
+
+    header(out, name, "gauge", help);
+
+    for (OptimizationMetrics m : all) {
+      sample(out, name, m, null, null, value.applyAsDouble(m));
+    }
+  }
+
+  private static void counter(
+      Appendable out,
+      Collection<OptimizationMetrics> all,
+      String name,
+      String help,
+      ToDoubleFunction<OptimizationMetrics> value)
+      throws IOException {
+
+    header(out, name, "counter", help);
+
+    for (OptimizationMetrics m : all) {
+      sample(out, name, m, null, null, value.applyAsDouble(m));
+    }
+  }
+
+  private static void byCode(
+      Appendable out, String name, OptimizationMetrics m, Map<String, LongAdder> countsByCode)
+      throws IOException {
+
+    for (Map.Entry<String, LongAdder> e : new TreeMap<>(countsByCode).entrySet()) {
+      sample(out, name, m, "code", e.getKey(), e.getValue().sum());
+    }
+  }
+
+  private static void histogram(
+      Appendable out, String name, OptimizationMetrics m, String stage, Histogram histogram)
+      throws IOException {
+
+    double[] upperBounds = histogram.getUpperBounds();
+    long count = histogram.getCount();
+
+    for (int ii = 0; ii < upperBounds.length; ii++) {
+      bucket(out, name, m, stage, format(upperBounds[ii]), histogram.getCumulativeCount(ii));
+    }
+
+    bucket(out, name, m, stage, "+Inf", count);
+
+    sample(out, name + "_sum", m, "stage", stage, histogram.getSum());
+    sample(out, name + "_count", m, "stage", stage, count);
+  }
+
+  private static void bucket(
+      Appendable out, String name, OptimizationMetrics m, String stage, String le, long count)
+      throws IOException {
+
+    out.append(name).append("_bucket{optimization=\"");
+    escape(out, m.getOptimizationId());
+    out.append("\",stage=\"");
+    escape(out, stage);
+    out.append("\",le=\"").append(le).append("\"} ").append(Long.toString(count)).append('\n');
+  }
+
+  private static void header(Appendable out, String name, String type, String help)
+      throws IOException {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(
+      Appendable out,
+      String name,
+      OptimizationMetrics m,
+      String labelName,
+      String labelValue,
+      double value)
+      throws IOException {
+
+    out.append(name).append("{optimization=\"");
+    escape(out, m.getOptimizationId());
+
+    if (labelName != null) {
+      out.append("\",").append(labelName).append("=\"");
+      escape(out, labelValue);
+    }
+
+    out.append("\"} ").append(format(value)).append('\n');
+  }
+
+  private static void escape(Appendable out, String labelValue) throws IOException {
+
+    for (int ii = 0; ii < labelValue.length(); ii++) {
+
+      char c = labelValue.charAt(ii);
+
+      switch (c) {
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        default:
+          out.append(c);
+      }
+    }
+  }
+
+  private static String format(double value) {
+
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+
+    if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+
+    return Double.toString(value);
+  }
+}
@@ -0,0 +1,314 @@
+package com.dna.jopt.touroptimizer.java.examples.util.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+import com.dna.jopt.touroptimizer.java.examples.util.progressparser.ParsedProgress;
+
+/**
+ * The Class OptimizationMetrics collects the counters, gauges and histograms of one optimization
+ * from its event subjects. Instances are created by {@link MetricsRegistry#register(String,
+ * IOptimization)} and exported in the Prometheus text format.
+ *
+ * <p>A stage is the part of the run reported by one caller id of the progress events, e.g. the
+ * pre-optimization or the genetic phase. A stage ends when the caller id changes or the
+ * optimization is finished.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class OptimizationMetrics {
+
+  /** The upper bounds of the stage duration histogram buckets in seconds. */
+  static final double[] STAGE_DURATION_BUCKETS = {1, 5, 10, 30, 60, 120, 300, 600, 1800, 3600};
+
+  /** The optimization id. */
+  private final String optimizationId;
+
+  /** The time the metrics were registered at. */
+  private final long startMillis = System.currentTimeMillis();
+
+  /*
+   * Gauges, written by the progress subscription, read by the exporter
+   */
+
+  private volatile double progress;
+  private volatile double progressRate;
+  private volatile double cost = Double.NaN;
+  private volatile double utilization;
+  private volatile double distanceMeter;
+  private volatile int routeCount;
+  private volatile int elementsCount;
+  private volatile long lastProgressMillis;
+  private volatile String stage;
+  private volatile boolean finished;
+
+  /*
+   * Counters
+   */
+
+  private final LongAdder progressEvents = new LongAdder();
+  private final LongAdder statusEvents = new LongAdder();
+  private final ConcurrentMap<String, LongAdder> warningsByCode = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> errorsByCode = new ConcurrentHashMap<>();
+
+  /** The stage duration histograms by stage. */
+  private final ConcurrentMap<String, Histogram> stageDurations = new ConcurrentHashMap<>();
+
+  /*
+   * Stage tracking, guarded by this
+   */
+
+  private long stageStartMillis;
+  private double rateStartProgress;
+  private long rateStartMillis;
+
+  /**
+   * Instantiates new optimization metrics.
+   *
+   * @param optimizationId the optimization id, used as label value
+   */
+  OptimizationMetrics(String optimizationId) {
+    this.optimizationId = optimizationId;
+  }
+
+  /**
+   * Gets the optimization id.
+   *
+   * @return the optimization id
+   */
+  public String getOptimizationId() {
+    return this.optimizationId;
+  }
+
+  /**
+   * Subscribes to the progress, status, warning and error subjects of an optimization.
+   *
+   * @param opti the optimization
+   */
+  void attach(IOptimization opti) {
+
+    opti.getOptimizationEvents().progressSubject().subscribe(this::onProgress);
+
+    opti.getOptimizationEvents()
+        .statusSubject()
+        .subscribe(s -> this.statusEvents.increment());
+
+    opti.getOptimizationEvents()
+        .warningSubject()
+        .subscribe(w -> onWarning(String.valueOf(w.getCode())));
+
+    opti.getOptimizationEvents()
+        .errorSubject()
+        .subscribe(e -> onError(String.valueOf(e.getCode())));
+  }
+
+  /**
+   * Updates the gauges from a progress event.
+   *
+   * @param p the optimization progress
+   */
+  public synchronized void onProgress(IOptimizationProgress p) {
+
+    ParsedProgress pp = new ParsedProgress(p);
+
+    long nowMillis = System.currentTimeMillis();
+    String callerId = pp.getCallerId();
+
+    if (this.stage == null || !this.stage.equals(callerId)) {
+      endStage(nowMillis);
+
+      this.stage = callerId;
+      this.stageStartMillis = nowMillis;
+      this.rateStartProgress = pp.getProgress();
+      this.rateStartMillis = nowMillis;
+      this.progressRate = 0.0;
+    } else if (nowMillis - this.rateStartMillis >= 1000) {
+      // Averaged over at least one second, progress events can be much more frequent
+      this.progressRate =
+          (pp.getProgress() - this.rateStartProgress) * 1000.0 / (nowMillis - this.rateStartMillis);
+      this.rateStartProgress = pp.getProgress();
+      this.rateStartMillis = nowMillis;
+    }
+
+    this.progress = pp.getProgress();
+    this.cost = pp.getCost();
+    this.utilization = pp.getUtilization();
+    this.distanceMeter = p.getResultEntity().getJoinedDetailController().getCurDistance();
+    this.routeCount = pp.getRouteCount();
+    this.elementsCount = pp.getElementsCount();
+    this.lastProgressMillis = nowMillis;
+
+    this.progressEvents.increment();
+  }
+
+  /**
+   * Counts a warning.
+   *
+   * @param code the warning code
+   */
+  public void onWarning(String code) {
+    this.warningsByCode.computeIfAbsent(code, c -> new LongAdder()).increment();
+  }
+
+  /**
+   * Counts an error.
+   *
+   * @param code the error code
+   */
+  public void onError(String code) {
+    this.errorsByCode.computeIfAbsent(code, c -> new LongAdder()).increment();
+  }
+
+  /** Ends the current stage, e.g. when the result of the optimization is available. */
+  public synchronized void markFinished() {
+
+    if (!this.finished) {
+      endStage(System.currentTimeMillis());
+      this.finished = true;
+    }
+  }
+
+  private void endStage(long nowMillis) {
+
+    if (this.stage != null) {
+      this.stageDurations
+          .computeIfAbsent(this.stage, s -> new Histogram(STAGE_DURATION_BUCKETS))
+          .observe((nowMillis - this.stageStartMillis) / 1000.0);
+    }
+  }
+
+  /*
+   * Read access for the exporter
+   */
+
+  boolean isFinished() {
+    return this.finished;
+  }
+
+  double getProgress() {
+    return this.progress;
+  }
+
+  double getProgressRate() {
+    return this.finished ? 0.0 : this.progressRate;
+  }
+
+  double getCost() {
+    return this.cost;
+  }
+
+  double getUtilization() {
+    return this.utilization;
+  }
+
+  double getDistanceMeter() {
+    return this.distanceMeter;
+  }
+
+  int getRouteCount() {
+    return this.routeCount;
+  }
+
+  int getElementsCount() {
+    return this.elementsCount;
+  }
+
+  String getStage() {
+    return this.stage;
+  }
+
+  double getRuntimeSeconds() {
+    return (System.currentTimeMillis() - this.startMillis) / 1000.0;
+  }
+
+  double getSecondsSinceLastProgress() {
+
+    long lastMillis = this.lastProgressMillis > 0 ? this.lastProgressMillis : this.startMillis;
+
+    return (System.currentTimeMillis() - lastMillis) / 1000.0;
+  }
+
+  long getProgressEvents() {
+    return this.progressEvents.sum();
+  }
+
+  long getStatusEvents() {
+    return this.statusEvents.sum();
+  }
+
+  Map<String, LongAdder> getWarningsByCode() {
+    return this.warningsByCode;
+  }
+
+  Map<String, LongAdder> getErrorsByCode() {
+    return this.errorsByCode;
+  }
+
+  Map<String, Histogram> getStageDurations() {
+    return this.stageDurations;
+  }
+
+  /** A histogram with fixed buckets. */
+  static final class Histogram {
+
+    private final double[] upperBounds;
+    private final AtomicLongArray counts;
+    private final DoubleAdder sum = new DoubleAdder();
+    private final LongAdder count = new LongAdder();
+
+    Histogram(double[] upperBounds) {
+      this.upperBounds = upperBounds;
+      this.counts = new AtomicLongArray(upperBounds.length);
+    }
+
+    void observe(double value) {
+
+      for (int ii = 0; ii < this.upperBounds.length; ii++) {
+        if (value <= this.upperBounds[ii]) {
+          this.counts.incrementAndGet(ii);
+          break;
+        }
+      }
+
+      this.sum.add(value);
+      this.count.increment();
+    }
+
+    double[] getUpperBounds() {
+      return this.upperBounds;
+    }
+
+    /**
+     * Gets the cumulative count of a bucket, as required by the Prometheus text format.
+     *
+     * @param bucket the bucket
+     * @return the cumulative count
+     */
+    long getCumulativeCount(int bucket) {
+
+      long cumulative = 0;
+
+      for (int ii = 0; ii <= bucket; ii++) {
+        cumulative += this.counts.get(ii);
+      }
+
+      return cumulative;
+    }
+
+    double getSum() {
+      return this.sum.sum();
+    }
+
+    long getCount() {
+      return this.count.sum();
+    }
+  }
+}
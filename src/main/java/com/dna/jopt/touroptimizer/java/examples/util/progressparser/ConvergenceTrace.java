@@ -0,0 +1,475 @@
+package com.dna.jopt.touroptimizer.java.examples.util.progressparser;
+
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.CALLER_ID;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.CALLER_IDS_OFFSET;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.CALLER_ID_COUNT_OFFSET;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.COST;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.DISTANCE;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.ELAPSED;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.PROGRESS;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.RECORDS_OFFSET;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.RECORD_BYTES;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.RECORD_COUNT_OFFSET;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.ROUTE_COUNT;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.STAGE;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.TIME;
+import static com.dna.jopt.touroptimizer.java.examples.util.progressparser.ConvergenceTraceRecorder.UTILIZATION;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Class ConvergenceTrace replays a trace file written by {@link ConvergenceTraceRecorder}. The
+ * records are mapped read-only and accessed by index, nothing is copied onto the heap.
+ *
+ * <p>Besides plain replay, a trace answers the questions needed to compare runs, e.g. of different
+ * optimization properties: the cost at a given time, the time needed to reach a given cost, and
+ * the cost resampled on a fixed time grid. {@link #compare(Map, long, Appendable)} writes the
+ * resampled costs of several traces side by side as CSV.
+ *
+ * <p>A trace can be opened while it is still recorded. It contains the records written up to
+ * opening.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ConvergenceTrace {
+
+  /** The mapped records. */
+  private final MappedByteBuffer records;
+
+  /** The number of records. */
+  private final int size;
+
+  /** The wall clock time of the first record. */
+  private final long startEpochMillis;
+
+  /** The caller ids by index. */
+  private final String[] callerIds;
+
+  private ConvergenceTrace(
+      MappedByteBuffer records, int size, long startEpochMillis, String[] callerIds) {
+    this.records = records;
+    this.size = size;
+    this.startEpochMillis = startEpochMillis;
+    this.callerIds = callerIds;
+  }
+
+  /**
+   * Opens a trace file.
+   *
+   * @param file the file
+   * @return the convergence trace
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static ConvergenceTrace open(Path file) throws IOException {
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+      if (channel.size() < RECORDS_OFFSET) {
+        throw new IOException("Not a convergence trace file: " + file);
+      }
+
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, RECORDS_OFFSET);
+      header.order(ByteOrder.LITTLE_ENDIAN);
+
+      if (header.getInt(0) != ConvergenceTraceRecorder.MAGIC) {
+        throw new IOException("Not a convergence trace file: " + file);
+      }
+
+      int version = header.getInt(4);
+
+      if (version != ConvergenceTraceRecorder.VERSION) {
+        throw new IOException("Unsupported convergence trace version " + version + ": " + file);
+      }
+
+      if (header.getInt(8) != RECORD_BYTES) {
+        throw new IOException("Invalid convergence trace record length: " + file);
+      }
+
+      long startEpochMillis = header.getLong(16);
+      long recordCount = header.getLong(RECORD_COUNT_OFFSET);
+
+      if (recordCount < 0 || recordCount > (Integer.MAX_VALUE - RECORDS_OFFSET) / RECORD_BYTES) {
+        throw new IOException(
+            "Invalid convergence trace record count " + recordCount + ": " + file);
+      }
+
+      if (channel.size() < RECORDS_OFFSET + recordCount * RECORD_BYTES) {
+        throw new IOException("Truncated convergence trace file: " + file);
+      }
+
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer records =
+          channel.map(
+              FileChannel.MapMode.READ_ONLY, RECORDS_OFFSET, recordCount * RECORD_BYTES);
+      records.order(ByteOrder.LITTLE_ENDIAN);
+
+      return new ConvergenceTrace(
+          records, (int) recordCount, startEpochMillis, readCallerIds(header, file));
+    }
+  }
+
+  private static String[] readCallerIds(MappedByteBuffer header, Path file) throws IOException {
+
+    int count = header.getInt(CALLER_ID_COUNT_OFFSET);
+
+    if (count < 0 || count > (RECORDS_OFFSET - CALLER_IDS_OFFSET) / Short.BYTES) {
+      throw new IOException("Invalid convergence trace caller id count " + count + ": " + file);
+    }
+
+    String[] ids = new String[count];
+    int position = CALLER_IDS_OFFSET;
+
+    for (int ii = 0; ii < count; ii++) {
+
+      int length = header.getShort(position);
+
+      if (length < 0 || position + Short.BYTES + length > RECORDS_OFFSET) {
+        throw new IOException("Invalid convergence trace caller id table: " + file);
+      }
+
+      byte[] bytes = new byte[length];
+      header.get(position + Short.BYTES, bytes);
+
+      ids[ii] = new String(bytes, StandardCharsets.UTF_8);
+      position += Short.BYTES + length;
+    }
+
+    return ids;
+  }
+
+  /*
+   * Replay
+   */
+
+  /**
+   * Gets the number of records.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the wall clock time of the start of the recording.
+   *
+   * @return the start epoch millis
+   */
+  public long getStartEpochMillis() {
+    return this.startEpochMillis;
+  }
+
+  /**
+   * Gets the time of the last record since the start of the recording.
+   *
+   * @return the duration millis, or 0 if the trace is empty
+   */
+  public long getDurationMillis() {
+    return this.size > 0 ? getElapsedMillis(this.size - 1) : 0L;
+  }
+
+  /**
+   * Gets the time of a record since the start of the recording.
+   *
+   * @param index the index
+   * @return the elapsed millis
+   */
+  public long getElapsedMillis(int index) {
+    return this.records.getLong(offset(index) + ELAPSED);
+  }
+
+  /**
+   * Gets the stage of a record, incremented whenever the caller id changes.
+   *
+   * @param index the index
+   * @return the stage
+   */
+  public int getStage(int index) {
+    return this.records.getInt(offset(index) + STAGE);
+  }
+
+  /**
+   * Gets the caller id of a record.
+   *
+   * @param index the index
+   * @return the caller id, or null if it did not fit into the caller id table
+   */
+  public String getCallerId(int index) {
+
+    int callerIdIndex = this.records.getInt(offset(index) + CALLER_ID);
+
+    return callerIdIndex >= 0 && callerIdIndex < this.callerIds.length
+        ? this.callerIds[callerIdIndex]
+        : null;
+  }
+
+  /**
+   * Gets the progress of the stage at a record.
+   *
+   * @param index the index
+   * @return the progress
+   */
+  public double getProgress(int index) {
+    return this.records.getDouble(offset(index) + PROGRESS);
+  }
+
+  /**
+   * Gets the joined cost of a record.
+   *
+   * @param index the index
+   * @return the cost
+   */
+  public double getCost(int index) {
+    return this.records.getDouble(offset(index) + COST);
+  }
+
+  /**
+   * Gets the total distance of a record.
+   *
+   * @param index the index
+   * @return the distance meter
+   */
+  public double getDistanceMeter(int index) {
+    return this.records.getDouble(offset(index) + DISTANCE);
+  }
+
+  /**
+   * Gets the full route time excluding flex-time of a record.
+   *
+   * @param index the index
+   * @return the time millis
+   */
+  public long getTimeMillis(int index) {
+    return this.records.getLong(offset(index) + TIME);
+  }
+
+  /**
+   * Gets the utilization of a record.
+   *
+   * @param index the index
+   * @return the utilization
+   */
+  public double getUtilization(int index) {
+    return this.records.getDouble(offset(index) + UTILIZATION);
+  }
+
+  /**
+   * Gets the route count of a record.
+   *
+   * @param index the index
+   * @return the route count
+   */
+  public int getRouteCount(int index) {
+    return this.records.getInt(offset(index) + ROUTE_COUNT);
+  }
+
+  private int offset(int index) {
+
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Record " + index + " of " + this.size);
+    }
+
+    return index * RECORD_BYTES;
+  }
+
+  /*
+   * Analysis
+   */
+
+  /**
+   * Gets the index of the latest record at a time.
+   *
+   * @param elapsedMillis the time since the start of the recording
+   * @return the index, or -1 if there is no record up to this time
+   */
+  public int indexAt(long elapsedMillis) {
+
+    // Elapsed times are non-decreasing, find the last record not after the time
+    int low = 0;
+    int high = this.size - 1;
+    int found = -1;
+
+    while (low <= high) {
+
+      int mid = (low + high) >>> 1;
+
+      if (getElapsedMillis(mid) <= elapsedMillis) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Gets the cost of the latest record at a time.
+   *
+   * @param elapsedMillis the time since the start of the recording
+   * @return the cost, or NaN if there is no record up to this time
+   */
+  public double getCostAt(long elapsedMillis) {
+
+    int index = indexAt(elapsedMillis);
+
+    return index >= 0 ? getCost(index) : Double.NaN;
+  }
+
+  /**
+   * Gets the time at which the cost first reached a target.
+   *
+   * @param targetCost the target cost
+   * @return the elapsed millis, or -1 if the target was never reached
+   */
+  public long getElapsedMillisToReach(double targetCost) {
+
+    for (int ii = 0; ii < this.size; ii++) {
+      if (getCost(ii) <= targetCost) {
+        return getElapsedMillis(ii);
+      }
+    }
+
+    return -1L;
+  }
+
+  /**
+   * Gets the lowest cost of all records.
+   *
+   * @return the best cost, or NaN if the trace is empty
+   */
+  public double getBestCost() {
+
+    double best = Double.NaN;
+
+    for (int ii = 0; ii < this.size; ii++) {
+
+      double cost = getCost(ii);
+
+      if (Double.isNaN(best) || cost < best) {
+        best = cost;
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Resamples the cost on a fixed time grid, from 0 to the duration of the trace.
+   *
+   * @param stepMillis the step
+   * @return the cost at 0, step, 2 * step, ..., NaN before the first record
+   */
+  public double[] resampleCost(long stepMillis) {
+
+    if (stepMillis <= 0) {
+      throw new IllegalArgumentException("Invalid step: " + stepMillis);
+    }
+
+    double[] costs = new double[(int) (getDurationMillis() / stepMillis) + 1];
+
+    // One pass, as the grid and the records are both ordered by time
+    int index = -1;
+
+    for (int ii = 0; ii < costs.length; ii++) {
+
+      long elapsedMillis = ii * stepMillis;
+
+      while (index + 1 < this.size && getElapsedMillis(index + 1) <= elapsedMillis) {
+        index++;
+      }
+
+      costs[ii] = index >= 0 ? getCost(index) : Double.NaN;
+    }
+
+    return costs;
+  }
+
+  /**
+   * Writes all records as CSV.
+   *
+   * @param out the output
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public void writeCsv(Appendable out) throws IOException {
+
+    out.append("elapsedMillis,stage,callerId,progress,cost,distanceMeter,timeMillis,"
+        + "utilization,routeCount\n");
+
+    for (int ii = 0; ii < this.size; ii++) {
+
+      String callerId = getCallerId(ii);
+
+      out.append(Long.toString(getElapsedMillis(ii))).append(',');
+      out.append(Integer.toString(getStage(ii))).append(',');
+      out.append(callerId != null ? callerId.replace(',', ';') : "").append(',');
+      out.append(Double.toString(getProgress(ii))).append(',');
+      out.append(Double.toString(getCost(ii))).append(',');
+      out.append(Double.toString(getDistanceMeter(ii))).append(',');
+      out.append(Long.toString(getTimeMillis(ii))).append(',');
+      out.append(Double.toString(getUtilization(ii))).append(',');
+      out.append(Integer.toString(getRouteCount(ii))).append('\n');
+    }
+  }
+
+  /**
+   * Compares the convergence of several traces. Writes one CSV row per time step with the cost of
+   * every trace. After the end of a trace, its final cost is repeated, so that the columns of
+   * shorter runs stay comparable.
+   *
+   * @param traces the traces by name, the names are used as column headers
+   * @param stepMillis the step
+   * @param out the output
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static void compare(Map<String, ConvergenceTrace> traces, long stepMillis, Appendable out)
+      throws IOException {
+
+    List<double[]> columns = new ArrayList<>();
+    int rows = 0;
+
+    out.append("elapsedMillis");
+
+    for (Map.Entry<String, ConvergenceTrace> e : traces.entrySet()) {
+
+      double[] costs = e.getValue().resampleCost(stepMillis);
+
+      columns.add(costs);
+      rows = Math.max(rows, costs.length);
+
+      out.append(',').append(e.getKey().replace(',', ';'));
+    }
+
+    out.append('\n');
+
+    for (int row = 0; row < rows; row++) {
+
+      out.append(Long.toString(row * stepMillis));
+
+      for (double[] costs : columns) {
+
+        double cost = costs[Math.min(row, costs.length - 1)];
+
+        out.append(',');
+
+        if (!Double.isNaN(cost)) {
+          out.append(Double.toString(cost));
+        }
+      }
+
+      out.append('\n');
+    }
+  }
+}
@@ -0,0 +1,316 @@
+package com.dna.jopt.touroptimizer.java.examples.util.progressparser;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+import com.dna.jopt.member.bucket.entity.IEntity;
+
+/**
+ * The Class ConvergenceTraceRecorder appends every progress event of an optimization as fixed-width
+ * record to a memory-mapped trace file. A record is written with a few absolute puts into the
+ * mapped buffer, no string is built and nothing is flushed per event, so recording can stay on in
+ * production. The file is read with {@link ConvergenceTrace}.
+ *
+ * <p>File layout (little endian):
+ *
+ * <pre>
+ * header        int magic ("JCTR"), int version, int recordBytes, int callerIdCount,
+ *               long startEpochMillis, long recordCount, padded to 64 bytes
+ * caller ids    callerIdCount x (short byteLength, UTF-8 bytes), up to 4032 bytes
+ * records       recordCount x 64 bytes, starting at offset 4096:
+ *               long elapsedMillis, int stage, int callerIdIndex, double progress, double cost,
+ *               double distanceMeter, long timeMillis, double utilization, int routeCount,
+ *               int reserved
+ * </pre>
+ *
+ * <p>The stage starts at 0 and is incremented whenever the caller id changes. The record count is
+ * updated after each record, so a file of a crashed JVM can still be read up to the last complete
+ * record. The file grows in chunks of 1 MiB and is not truncated on close.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ConvergenceTraceRecorder implements AutoCloseable {
+
+  /** The magic number of a trace file ("JCTR"). */
+  public static final int MAGIC = 0x4A435452;
+
+  /** The current file format version. */
+  public static final int VERSION = 1;
+
+  /** The offset of the first record, the header and the caller id table. */
+  static final int RECORDS_OFFSET = 4096;
+
+  /** The offset of the caller id table. */
+  static final int CALLER_IDS_OFFSET = 64;
+
+  /** The offset of the caller id count in the header. */
+  static final int CALLER_ID_COUNT_OFFSET = 12;
+
+  /** The offset of the record count in the header. */
+  static final int RECORD_COUNT_OFFSET = 24;
+
+  /** The record length in bytes. */
+  static final int RECORD_BYTES = 64;
+
+  /*
+   * The field offsets within a record
+   */
+
+  static final int ELAPSED = 0;
+  static final int STAGE = 8;
+  static final int CALLER_ID = 12;
+  static final int PROGRESS = 16;
+  static final int COST = 24;
+  static final int DISTANCE = 32;
+  static final int TIME = 40;
+  static final int UTILIZATION = 48;
+  static final int ROUTE_COUNT = 56;
+
+  /** The records mapped at once. */
+  private static final int CHUNK_RECORDS = 16384;
+
+  /** The channel. */
+  private final FileChannel channel;
+
+  /** The mapped header and caller id table. */
+  private final MappedByteBuffer header;
+
+  /** The wall clock time of the first record. */
+  private final long startEpochMillis;
+
+  /** The caller id indexes. */
+  private final Map<String, Integer> callerIdIndexes = new HashMap<>();
+
+  /** The mapped chunk records are currently written to. */
+  private MappedByteBuffer chunk;
+
+  /** The number of records written. */
+  private long recordCount;
+
+  /** The write position of the next caller id. */
+  private int callerIdPosition = CALLER_IDS_OFFSET;
+
+  /** The latest caller id. */
+  private String callerId;
+
+  /** The current stage. */
+  private int stage = -1;
+
+  private boolean closed;
+
+  private ConvergenceTraceRecorder(FileChannel channel) throws IOException {
+
+    this.channel = channel;
+    this.startEpochMillis = System.currentTimeMillis();
+
+    this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, RECORDS_OFFSET);
+    this.header.order(ByteOrder.LITTLE_ENDIAN);
+
+    this.header.putInt(0, MAGIC);
+    this.header.putInt(4, VERSION);
+    this.header.putInt(8, RECORD_BYTES);
+    this.header.putInt(CALLER_ID_COUNT_OFFSET, 0);
+    this.header.putLong(16, this.startEpochMillis);
+    this.header.putLong(RECORD_COUNT_OFFSET, 0L);
+  }
+
+  /**
+   * Creates a trace file, an existing file is replaced.
+   *
+   * @param file the file
+   * @return the convergence trace recorder
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static ConvergenceTraceRecorder create(Path file) throws IOException {
+
+    FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+    try {
+      return new ConvergenceTraceRecorder(channel);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Subscribes to the progress subject of an optimization.
+   *
+   * @param opti the optimization
+   */
+  public void attach(IOptimization opti) {
+    opti.getOptimizationEvents().progressSubject().subscribe(this::record);
+  }
+
+  /**
+   * Records a progress event. Events after {@link #close()} are ignored.
+   *
+   * @param p the optimization progress
+   */
+  public void record(IOptimizationProgress p) {
+
+    IEntity winner = p.getResultEntity();
+    var details = winner.getJoinedDetailController();
+
+    long productiveTimeMillis = details.getCurProductiveTime();
+    long timeMillis =
+        details.getCurTransitTime() + details.getCurIdleTime() + productiveTimeMillis;
+
+    record(
+        p.getCallerId(),
+        p.getProgress(),
+        winner.getJoinedCost(),
+        details.getCurDistance(),
+        timeMillis,
+        timeMillis > 0 ? (double) productiveTimeMillis / timeMillis : 0.0,
+        winner.getRouteCount());
+  }
+
+  /**
+   * Records a progress event. Events after {@link #close()} are ignored.
+   *
+   * @param callerId the caller id
+   * @param progress the progress of the stage
+   * @param cost the joined cost
+   * @param distanceMeter the total distance
+   * @param timeMillis the full route time excluding flex-time, see {@link ParsedProgress#getTime()}
+   * @param utilization the utilization, see {@link ParsedProgress#getUtilization()}
+   * @param routeCount the route count
+   */
+  public synchronized void record(
+      String callerId,
+      double progress,
+      double cost,
+      double distanceMeter,
+      long timeMillis,
+      double utilization,
+      int routeCount) {
+
+    if (this.closed) {
+      return;
+    }
+
+    try {
+      if (this.chunk == null || !this.chunk.hasRemaining()) {
+        mapNextChunk();
+      }
+    } catch (IOException e) {
+      // Recording must never break the optimization, the trace ends here
+      this.closed = true;
+      return;
+    }
+
+    if (this.stage < 0 || !Objects.equals(this.callerId, callerId)) {
+      this.stage++;
+      this.callerId = callerId;
+    }
+
+    MappedByteBuffer c = this.chunk;
+    int base = c.position();
+
+    c.putLong(base + ELAPSED, System.currentTimeMillis() - this.startEpochMillis);
+    c.putInt(base + STAGE, this.stage);
+    c.putInt(base + CALLER_ID, callerIdIndexOf(callerId));
+    c.putDouble(base + PROGRESS, progress);
+    c.putDouble(base + COST, cost);
+    c.putDouble(base + DISTANCE, distanceMeter);
+    c.putLong(base + TIME, timeMillis);
+    c.putDouble(base + UTILIZATION, utilization);
+    c.putInt(base + ROUTE_COUNT, routeCount);
+    c.position(base + RECORD_BYTES);
+
+    this.recordCount++;
+    this.header.putLong(RECORD_COUNT_OFFSET, this.recordCount);
+  }
+
+  /**
+   * Gets the number of records written.
+   *
+   * @return the record count
+   */
+  public synchronized long getRecordCount() {
+    return this.recordCount;
+  }
+
+  private void mapNextChunk() throws IOException {
+
+    // A full chunk is never written again, close only reaches the current one
+    if (this.chunk != null) {
+      this.chunk.force();
+    }
+
+    long offset = RECORDS_OFFSET + this.recordCount * RECORD_BYTES;
+
+    this.chunk =
+        this.channel.map(
+            FileChannel.MapMode.READ_WRITE, offset, (long) CHUNK_RECORDS * RECORD_BYTES);
+    this.chunk.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private int callerIdIndexOf(String callerId) {
+
+    String key = callerId == null ? "" : callerId;
+    Integer index = this.callerIdIndexes.get(key);
+
+    if (index != null) {
+      return index;
+    }
+
+    byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+
+    if (bytes.length > Short.MAX_VALUE
+        || this.callerIdPosition + Short.BYTES + bytes.length > RECORDS_OFFSET) {
+      return -1;
+    }
+
+    this.header.putShort(this.callerIdPosition, (short) bytes.length);
+    this.header.put(this.callerIdPosition + Short.BYTES, bytes);
+    this.callerIdPosition += Short.BYTES + bytes.length;
+
+    index = this.callerIdIndexes.size();
+    this.callerIdIndexes.put(key, index);
+    this.header.putInt(CALLER_ID_COUNT_OFFSET, this.callerIdIndexes.size());
+
+    return index;
+  }
+
+  /**
+   * Forces the records to the storage device and closes the file.
+   *
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+
+    if (this.closed && !this.channel.isOpen()) {
+      return;
+    }
+
+    this.closed = true;
+
+    if (this.chunk != null) {
+      this.chunk.force();
+    }
+
+    this.header.force();
+    this.channel.close();
+  }
+}
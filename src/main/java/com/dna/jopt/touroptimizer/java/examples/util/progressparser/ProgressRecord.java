@@ -0,0 +1,267 @@
+package com.dna.jopt.touroptimizer.java.examples.util.progressparser;
+
+/**
+ * The Class ProgressRecord holds the key figures of one progress event in primitive fields. Unlike
+ * {@link ParsedProgress}, a record is meant to be reused: {@link ProgressRingBuffer} copies events
+ * into records provided by the reader, so reading progress does not allocate.
+ *
+ * <p>Times are in millis, distances in meter. The caller id is stored as index, see {@link
+ * ProgressRingBuffer#getCallerId(int)}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ProgressRecord {
+
+  /** The sequence of the record in its ring buffer. */
+  long sequence;
+
+  /** The wall clock time the event was written at. */
+  long timestampMillis;
+
+  /** The progress of the currently running algorithm. */
+  double progress;
+
+  /** The index of the caller id. */
+  int callerIdIndex;
+
+  /** The total abstract cost of the solution. */
+  double cost;
+
+  /** The number of Routes. */
+  int routeCount;
+
+  /** The number of optimizable Elements. */
+  int optimizableElementsCount;
+
+  /** The total transit time of all Routes. */
+  long transitTimeMillis;
+
+  /** The total idle time of all Routes. */
+  long idleTimeMillis;
+
+  /** The total productive time of all Routes. */
+  long productiveTimeMillis;
+
+  /** The total flex-time of all Routes. */
+  long flexTimeMillis;
+
+  /** The total termination transit time of all Routes. */
+  long terminationTransitTimeMillis;
+
+  /** The total distance of all Routes. */
+  double distanceMeter;
+
+  /** The total termination transit distance of all Routes. */
+  double terminationTransitDistanceMeter;
+
+  /**
+   * Copies all values from another record.
+   *
+   * @param other the other record
+   */
+  public void copyFrom(ProgressRecord other) {
+    this.sequence = other.sequence;
+    this.timestampMillis = other.timestampMillis;
+    this.progress = other.progress;
+    this.callerIdIndex = other.callerIdIndex;
+    this.cost = other.cost;
+    this.routeCount = other.routeCount;
+    this.optimizableElementsCount = other.optimizableElementsCount;
+    this.transitTimeMillis = other.transitTimeMillis;
+    this.idleTimeMillis = other.idleTimeMillis;
+    this.productiveTimeMillis = other.productiveTimeMillis;
+    this.flexTimeMillis = other.flexTimeMillis;
+    this.terminationTransitTimeMillis = other.terminationTransitTimeMillis;
+    this.distanceMeter = other.distanceMeter;
+    this.terminationTransitDistanceMeter = other.terminationTransitDistanceMeter;
+  }
+
+  /**
+   * Gets the sequence of the record in its ring buffer, starting at 0.
+   *
+   * @return the sequence
+   */
+  public long getSequence() {
+    return this.sequence;
+  }
+
+  /**
+   * Gets the wall clock time the event was written at.
+   *
+   * @return the timestamp millis
+   */
+  public long getTimestampMillis() {
+    return this.timestampMillis;
+  }
+
+  /**
+   * Gets the progress of the currently running algorithm.
+   *
+   * @return the progress
+   */
+  public double getProgress() {
+    return this.progress;
+  }
+
+  /**
+   * Gets the index of the caller id.
+   *
+   * @return the caller id index
+   */
+  public int getCallerIdIndex() {
+    return this.callerIdIndex;
+  }
+
+  /**
+   * Gets the current total abstract cost of the solution.
+   *
+   * @return the cost
+   */
+  public double getCost() {
+    return this.cost;
+  }
+
+  /**
+   * Gets the number of Routes of the solution.
+   *
+   * @return the route count
+   */
+  public int getRouteCount() {
+    return this.routeCount;
+  }
+
+  /**
+   * Gets the optimizable Elements count.
+   *
+   * @return the optimizable Elements count
+   */
+  public int getOptimizableElementsCount() {
+    return this.optimizableElementsCount;
+  }
+
+  /**
+   * Gets the Elements count (e.g. Resources + optimizable Elements).
+   *
+   * @return the elements count
+   */
+  public int getElementsCount() {
+    return this.optimizableElementsCount + this.routeCount;
+  }
+
+  /**
+   * Gets the full time needed by all Routes, excluding flex-time.
+   *
+   * @return the time millis
+   */
+  public long getTimeMillis() {
+    return this.transitTimeMillis + this.idleTimeMillis + this.productiveTimeMillis;
+  }
+
+  /**
+   * Gets the average utilization of Resource of all Routes.
+   *
+   * @return the utilization
+   */
+  public double getUtilization() {
+
+    long timeMillis = getTimeMillis();
+
+    return timeMillis > 0 ? (double) this.productiveTimeMillis / timeMillis : 0.0;
+  }
+
+  /**
+   * Gets the total transit time of all Routes.
+   *
+   * @return the transit time millis
+   */
+  public long getTransitTimeMillis() {
+    return this.transitTimeMillis;
+  }
+
+  /**
+   * Gets the total idle time of all Routes.
+   *
+   * @return the idle time millis
+   */
+  public long getIdleTimeMillis() {
+    return this.idleTimeMillis;
+  }
+
+  /**
+   * Gets the total productive time of all Routes.
+   *
+   * @return the productive time millis
+   */
+  public long getProductiveTimeMillis() {
+    return this.productiveTimeMillis;
+  }
+
+  /**
+   * Gets the total flex-time of all Routes.
+   *
+   * @return the flex time millis
+   */
+  public long getFlexTimeMillis() {
+    return this.flexTimeMillis;
+  }
+
+  /**
+   * Gets the total termination transit time of all Routes.
+   *
+   * @return the termination transit time millis
+   */
+  public long getTerminationTransitTimeMillis() {
+    return this.terminationTransitTimeMillis;
+  }
+
+  /**
+   * Gets the total distance of all Routes.
+   *
+   * @return the distance in meter
+   */
+  public double getDistanceMeter() {
+    return this.distanceMeter;
+  }
+
+  /**
+   * Gets the total termination transit distance of all Routes.
+   *
+   * @return the termination transit distance in meter
+   */
+  public double getTerminationTransitDistanceMeter() {
+    return this.terminationTransitDistanceMeter;
+  }
+
+  /**
+   * Appends the key figures in the format of {@code ReadOutFullProgressWithUtilExample}. Reusing
+   * the builder keeps printing free of temporary strings.
+   *
+   * @param sb the string builder
+   * @return the string builder
+   */
+  public StringBuilder appendTo(StringBuilder sb) {
+
+    sb.append("PC ").append(this.progress);
+    sb.append(", JC ").append(this.cost);
+    sb.append(", RC ").append(this.routeCount);
+    sb.append(", EC ").append(this.optimizableElementsCount);
+    sb.append(", TC ").append(getElementsCount());
+    sb.append(", TT[ms] ").append(getTimeMillis());
+    sb.append(", TT PROD[ms] ").append(this.productiveTimeMillis);
+    sb.append(", TT IDLE[ms] ").append(this.idleTimeMillis);
+    sb.append(", TT FLEX[ms] ").append(this.flexTimeMillis);
+    sb.append(", TT TRAN[ms] ").append(this.transitTimeMillis);
+    sb.append(", TT TTRAN[ms] ").append(this.terminationTransitTimeMillis);
+    sb.append(", TU[%] ").append((int) (getUtilization() * 100.0));
+    sb.append(", TD[m] ").append(this.distanceMeter);
+
+    return sb;
+  }
+
+  @Override
+  public String toString() {
+    return appendTo(new StringBuilder()).toString();
+  }
+}
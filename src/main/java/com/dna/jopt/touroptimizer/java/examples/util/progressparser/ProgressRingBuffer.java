@@ -0,0 +1,307 @@
+package com.dna.jopt.touroptimizer.java.examples.util.progressparser;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+import com.dna.jopt.member.bucket.entity.IEntity;
+
+/**
+ * The Class ProgressRingBuffer keeps the latest progress events of an optimization as {@link
+ * ProgressRecord}s in a preallocated ring of primitive slots. Writing and reading do not allocate,
+ * so progress can be monitored at a high frequency without adding GC pressure.
+ *
+ * <p>There is exactly one writer, usually the progress subscription:
+ *
+ * <pre>
+ * opti.getOptimizationEvents().progressSubject().subscribe(ring::write);
+ * </pre>
+ *
+ * <p>Any number of readers, e.g. a UI refresh or a metrics exporter, copy slots into their own
+ * records without locking. Every slot carries the sequence of its record. A reader validates the
+ * sequence before and after copying and retries or skips the slot if the writer overwrote it in
+ * between. Records older than the capacity are overwritten, readers never block the writer.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ProgressRingBuffer {
+
+  /** The version of a slot while it is written. */
+  private static final long WRITING = -1L;
+
+  /*
+   * The field offsets within a slot, doubles are stored as raw long bits
+   */
+
+  private static final int TIMESTAMP = 0;
+  private static final int PROGRESS = 1;
+  private static final int CALLER_ID = 2;
+  private static final int COST = 3;
+  private static final int ROUTE_COUNT = 4;
+  private static final int ELEMENT_COUNT = 5;
+  private static final int TRANSIT_TIME = 6;
+  private static final int IDLE_TIME = 7;
+  private static final int PRODUCTIVE_TIME = 8;
+  private static final int FLEX_TIME = 9;
+  private static final int TERMINATION_TRANSIT_TIME = 10;
+  private static final int DISTANCE = 11;
+  private static final int TERMINATION_TRANSIT_DISTANCE = 12;
+  private static final int FIELD_COUNT = 13;
+
+  /** The slot mask, the capacity is a power of two. */
+  private final int mask;
+
+  /** The fields of all slots. */
+  private final long[] data;
+
+  /** The sequence of the record in each slot, or {@link #WRITING}. */
+  private final AtomicLongArray versions;
+
+  /** The record the writer parses progress events into. */
+  private final ProgressRecord scratch = new ProgressRecord();
+
+  /** The caller id indexes, only accessed by the writer. */
+  private final Map<String, Integer> callerIdIndexes = new HashMap<>();
+
+  /** The caller ids by index, replaced by the writer when a new caller id shows up. */
+  private volatile String[] callerIds = new String[0];
+
+  /** The number of published records, which is the sequence of the next record. */
+  private volatile long writeSequence;
+
+  /**
+   * Instantiates a new progress ring buffer.
+   *
+   * @param capacity the minimum number of records to keep, rounded up to a power of two
+   */
+  public ProgressRingBuffer(int capacity) {
+
+    if (capacity < 1 || capacity > (1 << 24)) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+
+    int slots = Integer.highestOneBit(capacity);
+
+    if (slots < capacity) {
+      slots <<= 1;
+    }
+
+    this.mask = slots - 1;
+    this.data = new long[slots * FIELD_COUNT];
+    this.versions = new AtomicLongArray(slots);
+
+    for (int ii = 0; ii < slots; ii++) {
+      this.versions.set(ii, WRITING);
+    }
+  }
+
+  /**
+   * Gets the number of records kept.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return this.mask + 1;
+  }
+
+  /**
+   * Gets the number of records written so far, which is the sequence of the next record.
+   *
+   * @return the write sequence
+   */
+  public long getWriteSequence() {
+    return this.writeSequence;
+  }
+
+  /**
+   * Gets the sequence of the oldest record that was not yet overwritten.
+   *
+   * @return the oldest sequence
+   */
+  public long getOldestSequence() {
+    return Math.max(0L, this.writeSequence - getCapacity());
+  }
+
+  /**
+   * Gets a caller id by its index.
+   *
+   * @param callerIdIndex the caller id index of a record
+   * @return the caller id, or null if unknown
+   */
+  public String getCallerId(int callerIdIndex) {
+
+    String[] ids = this.callerIds;
+
+    return callerIdIndex >= 0 && callerIdIndex < ids.length ? ids[callerIdIndex] : null;
+  }
+
+  /*
+   * Writer
+   */
+
+  /**
+   * Writes a progress event. Must only be called by one thread at a time.
+   *
+   * @param p the optimization progress
+   */
+  public void write(IOptimizationProgress p) {
+
+    IEntity winner = p.getResultEntity();
+    var details = winner.getJoinedDetailController();
+
+    ProgressRecord r = this.scratch;
+
+    r.progress = p.getProgress();
+    r.callerIdIndex = callerIdIndexOf(p.getCallerId());
+    r.cost = winner.getJoinedCost();
+    r.routeCount = winner.getRouteCount();
+    r.optimizableElementsCount = winner.getTotalRoutesOptimizableElementsCount();
+    r.transitTimeMillis = details.getCurTransitTime();
+    r.idleTimeMillis = details.getCurIdleTime();
+    r.productiveTimeMillis = details.getCurProductiveTime();
+    r.flexTimeMillis = details.getCurFlexTimeUsage();
+    r.terminationTransitTimeMillis = details.getTerminationTransitTime();
+    r.distanceMeter = details.getCurDistance();
+    r.terminationTransitDistanceMeter = details.getTerminationTransitDistance();
+
+    write(r);
+  }
+
+  /**
+   * Writes a record. The sequence and the timestamp are assigned by the ring buffer. Must only be
+   * called by one thread at a time.
+   *
+   * @param r the record
+   */
+  public void write(ProgressRecord r) {
+
+    long sequence = this.writeSequence;
+    int slot = (int) sequence & this.mask;
+    int base = slot * FIELD_COUNT;
+
+    long[] d = this.data;
+
+    // Readers of the previous record in this slot must see the slot as invalid before any field
+    // changes
+    this.versions.setOpaque(slot, WRITING);
+    VarHandle.storeStoreFence();
+
+    d[base + TIMESTAMP] = System.currentTimeMillis();
+    d[base + PROGRESS] = Double.doubleToRawLongBits(r.progress);
+    d[base + CALLER_ID] = r.callerIdIndex;
+    d[base + COST] = Double.doubleToRawLongBits(r.cost);
+    d[base + ROUTE_COUNT] = r.routeCount;
+    d[base + ELEMENT_COUNT] = r.optimizableElementsCount;
+    d[base + TRANSIT_TIME] = r.transitTimeMillis;
+    d[base + IDLE_TIME] = r.idleTimeMillis;
+    d[base + PRODUCTIVE_TIME] = r.productiveTimeMillis;
+    d[base + FLEX_TIME] = r.flexTimeMillis;
+    d[base + TERMINATION_TRANSIT_TIME] = r.terminationTransitTimeMillis;
+    d[base + DISTANCE] = Double.doubleToRawLongBits(r.distanceMeter);
+    d[base + TERMINATION_TRANSIT_DISTANCE] =
+        Double.doubleToRawLongBits(r.terminationTransitDistanceMeter);
+
+    this.versions.setRelease(slot, sequence);
+    this.writeSequence = sequence + 1;
+  }
+
+  private int callerIdIndexOf(String callerId) {
+
+    if (callerId == null) {
+      return -1;
+    }
+
+    Integer index = this.callerIdIndexes.get(callerId);
+
+    if (index == null) {
+      String[] ids = Arrays.copyOf(this.callerIds, this.callerIds.length + 1);
+      ids[ids.length - 1] = callerId;
+
+      index = ids.length - 1;
+
+      this.callerIdIndexes.put(callerId, index);
+      this.callerIds = ids;
+    }
+
+    return index;
+  }
+
+  /*
+   * Readers
+   */
+
+  /**
+   * Copies a record. If the record was not yet written or was already overwritten, false is
+   * returned and the content of the target is undefined.
+   *
+   * @param sequence the sequence of the record
+   * @param target the record to copy into
+   * @return true, if successful
+   */
+  public boolean read(long sequence, ProgressRecord target) {
+
+    if (sequence < 0 || sequence >= this.writeSequence) {
+      return false;
+    }
+
+    int slot = (int) sequence & this.mask;
+
+    if (this.versions.getAcquire(slot) != sequence) {
+      return false;
+    }
+
+    int base = slot * FIELD_COUNT;
+    long[] d = this.data;
+
+    target.sequence = sequence;
+    target.timestampMillis = d[base + TIMESTAMP];
+    target.progress = Double.longBitsToDouble(d[base + PROGRESS]);
+    target.callerIdIndex = (int) d[base + CALLER_ID];
+    target.cost = Double.longBitsToDouble(d[base + COST]);
+    target.routeCount = (int) d[base + ROUTE_COUNT];
+    target.optimizableElementsCount = (int) d[base + ELEMENT_COUNT];
+    target.transitTimeMillis = d[base + TRANSIT_TIME];
+    target.idleTimeMillis = d[base + IDLE_TIME];
+    target.productiveTimeMillis = d[base + PRODUCTIVE_TIME];
+    target.flexTimeMillis = d[base + FLEX_TIME];
+    target.terminationTransitTimeMillis = d[base + TERMINATION_TRANSIT_TIME];
+    target.distanceMeter = Double.longBitsToDouble(d[base + DISTANCE]);
+    target.terminationTransitDistanceMeter =
+        Double.longBitsToDouble(d[base + TERMINATION_TRANSIT_DISTANCE]);
+
+    // The copy is only valid if the writer did not start on the slot meanwhile
+    VarHandle.loadLoadFence();
+
+    return this.versions.getOpaque(slot) == sequence;
+  }
+
+  /**
+   * Copies the latest record.
+   *
+   * @param target the record to copy into
+   * @return true, if successful, false if nothing was written yet
+   */
+  public boolean readLatest(ProgressRecord target) {
+
+    while (true) {
+
+      long sequence = this.writeSequence - 1;
+
+      if (sequence < 0) {
+        return false;
+      }
+
+      if (read(sequence, target)) {
+        return true;
+      }
+
+      // The writer lapped the ring while copying, retry with the new latest record
+      Thread.onSpinWait();
+    }
+  }
+}
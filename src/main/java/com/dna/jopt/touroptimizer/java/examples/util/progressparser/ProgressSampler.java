@@ -0,0 +1,253 @@
+package com.dna.jopt.touroptimizer.java.examples.util.progressparser;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.dna.jopt.framework.body.IOptimization;
+import com.dna.jopt.framework.outcomewrapper.IOptimizationProgress;
+
+/**
+ * The Class ProgressSampler requests progress of many optimizations from one shared {@link
+ * ScheduledExecutorService}, instead of one {@code java.util.Timer} thread per optimization.
+ *
+ * <p>For every optimization:
+ *
+ * <ul>
+ *   <li>progress is requested at the minimum interval while the cost improves. While the cost
+ *       stays on a plateau, the interval doubles up to the maximum interval,
+ *   <li>progress events are not passed on directly. A burst of events, requested or reported by
+ *       the optimizer itself, results in one delivery of the latest event, on the executor,
+ *   <li>requesting stops by itself when the result future completes.
+ * </ul>
+ *
+ * <p>The executor is owned by the caller and may be shared with other tasks. A single thread is
+ * enough for many optimizations, as requesting and delivering progress is short work.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class ProgressSampler {
+
+  /** The default relative cost improvement below which the cost counts as plateau. */
+  public static final double DEFAULT_PLATEAU_TOLERANCE = 1e-4;
+
+  /** The executor. */
+  private final ScheduledExecutorService executor;
+
+  /** The minimum request interval in millis. */
+  private final long minIntervalMillis;
+
+  /** The maximum request interval in millis. */
+  private final long maxIntervalMillis;
+
+  /** The relative cost improvement below which the cost counts as plateau. */
+  private final double plateauTolerance;
+
+  /**
+   * Instantiates a new progress sampler with the {@link #DEFAULT_PLATEAU_TOLERANCE}.
+   *
+   * @param executor the executor
+   * @param minInterval the request interval while the cost improves
+   * @param maxInterval the maximum request interval on a plateau
+   */
+  public ProgressSampler(
+      ScheduledExecutorService executor, Duration minInterval, Duration maxInterval) {
+    this(executor, minInterval, maxInterval, DEFAULT_PLATEAU_TOLERANCE);
+  }
+
+  /**
+   * Instantiates a new progress sampler.
+   *
+   * @param executor the executor
+   * @param minInterval the request interval while the cost improves
+   * @param maxInterval the maximum request interval on a plateau
+   * @param plateauTolerance the relative cost improvement below which the cost counts as plateau
+   */
+  public ProgressSampler(
+      ScheduledExecutorService executor,
+      Duration minInterval,
+      Duration maxInterval,
+      double plateauTolerance) {
+
+    if (minInterval.isNegative()
+        || minInterval.isZero()
+        || maxInterval.compareTo(minInterval) < 0) {
+      throw new IllegalArgumentException(
+          "Invalid intervals: " + minInterval + " - " + maxInterval);
+    }
+
+    this.executor = executor;
+    this.minIntervalMillis = minInterval.toMillis();
+    this.maxIntervalMillis = maxInterval.toMillis();
+    this.plateauTolerance = plateauTolerance;
+  }
+
+  /**
+   * Starts sampling an optimization. Call before or right after the optimization is started.
+   *
+   * @param opti the optimization
+   * @param resultFuture the result future of the optimization, sampling stops when it completes
+   * @param listener the listener, called on the executor with the latest progress
+   * @return the sampling
+   */
+  public Sampling sample(
+      IOptimization opti,
+      CompletableFuture<?> resultFuture,
+      Consumer<IOptimizationProgress> listener) {
+
+    Sampling sampling = new Sampling(opti, listener);
+
+    opti.getOptimizationEvents().progressSubject().subscribe(sampling::onProgress);
+
+    sampling.schedule(this.minIntervalMillis);
+
+    resultFuture.whenComplete((r, e) -> sampling.stop());
+
+    return sampling;
+  }
+
+  /** The Class Sampling is the sampling state of one optimization. */
+  public final class Sampling {
+
+    private final IOptimization opti;
+    private final Consumer<IOptimizationProgress> listener;
+
+    /** The latest undelivered progress. */
+    private final AtomicReference<IOptimizationProgress> latest = new AtomicReference<>();
+
+    /** True while a delivery is queued or running. */
+    private final AtomicBoolean delivering = new AtomicBoolean();
+
+    /** The cost of the latest progress. */
+    private volatile double latestCost = Double.NaN;
+
+    private volatile boolean stopped;
+    private volatile long intervalMillis;
+    private volatile ScheduledFuture<?> nextRequest;
+
+    /** The cost at the previous request, only accessed by the request task. */
+    private double requestCost = Double.NaN;
+
+    private Sampling(IOptimization opti, Consumer<IOptimizationProgress> listener) {
+      this.opti = opti;
+      this.listener = listener;
+    }
+
+    /**
+     * Gets the current request interval.
+     *
+     * @return the interval millis
+     */
+    public long getIntervalMillis() {
+      return this.intervalMillis;
+    }
+
+    /**
+     * Checks if sampling is stopped.
+     *
+     * @return true, if stopped
+     */
+    public boolean isStopped() {
+      return this.stopped;
+    }
+
+    /** Stops requesting progress. A progress event that is already queued is still delivered. */
+    public void stop() {
+
+      this.stopped = true;
+
+      ScheduledFuture<?> request = this.nextRequest;
+
+      if (request != null) {
+        request.cancel(false);
+      }
+    }
+
+    private void onProgress(IOptimizationProgress p) {
+
+      this.latestCost = p.getResultEntity().getJoinedCost();
+      this.latest.set(p);
+
+      if (this.delivering.compareAndSet(false, true)) {
+        ProgressSampler.this.executor.execute(this::deliver);
+      }
+    }
+
+    private void deliver() {
+
+      // Only one delivery runs at a time, events arriving meanwhile are picked up by the loop
+      do {
+        try {
+          IOptimizationProgress p = this.latest.getAndSet(null);
+
+          if (p != null) {
+            this.listener.accept(p);
+          }
+        } finally {
+          this.delivering.set(false);
+        }
+      } while (this.latest.get() != null && this.delivering.compareAndSet(false, true));
+    }
+
+    private void schedule(long delayMillis) {
+
+      this.intervalMillis = delayMillis;
+
+      if (!this.stopped) {
+        this.nextRequest =
+            ProgressSampler.this.executor.schedule(
+                this::request, delayMillis, TimeUnit.MILLISECONDS);
+
+        // Stopped while scheduling
+        if (this.stopped) {
+          this.nextRequest.cancel(false);
+        }
+      }
+    }
+
+    private void request() {
+
+      if (this.stopped) {
+        return;
+      }
+
+      long nextIntervalMillis = ProgressSampler.this.minIntervalMillis;
+
+      try {
+        this.opti.requestProgress();
+
+        double cost = this.latestCost;
+
+        if (isPlateau(this.requestCost, cost)) {
+          nextIntervalMillis =
+              Math.min(this.intervalMillis * 2, ProgressSampler.this.maxIntervalMillis);
+        }
+
+        this.requestCost = cost;
+      } finally {
+        schedule(nextIntervalMillis);
+      }
+    }
+
+    private boolean isPlateau(double previousCost, double cost) {
+
+      if (Double.isNaN(cost)) {
+        // No progress at all yet
+        return true;
+      }
+
+      if (Double.isNaN(previousCost)) {
+        return false;
+      }
+
+      return previousCost - cost <= Math.abs(previousCost) * ProgressSampler.this.plateauTolerance;
+    }
+  }
+}
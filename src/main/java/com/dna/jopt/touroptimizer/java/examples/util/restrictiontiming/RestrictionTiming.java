@@ -0,0 +1,192 @@
+package com.dna.jopt.touroptimizer.java.examples.util.restrictiontiming;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Class RestrictionTiming holds the invocation count and the sampled latency histogram of one
+ * timed restriction. All counters are {@link LongAdder}s, so threads evaluating solutions in
+ * parallel do not contend on a shared counter.
+ *
+ * <p>The histogram has one bucket per power of two nanoseconds. Percentiles are reported as the
+ * upper bound of their bucket, i.e. they are exact within a factor of two.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class RestrictionTiming {
+
+  /** The number of histogram buckets, bucket i holds latencies in [2^i, 2^(i+1)) nanos. */
+  private static final int BUCKETS = 64;
+
+  /** The restriction name. */
+  private final String name;
+
+  /** The invocations, counted on every call. */
+  private final LongAdder invocations = new LongAdder();
+
+  /** The timed invocations. */
+  private final LongAdder samples = new LongAdder();
+
+  /** The sum of the sampled latencies. */
+  private final LongAdder sampledNanos = new LongAdder();
+
+  /** The maximal sampled latency. */
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+  /** The latency histogram. */
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+  /**
+   * Instantiates a new restriction timing.
+   *
+   * @param name the restriction name
+   */
+  RestrictionTiming(String name) {
+
+    this.name = name;
+
+    for (int ii = 0; ii < BUCKETS; ii++) {
+      this.buckets[ii] = new LongAdder();
+    }
+  }
+
+  /** Counts an invocation. */
+  void countInvocation() {
+    this.invocations.increment();
+  }
+
+  /**
+   * Records the latency of a sampled invocation.
+   *
+   * @param nanos the latency
+   */
+  void recordSample(long nanos) {
+
+    long value = Math.max(1L, nanos);
+
+    this.buckets[63 - Long.numberOfLeadingZeros(value)].increment();
+    this.samples.increment();
+    this.sampledNanos.add(value);
+    this.maxNanos.accumulate(value);
+  }
+
+  /**
+   * Gets the restriction name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Gets the number of invocations.
+   *
+   * @return the invocations
+   */
+  public long getInvocations() {
+    return this.invocations.sum();
+  }
+
+  /**
+   * Gets the number of timed invocations.
+   *
+   * @return the samples
+   */
+  public long getSamples() {
+    return this.samples.sum();
+  }
+
+  /**
+   * Gets the mean latency of the sampled invocations.
+   *
+   * @return the mean nanos, or NaN without samples
+   */
+  public double getMeanNanos() {
+
+    long count = getSamples();
+
+    return count > 0 ? (double) this.sampledNanos.sum() / count : Double.NaN;
+  }
+
+  /**
+   * Gets the maximal sampled latency.
+   *
+   * @return the max nanos
+   */
+  public long getMaxNanos() {
+    return this.maxNanos.get();
+  }
+
+  /**
+   * Gets a latency percentile as the upper bound of its histogram bucket.
+   *
+   * @param percentile the percentile between 0 and 100
+   * @return the nanos, or 0 without samples
+   */
+  public long getPercentileNanos(double percentile) {
+
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+
+    for (int ii = 0; ii < BUCKETS; ii++) {
+      counts[ii] = this.buckets[ii].sum();
+      total += counts[ii];
+    }
+
+    long rank = (long) Math.ceil(total * percentile / 100.0);
+    long cumulative = 0;
+
+    for (int ii = 0; ii < BUCKETS; ii++) {
+
+      cumulative += counts[ii];
+
+      if (cumulative > 0 && cumulative >= rank) {
+        return ii >= 62 ? Long.MAX_VALUE : (1L << (ii + 1)) - 1;
+      }
+    }
+
+    return 0L;
+  }
+
+  /**
+   * Gets the estimated time spent in the restriction, the mean sampled latency times the
+   * invocations.
+   *
+   * @return the estimated total nanos, or NaN without samples
+   */
+  public double getEstimatedTotalNanos() {
+    return getMeanNanos() * getInvocations();
+  }
+
+  /** Resets all counters, e.g. between two runs. */
+  public void reset() {
+
+    this.invocations.reset();
+    this.samples.reset();
+    this.sampledNanos.reset();
+    this.maxNanos.reset();
+
+    for (LongAdder bucket : this.buckets) {
+      bucket.reset();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.name
+        + " invocations: "
+        + getInvocations()
+        + ", samples: "
+        + getSamples()
+        + ", mean: "
+        + Math.round(getMeanNanos())
+        + " ns, p99: "
+        + getPercentileNanos(99)
+        + " ns, max: "
+        + getMaxNanos()
+        + " ns";
+  }
+}
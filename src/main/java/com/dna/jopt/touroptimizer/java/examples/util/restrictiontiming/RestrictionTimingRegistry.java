@@ -0,0 +1,184 @@
+package com.dna.jopt.touroptimizer.java.examples.util.restrictiontiming;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.dna.jopt.assessment.costassessorrestriction.nodelevel.custom.AbstractCustomNodeLevelRestriction;
+import com.dna.jopt.assessment.costassessorrestriction.routelevel.custom.AbstractCustomRouteLevelRestriction;
+
+/**
+ * The Class RestrictionTimingRegistry wraps custom node- and route-level restrictions into timed
+ * restrictions and collects their {@link RestrictionTiming}s.
+ *
+ * <pre>
+ * RestrictionTimingRegistry timings = new RestrictionTimingRegistry(1024);
+ * this.attachCustomNodeLevelRestriction(timings.timed("EarlyVisit", new MyRestriction(pp)));
+ * ...
+ * timings.writeReport(System.out);
+ * </pre>
+ *
+ * <p>Every invocation is counted, but only about every n-th invocation is timed with {@link
+ * System#nanoTime()}. Whether an invocation is timed is decided by a thread-local random number,
+ * so the evaluating threads share no sampling counter and a periodic pattern in the calls cannot
+ * bias the samples. With a sample interval of 1 every invocation is timed.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class RestrictionTimingRegistry {
+
+  /** The timings by restriction name. */
+  private final Map<String, RestrictionTiming> timings = new ConcurrentHashMap<>();
+
+  /** The sample interval minus one, a power of two minus one. */
+  private final int sampleMask;
+
+  /** Instantiates a new restriction timing registry timing every invocation. */
+  public RestrictionTimingRegistry() {
+    this(1);
+  }
+
+  /**
+   * Instantiates a new restriction timing registry.
+   *
+   * @param sampleInterval time about every n-th invocation, a power of two, e.g. 1024
+   */
+  public RestrictionTimingRegistry(int sampleInterval) {
+
+    if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+      throw new IllegalArgumentException(
+          "The sample interval has to be a positive power of two: " + sampleInterval);
+    }
+
+    this.sampleMask = sampleInterval - 1;
+  }
+
+  /**
+   * Wraps a custom node-level restriction. The timed restriction uses the property provider of
+   * the delegate.
+   *
+   * @param name the restriction name in the report
+   * @param delegate the restriction
+   * @return the timed restriction, to be attached instead of the delegate
+   */
+  public TimedNodeLevelRestriction timed(String name, AbstractCustomNodeLevelRestriction delegate) {
+    return new TimedNodeLevelRestriction(delegate, timingOf(name), this);
+  }
+
+  /**
+   * Wraps a custom route-level restriction. The timed restriction uses the property provider of
+   * the delegate.
+   *
+   * @param name the restriction name in the report
+   * @param delegate the restriction
+   * @return the timed restriction, to be attached instead of the delegate
+   */
+  public TimedRouteLevelRestriction timed(
+      String name, AbstractCustomRouteLevelRestriction delegate) {
+    return new TimedRouteLevelRestriction(delegate, timingOf(name), this);
+  }
+
+  /**
+   * Gets the timing of a restriction, restrictions wrapped with the same name share one timing.
+   *
+   * @param name the restriction name
+   * @return the timing
+   */
+  public RestrictionTiming timingOf(String name) {
+    return this.timings.computeIfAbsent(name, RestrictionTiming::new);
+  }
+
+  /**
+   * Gets the timings, sorted by descending estimated total time.
+   *
+   * @return the timings
+   */
+  public List<RestrictionTiming> getTimings() {
+
+    List<RestrictionTiming> sorted = new ArrayList<>(this.timings.values());
+
+    sorted.sort(
+        Comparator.comparingDouble(
+                (RestrictionTiming t) ->
+                    Double.isNaN(t.getEstimatedTotalNanos()) ? 0.0 : t.getEstimatedTotalNanos())
+            .reversed());
+
+    return Collections.unmodifiableList(sorted);
+  }
+
+  /**
+   * Gets the sample interval.
+   *
+   * @return the sample interval
+   */
+  public int getSampleInterval() {
+    return this.sampleMask + 1;
+  }
+
+  /** Resets all timings, e.g. between two runs. */
+  public void reset() {
+    this.timings.values().forEach(RestrictionTiming::reset);
+  }
+
+  /**
+   * Writes one line per restriction, the most expensive first.
+   *
+   * @param out the output
+   */
+  public void writeReport(Appendable out) {
+
+    try {
+      out.append(
+          String.format(
+              Locale.ROOT,
+              "%-30s %14s %10s %10s %10s %10s %10s %14s%n",
+              "Restriction",
+              "Invocations",
+              "Samples",
+              "Mean ns",
+              "p50 ns",
+              "p99 ns",
+              "Max ns",
+              "Est. total ms"));
+
+      for (RestrictionTiming t : getTimings()) {
+        out.append(
+            String.format(
+                Locale.ROOT,
+                "%-30s %14d %10d %10.0f %10d %10d %10d %14.1f%n",
+                t.getName(),
+                t.getInvocations(),
+                t.getSamples(),
+                t.getMeanNanos(),
+                t.getPercentileNanos(50),
+                t.getPercentileNanos(99),
+                t.getMaxNanos(),
+                t.getEstimatedTotalNanos() / 1e6));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /*
+   * Helper
+   */
+
+  /**
+   * Checks if the current invocation is timed.
+   *
+   * @return true, if sampled
+   */
+  boolean isSampled() {
+    return this.sampleMask == 0 || (ThreadLocalRandom.current().nextInt() & this.sampleMask) == 0;
+  }
+}
@@ -0,0 +1,89 @@
+package com.dna.jopt.touroptimizer.java.examples.util.restrictiontiming;
+
+import com.dna.jopt.assessment.costassessor.EvaluatedNodeDataHolder;
+import com.dna.jopt.assessment.costassessor.IEntityCostAssessor;
+import com.dna.jopt.assessment.costassessorrestriction.nodelevel.custom.AbstractCustomNodeLevelRestriction;
+import com.dna.jopt.assessment.costassessorrestriction.restrictionresult.IEntityRestrictionResult;
+import com.dna.jopt.member.bucket.entity.IEntity;
+import com.dna.jopt.member.bucket.route.ILogicEntityRoute;
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.member.unit.node.INode;
+
+/**
+ * The Class TimedNodeLevelRestriction delegates to a custom node-level restriction and counts and
+ * samples its invocations. Created by {@link RestrictionTimingRegistry#timed(String,
+ * AbstractCustomNodeLevelRestriction)}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class TimedNodeLevelRestriction extends AbstractCustomNodeLevelRestriction {
+
+  /** The delegate. */
+  private final AbstractCustomNodeLevelRestriction delegate;
+
+  /** The timing. */
+  private final RestrictionTiming timing;
+
+  /** The registry deciding on sampling. */
+  private final RestrictionTimingRegistry registry;
+
+  TimedNodeLevelRestriction(
+      AbstractCustomNodeLevelRestriction delegate,
+      RestrictionTiming timing,
+      RestrictionTimingRegistry registry) {
+
+    super(delegate.getPropertyProvider());
+
+    this.delegate = delegate;
+    this.timing = timing;
+    this.registry = registry;
+  }
+
+  @Override
+  public IEntityRestrictionResult invokeRestriction(
+      IEntity en,
+      ILogicEntityRoute route,
+      INode node,
+      IOptimizationElement lastGeoLocationElement,
+      IOptimizationElement prevElement,
+      EvaluatedNodeDataHolder holder,
+      IEntityCostAssessor ca,
+      boolean resultRequested) {
+
+    this.timing.countInvocation();
+
+    if (!this.registry.isSampled()) {
+      return this.delegate.invokeRestriction(
+          en, route, node, lastGeoLocationElement, prevElement, holder, ca, resultRequested);
+    }
+
+    long start = System.nanoTime();
+
+    try {
+      return this.delegate.invokeRestriction(
+          en, route, node, lastGeoLocationElement, prevElement, holder, ca, resultRequested);
+    } finally {
+      this.timing.recordSample(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Gets the delegate.
+   *
+   * @return the delegate
+   */
+  public AbstractCustomNodeLevelRestriction getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Gets the timing.
+   *
+   * @return the timing
+   */
+  public RestrictionTiming getTiming() {
+    return this.timing;
+  }
+}
@@ -0,0 +1,81 @@
+package com.dna.jopt.touroptimizer.java.examples.util.restrictiontiming;
+
+import java.util.Optional;
+
+import com.dna.jopt.assessment.costassessor.IEntityCostAssessor;
+import com.dna.jopt.assessment.costassessorrestriction.restrictionresult.IEntityRestrictionResult;
+import com.dna.jopt.assessment.costassessorrestriction.routelevel.custom.AbstractCustomRouteLevelRestriction;
+import com.dna.jopt.member.bucket.route.ILogicEntityRoute;
+
+/**
+ * The Class TimedRouteLevelRestriction delegates to a custom route-level restriction and counts and
+ * samples its invocations. Created by {@link RestrictionTimingRegistry#timed(String,
+ * AbstractCustomRouteLevelRestriction)}.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class TimedRouteLevelRestriction extends AbstractCustomRouteLevelRestriction {
+
+  /** The delegate. */
+  private final AbstractCustomRouteLevelRestriction delegate;
+
+  /** The timing. */
+  private final RestrictionTiming timing;
+
+  /** The registry deciding on sampling. */
+  private final RestrictionTimingRegistry registry;
+
+  TimedRouteLevelRestriction(
+      AbstractCustomRouteLevelRestriction delegate,
+      RestrictionTiming timing,
+      RestrictionTimingRegistry registry) {
+
+    super(delegate.getPropertyProvider());
+
+    this.delegate = delegate;
+    this.timing = timing;
+    this.registry = registry;
+  }
+
+  @Override
+  public IEntityRestrictionResult invokeRestriction(
+      Optional<ILogicEntityRoute> prevRoute,
+      ILogicEntityRoute route,
+      IEntityCostAssessor ca,
+      boolean resultRequested) {
+
+    this.timing.countInvocation();
+
+    if (!this.registry.isSampled()) {
+      return this.delegate.invokeRestriction(prevRoute, route, ca, resultRequested);
+    }
+
+    long start = System.nanoTime();
+
+    try {
+      return this.delegate.invokeRestriction(prevRoute, route, ca, resultRequested);
+    } finally {
+      this.timing.recordSample(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Gets the delegate.
+   *
+   * @return the delegate
+   */
+  public AbstractCustomRouteLevelRestriction getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Gets the timing.
+   *
+   * @return the timing
+   */
+  public RestrictionTiming getTiming() {
+    return this.timing;
+  }
+}
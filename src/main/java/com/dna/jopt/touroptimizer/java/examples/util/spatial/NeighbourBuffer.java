@@ -0,0 +1,220 @@
+package com.dna.jopt.touroptimizer.java.examples.util.spatial;
+
+import java.util.Arrays;
+
+/**
+ * The Class NeighbourBuffer holds the result of a {@link SpatialIndex} query: the indices of the
+ * found positions and their distances in meter.
+ *
+ * <p>A buffer is meant to be reused for many queries, each query overwrites the previous result.
+ * Nearest-neighbour queries do not allocate once the capacity is at least k. Radius queries grow
+ * the buffer when needed and keep the larger capacity for the following queries.
+ *
+ * <p>A buffer is not thread-safe, use one buffer per thread.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class NeighbourBuffer {
+
+  /** The default capacity. */
+  public static final int DEFAULT_CAPACITY = 32;
+
+  /** The found indices. */
+  private int[] indices;
+
+  /**
+   * The keys of the found indices. During a query the squared chord length, after the query the
+   * distance in meter.
+   */
+  private double[] keys;
+
+  /** The number of results. */
+  private int size;
+
+  /** Instantiates a new neighbour buffer with the default capacity. */
+  public NeighbourBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Instantiates a new neighbour buffer.
+   *
+   * @param capacity the initial capacity, e.g. the k of the nearest-neighbour queries
+   */
+  public NeighbourBuffer(int capacity) {
+
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity has to be positive: " + capacity);
+    }
+
+    this.indices = new int[capacity];
+    this.keys = new double[capacity];
+  }
+
+  /**
+   * Gets the number of results of the last query.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the index of a result, as passed on creation of the index.
+   *
+   * @param position the position within the result, between 0 and {@link #size()}
+   * @return the index
+   */
+  public int index(int position) {
+    checkPosition(position);
+    return this.indices[position];
+  }
+
+  /**
+   * Gets the great-circle distance of a result in meter.
+   *
+   * @param position the position within the result, between 0 and {@link #size()}
+   * @return the distance in meter
+   */
+  public double distanceMeter(int position) {
+    checkPosition(position);
+    return this.keys[position];
+  }
+
+  /**
+   * Copies the indices of the last result.
+   *
+   * @return the indices
+   */
+  public int[] toIndexArray() {
+    return Arrays.copyOf(this.indices, this.size);
+  }
+
+  private void checkPosition(int position) {
+    if (position < 0 || position >= this.size) {
+      throw new IndexOutOfBoundsException("Position " + position + " of size " + this.size);
+    }
+  }
+
+  /*
+   * Query support, used by SpatialIndex
+   */
+
+  /** Starts a new query. */
+  void reset(int capacity) {
+
+    this.size = 0;
+
+    if (this.indices.length < capacity) {
+      this.indices = new int[capacity];
+      this.keys = new double[capacity];
+    }
+  }
+
+  /** The key a candidate has to beat, infinite while fewer than k results were found. */
+  double worstKey(int k) {
+    return this.size < k ? Double.POSITIVE_INFINITY : this.keys[0];
+  }
+
+  /** Offers a candidate to the bounded max-heap of a nearest-neighbour query. */
+  void offerNearest(int index, double key, int k) {
+
+    if (this.size < k) {
+      this.indices[this.size] = index;
+      this.keys[this.size] = key;
+      siftUp(this.size++);
+    } else if (key < this.keys[0]) {
+      this.indices[0] = index;
+      this.keys[0] = key;
+      siftDown(0, this.size);
+    }
+  }
+
+  /** Adds a result of a radius query. */
+  void add(int index, double key) {
+
+    if (this.size == this.indices.length) {
+      int capacity = this.indices.length * 2;
+      this.indices = Arrays.copyOf(this.indices, capacity);
+      this.keys = Arrays.copyOf(this.keys, capacity);
+    }
+
+    this.indices[this.size] = index;
+    this.keys[this.size] = key;
+    this.size++;
+  }
+
+  /** Sorts the heap ascending by distance and converts the keys into meter. */
+  void finishNearest() {
+
+    for (int end = this.size - 1; end > 0; end--) {
+      swap(0, end);
+      siftDown(0, end);
+    }
+
+    finishRadius();
+  }
+
+  /** Converts the keys into meter. */
+  void finishRadius() {
+    for (int ii = 0; ii < this.size; ii++) {
+      this.keys[ii] = SpatialIndex.chordSquaredToMeter(this.keys[ii]);
+    }
+  }
+
+  private void siftUp(int position) {
+
+    int current = position;
+
+    while (current > 0) {
+      int parent = (current - 1) >>> 1;
+
+      if (this.keys[parent] >= this.keys[current]) {
+        return;
+      }
+
+      swap(parent, current);
+      current = parent;
+    }
+  }
+
+  private void siftDown(int position, int heapSize) {
+
+    int current = position;
+
+    while (true) {
+      int largest = current;
+      int left = 2 * current + 1;
+      int right = left + 1;
+
+      if (left < heapSize && this.keys[left] > this.keys[largest]) {
+        largest = left;
+      }
+
+      if (right < heapSize && this.keys[right] > this.keys[largest]) {
+        largest = right;
+      }
+
+      if (largest == current) {
+        return;
+      }
+
+      swap(largest, current);
+      current = largest;
+    }
+  }
+
+  private void swap(int ii, int jj) {
+
+    int index = this.indices[ii];
+    this.indices[ii] = this.indices[jj];
+    this.indices[jj] = index;
+
+    double key = this.keys[ii];
+    this.keys[ii] = this.keys[jj];
+    this.keys[jj] = key;
+  }
+}
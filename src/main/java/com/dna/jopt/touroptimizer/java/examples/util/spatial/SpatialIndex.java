@@ -0,0 +1,512 @@
+package com.dna.jopt.touroptimizer.java.examples.util.spatial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.dna.jopt.config.types.Position;
+import com.dna.jopt.member.unit.IOptimizationElement;
+import com.dna.jopt.touroptimizer.java.examples.util.connection.GeoDistanceKernel;
+
+/**
+ * The Class SpatialIndex answers the question which positions lie near a given position, without
+ * scanning all of them.
+ *
+ * <p>The index is an immutable KD-tree. Every position is stored as a point on the unit sphere, so
+ * the straight-line (chord) distance between two points orders them exactly like the great-circle
+ * distance. Results therefore match a linear haversine scan, also across the date line and close
+ * to the poles.
+ *
+ * <pre>
+ * SpatialIndex index = SpatialIndex.of(nodes, resources);
+ * NeighbourBuffer result = new NeighbourBuffer(10);
+ *
+ * index.nearest(50.9333, 6.85, 10, result);
+ *
+ * for (int ii = 0; ii &lt; result.size(); ii++) {
+ *   IOptimizationElement element = index.getElement(result.index(ii));
+ *   double distanceMeter = result.distanceMeter(ii);
+ * }
+ * </pre>
+ *
+ * <p>Building takes {@code O(n log n)}, a nearest-neighbour query about {@code O(log n + k)}. The
+ * index is thread-safe, the {@link NeighbourBuffer}s are not.
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public final class SpatialIndex {
+
+  /** Ranges of at most this size are scanned instead of being split further. */
+  private static final int LEAF_SIZE = 8;
+
+  /** The elements by index, empty if the index was built from positions. */
+  private final List<IOptimizationElement> elements;
+
+  /** The latitudes by index. */
+  private final double[] latitudes;
+
+  /** The longitudes by index. */
+  private final double[] longitudes;
+
+  /** The unit vectors in tree order, three coordinates per point. */
+  private final double[] coordinates;
+
+  /** The index of every point in tree order. */
+  private final int[] treeIndices;
+
+  /** The tree position of every index. */
+  private final int[] treePositions;
+
+  /** The split axis of every inner tree node, stored at its median position. */
+  private final byte[] axes;
+
+  private SpatialIndex(
+      List<IOptimizationElement> elements, double[] latitudes, double[] longitudes) {
+
+    if (latitudes.length != longitudes.length) {
+      throw new IllegalArgumentException(
+          "Latitudes " + latitudes.length + " and longitudes " + longitudes.length + " differ");
+    }
+
+    int size = latitudes.length;
+
+    this.elements = elements;
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+
+    double[] unsorted = new double[size * 3];
+
+    for (int ii = 0; ii < size; ii++) {
+      toUnitVector(latitudes[ii], longitudes[ii], unsorted, ii * 3);
+    }
+
+    int[] order = new int[size];
+
+    for (int ii = 0; ii < size; ii++) {
+      order[ii] = ii;
+    }
+
+    this.axes = new byte[size];
+    build(order, unsorted, 0, size);
+
+    this.treeIndices = order;
+    this.treePositions = new int[size];
+    this.coordinates = new double[size * 3];
+
+    for (int position = 0; position < size; position++) {
+      this.treePositions[order[position]] = position;
+      System.arraycopy(unsorted, order[position] * 3, this.coordinates, position * 3, 3);
+    }
+  }
+
+  /**
+   * Creates an index of elements. The position within the list is the index.
+   *
+   * @param elements the elements
+   * @return the spatial index
+   */
+  public static SpatialIndex of(List<? extends IOptimizationElement> elements) {
+    return of(elements, List.of());
+  }
+
+  /**
+   * Creates an index of nodes and resources. The nodes get the indices {@code 0..n-1}, the
+   * resources follow.
+   *
+   * @param nodes the nodes
+   * @param resources the resources
+   * @return the spatial index
+   */
+  public static SpatialIndex of(
+      List<? extends IOptimizationElement> nodes, List<? extends IOptimizationElement> resources) {
+
+    List<IOptimizationElement> all = new ArrayList<>(nodes.size() + resources.size());
+    all.addAll(nodes);
+    all.addAll(resources);
+
+    double[] latitudes = new double[all.size()];
+    double[] longitudes = new double[all.size()];
+
+    for (int ii = 0; ii < all.size(); ii++) {
+      latitudes[ii] = all.get(ii).getLatitude();
+      longitudes[ii] = all.get(ii).getLongitude();
+    }
+
+    return new SpatialIndex(Collections.unmodifiableList(all), latitudes, longitudes);
+  }
+
+  /**
+   * Creates an index of positions. The position within the list is the index.
+   *
+   * @param positions the positions
+   * @return the spatial index
+   */
+  public static SpatialIndex ofPositions(List<Position> positions) {
+
+    double[] latitudes = new double[positions.size()];
+    double[] longitudes = new double[positions.size()];
+
+    for (int ii = 0; ii < positions.size(); ii++) {
+      latitudes[ii] = positions.get(ii).latitude();
+      longitudes[ii] = positions.get(ii).longitude();
+    }
+
+    return new SpatialIndex(List.of(), latitudes, longitudes);
+  }
+
+  /**
+   * Creates an index of coordinates. The arrays are copied.
+   *
+   * @param latitudes the latitudes in degree
+   * @param longitudes the longitudes in degree
+   * @return the spatial index
+   */
+  public static SpatialIndex of(double[] latitudes, double[] longitudes) {
+    return new SpatialIndex(List.of(), latitudes.clone(), longitudes.clone());
+  }
+
+  /**
+   * Gets the number of indexed positions.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.latitudes.length;
+  }
+
+  /**
+   * Gets the element of an index.
+   *
+   * @param index the index
+   * @return the element
+   * @throws IllegalStateException if the index was not built from elements
+   */
+  public IOptimizationElement getElement(int index) {
+
+    if (this.elements.isEmpty()) {
+      throw new IllegalStateException("The index was built from positions, not from elements");
+    }
+
+    return this.elements.get(index);
+  }
+
+  /**
+   * Gets the latitude of an index.
+   *
+   * @param index the index
+   * @return the latitude
+   */
+  public double getLatitude(int index) {
+    return this.latitudes[index];
+  }
+
+  /**
+   * Gets the longitude of an index.
+   *
+   * @param index the index
+   * @return the longitude
+   */
+  public double getLongitude(int index) {
+    return this.longitudes[index];
+  }
+
+  /**
+   * Finds the k nearest positions, ascending by distance.
+   *
+   * @param latitude the latitude
+   * @param longitude the longitude
+   * @param k the number of neighbours
+   * @param result the result buffer
+   * @return the number of results, less than k only if the index is smaller
+   */
+  public int nearest(double latitude, double longitude, int k, NeighbourBuffer result) {
+    return nearest(latitude, longitude, k, -1, result);
+  }
+
+  /**
+   * Finds the k nearest positions of an indexed position, excluding itself, ascending by distance.
+   *
+   * @param index the index
+   * @param k the number of neighbours
+   * @param result the result buffer
+   * @return the number of results, less than k only if the index is smaller
+   */
+  public int nearestNeighbours(int index, int k, NeighbourBuffer result) {
+    return nearest(this.latitudes[index], this.longitudes[index], k, index, result);
+  }
+
+  /**
+   * Finds all positions within a great-circle radius, in no particular order.
+   *
+   * @param latitude the latitude
+   * @param longitude the longitude
+   * @param radiusMeter the radius in meter
+   * @param result the result buffer
+   * @return the number of results
+   */
+  public int withinRadius(
+      double latitude, double longitude, double radiusMeter, NeighbourBuffer result) {
+
+    result.reset(0);
+
+    double angle = Math.min(radiusMeter / GeoDistanceKernel.EARTH_RADIUS_METER, Math.PI);
+    double chord = 2.0 * Math.sin(angle / 2.0);
+
+    double latRad = Math.toRadians(latitude);
+    double lonRad = Math.toRadians(longitude);
+
+    searchRadius(
+        0,
+        size(),
+        Math.cos(latRad) * Math.cos(lonRad),
+        Math.cos(latRad) * Math.sin(lonRad),
+        Math.sin(latRad),
+        chord * chord,
+        result);
+
+    result.finishRadius();
+
+    return result.size();
+  }
+
+  private int nearest(
+      double latitude, double longitude, int k, int excludedIndex, NeighbourBuffer result) {
+
+    if (k < 1) {
+      throw new IllegalArgumentException("K has to be positive: " + k);
+    }
+
+    result.reset(k);
+
+    double latRad = Math.toRadians(latitude);
+    double lonRad = Math.toRadians(longitude);
+
+    int excludedPosition = excludedIndex < 0 ? -1 : this.treePositions[excludedIndex];
+
+    searchNearest(
+        0,
+        size(),
+        Math.cos(latRad) * Math.cos(lonRad),
+        Math.cos(latRad) * Math.sin(lonRad),
+        Math.sin(latRad),
+        k,
+        excludedPosition,
+        result);
+
+    result.finishNearest();
+
+    return result.size();
+  }
+
+  private void searchNearest(
+      int from,
+      int to,
+      double qx,
+      double qy,
+      double qz,
+      int k,
+      int excludedPosition,
+      NeighbourBuffer result) {
+
+    if (to - from <= LEAF_SIZE) {
+      for (int position = from; position < to; position++) {
+        if (position != excludedPosition) {
+          result.offerNearest(this.treeIndices[position], chordSquared(position, qx, qy, qz), k);
+        }
+      }
+
+      return;
+    }
+
+    int median = (from + to) >>> 1;
+
+    if (median != excludedPosition) {
+      result.offerNearest(this.treeIndices[median], chordSquared(median, qx, qy, qz), k);
+    }
+
+    double delta = splitDelta(median, qx, qy, qz);
+
+    if (delta < 0) {
+      searchNearest(from, median, qx, qy, qz, k, excludedPosition, result);
+
+      if (delta * delta < result.worstKey(k)) {
+        searchNearest(median + 1, to, qx, qy, qz, k, excludedPosition, result);
+      }
+    } else {
+      searchNearest(median + 1, to, qx, qy, qz, k, excludedPosition, result);
+
+      if (delta * delta < result.worstKey(k)) {
+        searchNearest(from, median, qx, qy, qz, k, excludedPosition, result);
+      }
+    }
+  }
+
+  private void searchRadius(
+      int from, int to, double qx, double qy, double qz, double maxKey, NeighbourBuffer result) {
+
+    if (to - from <= LEAF_SIZE) {
+      for (int position = from; position < to; position++) {
+        double key = chordSquared(position, qx, qy, qz);
+
+        if (key <= maxKey) {
+          result.add(this.treeIndices[position], key);
+        }
+      }
+
+      return;
+    }
+
+    int median = (from + to) >>> 1;
+
+    double key = chordSquared(median, qx, qy, qz);
+
+    if (key <= maxKey) {
+      result.add(this.treeIndices[median], key);
+    }
+
+    double delta = splitDelta(median, qx, qy, qz);
+
+    if (delta < 0 || delta * delta <= maxKey) {
+      searchRadius(from, median, qx, qy, qz, maxKey, result);
+    }
+
+    if (delta >= 0 || delta * delta <= maxKey) {
+      searchRadius(median + 1, to, qx, qy, qz, maxKey, result);
+    }
+  }
+
+  private double chordSquared(int position, double qx, double qy, double qz) {
+
+    int offset = position * 3;
+
+    double dx = this.coordinates[offset] - qx;
+    double dy = this.coordinates[offset + 1] - qy;
+    double dz = this.coordinates[offset + 2] - qz;
+
+    return dx * dx + dy * dy + dz * dz;
+  }
+
+  /**
+   * Converts a squared chord length on the unit sphere into a great-circle distance.
+   *
+   * @param chordSquared the squared chord length
+   * @return the distance in meter
+   */
+  static double chordSquaredToMeter(double chordSquared) {
+    return 2.0
+        * GeoDistanceKernel.EARTH_RADIUS_METER
+        * Math.asin(Math.min(1.0, Math.sqrt(chordSquared) / 2.0));
+  }
+
+  /*
+   * Building
+   */
+
+  /** Splits the range at its median along the axis with the largest spread. */
+  private void build(int[] order, double[] unsorted, int from, int to) {
+
+    if (to - from <= LEAF_SIZE) {
+      return;
+    }
+
+    byte axis = widestAxis(order, unsorted, from, to);
+    int median = (from + to) >>> 1;
+
+    select(order, unsorted, axis, from, to - 1, median);
+
+    this.axes[median] = axis;
+
+    build(order, unsorted, from, median);
+    build(order, unsorted, median + 1, to);
+  }
+
+  private static byte widestAxis(int[] order, double[] unsorted, int from, int to) {
+
+    byte widest = 0;
+    double widestSpread = -1.0;
+
+    for (byte axis = 0; axis < 3; axis++) {
+
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+
+      for (int position = from; position < to; position++) {
+        double value = unsorted[order[position] * 3 + axis];
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+
+      if (max - min > widestSpread) {
+        widestSpread = max - min;
+        widest = axis;
+      }
+    }
+
+    return widest;
+  }
+
+  /** Quickselect: moves the n-th smallest value along the axis to position n. */
+  private static void select(
+      int[] order, double[] unsorted, int axis, int left, int right, int n) {
+
+    int lo = left;
+    int hi = right;
+
+    while (lo < hi) {
+
+      double pivot = unsorted[order[(lo + hi) >>> 1] * 3 + axis];
+
+      int ii = lo;
+      int jj = hi;
+
+      while (ii <= jj) {
+        while (unsorted[order[ii] * 3 + axis] < pivot) {
+          ii++;
+        }
+
+        while (unsorted[order[jj] * 3 + axis] > pivot) {
+          jj--;
+        }
+
+        if (ii <= jj) {
+          int tmp = order[ii];
+          order[ii] = order[jj];
+          order[jj] = tmp;
+          ii++;
+          jj--;
+        }
+      }
+
+      if (n <= jj) {
+        hi = jj;
+      } else if (n >= ii) {
+        lo = ii;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /** The signed distance of the query from the split plane of an inner tree node. */
+  private double splitDelta(int median, double qx, double qy, double qz) {
+
+    int axis = this.axes[median];
+    double query = axis == 0 ? qx : axis == 1 ? qy : qz;
+
+    return query - this.coordinates[median * 3 + axis];
+  }
+
+  private static void toUnitVector(
+      double latitude, double longitude, double[] target, int offset) {
+
+    double latRad = Math.toRadians(latitude);
+    double lonRad = Math.toRadians(longitude);
+    double cosLat = Math.cos(latRad);
+
+    target[offset] = cosLat * Math.cos(lonRad);
+    target[offset + 1] = cosLat * Math.sin(lonRad);
+    target[offset + 2] = Math.sin(latRad);
+  }
+}
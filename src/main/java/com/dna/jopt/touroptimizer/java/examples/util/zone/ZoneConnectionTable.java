@@ -0,0 +1,548 @@
+package com.dna.jopt.touroptimizer.java.examples.util.zone;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dna.jopt.member.unit.zonemanager.IZoneManager;
+import com.dna.jopt.member.unit.zonemanager.ZoneConnection;
+
+/**
+ * The Class ZoneConnectionTable holds the crossing penalty multipliers between zones in a dense
+ * {@code double[][]}, indexed by zone ordinal. The ordinal of a zone is its position in the list of
+ * zone numbers the table was created with, so zone numbers like postal codes do not have to be
+ * contiguous.
+ *
+ * <p>A table can be loaded from a CSV penalty matrix or from a binary file and puts all of its
+ * zone connections into an {@link IZoneManager} in one call, instead of one {@link ZoneConnection}
+ * builder call per directed pair. Outside the optimizer, it evaluates crossing penalties of a zone
+ * sequence without hashing.
+ *
+ * <p>The CSV format has one header row with the zone numbers and one row per from-zone. An empty
+ * cell means that no zone connection is defined for the pair, lines starting with {@code #} are
+ * ignored:
+ *
+ * <pre>
+ * from/to,1,2,3
+ * 1,,1.0,5.0
+ * 2,1.0,,1.0
+ * 3,0.0,1.0,
+ * </pre>
+ *
+ * @author jrich
+ * @version Oct 17, 2026
+ * @since Oct 17, 2026
+ */
+public class ZoneConnectionTable {
+
+  /** The magic number of a binary zone connection file ("JZCT"). */
+  public static final int MAGIC = 0x4A5A4354;
+
+  /** The file format version. */
+  public static final int VERSION = 1;
+
+  /** The marker of a pair without zone connection. */
+  public static final double NO_CONNECTION = Double.NaN;
+
+  /** The zone numbers by ordinal. */
+  private final int[] zoneNumbers;
+
+  /** The ordinals by zone number. */
+  private final Map<Integer, Integer> ordinals;
+
+  /** The penalty multipliers by from- and to-ordinal. */
+  private final double[][] penalties;
+
+  /**
+   * Instantiates a new zone connection table without zone connections.
+   *
+   * @param zoneNumbers the zone numbers, the position defines the ordinal
+   */
+  public ZoneConnectionTable(int... zoneNumbers) {
+
+    this.zoneNumbers = zoneNumbers.clone();
+    this.ordinals = new HashMap<>((int) (zoneNumbers.length / 0.75) + 1);
+    this.penalties = new double[zoneNumbers.length][zoneNumbers.length];
+
+    for (int ii = 0; ii < zoneNumbers.length; ii++) {
+      if (this.ordinals.put(zoneNumbers[ii], ii) != null) {
+        throw new IllegalArgumentException("Duplicate zone number: " + zoneNumbers[ii]);
+      }
+
+      Arrays.fill(this.penalties[ii], NO_CONNECTION);
+    }
+  }
+
+  /**
+   * Gets the number of zones.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.zoneNumbers.length;
+  }
+
+  /**
+   * Gets the ordinal of a zone number.
+   *
+   * @param zoneNumber the zone number
+   * @return the ordinal, or -1 if the zone is unknown
+   */
+  public int ordinalOf(int zoneNumber) {
+    Integer ordinal = this.ordinals.get(zoneNumber);
+
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  /**
+   * Gets the zone number of an ordinal.
+   *
+   * @param ordinal the ordinal
+   * @return the zone number
+   */
+  public int zoneNumberOf(int ordinal) {
+    return this.zoneNumbers[ordinal];
+  }
+
+  /**
+   * Puts the crossing penalty multiplier of a directed zone pair.
+   *
+   * @param fromZoneNumber the from zone number
+   * @param toZoneNumber the to zone number
+   * @param penaltyMultiplier the penalty multiplier, {@link #NO_CONNECTION} removes the connection
+   */
+  public void put(int fromZoneNumber, int toZoneNumber, double penaltyMultiplier) {
+
+    if (penaltyMultiplier < 0.0 || Double.isInfinite(penaltyMultiplier)) {
+      throw new IllegalArgumentException(
+          "Invalid penalty multiplier "
+              + penaltyMultiplier
+              + " for zone "
+              + fromZoneNumber
+              + "=>"
+              + toZoneNumber);
+    }
+
+    this.penalties[checkedOrdinalOf(fromZoneNumber)][checkedOrdinalOf(toZoneNumber)] =
+        penaltyMultiplier;
+  }
+
+  /**
+   * Gets the crossing penalty multiplier of a directed pair of ordinals.
+   *
+   * @param fromOrdinal the from ordinal
+   * @param toOrdinal the to ordinal
+   * @return the penalty multiplier, or {@link #NO_CONNECTION}
+   */
+  public double getPenalty(int fromOrdinal, int toOrdinal) {
+    return this.penalties[fromOrdinal][toOrdinal];
+  }
+
+  /**
+   * Checks if a zone connection is defined for a directed pair of ordinals.
+   *
+   * @param fromOrdinal the from ordinal
+   * @param toOrdinal the to ordinal
+   * @return true, if successful
+   */
+  public boolean hasConnection(int fromOrdinal, int toOrdinal) {
+    return !Double.isNaN(this.penalties[fromOrdinal][toOrdinal]);
+  }
+
+  /**
+   * Gets the number of defined zone connections.
+   *
+   * @return the connection count
+   */
+  public int getConnectionCount() {
+
+    int count = 0;
+
+    for (double[] row : this.penalties) {
+      for (double penalty : row) {
+        if (!Double.isNaN(penalty)) {
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Sums the penalty multipliers of all crossings of a zone sequence, e.g. of the visited zones of
+   * a route. Consecutive elements in the same zone and crossings without zone connection do not
+   * contribute.
+   *
+   * @param zoneOrdinals the zone ordinals in visiting order
+   * @return the summed penalty multipliers
+   */
+  public double getCrossingPenalty(int[] zoneOrdinals) {
+
+    double sum = 0.0;
+
+    for (int ii = 1; ii < zoneOrdinals.length; ii++) {
+
+      int from = zoneOrdinals[ii - 1];
+      int to = zoneOrdinals[ii];
+
+      if (from != to) {
+        double penalty = this.penalties[from][to];
+
+        if (penalty == penalty) {
+          // Not NaN
+          sum += penalty;
+        }
+      }
+    }
+
+    return sum;
+  }
+
+  /**
+   * Copies the penalty multipliers into a new dense array.
+   *
+   * @return the penalty multipliers by from- and to-ordinal
+   */
+  public double[][] toArray() {
+
+    double[][] copy = new double[this.penalties.length][];
+
+    for (int ii = 0; ii < copy.length; ii++) {
+      copy[ii] = this.penalties[ii].clone();
+    }
+
+    return copy;
+  }
+
+  /**
+   * Puts a {@link ZoneConnection} for every defined pair into a zone manager, e.g. into {@code
+   * opti.getNodeConnector().getZoneManager()}. The zone ids are the zone numbers, matching {@code
+   * new ZoneNumber(zoneNumber)}.
+   *
+   * @param zoneManager the zone manager
+   * @return the number of zone connections
+   */
+  public int putZoneConnections(IZoneManager zoneManager) {
+
+    int count = 0;
+
+    for (int from = 0; from < this.zoneNumbers.length; from++) {
+
+      String fromZoneId = String.valueOf(this.zoneNumbers[from]);
+
+      for (int to = 0; to < this.zoneNumbers.length; to++) {
+
+        if (Double.isNaN(this.penalties[from][to])) {
+          continue;
+        }
+
+        zoneManager.putZoneConnection(
+            ZoneConnection.builder()
+                .fromZoneId(fromZoneId)
+                .toZoneId(String.valueOf(this.zoneNumbers[to]))
+                .crossingPenaltyMultiplier(this.penalties[from][to])
+                .build());
+
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  /*
+   * CSV
+   */
+
+  /**
+   * Reads a table from a CSV penalty matrix.
+   *
+   * @param file the file
+   * @return the zone connection table
+   * @throws IOException Signals that an I/O exception has occurred, or the file is malformed.
+   */
+  public static ZoneConnectionTable readCsv(Path file) throws IOException {
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return readCsv(reader);
+    }
+  }
+
+  /**
+   * Reads a table from a CSV penalty matrix. The reader is not closed.
+   *
+   * @param reader the reader
+   * @return the zone connection table
+   * @throws IOException Signals that an I/O exception has occurred, or the input is malformed.
+   */
+  public static ZoneConnectionTable readCsv(Reader reader) throws IOException {
+
+    BufferedReader lines =
+        reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+
+    List<String[]> rows = new ArrayList<>();
+    List<Integer> lineNumbers = new ArrayList<>();
+
+    String line;
+    int lineNumber = 0;
+
+    while ((line = lines.readLine()) != null) {
+
+      lineNumber++;
+
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+
+      rows.add(line.split(",", -1));
+      lineNumbers.add(lineNumber);
+    }
+
+    if (rows.isEmpty()) {
+      throw new IOException("Missing header row");
+    }
+
+    String[] header = rows.get(0);
+    int[] zoneNumbers = new int[header.length - 1];
+
+    for (int ii = 1; ii < header.length; ii++) {
+      zoneNumbers[ii - 1] = parseZoneNumber(header[ii], lineNumbers.get(0));
+    }
+
+    ZoneConnectionTable table;
+
+    try {
+      table = new ZoneConnectionTable(zoneNumbers);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Line " + lineNumbers.get(0) + ": " + e.getMessage(), e);
+    }
+
+    // The line each from-zone row was read from, 0 if not read yet
+    int[] rowLines = new int[zoneNumbers.length];
+
+    for (int row = 1; row < rows.size(); row++) {
+
+      String[] cells = rows.get(row);
+      int rowLine = lineNumbers.get(row);
+
+      if (cells.length != header.length) {
+        throw new IOException(
+            "Line " + rowLine + ": expected " + header.length + " cells, got " + cells.length);
+      }
+
+      int fromZoneNumber = parseZoneNumber(cells[0], rowLine);
+      int fromOrdinal = table.ordinalOf(fromZoneNumber);
+
+      if (fromOrdinal < 0) {
+        throw new IOException("Line " + rowLine + ": zone " + fromZoneNumber + " not in header");
+      }
+
+      if (rowLines[fromOrdinal] != 0) {
+        throw new IOException(
+            "Line "
+                + rowLine
+                + ": duplicate row of zone "
+                + fromZoneNumber
+                + ", first row in line "
+                + rowLines[fromOrdinal]);
+      }
+
+      rowLines[fromOrdinal] = rowLine;
+
+      for (int column = 1; column < cells.length; column++) {
+
+        String cell = cells[column].trim();
+
+        if (cell.isEmpty()) {
+          continue;
+        }
+
+        try {
+          table.put(fromZoneNumber, zoneNumbers[column - 1], Double.parseDouble(cell));
+        } catch (IllegalArgumentException e) {
+          throw new IOException("Line " + rowLine + ", column " + (column + 1) + ": " + cell, e);
+        }
+      }
+    }
+
+    for (int ordinal = 0; ordinal < rowLines.length; ordinal++) {
+      if (rowLines[ordinal] == 0) {
+        throw new IOException("Missing row of zone " + zoneNumbers[ordinal]);
+      }
+    }
+
+    return table;
+  }
+
+  /**
+   * Writes the table as CSV penalty matrix.
+   *
+   * @param writer the writer
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public void writeCsv(Writer writer) throws IOException {
+
+    BufferedWriter out =
+        writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+
+    out.write("from/to");
+
+    for (int zoneNumber : this.zoneNumbers) {
+      out.write(',');
+      out.write(String.valueOf(zoneNumber));
+    }
+
+    out.newLine();
+
+    for (int from = 0; from < this.zoneNumbers.length; from++) {
+
+      out.write(String.valueOf(this.zoneNumbers[from]));
+
+      for (int to = 0; to < this.zoneNumbers.length; to++) {
+
+        out.write(',');
+
+        if (!Double.isNaN(this.penalties[from][to])) {
+          out.write(String.valueOf(this.penalties[from][to]));
+        }
+      }
+
+      out.newLine();
+    }
+
+    out.flush();
+  }
+
+  private static int parseZoneNumber(String cell, int lineNumber) throws IOException {
+
+    try {
+      return Integer.parseInt(cell.trim());
+    } catch (NumberFormatException e) {
+      throw new IOException("Line " + lineNumber + ": invalid zone number " + cell, e);
+    }
+  }
+
+  /*
+   * Binary
+   */
+
+  /**
+   * Writes the table to a binary file. The file is written next to the target and then moved, so
+   * readers never see a partially written table.
+   *
+   * @param file the file
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public void write(Path file) throws IOException {
+
+    Path tmpFile =
+        Files.createTempFile(
+            file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(this.zoneNumbers.length);
+
+        for (int zoneNumber : this.zoneNumbers) {
+          out.writeInt(zoneNumber);
+        }
+
+        for (double[] row : this.penalties) {
+          for (double penalty : row) {
+            out.writeDouble(penalty);
+          }
+        }
+      }
+
+      Files.move(
+          tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /**
+   * Reads a table from a binary file.
+   *
+   * @param file the file
+   * @return the zone connection table
+   * @throws IOException Signals that an I/O exception has occurred, or the file is malformed.
+   */
+  public static ZoneConnectionTable read(Path file) throws IOException {
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a zone connection file: " + file);
+      }
+
+      int version = in.readInt();
+
+      if (version != VERSION) {
+        throw new IOException("Unsupported zone connection version " + version + ": " + file);
+      }
+
+      int size = in.readInt();
+
+      if (size < 0 || size > Files.size(file) / Integer.BYTES) {
+        throw new IOException("Invalid zone count " + size + ": " + file);
+      }
+
+      int[] zoneNumbers = new int[size];
+
+      for (int ii = 0; ii < size; ii++) {
+        zoneNumbers[ii] = in.readInt();
+      }
+
+      ZoneConnectionTable table = new ZoneConnectionTable(zoneNumbers);
+
+      for (int from = 0; from < size; from++) {
+        for (int to = 0; to < size; to++) {
+
+          double penalty = in.readDouble();
+
+          if (!Double.isNaN(penalty)) {
+            try {
+              table.put(zoneNumbers[from], zoneNumbers[to], penalty);
+            } catch (IllegalArgumentException e) {
+              throw new IOException(e.getMessage() + ": " + file, e);
+            }
+          }
+        }
+      }
+
+      return table;
+    }
+  }
+
+  private int checkedOrdinalOf(int zoneNumber) {
+    int ordinal = ordinalOf(zoneNumber);
+
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("Unknown zone number: " + zoneNumber);
+    }
+
+    return ordinal;
+  }
+}